@@ -0,0 +1,35 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.core;
+
+/**
+ * double 인자 2개를 받아, double 결과를 반환하는 메소드를 가진 인터페이스 (boxing 없음)
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public interface DoubleBinaryOperator {
+
+    /**
+     * 수행할 함수
+     *
+     * @param left  인자 1
+     * @param right 인자 2
+     * @return 수행 결과
+     */
+    double execute(double left, double right);
+}
@@ -14,17 +14,30 @@
  * limitations under the License.
  */
 
+
 package kr.debop4j.core;
 
-import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * Thread Context 별로 격리된 저장소를 제공합니다.
+ * <p/>
+ * 저장소는 현재 Thread 에서만 접근하므로 동기화하지 않습니다.
+ * 자주 사용하는 값은 {@link #newKey(String)} 로 만든 {@link Key} 를 사용하세요. Key 마다 고유한 slot 인덱스가 할당되므로,
+ * hash 계산 없이 배열 인덱스로 값을 조회합니다.
+ * <p/>
+ * 다른 Thread 에서 실행할 작업에 현재 저장소를 전달하려면 {@link #wrap(Callable)} 등으로 감싸거나
+ * {@link kr.debop4j.core.parallelism.AsyncTool#startNewWithLocal(Callable)} 를 사용하세요.
+ * 작업은 호출한 Thread 의 저장소 복사본을 보며, 작업에서 저장한 값은 호출한 Thread 에 반영되지 않습니다.
+ * 복사본은 값 객체 자체를 공유하므로, Hibernate Session 처럼 여러 Thread 에서 사용하면 안되는 값은
+ * {@link #newKey(String, boolean)} 에 propagate=false 로 만든 Key 에 저장하여 전달되지 않도록 하세요.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 9. 12
@@ -35,17 +48,45 @@ public class Local {
 
     private Local() { }
 
-    private static ThreadLocal<HashMap> threadLocal =
-            new ThreadLocal<HashMap>() {
+    private static final AtomicInteger keyCounter = new AtomicInteger();
+
+    /** 다른 Thread 로 전달하지 않는 Key 의 slot 인덱스 */
+    private static volatile int[] localOnlyIndexes = new int[0];
+
+    private static ThreadLocal<Context> threadLocal =
+            new ThreadLocal<Context>() {
                 @Override
-                public HashMap initialValue() {
+                public Context initialValue() {
                     log.debug("현 ThreadContext 에 저장소를 생성합니다...");
-                    return Maps.newLinkedHashMap();
+                    return new Context();
                 }
             };
 
-    private static HashMap getMap() {
-        return threadLocal.get();
+    /**
+     * 새로운 slot 을 할당한 Key 를 생성합니다. Key 는 static final 필드로 한번만 생성해서 사용하세요.
+     *
+     * @param name Key 이름 (로그 및 디버깅 용)
+     * @return 새로운 Key
+     */
+    public static <T> Key<T> newKey(String name) {
+        return newKey(name, true);
+    }
+
+    /**
+     * 새로운 slot 을 할당한 Key 를 생성합니다. Key 는 static final 필드로 한번만 생성해서 사용하세요.
+     *
+     * @param name      Key 이름 (로그 및 디버깅 용)
+     * @param propagate {@link #capture()} 나 {@link #wrap(Callable)} 로 다른 Thread 에 값을 전달할지 여부
+     * @return 새로운 Key
+     */
+    public static synchronized <T> Key<T> newKey(String name, boolean propagate) {
+        Key<T> key = new Key<>(keyCounter.getAndIncrement(), name, propagate);
+        if (!propagate) {
+            int[] indexes = Arrays.copyOf(localOnlyIndexes, localOnlyIndexes.length + 1);
+            indexes[indexes.length - 1] = key.index;
+            localOnlyIndexes = indexes;
+        }
+        return key;
     }
 
     /** 로컬 저장소에 저장된 객체를 조회합니다. */
@@ -59,24 +100,52 @@ public class Local {
         return (T) threadLocal.get().get(key);
     }
 
-    /** 로컬 저장소에 객체를 저장합니다. */
+    /** 로컬 저장소에 저장된 객체를 조회합니다. */
     @SuppressWarnings("unchecked")
+    public static <T> T get(Key<T> key) {
+        Object[] slots = threadLocal.get().slots;
+        return (key.index < slots.length) ? (T) slots[key.index] : null;
+    }
+
+    /** 로컬 저장소에 객체를 저장합니다. */
     public static void put(Object key, Object value) {
         assert key != null;
 
         if (log.isTraceEnabled())
             log.trace("Local 저장소에 key=[{}], value=[{}]를 저장합니다.", key, value);
 
-        threadLocal.get().put(key, value);
+        writableContext().put(key, value);
     }
 
-    /** 로컬 저장소의 모든 정보를 삭제합니다. */
+    /** 로컬 저장소에 객체를 저장합니다. */
+    public static <T> void put(Key<T> key, T value) {
+        assert key != null;
+
+        if (log.isTraceEnabled())
+            log.trace("Local 저장소에 key=[{}], value=[{}]를 저장합니다.", key, value);
+
+        writableContext().setSlot(key.index, value);
+    }
+
+    /** 로컬 저장소에서 객체를 삭제합니다. */
+    public static void remove(Object key) {
+        writableContext().put(key, null);
+    }
+
+    /** 로컬 저장소에서 객체를 삭제합니다. */
+    public static void remove(Key<?> key) {
+        if (key.index < threadLocal.get().slots.length)
+            writableContext().setSlot(key.index, null);
+    }
+
+    /** 로컬 저장소의 모든 정보를 삭제합니다. 요청 처리를 마칠 때 호출하면 저장소 전체를 한번에 해제합니다. */
     public static void clear() {
-        threadLocal.get().clear();
+        threadLocal.remove();
         log.debug("Local 저장소의 모든 정보를 삭제했습니다.");
     }
 
-    public static synchronized <T> T getOrCreate(Object key, Class<T> clazz, Function<T> factory) {
+    /** 저장된 값이 없으면 factory 로 생성하여 저장합니다. 현재 Thread 의 저장소만 사용하므로 동기화하지 않습니다. */
+    public static <T> T getOrCreate(Object key, Class<T> clazz, Function<T> factory) {
         T result = get(key, clazz);
         if (result == null) {
             result = factory.execute();
@@ -85,4 +154,231 @@ public class Local {
         }
         return result;
     }
+
+    /** 저장된 값이 없으면 factory 로 생성하여 저장합니다. */
+    public static <T> T getOrCreate(Key<T> key, Function<T> factory) {
+        T result = get(key);
+        if (result == null) {
+            result = factory.execute();
+            put(key, result);
+            log.trace("Local 저장소에 인스턴스를 저장했습니다. key=[{}]", key);
+        }
+        return result;
+    }
+
+    /**
+     * 현재 Thread 의 저장소 복사본을 만듭니다. 복사본은 변경되지 않으므로 여러 Thread 에서 공유할 수 있습니다.
+     * propagate=false 인 Key 의 값은 복사하지 않습니다.
+     *
+     * @return 현재 저장소의 복사본
+     */
+    public static Scope capture() {
+        Context snapshot = threadLocal.get().copy();
+        for (int index : localOnlyIndexes) {
+            if (index < snapshot.slots.length)
+                snapshot.slots[index] = null;
+        }
+        snapshot.shared = true;
+        return new Scope(snapshot);
+    }
+
+    /** 현재 Thread 의 저장소를 전달하여 callable 을 실행하도록 감쌉니다. */
+    public static <T> Callable<T> wrap(final Callable<T> callable) {
+        final Scope scope = capture();
+        return new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                Context previous = attach(scope.context);
+                try {
+                    return callable.call();
+                } finally {
+                    threadLocal.set(previous);
+                }
+            }
+        };
+    }
+
+    /** 현재 Thread 의 저장소를 전달하여 runnable 을 실행하도록 감쌉니다. */
+    public static Runnable wrap(final Runnable runnable) {
+        final Scope scope = capture();
+        return new Runnable() {
+            @Override
+            public void run() {
+                Context previous = attach(scope.context);
+                try {
+                    runnable.run();
+                } finally {
+                    threadLocal.set(previous);
+                }
+            }
+        };
+    }
+
+    /** 현재 Thread 의 저장소를 전달하여 action 을 실행하도록 감쌉니다. ({@link kr.debop4j.core.parallelism.Parallels} 용) */
+    public static <T> Action1<T> wrap(final Action1<T> action) {
+        final Scope scope = capture();
+        return new Action1<T>() {
+            @Override
+            public void perform(T arg) {
+                Context previous = attach(scope.context);
+                try {
+                    action.perform(arg);
+                } finally {
+                    threadLocal.set(previous);
+                }
+            }
+        };
+    }
+
+    /** 현재 Thread 의 저장소를 전달하여 function 을 실행하도록 감쌉니다. ({@link kr.debop4j.core.parallelism.Parallels} 용) */
+    public static <T, R> Function1<T, R> wrap(final Function1<T, R> function) {
+        final Scope scope = capture();
+        return new Function1<T, R>() {
+            @Override
+            public R execute(T arg) {
+                Context previous = attach(scope.context);
+                try {
+                    return function.execute(arg);
+                } finally {
+                    threadLocal.set(previous);
+                }
+            }
+        };
+    }
+
+    /** 현재 Thread 의 저장소를 전달하여 action 을 실행하도록 감쌉니다. ({@link kr.debop4j.core.parallelism.Parallels} 용) */
+    public static IntAction wrap(final IntAction action) {
+        final Scope scope = capture();
+        return new IntAction() {
+            @Override
+            public void perform(int arg) {
+                Context previous = attach(scope.context);
+                try {
+                    action.perform(arg);
+                } finally {
+                    threadLocal.set(previous);
+                }
+            }
+        };
+    }
+
+    private static Context writableContext() {
+        Context context = threadLocal.get();
+        if (context.shared) {
+            // 전달받은 저장소는 다른 Thread 와 공유하므로, 처음 변경할 때 복사합니다.
+            context = context.copy();
+            threadLocal.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * 고유한 slot 인덱스를 가진 저장소 Key 입니다.
+     *
+     * @param <T> 저장할 값의 수형
+     */
+    public static final class Key<T> {
+
+        private final int index;
+        private final String name;
+        private final boolean propagate;
+
+        private Key(int index, String name, boolean propagate) {
+            this.index = index;
+            this.name = name;
+            this.propagate = propagate;
+        }
+
+        /** {@link Local#capture()} 로 다른 Thread 에 값을 전달하는지 여부 */
+        public boolean isPropagate() {
+            return propagate;
+        }
+
+        /** 현재 Thread 의 저장소에서 값을 조회합니다. */
+        public T get() {
+            return Local.get(this);
+        }
+
+        /** 현재 Thread 의 저장소에 값을 저장합니다. */
+        public void set(T value) {
+            Local.put(this, value);
+        }
+
+        @Override
+        public String toString() {
+            return "Local.Key[" + name + "#" + index + "]";
+        }
+    }
+
+    /** {@link #capture()} 로 만든 저장소의 복사본입니다. */
+    public static final class Scope {
+
+        private final Context context;
+
+        private Scope(Context context) {
+            this.context = context;
+        }
+
+        /**
+         * 현재 Thread 의 저장소를 이 저장소로 교체합니다.
+         * <pre>
+         * Local.Scope previous = scope.attach();
+         * try { ... } finally { previous.attach(); }
+         * </pre>
+         *
+         * @return 교체 전의 저장소, 작업을 마친 후 {@link #attach()} 를 호출하여 복원하세요.
+         */
+        public Scope attach() {
+            return new Scope(Local.attach(context));
+        }
+    }
+
+    private static Context attach(Context context) {
+        Context previous = threadLocal.get();
+        threadLocal.set(context);
+        return previous;
+    }
+
+    private static final class Context {
+
+        private static final Object[] EMPTY_SLOTS = new Object[0];
+
+        /** {@link Key} 의 인덱스별 값 */
+        private Object[] slots = EMPTY_SLOTS;
+        /** 임의의 객체를 Key 로 사용하는 값 (처음 사용할 때 생성합니다) */
+        private HashMap<Object, Object> values;
+        /** 여러 Thread 에 전달되어 변경하면 안되는 저장소인지 여부 */
+        private boolean shared;
+
+        Object get(Object key) {
+            return (values != null) ? values.get(key) : null;
+        }
+
+        void put(Object key, Object value) {
+            if (value == null) {
+                if (values != null)
+                    values.remove(key);
+                return;
+            }
+            if (values == null)
+                values = new HashMap<>();
+            values.put(key, value);
+        }
+
+        void setSlot(int index, Object value) {
+            if (index >= slots.length) {
+                if (value == null)
+                    return;
+                slots = Arrays.copyOf(slots, Math.max(index + 1, keyCounter.get()));
+            }
+            slots[index] = value;
+        }
+
+        Context copy() {
+            Context copy = new Context();
+            copy.slots = (slots.length == 0) ? EMPTY_SLOTS : slots.clone();
+            copy.values = (values != null) ? new HashMap<>(values) : null;
+            return copy;
+        }
+    }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import kr.debop4j.core.parallelism.AsyncTool;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static kr.debop4j.core.Guard.shouldBePositiveNumber;
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
+
+/**
+ * 원격 캐시 저장소 ({@link ICacheRepository}) 를 비동기 방식으로 사용하도록 하는 {@link IAsyncCacheRepository} 입니다.
+ * <p/>
+ * 여러 thread 에서 동시에 요청한 {@link #getAsync(String)} 들은 대기열에 모았다가,
+ * 원격 저장소의 {@link ICacheRepository#getAll(Iterable)} 한 번으로 묶어서 조회합니다.
+ * 일부러 지연시키지 않고, 앞선 요청이 처리되는 동안 쌓인 요청들을 다음 요청으로 묶기 때문에 부하가 없을 때의 지연 시간은 늘어나지 않습니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class BatchingAsyncCacheRepository implements IAsyncCacheRepository {
+
+    /** 원격 캐시 작업을 실행할 Executor 이름 ({@link kr.debop4j.core.parallelism.ExecutorRegistry} 참고) */
+    public static final String EXECUTOR_NAME = "CacheRepository";
+
+    /** 한 번에 조회하는 최대 키 수 */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    @Getter
+    private final ICacheRepository repository;
+    @Getter
+    private final int maxBatchSize;
+
+    private final ConcurrentLinkedQueue<PendingGet> pendingGets = new ConcurrentLinkedQueue<PendingGet>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicLong batchCount = new AtomicLong();
+
+    /**
+     * 생성자
+     *
+     * @param repository 원격 캐시 저장소
+     */
+    public BatchingAsyncCacheRepository(ICacheRepository repository) {
+        this(repository, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * 생성자
+     *
+     * @param repository   원격 캐시 저장소
+     * @param maxBatchSize 한 번에 조회하는 최대 키 수
+     */
+    public BatchingAsyncCacheRepository(ICacheRepository repository, int maxBatchSize) {
+        this.repository = shouldNotBeNull(repository, "repository");
+        this.maxBatchSize = shouldBePositiveNumber(maxBatchSize, "maxBatchSize");
+    }
+
+    /** 원격 저장소에 보낸 일괄 조회 요청 수 */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    @Override
+    public ListenableFuture<Object> getAsync(final String key) {
+        shouldNotBeWhiteSpace(key, "key");
+
+        PendingGet pending = new PendingGet(key);
+        pendingGets.offer(pending);
+        scheduleDrain();
+        return pending.future;
+    }
+
+    @Override
+    public ListenableFuture<Map<String, Object>> getsAsync(final String... keys) {
+        return getAllAsync(Arrays.asList(keys));
+    }
+
+    @Override
+    public ListenableFuture<Map<String, Object>> getAllAsync(final Iterable<String> keys) {
+        shouldNotBeNull(keys, "keys");
+
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<Map<String, Object>>() {
+            @Override
+            public Map<String, Object> call() throws Exception {
+                batchCount.incrementAndGet();
+                return repository.getAll(keys);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Void> setAsync(final String key, final Object value, final long validFor) {
+        shouldNotBeWhiteSpace(key, "key");
+
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                repository.set(key, value, validFor);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Void> setAllAsync(final Map<String, ?> items, final long validFor) {
+        shouldNotBeNull(items, "items");
+
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                repository.setAll(items, validFor);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Void> removeAsync(final String key) {
+        shouldNotBeWhiteSpace(key, "key");
+
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                repository.remove(key);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Void> removeAllAsync(final String... keys) {
+        return removeAllAsync(Arrays.asList(keys));
+    }
+
+    @Override
+    public ListenableFuture<Void> removeAllAsync(final Iterable<String> keys) {
+        shouldNotBeNull(keys, "keys");
+
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                repository.removeAll(keys);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Void> clearAsync() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                repository.clear();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 대기열을 처리하는 작업이 없을 때만 새로 시작합니다.
+     * Executor 가 작업을 거부하면 대기 중인 요청들을 예외로 완료시켜, 요청한 쪽이 무한히 기다리지 않도록 합니다.
+     */
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true))
+            return;
+
+        try {
+            AsyncTool.startNew(EXECUTOR_NAME, new Runnable() {
+                @Override
+                public void run() {
+                    drain();
+                }
+            }, null);
+        } catch (Throwable t) {
+            log.error("대기 중인 캐시 조회 요청을 처리할 작업을 시작하지 못했습니다.", t);
+            draining.set(false);
+
+            PendingGet pending;
+            while ((pending = pendingGets.poll()) != null)
+                pending.future.setException(t);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<PendingGet> batch = Lists.newArrayListWithCapacity(Math.min(maxBatchSize, 64));
+            PendingGet pending;
+            while (true) {
+                batch.clear();
+                while (batch.size() < maxBatchSize && (pending = pendingGets.poll()) != null)
+                    batch.add(pending);
+
+                if (batch.isEmpty())
+                    break;
+
+                fetch(batch);
+            }
+        } finally {
+            draining.set(false);
+        }
+        // 종료 직전에 추가된 요청이 있다면 다시 처리합니다.
+        if (!pendingGets.isEmpty())
+            scheduleDrain();
+    }
+
+    private void fetch(List<PendingGet> batch) {
+        Set<String> keys = Sets.newLinkedHashSet();
+        for (PendingGet pending : batch)
+            keys.add(pending.key);
+
+        if (log.isTraceEnabled())
+            log.trace("대기 중인 캐시 조회 요청을 묶어서 조회합니다. 요청 수=[{}], 키 수=[{}]", batch.size(), keys.size());
+
+        Map<String, Object> values;
+        try {
+            batchCount.incrementAndGet();
+            values = repository.getAll(keys);
+        } catch (Throwable t) {
+            log.error("원격 캐시에서 값을 조회하는데 실패했습니다.", t);
+            for (PendingGet pending : batch)
+                pending.future.setException(t);
+            return;
+        }
+        if (values == null)
+            values = Maps.newHashMap();
+
+        for (PendingGet pending : batch)
+            pending.future.set(values.get(pending.key));
+    }
+
+    private static final class PendingGet {
+        final String key;
+        final SettableFuture<Object> future = SettableFuture.create();
+
+        PendingGet(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -17,10 +17,17 @@
 package kr.debop4j.core.cache;
 
 import com.google.common.base.Objects;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
+
 /**
  * Cache 시스템에 정보를 관리하는 ICacheRepository 의 기본 추상화 클래스입니다.
  *
@@ -30,9 +37,15 @@ import java.util.concurrent.ExecutionException;
 @Slf4j
 public abstract class CacheRepositoryBase implements ICacheRepository {
 
+    /** 모든 값이 0 인 캐시 통계 */
+    protected static final CacheStats EMPTY_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
     /** 유효기간 (분단위). */
     private long expiry = 0;
 
+    /** 같은 키의 load 를 하나로 묶습니다. */
+    protected final SingleFlightLoader singleFlightLoader = new SingleFlightLoader();
+
     /**
      * 캐시 항목의 유효기간을 반환합니다. (단위: minutes)
      *
@@ -71,6 +84,68 @@ public abstract class CacheRepositoryBase implements ICacheRepository {
      */
     public abstract void set(final String key, final Object value, long validFor);
 
+    /**
+     * 캐시에서 해당 키의 항목을 가져오고, 없으면 loader 로 값을 구해 캐시에 저장합니다.
+     * 같은 키에 대해 동시에 요청해도 loader 는 한 번만 실행됩니다.
+     *
+     * @param key      캐시 키
+     * @param loader   캐시에 없을 때 값을 구하는 작업
+     * @param validFor 캐시 유효 기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     * @return 캐시 항목
+     * @throws ExecutionException loader 에서 예외가 발생한 경우
+     */
+    @Override
+    public Object getOrLoad(final String key, final Callable<?> loader, final long validFor) throws ExecutionException {
+        shouldNotBeWhiteSpace(key, "key");
+        shouldNotBeNull(loader, "loader");
+
+        Object value = get(key);
+        if (value != null)
+            return value;
+
+        return singleFlightLoader.load(key, new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                Object loaded = loader.call();
+                if (loaded != null)
+                    set(key, loaded, validFor);
+                return loaded;
+            }
+        });
+    }
+
+    /**
+     * 여러 키의 캐시 항목을 가져옵니다. 기본 구현은 키마다 {@link #get(String)} 을 호출하므로,
+     * 한 번의 요청으로 처리할 수 있는 저장소는 재정의해야 합니다.
+     *
+     * @param keys 캐시 키들
+     * @return 캐시 키와 항목의 Map (캐시에 없는 키는 포함되지 않습니다)
+     * @throws ExecutionException 예외
+     */
+    @Override
+    public Map<String, Object> getAll(final Iterable<String> keys) throws ExecutionException {
+        Map<String, Object> result = Maps.newLinkedHashMap();
+        for (final String key : keys) {
+            Object value = get(key);
+            if (value != null)
+                result.put(key, value);
+        }
+        return result;
+    }
+
+    /**
+     * 여러 캐시 항목을 저장합니다. 기본 구현은 항목마다 {@link #set(String, Object, long)} 을 호출합니다.
+     *
+     * @param items    캐시 키와 항목의 Map
+     * @param validFor 캐시 유효 기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     */
+    @Override
+    public void setAll(final Map<String, ?> items, long validFor) {
+        for (Map.Entry<String, ?> item : items.entrySet()) {
+            set(item.getKey(), item.getValue(), validFor);
+        }
+    }
+
     /**
      * 해당 키의 캐시 항목을 삭제합니다.
      *
@@ -111,6 +186,16 @@ public abstract class CacheRepositoryBase implements ICacheRepository {
     /** 캐시의 모든 항목을 삭제합니다. */
     public abstract void clear();
 
+    /**
+     * 캐시 통계를 반환합니다. 기본적으로는 통계를 수집하지 않으므로 모든 값이 0 인 통계를 반환합니다.
+     *
+     * @return 캐시 통계
+     */
+    @Override
+    public CacheStats getStats() {
+        return EMPTY_STATS;
+    }
+
     @Override
     public String toString() {
         return Objects.toStringHelper(this)
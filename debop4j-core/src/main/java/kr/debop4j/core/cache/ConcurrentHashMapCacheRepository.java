@@ -16,31 +16,73 @@
 
 package kr.debop4j.core.cache;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import kr.debop4j.core.parallelism.AsyncTool;
+import com.google.common.base.Function;
+import com.google.common.base.Ticker;
+import com.google.common.cache.*;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static kr.debop4j.core.Guard.shouldNotBeNull;
 import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
 
 
 /**
  * {@link java.util.concurrent.ConcurrentHashMap}을 캐시 저장소로 사용하는 비동기 캐시 저장소입니다.
+ * <p/>
+ * {@link #set(String, Object, long)} 의 validFor 는 항목별 유효기간 (저장 시점부터) 으로 적용되고,
+ * 생성자의 validFor 는 저장소 전체의 기본 유효기간 (마지막 접근 시점부터) 으로 적용됩니다.
+ * maximumWeight 를 지정하면 항목의 무게 (기본은 직렬화된 크기) 합계가 이를 넘지 않도록 오래된 항목부터 제거합니다.
+ * <p/>
+ * {@link #getOrLoad(String, Callable, long)} 로 저장한 항목은 {@link #setRefreshAheadRatio(double)} 에 따라 만료되기 전에
+ * 미리 비동기로 다시 load 하고, {@link #setMaxStale(long, TimeUnit)} 이내로 만료된 항목은 다시 load 하는 동안 이전 값을 반환합니다.
+ * <p/>
+ * 메모리 내의 작업은 block 되지 않으므로, {@link IAsyncCacheRepository} 의 메소드들은 다른 thread 로 넘기지 않고
+ * 바로 수행한 뒤 완료된 Future 를 반환합니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 9. 12
  */
 @Slf4j
 @SuppressWarnings("unchecked")
-public class ConcurrentHashMapCacheRepository extends CacheRepositoryBase {
+public class ConcurrentHashMapCacheRepository extends CacheRepositoryBase implements IAsyncCacheRepository {
 
-    private final Cache<String, Object> cache;
+    /** 유효기간이 지난 항목들을 일괄 제거하는 최소 주기 */
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /** 미리 load (refresh-ahead) 작업을 실행할 Executor 이름 ({@link kr.debop4j.core.parallelism.ExecutorRegistry} 참고) */
+    public static final String REFRESH_EXECUTOR_NAME = "CacheRefresh";
+
+    private final Cache<String, CacheEntry> cache;
+    private final Ticker ticker;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong nextPurgeNanos;
+
+    /**
+     * 유효기간 중 이 비율만큼 지난 항목을 {@link #getOrLoad(String, Callable, long)} 로 조회하면 비동기로 미리 다시 load 합니다.
+     * (0 ~ 1, 0 이하이면 미리 load 하지 않습니다)
+     */
+    @Getter
+    private volatile double refreshAheadRatio = 0.0;
+
+    /** 만료된 항목을 다시 load 하는 동안 이전 값을 반환할 수 있는 최대 시간 (nanoseconds, 0 이면 반환하지 않습니다) */
+    @Getter
+    private volatile long maxStaleNanos = 0L;
 
     /**
      * Instantiates a new Concurrent hash map cache repository.
@@ -48,24 +90,77 @@ public class ConcurrentHashMapCacheRepository extends CacheRepositoryBase {
      * @param validFor the valid for
      */
     public ConcurrentHashMapCacheRepository(long validFor) {
+        this(validFor, 0);
+    }
+
+    /**
+     * 최대 무게가 제한된 캐시 저장소를 생성합니다. 항목의 무게는 직렬화된 크기 (bytes) 입니다.
+     *
+     * @param validFor      기본 유효기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     * @param maximumWeight 최대 무게 (단위 : bytes), 0 이하인 경우는 제한이 없다.
+     */
+    public ConcurrentHashMapCacheRepository(long validFor, long maximumWeight) {
+        this(validFor, maximumWeight, new SerializedSizeWeigher());
+    }
+
+    /**
+     * 최대 무게가 제한된 캐시 저장소를 생성합니다.
+     *
+     * @param validFor      기본 유효기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     * @param maximumWeight 최대 무게, 0 이하인 경우는 제한이 없다.
+     * @param weigher       항목의 무게를 계산하는 {@link Weigher}
+     */
+    public ConcurrentHashMapCacheRepository(long validFor, long maximumWeight, Weigher<String, Object> weigher) {
+        this(validFor, maximumWeight, weigher, Ticker.systemTicker());
+    }
+
+    ConcurrentHashMapCacheRepository(long validFor,
+                                     long maximumWeight,
+                                     final Weigher<String, Object> weigher,
+                                     Ticker ticker) {
+        shouldNotBeNull(weigher, "weigher");
+        this.ticker = shouldNotBeNull(ticker, "ticker");
+        this.nextPurgeNanos = new AtomicLong(ticker.read() + PURGE_INTERVAL_NANOS);
+
         if (validFor > 0)
             setExpiry(validFor);
 
-        CacheBuilder builder = CacheBuilder.newBuilder().concurrencyLevel(4);
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().concurrencyLevel(4).ticker(ticker);
 
         if (validFor > 0)
             builder.expireAfterAccess(validFor, TimeUnit.MINUTES);
 
-        cache = builder.build();
+        if (maximumWeight > 0) {
+            builder.maximumWeight(maximumWeight)
+                   .weigher(new Weigher<String, CacheEntry>() {
+                       @Override
+                       public int weigh(String key, CacheEntry entry) {
+                           return weigher.weigh(key, entry.value);
+                       }
+                   });
+        }
+
+        cache = builder.removalListener(new RemovalListener<String, CacheEntry>() {
+            @Override
+            public void onRemoval(RemovalNotification<String, CacheEntry> notification) {
+                if (notification.wasEvicted())
+                    evictionCount.incrementAndGet();
+            }
+        }).build();
     }
 
     /**
      * 캐시 저장소
      *
-     * @return 캐시 저장소를 반환합니다.
+     * @return 캐시 저장소를 반환합니다. (아직 제거되지 않은, 유효기간이 지난 항목이 포함될 수 있습니다)
      */
     public Map<String, Object> getCache() {
-        return this.cache.asMap();
+        return Maps.transformValues(this.cache.asMap(), new Function<CacheEntry, Object>() {
+            @Override
+            public Object apply(CacheEntry entry) {
+                return entry.value;
+            }
+        });
     }
 
     /**
@@ -77,26 +172,159 @@ public class ConcurrentHashMapCacheRepository extends CacheRepositoryBase {
     @Override
     public Object get(final String key) {
         shouldNotBeWhiteSpace(key, "key");
-        return cache.getIfPresent(key);
+
+        CacheEntry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            long now = ticker.read();
+            if (entry.isExpired(now)) {
+                expireIfStale(key, entry, now);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * 캐시에서 해당 키의 항목을 가져오고, 없으면 loader 로 값을 구해 캐시에 저장합니다.
+     * <ul>
+     * <li>같은 키에 대해 동시에 요청해도 loader 는 한 번만 실행됩니다.</li>
+     * <li>유효기간 중 {@link #getRefreshAheadRatio()} 만큼 지났으면 현재 값을 반환하고, 비동기로 다시 load 합니다.</li>
+     * <li>만료된 지 {@link #getMaxStaleNanos()} 이내이면 이전 값을 반환하고, 비동기로 다시 load 합니다.</li>
+     * </ul>
+     *
+     * @param key      캐시 키
+     * @param loader   캐시에 없을 때 값을 구하는 작업
+     * @param validFor 캐시 유효 기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     * @return 캐시 항목
+     * @throws ExecutionException loader 에서 예외가 발생한 경우
+     */
+    @Override
+    public Object getOrLoad(final String key, final Callable<?> loader, final long validFor) throws ExecutionException {
+        shouldNotBeWhiteSpace(key, "key");
+        shouldNotBeNull(loader, "loader");
+
+        CacheEntry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            long now = ticker.read();
+            if (!entry.isExpired(now)) {
+                hitCount.incrementAndGet();
+                if (entry.shouldRefresh(now))
+                    refreshAsync(key, loader, validFor);
+                return entry.value;
+            }
+            if (!entry.isStale(now)) {
+                hitCount.incrementAndGet();
+                if (log.isTraceEnabled())
+                    log.trace("만료된 캐시 값을 반환하고, 비동기로 다시 load 합니다. key=[{}]", key);
+                refreshAsync(key, loader, validFor);
+                return entry.value;
+            }
+            expireIfStale(key, entry, now);
+        }
+
+        missCount.incrementAndGet();
+        return singleFlightLoader.load(key, loadAndStore(key, loader, validFor));
+    }
+
+    /**
+     * 유효기간 중 이 비율만큼 지난 항목을 {@link #getOrLoad(String, Callable, long)} 로 조회하면 비동기로 미리 다시 load 합니다.
+     *
+     * @param refreshAheadRatio 0 ~ 1 사이의 비율, 0 이하이면 미리 load 하지 않습니다.
+     */
+    public void setRefreshAheadRatio(double refreshAheadRatio) {
+        this.refreshAheadRatio = Math.min(1.0, Math.max(0.0, refreshAheadRatio));
     }
 
     /**
-     * Gets async.
+     * 만료된 항목을 다시 load 하는 동안 이전 값을 반환할 수 있는 최대 시간을 지정합니다.
      *
-     * @param key the key
-     * @return the async
+     * @param maxStale 최대 시간, 0 이하이면 이전 값을 반환하지 않습니다.
+     * @param unit     시간 단위
      */
-    public Future<Object> getAsync(final String key) {
-        return AsyncTool.startNew(new Callable<Object>() {
+    public void setMaxStale(long maxStale, TimeUnit unit) {
+        this.maxStaleNanos = Math.max(0L, unit.toNanos(maxStale));
+    }
+
+    private void refreshAsync(final String key, final Callable<?> loader, final long validFor) {
+        ListenableFuture<Object> future =
+                singleFlightLoader.loadAsync(key, loadAndStore(key, loader, validFor), REFRESH_EXECUTOR_NAME);
+
+        Futures.addCallback(future, new FutureCallback<Object>() {
             @Override
-            public Object call() throws Exception {
-                return cache.getIfPresent(key);
+            public void onSuccess(Object result) { }
+
+            @Override
+            public void onFailure(Throwable t) {
+                log.error("캐시 값을 다시 load 하는데 실패했습니다. 이전 값을 유지합니다. key=" + key, t);
             }
         });
     }
 
+    private Callable<Object> loadAndStore(final String key, final Callable<?> loader, final long validFor) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                Object value = loader.call();
+                if (value != null)
+                    putLoaded(key, value, validFor);
+                return value;
+            }
+        };
+    }
+
+    /** load 한 값을 미리 load 할 시각과 이전 값을 반환할 수 있는 시각을 포함하여 저장합니다. */
+    private void putLoaded(String key, Object value, long validFor) {
+        long now = ticker.read();
+        if (validFor <= 0) {
+            cache.put(key, new CacheEntry(value, 0L));
+        } else {
+            long ttlNanos = TimeUnit.MINUTES.toNanos(validFor);
+            long expireAtNanos = now + ttlNanos;
+            long refreshAtNanos = (refreshAheadRatio > 0) ? now + (long) (ttlNanos * refreshAheadRatio) : 0L;
+            cache.put(key, new CacheEntry(value, expireAtNanos, expireAtNanos + maxStaleNanos, refreshAtNanos));
+        }
+        purgeExpiredIfNeeded(now);
+    }
+
+    /**
+     * 여러 키의 캐시 항목을 한번에 가져옵니다.
+     *
+     * @param keys 캐시 키들
+     * @return 캐시 키와 항목의 Map (캐시에 없는 키는 포함되지 않습니다)
+     */
+    @Override
+    public Map<String, Object> getAll(final Iterable<String> keys) {
+        shouldNotBeNull(keys, "keys");
+
+        ImmutableMap<String, CacheEntry> entries = cache.getAllPresent(keys);
+        Map<String, Object> result = Maps.newLinkedHashMap();
+        long now = ticker.read();
+        int requested = 0;
+
+        for (final String key : keys) {
+            requested++;
+            CacheEntry entry = entries.get(key);
+            if (entry == null)
+                continue;
+            if (entry.isExpired(now)) {
+                expireIfStale(key, entry, now);
+            } else {
+                result.put(key, entry.value);
+            }
+        }
+        hitCount.addAndGet(result.size());
+        missCount.addAndGet(requested - result.size());
+        return result;
+    }
+
     /**
-     * 캐시에 항목을 저장합니다.
+     * 캐시에 항목을 저장합니다. value 가 null 이면 항목을 삭제합니다.
      *
      * @param key      캐시 키
      * @param value    캐시 항목
@@ -104,8 +332,63 @@ public class ConcurrentHashMapCacheRepository extends CacheRepositoryBase {
      */
     @Override
     public void set(final String key, final Object value, final long validFor) {
+        set(key, value, validFor, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 캐시에 항목을 저장합니다. value 가 null 이면 항목을 삭제합니다.
+     *
+     * @param key      캐시 키
+     * @param value    캐시 항목
+     * @param validFor 캐시 유효 기간, 0 이하인 경우는 유효기간이 없다.
+     * @param unit     유효 기간의 단위
+     */
+    public void set(final String key, final Object value, final long validFor, final TimeUnit unit) {
         shouldNotBeWhiteSpace(key, "key");
-        cache.put(key, value);
+
+        if (value == null) {
+            cache.invalidate(key);
+            return;
+        }
+
+        long now = ticker.read();
+        long expireAtNanos = (validFor > 0) ? now + unit.toNanos(validFor) : 0L;
+        cache.put(key, new CacheEntry(value, expireAtNanos));
+
+        purgeExpiredIfNeeded(now);
+    }
+
+    /**
+     * 여러 캐시 항목을 한번에 저장합니다.
+     *
+     * @param items    캐시 키와 항목의 Map
+     * @param validFor 캐시 유효 기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     */
+    @Override
+    public void setAll(final Map<String, ?> items, final long validFor) {
+        setAll(items, validFor, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 여러 캐시 항목을 한번에 저장합니다.
+     *
+     * @param items    캐시 키와 항목의 Map
+     * @param validFor 캐시 유효 기간, 0 이하인 경우는 유효기간이 없다.
+     * @param unit     유효 기간의 단위
+     */
+    public void setAll(final Map<String, ?> items, final long validFor, final TimeUnit unit) {
+        shouldNotBeNull(items, "items");
+
+        long now = ticker.read();
+        long expireAtNanos = (validFor > 0) ? now + unit.toNanos(validFor) : 0L;
+        for (Map.Entry<String, ?> item : items.entrySet()) {
+            shouldNotBeWhiteSpace(item.getKey(), "key");
+            if (item.getValue() == null)
+                cache.invalidate(item.getKey());
+            else
+                cache.put(item.getKey(), new CacheEntry(item.getValue(), expireAtNanos));
+        }
+        purgeExpiredIfNeeded(now);
     }
 
     /**
@@ -148,12 +431,168 @@ public class ConcurrentHashMapCacheRepository extends CacheRepositoryBase {
     @Override
     public boolean exists(final String key) {
         shouldNotBeWhiteSpace(key, "key");
-        return cache.getIfPresent(key) != null;
+        CacheEntry entry = cache.getIfPresent(key);
+        return entry != null && !entry.isExpired(ticker.read());
     }
 
     /** 캐시의 모든 항목을 삭제합니다. */
     @Override
-    public synchronized void clear() {
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 캐시 통계를 반환합니다. 유효기간이 지나 제거된 항목과 최대 무게를 넘어 제거된 항목은 모두 eviction 으로 집계됩니다.
+     *
+     * @return 캐시 통계
+     */
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hitCount.get(), missCount.get(), 0, 0, 0, evictionCount.get());
+    }
+
+    @Override
+    public ListenableFuture<Object> getAsync(final String key) {
+        try {
+            return Futures.immediateFuture(get(key));
+        } catch (Exception e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Map<String, Object>> getsAsync(final String... keys) {
+        return getAllAsync(Arrays.asList(keys));
+    }
+
+    @Override
+    public ListenableFuture<Map<String, Object>> getAllAsync(final Iterable<String> keys) {
+        try {
+            return Futures.immediateFuture(getAll(keys));
+        } catch (Exception e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Void> setAsync(final String key, final Object value, final long validFor) {
+        try {
+            set(key, value, validFor);
+            return Futures.immediateFuture(null);
+        } catch (Exception e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Void> setAllAsync(final Map<String, ?> items, final long validFor) {
+        try {
+            setAll(items, validFor);
+            return Futures.immediateFuture(null);
+        } catch (Exception e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Void> removeAsync(final String key) {
+        try {
+            remove(key);
+            return Futures.immediateFuture(null);
+        } catch (Exception e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Void> removeAllAsync(final String... keys) {
+        return removeAllAsync(Arrays.asList(keys));
+    }
+
+    @Override
+    public ListenableFuture<Void> removeAllAsync(final Iterable<String> keys) {
+        try {
+            removeAll(keys);
+            return Futures.immediateFuture(null);
+        } catch (Exception e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Void> clearAsync() {
+        clear();
+        return Futures.immediateFuture(null);
+    }
+
+    /**
+     * 캐시 항목 수 (아직 제거되지 않은, 유효기간이 지난 항목이 포함될 수 있습니다)
+     *
+     * @return 캐시 항목 수
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /** 유효기간이 지난 항목들을 모두 제거합니다. */
+    public void purgeExpired() {
+        long now = ticker.read();
+        Iterator<Map.Entry<String, CacheEntry>> iter = cache.asMap().entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<String, CacheEntry> e = iter.next();
+            expireIfStale(e.getKey(), e.getValue(), now);
+        }
         cache.cleanUp();
     }
+
+    /** set 호출 시에 일정 주기마다 유효기간이 지난 항목들을 제거하여, 접근되지 않는 항목이 메모리에 남지 않도록 합니다. */
+    private void purgeExpiredIfNeeded(long now) {
+        long next = nextPurgeNanos.get();
+        if (now - next >= 0 && nextPurgeNanos.compareAndSet(next, now + PURGE_INTERVAL_NANOS)) {
+            if (log.isTraceEnabled())
+                log.trace("유효기간이 지난 캐시 항목들을 제거합니다...");
+            purgeExpired();
+        }
+    }
+
+    /** 이전 값을 반환할 수 있는 시간까지 지난 항목을 제거합니다. */
+    private void expireIfStale(String key, CacheEntry entry, long now) {
+        if (entry.isStale(now) && cache.asMap().remove(key, entry))
+            evictionCount.incrementAndGet();
+    }
+
+    /** 캐시 값과 항목별 만료 시각 */
+    private static final class CacheEntry {
+
+        final Object value;
+        /** 만료 시각 ({@link Ticker#read()} 기준), 0 이면 만료되지 않습니다. */
+        final long expireAtNanos;
+        /** 이전 값을 반환할 수 있는 마지막 시각, 이 시각이 지나면 제거합니다. */
+        final long staleUntilNanos;
+        /** 미리 다시 load 할 시각, 0 이면 미리 load 하지 않습니다. */
+        final long refreshAtNanos;
+
+        CacheEntry(Object value, long expireAtNanos) {
+            this(value, expireAtNanos, expireAtNanos, 0L);
+        }
+
+        CacheEntry(Object value, long expireAtNanos, long staleUntilNanos, long refreshAtNanos) {
+            this.value = value;
+            this.expireAtNanos = expireAtNanos;
+            this.staleUntilNanos = staleUntilNanos;
+            this.refreshAtNanos = refreshAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return expireAtNanos != 0 && now - expireAtNanos >= 0;
+        }
+
+        boolean isStale(long now) {
+            return expireAtNanos != 0 && now - staleUntilNanos >= 0;
+        }
+
+        boolean shouldRefresh(long now) {
+            return refreshAtNanos != 0 && now - refreshAtNanos >= 0;
+        }
+    }
 }
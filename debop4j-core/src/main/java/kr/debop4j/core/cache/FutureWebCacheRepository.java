@@ -19,7 +19,11 @@ package kr.debop4j.core.cache;
 import com.google.common.base.Charsets;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ListenableFuture;
+import kr.debop4j.core.parallelism.AsyncTool;
+import kr.debop4j.core.parallelism.ExecutorRegistry;
 import kr.debop4j.core.tools.StringTool;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpResponse;
@@ -29,12 +33,17 @@ import org.apache.http.nio.client.HttpAsyncClient;
 import org.apache.http.util.EntityUtils;
 
 import java.util.Arrays;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Google Guava 의 {@link com.google.common.cache.LoadingCache} 를 이용하여,
  * 캐시 값을 구하는 방법을 미리 지정하여, 쉽게 캐시를 운영할 수 있도록 캐시입니다.
+ * <p/>
+ * 같은 URI 를 동시에 요청해도 다운로드는 한 번만 수행되고, 저장한 지 {@link #DEFAULT_REFRESH_MINUTES} 분이 지난 항목은
+ * 이전 값을 반환하면서 비동기로 다시 다운로드합니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 12. 5.
@@ -42,11 +51,26 @@ import java.util.concurrent.Future;
 @Slf4j
 public class FutureWebCacheRepository extends CacheRepositoryBase {
 
+    /** 최대 캐시 항목 수 */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000L;
+
+    /** 다시 다운로드하는 주기 (minutes) */
+    public static final long DEFAULT_REFRESH_MINUTES = 10L;
+
+    /** 다시 다운로드하는 작업을 실행할 Executor 이름 ({@link ExecutorRegistry} 참고) */
+    public static final String EXECUTOR_NAME = "FutureWebCacheRepository";
+
+    private static final CacheLoader<String, String> loader = new WebContentLoader();
+
     private final LoadingCache<String, String> cache;
 
     /** Instantiates a new Future web cache repository. */
     public FutureWebCacheRepository() {
-        cache = CacheBuilder.newBuilder().weakValues().build(getCacheLoader());
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(DEFAULT_MAXIMUM_SIZE)
+                            .refreshAfterWrite(DEFAULT_REFRESH_MINUTES, TimeUnit.MINUTES)
+                            .recordStats()
+                            .build(loader);
     }
 
     @Override
@@ -54,6 +78,21 @@ public class FutureWebCacheRepository extends CacheRepositoryBase {
         return cache.get(key);
     }
 
+    /**
+     * 캐시에서 해당 키의 항목을 가져오고, 없으면 웹 컨텐츠 대신 지정한 loader 로 값을 구합니다.
+     * 같은 키에 대해 동시에 요청해도 loader 는 한 번만 실행됩니다.
+     */
+    @Override
+    public Object getOrLoad(final String key, final Callable<?> loader, long validFor) throws ExecutionException {
+        return cache.get(key, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                Object value = loader.call();
+                return (value != null) ? value.toString() : "";
+            }
+        });
+    }
+
     @Override
     public void set(final String key, final Object value, long validFor) {
         String str = (value != null) ? value.toString() : "";
@@ -82,35 +121,50 @@ public class FutureWebCacheRepository extends CacheRepositoryBase {
 
     @Override
     public void clear() {
-        cache.cleanUp();
+        cache.invalidateAll();
     }
 
-    private static synchronized CacheLoader<String, String> getCacheLoader() {
-        return new CacheLoader<String, String>() {
-            @Override
-            public String load(String key) throws Exception {
-
-                if (log.isTraceEnabled())
-                    log.trace("URI=[{}] 의 웹 컨텐츠를 비동기 방식으로 다운로드 받아 캐시합니다.", key);
-
-                String responseStr = "";
-                HttpAsyncClient httpClient = new DefaultHttpAsyncClient();
-                try {
-                    httpClient.start();
-                    HttpGet request = new HttpGet(key);
-                    Future<HttpResponse> future = httpClient.execute(request, null);
-
-                    HttpResponse response = future.get();
-                    responseStr = EntityUtils.toString(response.getEntity(), Charsets.UTF_8.toString());
-
-                    if (log.isDebugEnabled())
-                        log.debug("URI=[{}]로부터 웹 컨텐츠를 다운로드 받았습니다. responseStr=[{}]",
-                                key, StringTool.ellipsisChar(responseStr, 80));
-                } finally {
-                    httpClient.shutdown();
-                }
-                return responseStr;
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /** URI 의 웹 컨텐츠를 다운로드합니다. 다시 다운로드할 때는 별도의 Executor 에서 비동기로 수행합니다. */
+    private static final class WebContentLoader extends CacheLoader<String, String> {
+
+        @Override
+        public String load(String key) throws Exception {
+
+            if (log.isTraceEnabled())
+                log.trace("URI=[{}] 의 웹 컨텐츠를 비동기 방식으로 다운로드 받아 캐시합니다.", key);
+
+            String responseStr = "";
+            HttpAsyncClient httpClient = new DefaultHttpAsyncClient();
+            try {
+                httpClient.start();
+                HttpGet request = new HttpGet(key);
+                Future<HttpResponse> future = httpClient.execute(request, null);
+
+                HttpResponse response = future.get();
+                responseStr = EntityUtils.toString(response.getEntity(), Charsets.UTF_8.toString());
+
+                if (log.isDebugEnabled())
+                    log.debug("URI=[{}]로부터 웹 컨텐츠를 다운로드 받았습니다. responseStr=[{}]",
+                            key, StringTool.ellipsisChar(responseStr, 80));
+            } finally {
+                httpClient.shutdown();
             }
-        };
+            return responseStr;
+        }
+
+        @Override
+        public ListenableFuture<String> reload(final String key, String oldValue) throws Exception {
+            return AsyncTool.startNew(EXECUTOR_NAME, new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return load(key);
+                }
+            });
+        }
     }
 }
@@ -18,6 +18,7 @@ package kr.debop4j.core.cache;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableMap;
 import lombok.extern.slf4j.Slf4j;
 
@@ -52,7 +53,7 @@ public class HashMapCacheRepository extends CacheRepositoryBase {
         if (validFor > 0)
             setExpiry(validFor);
 
-        CacheBuilder builder = CacheBuilder.newBuilder();
+        CacheBuilder builder = CacheBuilder.newBuilder().recordStats();
 
         if (validFor > 0)
             builder.expireAfterAccess(validFor, TimeUnit.MINUTES);
@@ -83,13 +84,35 @@ public class HashMapCacheRepository extends CacheRepositoryBase {
 
     /** {@inheritDoc} */
     @Override
+    public Map<String, Object> getAll(final Iterable<String> keys) {
+        return cache.getAllPresent(keys);
+    }
+
+    /**
+     * 캐시에 항목을 저장합니다. value 가 null 이면 항목을 삭제합니다.
+     * 유효기간은 저장소 생성 시 지정한 값을 사용하므로 validFor 는 사용하지 않습니다.
+     */
+    @Override
     public void set(final String key, final Object value, long validFor) {
         shouldNotBeWhiteSpace(key, "key");
+
+        if (value == null) {
+            cache.invalidate(key);
+            return;
+        }
         cache.put(key, value);
     }
 
     public void setAll(final Map m) {
-        cache.putAll(m);
+        setAll(m, 0);
+    }
+
+    /** 항목마다 {@link #set(String, Object, long)} 을 호출하므로, null 값은 삭제합니다. */
+    @Override
+    public void setAll(final Map<String, ?> items, long validFor) {
+        shouldNotBeNull(items, "items");
+        for (Map.Entry<String, ?> item : items.entrySet())
+            set(item.getKey(), item.getValue(), validFor);
     }
 
     /** {@inheritDoc} */
@@ -122,4 +145,10 @@ public class HashMapCacheRepository extends CacheRepositoryBase {
     public void clear() {
         cache.invalidateAll();
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
 }
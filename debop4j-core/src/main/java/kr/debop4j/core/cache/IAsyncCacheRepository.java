@@ -16,11 +16,15 @@
 
 package kr.debop4j.core.cache;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import java.util.Map;
-import java.util.concurrent.Future;
 
 /**
  * 비동기 방식으로 캐시 작업을 수행합니다.
+ * <p/>
+ * 여러 키에 대한 작업 ({@link #getsAsync(String...)}, {@link #getAllAsync(Iterable)}, {@link #setAllAsync(Map, long)})은
+ * 원격 캐시의 경우 한 번의 요청으로 처리됩니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 9. 12.
@@ -33,15 +37,23 @@ public interface IAsyncCacheRepository {
      * @param key the key
      * @return the async
      */
-    Future<Object> getAsync(final String key);
+    ListenableFuture<Object> getAsync(final String key);
 
     /**
      * Gets async.
      *
-     * @param key the key
-     * @return the async
+     * @param keys the keys
+     * @return 캐시 키와 항목의 Map (캐시에 없는 키는 포함되지 않습니다)
      */
-    Future<Map> getsAsync(final String... key);
+    ListenableFuture<Map<String, Object>> getsAsync(final String... keys);
+
+    /**
+     * 여러 키의 캐시 항목을 비동기 방식으로 한번에 가져옵니다.
+     *
+     * @param keys 캐시 키들
+     * @return 캐시 키와 항목의 Map (캐시에 없는 키는 포함되지 않습니다)
+     */
+    ListenableFuture<Map<String, Object>> getAllAsync(final Iterable<String> keys);
 
     /**
      * Sets async.
@@ -51,7 +63,16 @@ public interface IAsyncCacheRepository {
      * @param validFor the valid for
      * @return the async
      */
-    Future<Void> setAsync(final String key, Object value, long validFor);
+    ListenableFuture<Void> setAsync(final String key, Object value, long validFor);
+
+    /**
+     * 여러 캐시 항목을 비동기 방식으로 한번에 저장합니다.
+     *
+     * @param items    캐시 키와 항목의 Map
+     * @param validFor 캐시 유효 기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     * @return the future
+     */
+    ListenableFuture<Void> setAllAsync(final Map<String, ?> items, long validFor);
 
     /**
      * Remove async.
@@ -59,7 +80,7 @@ public interface IAsyncCacheRepository {
      * @param key the key
      * @return the future
      */
-    Future<Void> removeAsync(final String key);
+    ListenableFuture<Void> removeAsync(final String key);
 
     /**
      * Remove all async.
@@ -67,7 +88,7 @@ public interface IAsyncCacheRepository {
      * @param keys the keys
      * @return the future
      */
-    Future<Void> removeAllAsync(final String... keys);
+    ListenableFuture<Void> removeAllAsync(final String... keys);
 
     /**
      * Remove all async.
@@ -75,12 +96,12 @@ public interface IAsyncCacheRepository {
      * @param keys the keys
      * @return the future
      */
-    Future<Void> removeAllAsync(final Iterable<String> keys);
+    ListenableFuture<Void> removeAllAsync(final Iterable<String> keys);
 
     /**
      * Clear async.
      *
      * @return the future
      */
-    Future<Void> clearAsync();
+    ListenableFuture<Void> clearAsync();
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+/**
+ * {@link NearCacheRepository} 의 로컬 캐시 무효화를 다른 노드에 전파합니다.
+ * <p/>
+ * 구현체는 메시지 브로커 (Redis pub/sub 등) 로 무효화된 키를 발행하고,
+ * 메시지를 받은 노드는 {@link NearCacheRepository#invalidateLocal(Iterable)} 또는
+ * {@link NearCacheRepository#invalidateLocalAll()} 을 호출합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public interface ICacheInvalidationPublisher {
+
+    /**
+     * 지정한 키들이 변경 또는 삭제되었음을 알립니다.
+     *
+     * @param keys 무효화할 캐시 키들
+     */
+    void publish(Iterable<String> keys);
+
+    /** 모든 캐시 항목이 삭제되었음을 알립니다. */
+    void publishClear();
+}
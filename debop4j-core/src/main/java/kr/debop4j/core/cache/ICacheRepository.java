@@ -16,6 +16,10 @@
 
 package kr.debop4j.core.cache;
 
+import com.google.common.cache.CacheStats;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -57,6 +61,34 @@ public interface ICacheRepository {
      */
     void set(final String key, final Object value, long validFor);
 
+    /**
+     * 캐시에서 해당 키의 항목을 가져오고, 없으면 loader 로 값을 구해 캐시에 저장합니다.
+     * 같은 키에 대해 여러 thread 가 동시에 요청해도 loader 는 한 번만 실행됩니다.
+     *
+     * @param key      캐시 키
+     * @param loader   캐시에 없을 때 값을 구하는 작업
+     * @param validFor 캐시 유효 기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     * @return 캐시 항목, loader 가 null 을 반환하면 null (캐시하지 않습니다)
+     * @throws ExecutionException loader 에서 예외가 발생한 경우
+     */
+    Object getOrLoad(final String key, final Callable<?> loader, long validFor) throws ExecutionException;
+
+    /**
+     * 여러 키의 캐시 항목을 한번에 가져옵니다. 원격 캐시는 한 번의 요청으로 처리합니다.
+     *
+     * @param keys 캐시 키들
+     * @return 캐시 키와 항목의 Map (캐시에 없는 키는 포함되지 않습니다)
+     */
+    Map<String, Object> getAll(final Iterable<String> keys) throws ExecutionException;
+
+    /**
+     * 여러 캐시 항목을 한번에 저장합니다. 원격 캐시는 한 번의 요청으로 처리합니다.
+     *
+     * @param items    캐시 키와 항목의 Map
+     * @param validFor 캐시 유효 기간 (단위 : minutes), 0 이하인 경우는 유효기간이 없다.
+     */
+    void setAll(final Map<String, ?> items, long validFor);
+
     /**
      * 해당 키의 캐시 항목을 삭제합니다.
      *
@@ -88,4 +120,11 @@ public interface ICacheRepository {
 
     /** 캐시의 모든 항목을 삭제합니다. */
     void clear();
+
+    /**
+     * 캐시의 적중(hit), 실패(miss), 제거(eviction) 통계를 반환합니다.
+     *
+     * @return 캐시 통계, 통계를 수집하지 않는 저장소는 모든 값이 0 인 통계를 반환합니다.
+     */
+    CacheStats getStats();
 }
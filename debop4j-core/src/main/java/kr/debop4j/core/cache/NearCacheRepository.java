@@ -0,0 +1,278 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
+
+/**
+ * 원격 캐시 저장소 앞에 크기가 제한된 로컬 캐시를 두는 2단계 캐시 저장소입니다.
+ * <p/>
+ * 조회는 로컬 캐시를 먼저 확인하고, 없을 때만 원격 캐시를 조회하여 로컬 캐시에 짧은 유효기간으로 저장합니다.
+ * 저장/삭제는 원격 캐시에 먼저 반영한 뒤 로컬 캐시를 갱신하고, {@link ICacheInvalidationPublisher} 로 다른 노드에 무효화를 알립니다.
+ * 다른 노드의 변경은 로컬 유효기간이 지나거나 무효화 메시지를 받을 때까지 보이지 않을 수 있으므로,
+ * 로컬 유효기간은 허용 가능한 데이터 지연 시간으로 정해야 합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class NearCacheRepository extends CacheRepositoryBase {
+
+    /** 로컬 캐시의 기본 유효기간 (seconds) */
+    public static final long DEFAULT_LOCAL_TTL_SECONDS = 30L;
+
+    /** 로컬 캐시의 기본 최대 무게 (bytes) */
+    public static final long DEFAULT_LOCAL_MAXIMUM_WEIGHT = 64L * 1024L * 1024L;
+
+    @Getter
+    private final ICacheRepository remote;
+
+    @Getter
+    private final ConcurrentHashMapCacheRepository local;
+
+    /** 로컬 캐시 항목의 유효기간 (nanoseconds) */
+    @Getter
+    private final long localTtlNanos;
+
+    /** 로컬 캐시 무효화를 다른 노드에 전파하는 publisher (null 이면 전파하지 않습니다) */
+    @Getter
+    @Setter
+    private ICacheInvalidationPublisher invalidationPublisher;
+
+    private final AtomicLong remoteHitCount = new AtomicLong();
+    private final AtomicLong remoteMissCount = new AtomicLong();
+
+    /**
+     * 기본 설정의 로컬 캐시를 가진 2단계 캐시 저장소를 생성합니다.
+     *
+     * @param remote 원격 캐시 저장소
+     */
+    public NearCacheRepository(ICacheRepository remote) {
+        this(remote, DEFAULT_LOCAL_TTL_SECONDS, TimeUnit.SECONDS, DEFAULT_LOCAL_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * 생성자
+     *
+     * @param remote             원격 캐시 저장소
+     * @param localTtl           로컬 캐시 항목의 유효기간, 0 이하인 경우는 유효기간이 없다.
+     * @param unit               로컬 캐시 항목의 유효기간 단위
+     * @param localMaximumWeight 로컬 캐시의 최대 무게 (직렬화된 크기, bytes), 0 이하인 경우는 제한이 없다.
+     */
+    public NearCacheRepository(ICacheRepository remote, long localTtl, TimeUnit unit, long localMaximumWeight) {
+        this(remote, new ConcurrentHashMapCacheRepository(0, localMaximumWeight), localTtl, unit);
+    }
+
+    /**
+     * 생성자
+     *
+     * @param remote   원격 캐시 저장소
+     * @param local    로컬 캐시 저장소
+     * @param localTtl 로컬 캐시 항목의 유효기간, 0 이하인 경우는 유효기간이 없다.
+     * @param unit     로컬 캐시 항목의 유효기간 단위
+     */
+    public NearCacheRepository(ICacheRepository remote, ConcurrentHashMapCacheRepository local, long localTtl, TimeUnit unit) {
+        this.remote = shouldNotBeNull(remote, "remote");
+        this.local = shouldNotBeNull(local, "local");
+        this.localTtlNanos = shouldNotBeNull(unit, "unit").toNanos(localTtl);
+    }
+
+    @Override
+    public Object get(final String key) throws ExecutionException {
+        shouldNotBeWhiteSpace(key, "key");
+
+        Object value = local.get(key);
+        if (value != null)
+            return value;
+
+        value = remote.get(key);
+        if (value != null) {
+            remoteHitCount.incrementAndGet();
+            local.set(key, value, localTtlNanos, TimeUnit.NANOSECONDS);
+        } else {
+            remoteMissCount.incrementAndGet();
+        }
+        return value;
+    }
+
+    @Override
+    public Map<String, Object> getAll(final Iterable<String> keys) throws ExecutionException {
+        shouldNotBeNull(keys, "keys");
+
+        Map<String, Object> result = Maps.newLinkedHashMap(local.getAll(keys));
+
+        Set<String> misses = Sets.newLinkedHashSet();
+        for (final String key : keys) {
+            if (!result.containsKey(key))
+                misses.add(key);
+        }
+        if (misses.isEmpty())
+            return result;
+
+        Map<String, Object> remoteValues = remote.getAll(misses);
+        remoteHitCount.addAndGet(remoteValues.size());
+        remoteMissCount.addAndGet(misses.size() - remoteValues.size());
+
+        local.setAll(remoteValues, localTtlNanos, TimeUnit.NANOSECONDS);
+        result.putAll(remoteValues);
+        return result;
+    }
+
+    @Override
+    public void set(final String key, final Object value, final long validFor) {
+        shouldNotBeWhiteSpace(key, "key");
+
+        remote.set(key, value, validFor);
+        local.set(key, value, getLocalTtlNanos(validFor), TimeUnit.NANOSECONDS);
+        publish(Collections.singleton(key));
+    }
+
+    @Override
+    public void setAll(final Map<String, ?> items, final long validFor) {
+        shouldNotBeNull(items, "items");
+
+        remote.setAll(items, validFor);
+        local.setAll(items, getLocalTtlNanos(validFor), TimeUnit.NANOSECONDS);
+        publish(items.keySet());
+    }
+
+    @Override
+    public void remove(final String key) {
+        shouldNotBeWhiteSpace(key, "key");
+
+        remote.remove(key);
+        local.remove(key);
+        publish(Collections.singleton(key));
+    }
+
+    @Override
+    public void removeAll(final String... keys) {
+        removeAll(Arrays.asList(keys));
+    }
+
+    @Override
+    public void removeAll(final Iterable<String> keys) {
+        shouldNotBeNull(keys, "keys");
+
+        remote.removeAll(keys);
+        local.removeAll(keys);
+        publish(keys);
+    }
+
+    @Override
+    public boolean exists(final String key) {
+        return local.exists(key) || remote.exists(key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        if (invalidationPublisher == null)
+            return;
+        try {
+            invalidationPublisher.publishClear();
+        } catch (Exception e) {
+            log.warn("캐시 삭제를 전파하는데 실패했습니다. 다른 노드는 로컬 유효기간이 지나야 변경을 볼 수 있습니다.", e);
+        }
+    }
+
+    /**
+     * 다른 노드에서 변경된 키들을 로컬 캐시에서만 제거합니다. (원격 캐시는 변경하지 않습니다)
+     *
+     * @param keys 무효화할 캐시 키들
+     */
+    public void invalidateLocal(final Iterable<String> keys) {
+        if (log.isTraceEnabled())
+            log.trace("로컬 캐시 항목을 무효화합니다. keys=[{}]", keys);
+        local.removeAll(keys);
+    }
+
+    /** 로컬 캐시의 모든 항목을 제거합니다. (원격 캐시는 변경하지 않습니다) */
+    public void invalidateLocalAll() {
+        local.clear();
+    }
+
+    /** 로컬 캐시의 통계 */
+    public CacheStats getLocalStats() {
+        return local.getStats();
+    }
+
+    /** 로컬 캐시에 없어서 원격 캐시를 조회한 결과의 통계 */
+    public CacheStats getRemoteStats() {
+        return new CacheStats(remoteHitCount.get(), remoteMissCount.get(), 0, 0, 0, 0);
+    }
+
+    /**
+     * 두 단계를 합한 통계를 반환합니다. 어느 한 쪽에서든 찾으면 hit, 양쪽 모두 없으면 miss 입니다.
+     *
+     * @return 캐시 통계
+     */
+    @Override
+    public CacheStats getStats() {
+        CacheStats localStats = local.getStats();
+        return new CacheStats(localStats.hitCount() + remoteHitCount.get(),
+                              remoteMissCount.get(),
+                              0, 0, 0,
+                              localStats.evictionCount());
+    }
+
+    /** 원격 캐시의 유효기간보다 로컬 캐시 항목이 오래 남지 않도록 합니다. (로컬 유효기간이 없어도 원격 유효기간을 따릅니다) */
+    private long getLocalTtlNanos(long validFor) {
+        if (validFor <= 0)
+            return localTtlNanos;
+
+        long remoteTtlNanos = TimeUnit.MINUTES.toNanos(validFor);
+        return (localTtlNanos <= 0) ? remoteTtlNanos : Math.min(localTtlNanos, remoteTtlNanos);
+    }
+
+    private void publish(Iterable<String> keys) {
+        if (invalidationPublisher == null)
+            return;
+        try {
+            invalidationPublisher.publish(keys);
+        } catch (Exception e) {
+            log.warn("캐시 무효화를 전파하는데 실패했습니다. 다른 노드는 로컬 유효기간이 지나야 변경을 볼 수 있습니다.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("remote", remote)
+                .add("localTtlNanos", localTtlNanos)
+                .add("localStats", getLocalStats())
+                .add("remoteStats", getRemoteStats())
+                .toString();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import com.google.common.cache.Weigher;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * 캐시 항목의 무게를 직렬화된 크기 (bytes) 로 계산합니다.
+ * 직렬화 결과를 버퍼에 담지 않고 크기만 세므로, 추가 메모리를 거의 사용하지 않습니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class SerializedSizeWeigher implements Weigher<String, Object> {
+
+    /** 직렬화할 수 없는 객체의 무게 */
+    public static final int DEFAULT_WEIGHT = 1024;
+
+    @Override
+    public int weigh(String key, Object value) {
+        long keySize = (key != null) ? key.length() * 2L : 0L;
+        return (int) Math.min(Integer.MAX_VALUE, keySize + sizeOf(value));
+    }
+
+    /**
+     * 객체의 직렬화된 크기를 구합니다.
+     *
+     * @param value 객체
+     * @return 직렬화된 크기 (bytes)
+     */
+    public static long sizeOf(Object value) {
+        if (value == null)
+            return 0L;
+        if (value instanceof byte[])
+            return ((byte[]) value).length;
+        if (value instanceof CharSequence)
+            return ((CharSequence) value).length() * 2L;
+        if (!(value instanceof Serializable))
+            return DEFAULT_WEIGHT;
+
+        CountingOutputStream counter = new CountingOutputStream(ByteStreams.nullOutputStream());
+        try (ObjectOutputStream oos = new ObjectOutputStream(counter)) {
+            oos.writeObject(value);
+            oos.flush();
+            return counter.getCount();
+        } catch (Exception e) {
+            if (log.isTraceEnabled())
+                log.trace("직렬화된 크기를 구하지 못해 기본 무게를 사용합니다. valueClass=[{}]", value.getClass(), e);
+            return DEFAULT_WEIGHT;
+        }
+    }
+}
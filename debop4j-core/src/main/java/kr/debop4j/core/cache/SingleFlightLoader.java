@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import kr.debop4j.core.parallelism.ExecutorRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
+
+/**
+ * 같은 키에 대한 load 작업이 동시에 하나만 수행되도록 합니다. (single-flight)
+ * <p/>
+ * 캐시에 없는 키를 여러 thread 가 동시에 요청하면, 첫 번째 thread 만 loader 를 실행하고
+ * 나머지 thread 들은 그 결과를 기다렸다가 함께 사용합니다. load 가 끝나면 결과는 보관하지 않습니다.
+ * <p/>
+ * loader 가 load 중인 같은 키를 다시 요청하면 자신의 결과를 영원히 기다리게 되므로 {@link IllegalStateException} 을 던집니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class SingleFlightLoader {
+
+    private final ConcurrentMap<String, Loading> inFlights = Maps.newConcurrentMap();
+
+    /**
+     * 지정한 키의 값을 load 합니다. 같은 키의 load 가 진행 중이면 그 결과를 기다립니다.
+     *
+     * @param key    캐시 키
+     * @param loader 값을 load 하는 작업
+     * @return load 된 값
+     * @throws ExecutionException    loader 에서 예외가 발생한 경우
+     * @throws IllegalStateException loader 안에서 같은 키를 다시 load 하는 경우
+     */
+    public Object load(final String key, final Callable<?> loader) throws ExecutionException {
+        Flight flight = join(key, loader);
+        if (flight.owner)
+            flight.loading.run();
+
+        try {
+            return flight.loading.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        }
+    }
+
+    /**
+     * 지정한 키의 값을 지정한 Executor 에서 비동기로 load 합니다. 같은 키의 load 가 진행 중이면 그 작업을 반환합니다.
+     *
+     * @param key          캐시 키
+     * @param loader       값을 load 하는 작업
+     * @param executorName load 작업을 실행할 Executor 이름 ({@link ExecutorRegistry} 참고)
+     * @return load 작업의 Future
+     * @throws IllegalStateException loader 안에서 같은 키를 다시 load 하는 경우
+     */
+    public ListenableFuture<Object> loadAsync(final String key, final Callable<?> loader, final String executorName) {
+        Flight flight = join(key, loader);
+        if (flight.owner) {
+            try {
+                ExecutorRegistry.get(executorName).execute(flight.loading);
+            } catch (RejectedExecutionException e) {
+                log.error("load 작업을 실행하지 못했습니다. key=[{}], executorName=[{}]", key, executorName);
+                flight.loading.future.setException(e);
+                inFlights.remove(key, flight.loading);
+            }
+        }
+        return flight.loading.future;
+    }
+
+    /**
+     * 지정한 키의 load 작업이 진행 중인지 확인합니다.
+     *
+     * @param key 캐시 키
+     * @return load 작업 진행 여부
+     */
+    public boolean isLoading(final String key) {
+        return inFlights.containsKey(key);
+    }
+
+    private Flight join(final String key, final Callable<?> loader) {
+        shouldNotBeWhiteSpace(key, "key");
+        shouldNotBeNull(loader, "loader");
+
+        Loading loading = inFlights.get(key);
+        if (loading == null) {
+            Loading newLoading = new Loading(key, loader);
+            loading = inFlights.putIfAbsent(key, newLoading);
+            if (loading == null) {
+                if (log.isTraceEnabled())
+                    log.trace("캐시 값을 load 합니다. key=[{}]", key);
+                return new Flight(newLoading, true);
+            }
+        }
+        if (loading.loadingThread == Thread.currentThread())
+            throw new IllegalStateException("load 중인 키를 loader 안에서 다시 load 할 수 없습니다. key=" + key);
+
+        return new Flight(loading, false);
+    }
+
+    /** 진행 중인 load 작업. 결과를 설정한 뒤에 목록에서 제거하므로, 그 사이에 들어온 요청도 같은 결과를 받습니다. */
+    private final class Loading implements Runnable {
+        final String key;
+        final Callable<?> loader;
+        final SettableFuture<Object> future = SettableFuture.create();
+        /** load 작업을 실행 중인 thread (재진입 확인용) */
+        volatile Thread loadingThread;
+
+        Loading(String key, Callable<?> loader) {
+            this.key = key;
+            this.loader = loader;
+        }
+
+        @Override
+        public void run() {
+            Object value = null;
+            Throwable error = null;
+            loadingThread = Thread.currentThread();
+            try {
+                value = loader.call();
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                loadingThread = null;
+            }
+
+            try {
+                if (error == null)
+                    future.set(value);
+                else
+                    future.setException(error);
+            } finally {
+                inFlights.remove(key, this);
+            }
+        }
+    }
+
+    private static final class Flight {
+        final Loading loading;
+        /** 이 호출이 load 작업을 실행해야 하는지 여부 */
+        final boolean owner;
+
+        Flight(Loading loading, boolean owner) {
+            this.loading = loading;
+            this.owner = owner;
+        }
+    }
+}
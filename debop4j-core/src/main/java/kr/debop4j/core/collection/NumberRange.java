@@ -2,15 +2,21 @@ package kr.debop4j.core.collection;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
+import kr.debop4j.core.IntAction;
+import kr.debop4j.core.LongAction;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * 특정 범위에 해당하는 숫자들을 열거하도록 합니다.
+ * <p/>
+ * {@link #iterator()} 는 호출마다 독립된 cursor 를 반환하므로, 하나의 범위를 여러 번, 여러 thread 에서 열거할 수 있습니다.
+ * boxing 없이 열거하려면 {@link IntRange#forEach(IntAction)}, {@link IntRange#cursor()} 등의 primitive API 를 사용하세요.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 13. 1. 11
@@ -109,7 +115,7 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
         int partitionSize = rangeSize / partitionCount;
         int remainder = rangeSize % partitionCount;
 
-        List<IntRange> partitions = Lists.newLinkedList();
+        List<IntRange> partitions = Lists.newArrayListWithCapacity(partitionCount);
 
         int fromInclude = range.fromInclude;
         for (int i = 0; i < partitionCount; i++) {
@@ -179,7 +185,7 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
         long partitionSize = rangeSize / partitionCount;
         long remainder = rangeSize % partitionCount;
 
-        List<LongRange> partitions = Lists.newLinkedList();
+        List<LongRange> partitions = Lists.newArrayListWithCapacity(partitionCount);
 
         long fromInclude = range.fromInclude;
         for (int i = 0; i < partitionCount; i++) {
@@ -235,7 +241,12 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
         return partition(range(count), partitionCount);
     }
 
-    /** The type Int range. */
+    /**
+     * int 범위입니다.
+     * <p/>
+     * 범위 자체가 구현하는 {@link Iterator} 메소드 ({@link #hasNext()}, {@link #next()}, {@link #reset()}) 는 하위 호환을 위한 것으로,
+     * 상태를 공유하므로 thread-safe 하지 않습니다. {@link #iterator()}, {@link #cursor()}, {@link #forEach(IntAction)} 를 사용하세요.
+     */
     public static class IntRange extends NumberRange<Integer> implements Iterator<Integer> {
 
         @Getter
@@ -251,6 +262,8 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
          * @param step        the step
          */
         public IntRange(int fromInclude, int toExclude, int step) {
+            if (step == 0)
+                throw new IllegalArgumentException("step 은 0 이 될 수 없습니다.");
             this.fromInclude = fromInclude;
             this.toExclude = toExclude;
             this.step = step;
@@ -265,7 +278,8 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
          * @return the int
          */
         public int size() {
-            return (toExclude - fromInclude) / step;
+            int size = (toExclude - fromInclude + step - getStepSign()) / step;
+            return Math.max(0, size);
         }
 
         /**
@@ -277,11 +291,70 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
             return (step > 0) ? 1 : -1;
         }
 
+        /**
+         * 범위의 모든 값에 대해 boxing 없이 action 을 수행합니다.
+         *
+         * @param action 수행할 작업
+         */
+        public void forEach(IntAction action) {
+            int value = fromInclude;
+            for (int i = size(); i > 0; i--) {
+                action.perform(value);
+                value += step;
+            }
+        }
+
+        /**
+         * 범위의 값을 boxing 없이 열거하는 독립된 cursor 를 생성합니다.
+         *
+         * @return 새로운 cursor
+         */
+        public IntCursor cursor() {
+            return new IntCursor(fromInclude, step, size());
+        }
+
+        /**
+         * 범위의 앞쪽 절반을 새로운 범위로 분리하고, 현재 범위는 나머지 뒤쪽 절반이 됩니다. ({@code Spliterator.trySplit()} 과 같은 방식)
+         * 현재 범위를 변경하므로, 범위를 소유한 하나의 thread 에서만 호출해야 합니다.
+         *
+         * @return 분리된 앞쪽 범위, 더 이상 나눌 수 없으면 (크기가 2 미만) null
+         */
+        public IntRange trySplit() {
+            int size = size();
+            return (size < 2) ? null : split((size + 1) / 2);
+        }
+
+        /**
+         * 범위의 앞쪽 count 개의 값을 새로운 범위로 분리하고, 현재 범위는 나머지 값들의 범위가 됩니다.
+         * 현재 범위를 변경하므로, 범위를 소유한 하나의 thread 에서만 호출해야 합니다.
+         *
+         * @param count 분리할 값의 수 (범위의 크기보다 크면 전체를 분리합니다)
+         * @return 분리된 앞쪽 범위
+         */
+        public IntRange split(int count) {
+            if (count < 0)
+                throw new IllegalArgumentException("count 는 0 이상이어야 합니다. count=" + count);
+
+            int splitAt = (count >= size()) ? toExclude : fromInclude + count * step;
+            IntRange prefix = new IntRange(fromInclude, splitAt, step);
+            this.fromInclude = splitAt;
+            this.current = splitAt;
+            return prefix;
+        }
+
+        /** 범위를 복사합니다. */
+        public IntRange copy() {
+            return new IntRange(fromInclude, toExclude, step);
+        }
+
         @Override
+        @Deprecated
         public boolean hasNext() {
             return step > 0 ? current < toExclude : current > toExclude;
         }
 
+        @Override
+        @Deprecated
         public Integer next() {
             int result = this.current;
             this.current += this.step;
@@ -289,18 +362,21 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
         }
 
         /** Reset void. */
+        @Deprecated
         public void reset() {
             this.current = this.fromInclude;
         }
 
         @Override
+        @Deprecated
         public void remove() {
             throw new UnsupportedOperationException();
         }
 
+        /** 호출마다 독립된 iterator 를 반환합니다. */
         @Override
         public Iterator<Integer> iterator() {
-            return this;
+            return cursor();
         }
 
         @Override
@@ -315,7 +391,12 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
         }
     }
 
-    /** The type Long range. */
+    /**
+     * long 범위입니다.
+     * <p/>
+     * 범위 자체가 구현하는 {@link Iterator} 메소드 ({@link #hasNext()}, {@link #next()}, {@link #reset()}) 는 하위 호환을 위한 것으로,
+     * 상태를 공유하므로 thread-safe 하지 않습니다. {@link #iterator()}, {@link #cursor()}, {@link #forEach(LongAction)} 를 사용하세요.
+     */
     public static class LongRange extends NumberRange<Long> implements Iterator<Long> {
 
         @Getter
@@ -331,12 +412,14 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
          * @param step        the step
          */
         public LongRange(long fromInclude, long toExclude, long step) {
+            if (step == 0)
+                throw new IllegalArgumentException("step 은 0 이 될 수 없습니다.");
             this.fromInclude = fromInclude;
             this.toExclude = toExclude;
             this.step = step;
             this.current = this.fromInclude;
             if (isTraceEnabled)
-                log.trace("create IntRange=[{}]", this);
+                log.trace("create LongRange=[{}]", this);
         }
 
         /**
@@ -344,8 +427,9 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
          *
          * @return the long
          */
-        public Long size() {
-            return (toExclude - fromInclude) / step;
+        public long size() {
+            long size = (toExclude - fromInclude + step - getStepSign()) / step;
+            return Math.max(0L, size);
         }
 
         /**
@@ -353,15 +437,74 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
          *
          * @return the step sign
          */
-        public Long getStepSign() {
+        public long getStepSign() {
             return (step > 0) ? 1L : -1L;
         }
 
+        /**
+         * 범위의 모든 값에 대해 boxing 없이 action 을 수행합니다.
+         *
+         * @param action 수행할 작업
+         */
+        public void forEach(LongAction action) {
+            long value = fromInclude;
+            for (long i = size(); i > 0; i--) {
+                action.perform(value);
+                value += step;
+            }
+        }
+
+        /**
+         * 범위의 값을 boxing 없이 열거하는 독립된 cursor 를 생성합니다.
+         *
+         * @return 새로운 cursor
+         */
+        public LongCursor cursor() {
+            return new LongCursor(fromInclude, step, size());
+        }
+
+        /**
+         * 범위의 앞쪽 절반을 새로운 범위로 분리하고, 현재 범위는 나머지 뒤쪽 절반이 됩니다. ({@code Spliterator.trySplit()} 과 같은 방식)
+         * 현재 범위를 변경하므로, 범위를 소유한 하나의 thread 에서만 호출해야 합니다.
+         *
+         * @return 분리된 앞쪽 범위, 더 이상 나눌 수 없으면 (크기가 2 미만) null
+         */
+        public LongRange trySplit() {
+            long size = size();
+            return (size < 2) ? null : split((size + 1) / 2);
+        }
+
+        /**
+         * 범위의 앞쪽 count 개의 값을 새로운 범위로 분리하고, 현재 범위는 나머지 값들의 범위가 됩니다.
+         * 현재 범위를 변경하므로, 범위를 소유한 하나의 thread 에서만 호출해야 합니다.
+         *
+         * @param count 분리할 값의 수 (범위의 크기보다 크면 전체를 분리합니다)
+         * @return 분리된 앞쪽 범위
+         */
+        public LongRange split(long count) {
+            if (count < 0)
+                throw new IllegalArgumentException("count 는 0 이상이어야 합니다. count=" + count);
+
+            long splitAt = (count >= size()) ? toExclude : fromInclude + count * step;
+            LongRange prefix = new LongRange(fromInclude, splitAt, step);
+            this.fromInclude = splitAt;
+            this.current = splitAt;
+            return prefix;
+        }
+
+        /** 범위를 복사합니다. */
+        public LongRange copy() {
+            return new LongRange(fromInclude, toExclude, step);
+        }
+
         @Override
+        @Deprecated
         public boolean hasNext() {
             return step > 0 ? current < toExclude : current > toExclude;
         }
 
+        @Override
+        @Deprecated
         public Long next() {
             long result = this.current;
             this.current += this.step;
@@ -369,18 +512,21 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
         }
 
         /** Reset */
+        @Deprecated
         public void reset() {
             this.current = this.fromInclude;
         }
 
         @Override
+        @Deprecated
         public void remove() {
             throw new UnsupportedOperationException();
         }
 
+        /** 호출마다 독립된 iterator 를 반환합니다. */
         @Override
         public Iterator<Long> iterator() {
-            return this;
+            return cursor();
         }
 
         @Override
@@ -394,4 +540,90 @@ public abstract class NumberRange<T extends Number> implements Iterable<T> {
                     .toString();
         }
     }
+
+    /** {@link IntRange} 의 값을 boxing 없이 열거하는 cursor 입니다. {@link #nextInt()} 를 사용하면 boxing 이 일어나지 않습니다. */
+    public static final class IntCursor implements Iterator<Integer> {
+
+        private final int step;
+        private int value;
+        private int remaining;
+
+        IntCursor(int fromInclude, int step, int size) {
+            this.value = fromInclude;
+            this.step = step;
+            this.remaining = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * 다음 값을 boxing 없이 반환합니다.
+         *
+         * @return 다음 값
+         */
+        public int nextInt() {
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            int result = value;
+            value += step;
+            remaining--;
+            return result;
+        }
+
+        @Override
+        public Integer next() {
+            return nextInt();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** {@link LongRange} 의 값을 boxing 없이 열거하는 cursor 입니다. {@link #nextLong()} 를 사용하면 boxing 이 일어나지 않습니다. */
+    public static final class LongCursor implements Iterator<Long> {
+
+        private final long step;
+        private long value;
+        private long remaining;
+
+        LongCursor(long fromInclude, long step, long size) {
+            this.value = fromInclude;
+            this.step = step;
+            this.remaining = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * 다음 값을 boxing 없이 반환합니다.
+         *
+         * @return 다음 값
+         */
+        public long nextLong() {
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            long result = value;
+            value += step;
+            remaining--;
+            return result;
+        }
+
+        @Override
+        public Long next() {
+            return nextLong();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -16,14 +16,13 @@
 
 package kr.debop4j.core.compress;
 
-import lombok.Cleanup;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * BZip2 알고리즘을 사용하는 Compressor
@@ -40,30 +39,12 @@ public class BZip2Compressor extends CompressorBase {
     }
 
     @Override
-    protected byte[] doCompress(byte[] plain) throws IOException {
-
-        @Cleanup ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        @Cleanup BZip2CompressorOutputStream bzip2 = new BZip2CompressorOutputStream(bos);
-
-        bzip2.write(plain);
-        bzip2.close();
-
-        return bos.toByteArray();
+    protected OutputStream createCompressStream(OutputStream out) throws IOException {
+        return new BZip2CompressorOutputStream(out);
     }
 
     @Override
-    protected byte[] doDecompress(byte[] compressed) throws IOException {
-
-        @Cleanup ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        @Cleanup ByteArrayInputStream bis = new ByteArrayInputStream(compressed);
-        @Cleanup BZip2CompressorInputStream bzip2 = new BZip2CompressorInputStream(bis);
-
-        byte[] buff = new byte[BUFFER_SIZE];
-        int n;
-        while ((n = bzip2.read(buff, 0, BUFFER_SIZE)) > 0) {
-            bos.write(buff, 0, n);
-        }
-
-        return bos.toByteArray();
+    protected InputStream createDecompressStream(InputStream in) throws IOException {
+        return new BZip2CompressorInputStream(in);
     }
 }
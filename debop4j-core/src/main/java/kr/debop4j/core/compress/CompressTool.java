@@ -16,20 +16,24 @@
 
 package kr.debop4j.core.compress;
 
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ListenableFuture;
 import kr.debop4j.core.BinaryStringFormat;
 import kr.debop4j.core.parallelism.AsyncTool;
-import kr.debop4j.core.tools.StreamTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
+import java.util.concurrent.ConcurrentMap;
 
 import static kr.debop4j.core.Guard.shouldNotBeNull;
-import static kr.debop4j.core.tools.StreamTool.toByteArray;
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
 import static kr.debop4j.core.tools.StringTool.*;
 
 
@@ -45,7 +49,48 @@ public abstract class CompressTool {
 
     private CompressTool() {}
 
-    private static final byte[] buffer = new byte[ICompressor.BUFFER_SIZE];
+    /** 비동기 압축 작업을 실행할 Executor 이름 ({@link kr.debop4j.core.parallelism.ExecutorRegistry} 참고) */
+    public static final String EXECUTOR_NAME = "CompressTool";
+
+    private static final ConcurrentMap<String, ICompressor> compressors = Maps.newConcurrentMap();
+
+    static {
+        registerCompressor(new GZipCompressor());
+        registerCompressor(new DeflateCompressor());
+        registerCompressor(new BZip2Compressor());
+        registerCompressor(new XZCompressor());
+        registerCompressor(new SnappyCompressor());
+        registerCompressor(new LZ4Compressor());
+    }
+
+    /**
+     * Compressor 를 알고리즘 이름으로 등록합니다. 같은 이름의 Compressor 가 있으면 교체합니다.
+     *
+     * @param compressor 등록할 compressor
+     */
+    public static void registerCompressor(final ICompressor compressor) {
+        shouldNotBeNull(compressor, "compressor");
+        compressors.put(compressor.getAlgorithm().toUpperCase(), compressor);
+
+        if (log.isDebugEnabled())
+            log.debug("Compressor 를 등록했습니다. algorithm=[{}], compressor=[{}]", compressor.getAlgorithm(), compressor);
+    }
+
+    /**
+     * 알고리즘 이름 (대소문자 구분 없음) 으로 등록된 Compressor 를 찾습니다.
+     *
+     * @param algorithm 알고리즘 이름 (GZip, Deflate, BZip2, XZ, Snappy, LZ4 등)
+     * @return 등록된 compressor, 없으면 null
+     */
+    public static ICompressor getCompressor(final String algorithm) {
+        shouldNotBeWhiteSpace(algorithm, "algorithm");
+        return compressors.get(algorithm.toUpperCase());
+    }
+
+    /** 등록된 모든 Compressor 를 반환합니다. */
+    public static Collection<ICompressor> getCompressors() {
+        return Collections.unmodifiableCollection(compressors.values());
+    }
 
     /**
      * Compress string.
@@ -89,8 +134,8 @@ public abstract class CompressTool {
      * @param plainText  the plain text
      * @return the future
      */
-    public static Future<String> compressStringAsync(final ICompressor compressor,
-                                                     final String plainText) {
+    public static ListenableFuture<String> compressStringAsync(final ICompressor compressor,
+                                                               final String plainText) {
         return compressStringAsync(compressor,
                 plainText,
                 BinaryStringFormat.HexDecimal);
@@ -104,18 +149,18 @@ public abstract class CompressTool {
      * @param stringFormat the string format
      * @return the future
      */
-    public static Future<String> compressStringAsync(final ICompressor compressor,
-                                                     final String plainText,
-                                                     final BinaryStringFormat stringFormat) {
+    public static ListenableFuture<String> compressStringAsync(final ICompressor compressor,
+                                                               final String plainText,
+                                                               final BinaryStringFormat stringFormat) {
         shouldNotBeNull(compressor, "compressor");
         if (isEmpty(plainText)) {
-            AsyncTool.getTaskHasResult("");
+            return AsyncTool.getTaskHasResult("");
         }
 
         if (log.isTraceEnabled())
             log.trace("다음 문자열을 압축합니다... plainText=[{}]", ellipsisChar(plainText, 80));
 
-        return AsyncTool.startNew(new Callable<String>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<String>() {
             @Override
             public String call() throws Exception {
                 byte[] compressedBytes = compressor.compress(getUtf8Bytes(plainText));
@@ -172,8 +217,8 @@ public abstract class CompressTool {
      * @param compressedText the compressed text
      * @return the future
      */
-    public static Future<String> decompressStringAsync(final ICompressor compressor,
-                                                       final String compressedText) {
+    public static ListenableFuture<String> decompressStringAsync(final ICompressor compressor,
+                                                                 final String compressedText) {
         return decompressStringAsync(compressor,
                 compressedText,
                 BinaryStringFormat.HexDecimal);
@@ -187,9 +232,9 @@ public abstract class CompressTool {
      * @param stringFormat   the string format
      * @return the future
      */
-    public static Future<String> decompressStringAsync(final ICompressor compressor,
-                                                       final String compressedText,
-                                                       final BinaryStringFormat stringFormat) {
+    public static ListenableFuture<String> decompressStringAsync(final ICompressor compressor,
+                                                                 final String compressedText,
+                                                                 final BinaryStringFormat stringFormat) {
         shouldNotBeNull(compressor, "compressor");
 
         if (isEmpty(compressedText)) {
@@ -199,7 +244,7 @@ public abstract class CompressTool {
         if (log.isTraceEnabled())
             log.trace("압축된 문자열을 복원합니다... compressedText=[{}]", ellipsisChar(compressedText, 80));
 
-        return AsyncTool.startNew(new Callable<String>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<String>() {
             @Override
             public String call() throws Exception {
                 byte[] plainBytes = compressor.decompress(getBytesFromString(compressedText,
@@ -215,7 +260,7 @@ public abstract class CompressTool {
     }
 
     /**
-     * Compress stream.
+     * Compress stream. 입력 스트림 전체를 메모리에 올리지 않고 {@link ICompressor#compress(InputStream, OutputStream)} 로 압축합니다.
      *
      * @param compressor  the compressor
      * @param inputStream the input stream
@@ -227,14 +272,13 @@ public abstract class CompressTool {
         shouldNotBeNull(compressor, "compressor");
         shouldNotBeNull(inputStream, "inputStream");
 
-        byte[] plainBytes = toByteArray(inputStream);
-        byte[] compressedBytes = compressor.compress(plainBytes);
-
-        return StreamTool.toOutputStream(compressedBytes);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        compressor.compress(inputStream, outputStream);
+        return outputStream;
     }
 
     /**
-     * Decompress stream.
+     * Decompress stream. {@link ICompressor#decompress(InputStream, OutputStream)} 로 복원합니다.
      *
      * @param compressor  the compressor
      * @param inputStream the input stream
@@ -246,10 +290,9 @@ public abstract class CompressTool {
         shouldNotBeNull(compressor, "compressor");
         shouldNotBeNull(inputStream, "inputStream");
 
-        byte[] compressedBytes = toByteArray(inputStream);
-        byte[] plainBytes = compressor.decompress(compressedBytes);
-
-        return StreamTool.toOutputStream(plainBytes);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        compressor.decompress(inputStream, outputStream);
+        return outputStream;
     }
 
     /**
@@ -259,12 +302,12 @@ public abstract class CompressTool {
      * @param inputStream the input stream
      * @return the future
      */
-    public static Future<OutputStream> compressStreamAsync(final ICompressor compressor,
-                                                           final InputStream inputStream) {
+    public static ListenableFuture<OutputStream> compressStreamAsync(final ICompressor compressor,
+                                                                     final InputStream inputStream) {
         shouldNotBeNull(compressor, "compressor");
         shouldNotBeNull(inputStream, "inputStream");
 
-        return AsyncTool.startNew(new Callable<OutputStream>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<OutputStream>() {
             @Override
             public OutputStream call() throws Exception {
                 return compressStream(compressor, inputStream);
@@ -279,18 +322,15 @@ public abstract class CompressTool {
      * @param inputStream the input stream
      * @return the future
      */
-    public static Future<OutputStream> decompressStreamAsync(final ICompressor compressor,
-                                                             final InputStream inputStream) {
+    public static ListenableFuture<OutputStream> decompressStreamAsync(final ICompressor compressor,
+                                                                       final InputStream inputStream) {
         shouldNotBeNull(compressor, "compressor");
         shouldNotBeNull(inputStream, "inputStream");
 
-        return AsyncTool.startNew(new Callable<OutputStream>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<OutputStream>() {
             @Override
             public OutputStream call() throws Exception {
-                byte[] compressedBytes = toByteArray(inputStream);
-                byte[] plainBytes = compressor.decompress(compressedBytes);
-
-                return StreamTool.toOutputStream(plainBytes);
+                return decompressStream(compressor, inputStream);
             }
         });
     }
@@ -16,12 +16,27 @@
 
 package kr.debop4j.core.compress;
 
+import com.google.common.io.CountingOutputStream;
+import kr.debop4j.core.io.ByteBufferInputStream;
+import kr.debop4j.core.io.ByteBufferOutputStream;
 import kr.debop4j.core.tools.StringTool;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
 
 /**
  * 압축기의 기본 클래스입니다. Template pattern을 이용하여, 압축/복원 전후의 루틴한 작업을 추상 클래스로 뺐습니다.
+ * <p/>
+ * 하위 클래스는 압축/복원 스트림만 제공하면 되고, byte 배열, 스트림, {@link ByteBuffer} 방식의 압축/복원은 모두 이 스트림을 사용합니다.
+ * 복사용 버퍼와 결과를 담는 버퍼는 스레드별로 재사용하므로, 큰 데이터를 처리할 때에도 불필요한 중간 복사본을 만들지 않습니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 9. 12
@@ -30,6 +45,17 @@ public abstract class CompressorBase implements ICompressor {
 
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(CompressorBase.class);
 
+    /** 스트림 복사 시 사용하는 버퍼의 크기 */
+    public static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /** 스레드별로 보관할 결과 버퍼의 최대 크기. 이보다 커진 버퍼는 재사용하지 않고 버립니다. */
+    static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<byte[]> copyBuffers = new ThreadLocal<byte[]>();
+
+    private static final ThreadLocal<ReusableByteArrayOutputStream> outputBuffers =
+            new ThreadLocal<ReusableByteArrayOutputStream>();
+
     /**
      * 압축 알고리즘 이름
      *
@@ -38,22 +64,22 @@ public abstract class CompressorBase implements ICompressor {
     abstract public String getAlgorithm();
 
     /**
-     * byte 배열을 압축합니다.
+     * 지정한 스트림에 압축된 데이터를 쓰는 압축 스트림을 생성합니다. 압축 스트림을 닫으면 압축이 완료되어야 합니다.
      *
-     * @param plain the plain
-     * @return the byte [ ]
+     * @param out 압축된 데이터를 쓸 스트림
+     * @return 압축 스트림
      * @throws IOException the iO exception
      */
-    abstract protected byte[] doCompress(byte[] plain) throws IOException;
+    abstract protected OutputStream createCompressStream(OutputStream out) throws IOException;
 
     /**
-     * 바이트 배열의 압축을 풉니다.
+     * 지정한 스트림의 압축된 데이터를 복원하여 읽는 스트림을 생성합니다.
      *
-     * @param compressed the compressed
-     * @return the byte [ ]
+     * @param in 압축된 데이터를 읽을 스트림
+     * @return 복원 스트림
      * @throws IOException the iO exception
      */
-    abstract protected byte[] doDecompress(byte[] compressed) throws IOException;
+    abstract protected InputStream createDecompressStream(InputStream in) throws IOException;
 
     /** {@inheritDoc} */
     public final byte[] compress(byte[] plain) {
@@ -63,8 +89,15 @@ public abstract class CompressorBase implements ICompressor {
         if (log.isTraceEnabled())
             log.trace("데이터를 압축합니다... algorithm=[{}]", getAlgorithm());
 
+        ReusableByteArrayOutputStream bos = acquireOutputBuffer();
         try {
-            byte[] result = doCompress(plain);
+            OutputStream cos = createCompressStream(bos);
+            try {
+                cos.write(plain);
+            } finally {
+                cos.close();
+            }
+            byte[] result = bos.toByteArray();
 
             if (log.isTraceEnabled())
                 log.trace("데이터를 압축을 수행했습니다. 압축률=[{}], original=[{}], compressed=[{}]",
@@ -73,6 +106,8 @@ public abstract class CompressorBase implements ICompressor {
         } catch (IOException e) {
             log.error("압축 시 예외가 발생했습니다...", e);
             throw new RuntimeException(e);
+        } finally {
+            releaseOutputBuffer(bos);
         }
     }
 
@@ -84,8 +119,15 @@ public abstract class CompressorBase implements ICompressor {
         if (log.isTraceEnabled())
             log.trace("압축된 데이타를 복구합니다... algorithm=[{}]", getAlgorithm());
 
+        ReusableByteArrayOutputStream bos = acquireOutputBuffer();
         try {
-            byte[] result = doDecompress(compressed);
+            InputStream dis = createDecompressStream(new ByteArrayInputStream(compressed));
+            try {
+                copy(dis, bos);
+            } finally {
+                dis.close();
+            }
+            byte[] result = bos.toByteArray();
 
             if (log.isTraceEnabled())
                 log.trace("압축 데이터를 복원했습니다. 압축률=[{}], compressed=[{}], original=[{}]",
@@ -94,6 +136,116 @@ public abstract class CompressorBase implements ICompressor {
         } catch (IOException e) {
             log.error("압축해제 시 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
+        } finally {
+            releaseOutputBuffer(bos);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final long compress(InputStream plain, OutputStream compressed) {
+        shouldNotBeNull(plain, "plain");
+        shouldNotBeNull(compressed, "compressed");
+
+        if (log.isTraceEnabled())
+            log.trace("스트림을 압축합니다... algorithm=[{}]", getAlgorithm());
+
+        try {
+            CountingOutputStream counter = new CountingOutputStream(new CloseShieldOutputStream(compressed));
+            OutputStream cos = createCompressStream(counter);
+            long original;
+            try {
+                original = copy(plain, cos);
+            } finally {
+                cos.close();
+            }
+            compressed.flush();
+
+            if (log.isTraceEnabled())
+                log.trace("스트림 압축을 수행했습니다. original=[{}], compressed=[{}]", original, counter.getCount());
+            return counter.getCount();
+        } catch (IOException e) {
+            log.error("압축 시 예외가 발생했습니다...", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final long decompress(InputStream compressed, OutputStream plain) {
+        shouldNotBeNull(compressed, "compressed");
+        shouldNotBeNull(plain, "plain");
+
+        if (log.isTraceEnabled())
+            log.trace("압축된 스트림을 복원합니다... algorithm=[{}]", getAlgorithm());
+
+        try {
+            InputStream dis = createDecompressStream(new CloseShieldInputStream(compressed));
+            long result;
+            try {
+                result = copy(dis, plain);
+            } finally {
+                dis.close();
+            }
+            plain.flush();
+
+            if (log.isTraceEnabled())
+                log.trace("압축된 스트림을 복원했습니다. original=[{}]", result);
+            return result;
+        } catch (IOException e) {
+            log.error("압축해제 시 예외가 발생했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int compress(ByteBuffer src, ByteBuffer dst) {
+        shouldNotBeNull(src, "src");
+        shouldNotBeNull(dst, "dst");
+        if (!src.hasRemaining())
+            return 0;
+
+        int start = dst.position();
+        try {
+            OutputStream cos = createCompressStream(new ByteBufferOutputStream(dst));
+            try {
+                if (src.hasArray()) {
+                    cos.write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+                    src.position(src.limit());
+                } else {
+                    copy(new ByteBufferInputStream(src), cos);
+                }
+            } finally {
+                cos.close();
+            }
+            return dst.position() - start;
+        } catch (IOException e) {
+            log.error("압축 시 예외가 발생했습니다...", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int decompress(ByteBuffer src, ByteBuffer dst) {
+        shouldNotBeNull(src, "src");
+        shouldNotBeNull(dst, "dst");
+        if (!src.hasRemaining())
+            return 0;
+
+        int start = dst.position();
+        try {
+            InputStream dis = createDecompressStream(new ByteBufferInputStream(src));
+            try {
+                copy(dis, new ByteBufferOutputStream(dst));
+            } finally {
+                dis.close();
+            }
+            return dst.position() - start;
+        } catch (IOException e) {
+            log.error("압축해제 시 예외가 발생했습니다.", e);
+            throw new RuntimeException(e);
         }
     }
 
@@ -126,4 +278,58 @@ public abstract class CompressorBase implements ICompressor {
     public String toString() {
         return getAlgorithm() + "ICompressor";
     }
+
+    /**
+     * 스레드별 복사 버퍼를 이용하여 입력 스트림의 내용을 출력 스트림으로 복사합니다.
+     * 같은 스레드에서 중첩 호출되면 새로운 버퍼를 사용합니다.
+     */
+    static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = copyBuffers.get();
+        if (buffer == null)
+            buffer = new byte[STREAM_BUFFER_SIZE];
+        else
+            copyBuffers.set(null);
+
+        try {
+            long total = 0;
+            int n;
+            while ((n = in.read(buffer, 0, buffer.length)) >= 0) {
+                if (n > 0) {
+                    out.write(buffer, 0, n);
+                    total += n;
+                }
+            }
+            return total;
+        } finally {
+            copyBuffers.set(buffer);
+        }
+    }
+
+    private static ReusableByteArrayOutputStream acquireOutputBuffer() {
+        ReusableByteArrayOutputStream bos = outputBuffers.get();
+        if (bos == null)
+            return new ReusableByteArrayOutputStream();
+
+        outputBuffers.set(null);
+        return bos;
+    }
+
+    private static void releaseOutputBuffer(ReusableByteArrayOutputStream bos) {
+        if (bos.capacity() > MAX_RETAINED_BUFFER_SIZE)
+            return;
+        bos.reset();
+        outputBuffers.set(bos);
+    }
+
+    /** 내부 버퍼 크기를 알 수 있는 {@link ByteArrayOutputStream} */
+    private static final class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ReusableByteArrayOutputStream() {
+            super(BUFFER_SIZE);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
 }
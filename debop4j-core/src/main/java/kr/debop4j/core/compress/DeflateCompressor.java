@@ -16,13 +16,14 @@
 
 package kr.debop4j.core.compress;
 
-import lombok.Cleanup;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
 
 /**
@@ -34,37 +35,53 @@ import java.util.zip.InflaterInputStream;
 @Slf4j
 public class DeflateCompressor extends CompressorBase {
 
+    private static final DeflaterPool deflaterPool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, false);
+    private static final InflaterPool inflaterPool = new InflaterPool(false);
+
     @Override
     public String getAlgorithm() {
         return "Deflate";
     }
 
+    /** Pool 에서 얻은 {@link Deflater} 를 사용하고, 스트림을 닫을 때 Pool 로 반환합니다. */
     @Override
-    protected byte[] doCompress(byte[] plain) throws IOException {
-
-        @Cleanup ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        @Cleanup DeflaterOutputStream deflater = new DeflaterOutputStream(bos);
+    protected OutputStream createCompressStream(OutputStream out) throws IOException {
+        final Deflater deflater = deflaterPool.getResource();
 
-        deflater.write(plain);
-        deflater.close();
+        return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+            private boolean closed = false;
 
-        return bos.toByteArray();
+            @Override
+            public void close() throws IOException {
+                if (closed) return;
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    deflaterPool.returnResource(deflater);
+                }
+            }
+        };
     }
 
+    /** Pool 에서 얻은 {@link Inflater} 를 사용하고, 스트림을 닫을 때 Pool 로 반환합니다. */
     @Override
-    protected byte[] doDecompress(byte[] compressed) throws IOException {
-
-        @Cleanup ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        @Cleanup ByteArrayInputStream bis = new ByteArrayInputStream(compressed);
-        @Cleanup InflaterInputStream inflater = new InflaterInputStream(bis);
-
-        byte[] buff = new byte[BUFFER_SIZE];
-        int n;
+    protected InputStream createDecompressStream(InputStream in) throws IOException {
+        final Inflater inflater = inflaterPool.getResource();
 
-        while ((n = inflater.read(buff, 0, BUFFER_SIZE)) > 0) {
-            bos.write(buff, 0, n);
-        }
-        return bos.toByteArray();
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            private boolean closed = false;
 
+            @Override
+            public void close() throws IOException {
+                if (closed) return;
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    inflaterPool.returnResource(inflater);
+                }
+            }
+        };
     }
 }
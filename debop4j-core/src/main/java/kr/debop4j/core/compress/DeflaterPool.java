@@ -0,0 +1,77 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.compress;
+
+import kr.debop4j.core.pool.AbstractPool;
+import org.apache.commons.pool.BasePoolableObjectFactory;
+import org.apache.commons.pool.impl.GenericObjectPool;
+
+import java.util.zip.Deflater;
+
+/**
+ * {@link Deflater} 의 Pool 입니다. Deflater 는 생성할 때마다 native 메모리를 할당하므로, 재사용하여 할당 비용을 줄입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class DeflaterPool extends AbstractPool<Deflater> {
+
+    /**
+     * 생성자
+     *
+     * @param level  압축 레벨 ({@link Deflater#DEFAULT_COMPRESSION} 등)
+     * @param nowrap true 이면 zlib 헤더 없이 압축합니다. (GZip 용)
+     */
+    public DeflaterPool(int level, boolean nowrap) {
+        super(createConfig(), new DeflaterFactory(level, nowrap));
+    }
+
+    static GenericObjectPool.Config createConfig() {
+        GenericObjectPool.Config config = new GenericObjectPool.Config();
+        config.maxActive = -1;
+        config.maxIdle = Runtime.getRuntime().availableProcessors() * 2;
+        config.minIdle = 0;
+        config.testOnBorrow = false;
+        config.testOnReturn = false;
+        return config;
+    }
+
+    private static final class DeflaterFactory extends BasePoolableObjectFactory<Deflater> {
+
+        private final int level;
+        private final boolean nowrap;
+
+        DeflaterFactory(int level, boolean nowrap) {
+            this.level = level;
+            this.nowrap = nowrap;
+        }
+
+        @Override
+        public Deflater makeObject() throws Exception {
+            return new Deflater(level, nowrap);
+        }
+
+        @Override
+        public void passivateObject(Deflater deflater) throws Exception {
+            deflater.reset();
+        }
+
+        @Override
+        public void destroyObject(Deflater deflater) throws Exception {
+            deflater.end();
+        }
+    }
+}
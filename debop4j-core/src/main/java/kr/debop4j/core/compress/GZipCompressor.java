@@ -16,14 +16,15 @@
 
 package kr.debop4j.core.compress;
 
-import lombok.Cleanup;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * GZip 압축을 수행합니다.
@@ -34,39 +35,66 @@ import java.util.zip.GZIPOutputStream;
 @Slf4j
 public class GZipCompressor extends CompressorBase {
 
+    /** GZip 헤더 (magic, CM=deflate, FLG=0, MTIME=0, XFL=0, OS=0) - {@link java.util.zip.GZIPOutputStream} 과 같습니다. */
+    private static final byte[] GZIP_HEADER = new byte[] { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+    private static final DeflaterPool deflaterPool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true);
+
     @Override
     public String getAlgorithm() {
         return "GZip";
     }
 
+    /**
+     * Pool 에서 얻은 {@link Deflater} 로 GZip 형식의 압축 스트림을 만듭니다.
+     * {@link java.util.zip.GZIPOutputStream} 은 외부 Deflater 를 받지 않으므로, 헤더와 trailer 를 직접 씁니다.
+     */
     @Override
-    protected byte[] doCompress(byte[] plain) throws IOException {
+    protected OutputStream createCompressStream(final OutputStream out) throws IOException {
+        out.write(GZIP_HEADER);
+        final Deflater deflater = deflaterPool.getResource();
+
+        return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+            private final CRC32 crc = new CRC32();
+            private boolean closed = false;
 
-        @Cleanup ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        @Cleanup GZIPOutputStream gzip = new GZIPOutputStream(bos);
+            @Override
+            public synchronized void write(byte[] b, int off, int len) throws IOException {
+                super.write(b, off, len);
+                crc.update(b, off, len);
+            }
 
-        gzip.write(plain);
-        gzip.close();
+            @Override
+            public void finish() throws IOException {
+                if (def.finished()) return;
+                super.finish();
+                writeIntLE((int) crc.getValue());
+                writeIntLE((int) def.getBytesRead());
+            }
 
-        return bos.toByteArray();
+            @Override
+            public void close() throws IOException {
+                if (closed) return;
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    deflaterPool.returnResource(deflater);
+                }
+            }
 
+            private void writeIntLE(int v) throws IOException {
+                out.write(v & 0xFF);
+                out.write((v >>> 8) & 0xFF);
+                out.write((v >>> 16) & 0xFF);
+                out.write((v >>> 24) & 0xFF);
+            }
+        };
     }
 
+    /** {@link GZIPInputStream} 은 외부 Inflater 를 받지 않으므로, Pool 을 사용하지 않습니다. */
     @Override
-    protected byte[] doDecompress(byte[] compressed) throws IOException {
-
-        @Cleanup
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        @Cleanup
-        ByteArrayInputStream bis = new ByteArrayInputStream(compressed);
-        @Cleanup
-        GZIPInputStream gzip = new GZIPInputStream(bis);
-
-        byte[] buff = new byte[BUFFER_SIZE];
-        int n;
-        while ((n = gzip.read(buff, 0, BUFFER_SIZE)) > 0) {
-            bos.write(buff, 0, n);
-        }
-        return bos.toByteArray();
+    protected InputStream createDecompressStream(InputStream in) throws IOException {
+        return new GZIPInputStream(in, BUFFER_SIZE);
     }
 }
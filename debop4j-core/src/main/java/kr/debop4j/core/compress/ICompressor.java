@@ -16,6 +16,10 @@
 
 package kr.debop4j.core.compress;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
 /**
  * 압축/복원을 수행하는 Compressor
  *
@@ -45,6 +49,43 @@ public interface ICompressor {
      */
     byte[] decompress(byte[] compressed);
 
+    /**
+     * 입력 스트림의 데이터를 압축하여 출력 스트림에 씁니다. 전체 데이터를 메모리에 올리지 않고 버퍼 단위로 처리합니다.
+     * 두 스트림 모두 닫지 않습니다.
+     *
+     * @param plain      압축할 데이타를 읽을 스트림
+     * @param compressed 압축한 데이타를 쓸 스트림
+     * @return 압축된 데이타의 바이트 수
+     */
+    long compress(InputStream plain, OutputStream compressed);
+
+    /**
+     * 압축된 입력 스트림을 복원하여 출력 스트림에 씁니다. 두 스트림 모두 닫지 않습니다.
+     *
+     * @param compressed 압축된 데이타를 읽을 스트림
+     * @param plain      복원한 데이타를 쓸 스트림
+     * @return 복원된 데이타의 바이트 수
+     */
+    long decompress(InputStream compressed, OutputStream plain);
+
+    /**
+     * src 의 남은 데이터를 압축하여 dst 에 씁니다. 두 buffer 의 position 이 처리한 만큼 이동합니다.
+     *
+     * @param src 압축할 데이타
+     * @param dst 압축한 데이타를 쓸 buffer (공간이 부족하면 {@link java.nio.BufferOverflowException} 발생)
+     * @return 압축된 데이타의 바이트 수
+     */
+    int compress(ByteBuffer src, ByteBuffer dst);
+
+    /**
+     * src 의 남은 압축 데이터를 복원하여 dst 에 씁니다. 두 buffer 의 position 이 처리한 만큼 이동합니다.
+     *
+     * @param src 압축된 데이타
+     * @param dst 복원한 데이타를 쓸 buffer (공간이 부족하면 {@link java.nio.BufferOverflowException} 발생)
+     * @return 복원된 데이타의 바이트 수
+     */
+    int decompress(ByteBuffer src, ByteBuffer dst);
+
     /** 문자열을 압축하여, base64 문자열로 만듭니다. */
     String compressString(String plainText);
 
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.compress;
+
+import kr.debop4j.core.pool.AbstractPool;
+import org.apache.commons.pool.BasePoolableObjectFactory;
+
+import java.util.zip.Inflater;
+
+/**
+ * {@link Inflater} 의 Pool 입니다. Inflater 는 생성할 때마다 native 메모리를 할당하므로, 재사용하여 할당 비용을 줄입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class InflaterPool extends AbstractPool<Inflater> {
+
+    /**
+     * 생성자
+     *
+     * @param nowrap true 이면 zlib 헤더가 없는 데이터를 복원합니다.
+     */
+    public InflaterPool(boolean nowrap) {
+        super(DeflaterPool.createConfig(), new InflaterFactory(nowrap));
+    }
+
+    private static final class InflaterFactory extends BasePoolableObjectFactory<Inflater> {
+
+        private final boolean nowrap;
+
+        InflaterFactory(boolean nowrap) {
+            this.nowrap = nowrap;
+        }
+
+        @Override
+        public Inflater makeObject() throws Exception {
+            return new Inflater(nowrap);
+        }
+
+        @Override
+        public void passivateObject(Inflater inflater) throws Exception {
+            inflater.reset();
+        }
+
+        @Override
+        public void destroyObject(Inflater inflater) throws Exception {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.compress;
+
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * LZ4 알고리즘을 사용하는 Compressor 입니다. 압축률은 낮지만 압축/복원 속도가 매우 빠르므로,
+ * 캐시 앞단의 직렬화나 압축 컬럼처럼 지연시간이 중요한 곳에 사용합니다.
+ * <p/>
+ * native 라이브러리를 사용할 수 없는 환경에서는 자동으로 순수 Java 구현을 사용합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class LZ4Compressor extends CompressorBase {
+
+    /** LZ4 블록 크기 */
+    public static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final LZ4Factory factory = LZ4Factory.fastestInstance();
+
+    @Override
+    public String getAlgorithm() {
+        return "LZ4";
+    }
+
+    @Override
+    protected OutputStream createCompressStream(OutputStream out) throws IOException {
+        return new LZ4BlockOutputStream(out, BLOCK_SIZE, factory.fastCompressor());
+    }
+
+    @Override
+    protected InputStream createDecompressStream(InputStream in) throws IOException {
+        return new LZ4BlockInputStream(in, factory.fastDecompressor());
+    }
+}
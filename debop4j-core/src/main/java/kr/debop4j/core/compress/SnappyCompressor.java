@@ -0,0 +1,50 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.compress;
+
+import lombok.extern.slf4j.Slf4j;
+import org.xerial.snappy.SnappyInputStream;
+import org.xerial.snappy.SnappyOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Snappy 알고리즘을 사용하는 Compressor 입니다. 압축률은 낮지만 GZip 보다 수 배 빠르므로,
+ * 캐시 앞단의 직렬화처럼 지연시간이 중요한 곳에 사용합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class SnappyCompressor extends CompressorBase {
+
+    @Override
+    public String getAlgorithm() {
+        return "Snappy";
+    }
+
+    @Override
+    protected OutputStream createCompressStream(OutputStream out) throws IOException {
+        return new SnappyOutputStream(out);
+    }
+
+    @Override
+    protected InputStream createDecompressStream(InputStream in) throws IOException {
+        return new SnappyInputStream(in);
+    }
+}
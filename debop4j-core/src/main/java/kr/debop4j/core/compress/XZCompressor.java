@@ -16,14 +16,13 @@
 
 package kr.debop4j.core.compress;
 
-import lombok.Cleanup;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
 import org.apache.commons.compress.compressors.xz.XZCompressorOutputStream;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * XZ 알고리즘을 이용한 압축/복원을 수행합니다.
@@ -40,29 +39,12 @@ public class XZCompressor extends CompressorBase {
     }
 
     @Override
-    protected byte[] doCompress(byte[] plain) throws IOException {
-
-        @Cleanup ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        @Cleanup XZCompressorOutputStream xz = new XZCompressorOutputStream(bos);
-
-        xz.write(plain);
-        xz.close();
-
-        return bos.toByteArray();
+    protected OutputStream createCompressStream(OutputStream out) throws IOException {
+        return new XZCompressorOutputStream(out);
     }
 
     @Override
-    protected byte[] doDecompress(byte[] compressed) throws IOException {
-
-        @Cleanup ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        @Cleanup ByteArrayInputStream bis = new ByteArrayInputStream(compressed);
-        @Cleanup XZCompressorInputStream xz = new XZCompressorInputStream(bis);
-
-        byte[] buff = new byte[BUFFER_SIZE];
-        int n;
-        while ((n = xz.read(buff, 0, BUFFER_SIZE)) > 0) {
-            bos.write(buff, 0, n);
-        }
-        return bos.toByteArray();
+    protected InputStream createDecompressStream(InputStream in) throws IOException {
+        return new XZCompressorInputStream(in);
     }
 }
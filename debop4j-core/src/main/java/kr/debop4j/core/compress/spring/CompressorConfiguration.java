@@ -3,6 +3,8 @@ package kr.debop4j.core.compress.spring;
 import kr.debop4j.core.compress.BZip2Compressor;
 import kr.debop4j.core.compress.DeflateCompressor;
 import kr.debop4j.core.compress.GZipCompressor;
+import kr.debop4j.core.compress.LZ4Compressor;
+import kr.debop4j.core.compress.SnappyCompressor;
 import kr.debop4j.core.compress.XZCompressor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,4 +55,20 @@ public class CompressorConfiguration {
 
         return new XZCompressor();
     }
+
+    @Bean(name = "snappyCompressor")
+    public SnappyCompressor snappyCompressor() {
+        if (isTraceEnabled)
+            log.trace("SnappyCompressor Bean 을 생성합니다.");
+
+        return new SnappyCompressor();
+    }
+
+    @Bean(name = "lz4Compressor")
+    public LZ4Compressor lz4Compressor() {
+        if (isTraceEnabled)
+            log.trace("LZ4Compressor Bean 을 생성합니다.");
+
+        return new LZ4Compressor();
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.io;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+
+/**
+ * {@link ByteBuffer} 의 남은 데이터를 읽는 {@link InputStream} 입니다. 데이터를 복사하지 않고, 읽은 만큼 buffer 의 position 을 이동합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * 생성자
+     *
+     * @param buffer 읽을 buffer
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = shouldNotBeNull(buffer, "buffer");
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) {
+        if (len == 0)
+            return 0;
+        if (!buffer.hasRemaining())
+            return -1;
+
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(bytes, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.io;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+
+/**
+ * {@link ByteBuffer} 에 데이터를 쓰는 {@link OutputStream} 입니다. buffer 의 남은 공간이 부족하면
+ * {@link java.nio.BufferOverflowException} 이 발생합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class ByteBufferOutputStream extends OutputStream {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * 생성자
+     *
+     * @param buffer 데이터를 쓸 buffer
+     */
+    public ByteBufferOutputStream(ByteBuffer buffer) {
+        this.buffer = shouldNotBeNull(buffer, "buffer");
+    }
+
+    @Override
+    public void write(int b) {
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int len) {
+        buffer.put(bytes, off, len);
+    }
+}
@@ -16,6 +16,9 @@
 
 package kr.debop4j.core.io;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import kr.debop4j.core.Function1;
 import kr.debop4j.core.parallelism.AsyncTool;
 import kr.debop4j.core.tools.StringTool;
 import org.slf4j.Logger;
@@ -24,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
 import java.nio.charset.Charset;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -31,7 +35,6 @@ import java.nio.file.attribute.FileAttribute;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
 
 import static kr.debop4j.core.tools.StringTool.listToString;
 
@@ -54,6 +57,9 @@ public class FileTool {
 
     private FileTool() { }
 
+    /** 비동기 파일 작업을 실행할 Executor 이름 ({@link kr.debop4j.core.parallelism.ExecutorRegistry} 참고) */
+    public static final String EXECUTOR_NAME = "FileTool";
+
     /**
      * Combine path.
      *
@@ -163,9 +169,9 @@ public class FileTool {
      * @param options the options
      * @return the future
      */
-    public static Future<Void> copyAsync(final Path source, final Path target, final CopyOption... options) {
+    public static ListenableFuture<Void> copyAsync(final Path source, final Path target, final CopyOption... options) {
         return
-                AsyncTool.startNew(new Callable<Void>() {
+                AsyncTool.startNew(EXECUTOR_NAME, new Callable<Void>() {
                     @Override
                     public Void call() throws Exception {
                         copy(source, target, options);
@@ -212,11 +218,11 @@ public class FileTool {
      * @param options the options
      * @return the future
      */
-    public static Future<Void> moveAsync(final Path src, final Path dst, final StandardCopyOption... options) {
+    public static ListenableFuture<Void> moveAsync(final Path src, final Path dst, final StandardCopyOption... options) {
         if (isTraceEnabled)
             log.trace("비동기 방식으로 파일을 이동합니다. src=[{}], dst=[{}], options=[{}]", src, dst, StringTool.listToString(options));
 
-        return AsyncTool.startNew(new Callable<Void>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<Void>() {
             @Override
             public Void call() throws Exception {
                 move(src, dst, options);
@@ -288,11 +294,11 @@ public class FileTool {
      * @param deep      the deep
      * @return the future
      */
-    public static Future<Void> deleteDirectoryAsync(final Path directory, final boolean deep) {
+    public static ListenableFuture<Void> deleteDirectoryAsync(final Path directory, final boolean deep) {
         if (isTraceEnabled)
             log.trace("Directory를 삭제합니다. directory=[{}], deep=[{}]", directory, deep);
 
-        return AsyncTool.startNew(new Callable<Void>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<Void>() {
             @Override
             public Void call() throws Exception {
                 deleteDirectory(directory, deep);
@@ -363,30 +369,52 @@ public class FileTool {
      * @param openOptions the open options
      * @return the future
      */
-    public static Future<byte[]> readAllBytesAsync(final Path path, final OpenOption... openOptions) {
+    public static ListenableFuture<byte[]> readAllBytesAsync(final Path path, final OpenOption... openOptions) {
         assert path != null;
 
         if (isTraceEnabled)
             log.trace("비동기 방식으로 파일 정보를 읽어 byte array로 반환합니다. file=[{}], openOptions=[{}]",
                     path, StringTool.listToString(openOptions));
 
-        return AsyncTool.startNew(new Callable<byte[]>() {
+        AsynchronousFileChannel channel = null;
+        final ByteBuffer buffer;
+        try {
+            channel = AsynchronousFileChannel.open(path, openOptions);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new OutOfMemoryError("파일이 너무 커서 byte array 로 읽을 수 없습니다. size=" + size);
+            buffer = ByteBuffer.allocate((int) size);
+        } catch (Throwable e) {
+            // 채널을 연 뒤에 실패하면 (버퍼 할당 등) 채널이 남지 않도록 닫습니다.
+            if (channel != null)
+                closeQuietly(channel);
+            log.error("파일 내용을 읽어오는데 실패했습니다.", e);
+            return AsyncTool.getTaskHasException(e);
+        }
+        final AsynchronousFileChannel fileChannel = channel;
+
+        final SettableFuture<byte[]> result = SettableFuture.create();
+
+        // 파일 I/O 가 완료될 때 호출되므로, 읽는 동안 thread 를 점유하지 않습니다.
+        fileChannel.read(buffer, 0, null, new CompletionHandler<Integer, Void>() {
             @Override
-            public byte[] call() throws Exception {
-                try (AsynchronousFileChannel fileChannel = AsynchronousFileChannel.open(path, openOptions)) {
-                    ByteBuffer buffer = ByteBuffer.allocate((int) fileChannel.size());
-                    Future<Integer> result = fileChannel.read(buffer, 0);
-                    while (!result.isDone()) {
-                        Thread.sleep(1);
-                    }
-                    buffer.flip();
-                    return buffer.array();
-                } catch (Exception e) {
-                    log.error("파일 내용을 읽어오는데 실패했습니다.", e);
-                    throw new RuntimeException(e);
+            public void completed(Integer read, Void attachment) {
+                if (read >= 0 && buffer.hasRemaining()) {
+                    fileChannel.read(buffer, buffer.position(), null, this);
+                    return;
                 }
+                closeQuietly(fileChannel);
+                result.set(buffer.array());
+            }
+
+            @Override
+            public void failed(Throwable exc, Void attachment) {
+                log.error("파일 내용을 읽어오는데 실패했습니다.", exc);
+                closeQuietly(fileChannel);
+                result.setException(exc);
             }
         });
+        return result;
     }
 
     /**
@@ -420,7 +448,7 @@ public class FileTool {
      * @param path the path
      * @return the future
      */
-    public static Future<List<String>> readAllLinesAsync(final Path path) {
+    public static ListenableFuture<List<String>> readAllLinesAsync(final Path path) {
         return readAllLinesAsync(path, UTF8, StandardOpenOption.READ);
     }
 
@@ -431,7 +459,7 @@ public class FileTool {
      * @param openOptions the open options
      * @return the future
      */
-    public static Future<List<String>> readAllLinesAsync(final Path path, final OpenOption... openOptions) {
+    public static ListenableFuture<List<String>> readAllLinesAsync(final Path path, final OpenOption... openOptions) {
         return readAllLinesAsync(path, UTF8, openOptions);
     }
 
@@ -443,17 +471,16 @@ public class FileTool {
      * @param openOptions the open options
      * @return the future
      */
-    public static Future<List<String>> readAllLinesAsync(final Path path,
-                                                         final Charset cs,
-                                                         final OpenOption... openOptions) {
+    public static ListenableFuture<List<String>> readAllLinesAsync(final Path path,
+                                                                   final Charset cs,
+                                                                   final OpenOption... openOptions) {
         if (isTraceEnabled)
             log.trace("파일 내용을 문자열로 읽어드립니다. path=[{}], charset=[{}], openOption=[{}]", path, cs, listToString(openOptions));
 
-        return AsyncTool.startNew(new Callable<List<String>>() {
+        return AsyncTool.thenApply(readAllBytesAsync(path, openOptions), new Function1<byte[], List<String>>() {
             @Override
-            public List<String> call() throws Exception {
-                Future<byte[]> readTask = readAllBytesAsync(path, openOptions);
-                return readAllLines(readTask.get(), cs);
+            public List<String> execute(byte[] bytes) {
+                return readAllLines(bytes, cs);
             }
         });
     }
@@ -501,27 +528,43 @@ public class FileTool {
      * @param openOptions the open options
      * @return the future
      */
-    public static Future<Void> writeAsync(final Path target,
-                                          final byte[] bytes,
-                                          final OpenOption... openOptions) {
+    public static ListenableFuture<Void> writeAsync(final Path target,
+                                                    final byte[] bytes,
+                                                    final OpenOption... openOptions) {
         if (isTraceEnabled)
             log.trace("비동기 방식으로 데이터를 파일에 씁니다. target=[{}], openOptions=[{}]", target, listToString(openOptions));
 
-        return AsyncTool.startNew(new Callable<Void>() {
+        final AsynchronousFileChannel fileChannel;
+        try {
+            fileChannel = AsynchronousFileChannel.open(target, openOptions);
+        } catch (Exception e) {
+            log.error("비동기 방식으로 파일에 쓰는 동안 예외가 발생했습니다.", e);
+            return AsyncTool.getTaskHasException(e);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final SettableFuture<Void> result = SettableFuture.create();
+
+        // 파일 I/O 가 완료될 때 호출되므로, 쓰는 동안 thread 를 점유하지 않습니다.
+        fileChannel.write(buffer, 0, null, new CompletionHandler<Integer, Void>() {
             @Override
-            public Void call() throws Exception {
-                try (AsynchronousFileChannel fileChannel = AsynchronousFileChannel.open(target, openOptions)) {
-                    Future<Integer> result = fileChannel.write(ByteBuffer.wrap(bytes), 0);
-                    while (!result.isDone()) {
-                        Thread.sleep(1);
-                    }
-                    return null;
-                } catch (Exception e) {
-                    log.error("비동기 방식으로 파일에 쓰는 동안 예외가 발생했습니다.", e);
-                    throw new RuntimeException(e);
+            public void completed(Integer written, Void attachment) {
+                if (buffer.hasRemaining()) {
+                    fileChannel.write(buffer, buffer.position(), null, this);
+                    return;
                 }
+                closeQuietly(fileChannel);
+                result.set(null);
+            }
+
+            @Override
+            public void failed(Throwable exc, Void attachment) {
+                log.error("비동기 방식으로 파일에 쓰는 동안 예외가 발생했습니다.", exc);
+                closeQuietly(fileChannel);
+                result.setException(exc);
             }
         });
+        return result;
     }
 
     /**
@@ -533,11 +576,17 @@ public class FileTool {
      * @param openOptions the open options
      * @return the future
      */
-    public static Future<Void> writeAsync(final Path target,
-                                          final Iterable<String> lines,
-                                          final Charset cs,
-                                          final OpenOption... openOptions) {
+    public static ListenableFuture<Void> writeAsync(final Path target,
+                                                    final Iterable<String> lines,
+                                                    final Charset cs,
+                                                    final OpenOption... openOptions) {
         String allText = StringTool.join(lines, System.lineSeparator());
         return writeAsync(target, cs.encode(allText).array(), openOptions);
     }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) { }
+    }
 }
@@ -17,6 +17,7 @@
 package kr.debop4j.core.io.spring;
 
 import kr.debop4j.core.io.BinarySerializer;
+import kr.debop4j.core.io.KryoSerializer;
 import kr.debop4j.core.json.GsonSerializer;
 import kr.debop4j.core.json.JacksonSerializer;
 import org.springframework.context.annotation.Bean;
@@ -60,4 +61,14 @@ public class SerializerConfiguration {
     public JacksonSerializer jacksonSerializer() {
         return new JacksonSerializer();
     }
+
+    /**
+     * Kryo serializer.
+     *
+     * @return the kryo serializer
+     */
+    @Bean
+    public KryoSerializer kryoSerializer() {
+        return new KryoSerializer();
+    }
 }
@@ -18,11 +18,29 @@ package kr.debop4j.core.json;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
 import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.google.common.base.Charsets;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
 
 /**
  * FastJsonSerializer
+ * <p/>
+ * fastjson 은 스트림 파서를 제공하지 않으므로, {@link #deserialize(InputStream, Class)} 는 입력 전체를 읽은 후 역직렬화하고,
+ * {@link #readArray(InputStream, Class)} 는 jackson 파서로 배열 요소 단위로 잘라낸 후 요소마다 역직렬화합니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 13. 4. 15. 오전 12:57
@@ -35,6 +53,8 @@ public class FastJsonSerializer implements IJsonSerializer {
             SerializerFeature.WriteClassName
     };
 
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
     @Override
     public String serializeToText(Object graph) {
         if (graph == null)
@@ -68,4 +88,107 @@ public class FastJsonSerializer implements IJsonSerializer {
             log.trace("Json 배열을 역직렬화하여 지정한 클래스롤 빌드합니다. clazz=[{}]", clazz.getName());
         return JSON.parseObject(bytes, clazz, Feature.AllowISO8601DateFormat);
     }
+
+    @Override
+    public void serialize(Object graph, OutputStream out) {
+        shouldNotBeNull(out, "out");
+        if (graph == null)
+            return;
+
+        if (log.isTraceEnabled())
+            log.trace("지정한 객체를 JSON 직렬화하여 스트림에 씁니다. type=[{}]", graph.getClass().getName());
+
+        SerializeWriter writer = new SerializeWriter();
+        try {
+            createSerializer(writer).write(graph);
+            writer.writeTo(out, Charsets.UTF_8);
+        } catch (IOException e) {
+            log.error("객체를 Json 직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Override
+    public <T> T deserialize(InputStream in, Class<T> targetClass) {
+        shouldNotBeNull(in, "in");
+        try {
+            byte[] bytes = IOUtils.toByteArray(in);
+            return (bytes.length == 0) ? null : deserialize(bytes, targetClass);
+        } catch (IOException e) {
+            log.error("Json 역직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public long writeArray(Iterator<?> elements, OutputStream out) {
+        shouldNotBeNull(elements, "elements");
+        shouldNotBeNull(out, "out");
+
+        SerializeWriter writer = new SerializeWriter();
+        try {
+            JSONSerializer serializer = createSerializer(writer);
+            long count = 0;
+            writer.write('[');
+            while (elements.hasNext()) {
+                if (count > 0)
+                    writer.write(',');
+                serializer.write(elements.next());
+                count++;
+
+                // 요소 단위로 내보내서 버퍼가 전체 배열 크기로 커지지 않도록 합니다.
+                writer.writeTo(out, Charsets.UTF_8);
+                writer.reset();
+            }
+            writer.write(']');
+            writer.writeTo(out, Charsets.UTF_8);
+            out.flush();
+
+            if (log.isDebugEnabled())
+                log.debug("JSON 배열을 스트림에 썼습니다. count=[{}]", count);
+            return count;
+        } catch (IOException e) {
+            log.error("JSON 배열을 직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Override
+    public <T> IJsonArrayReader<T> readArray(InputStream in, final Class<T> elementClass) {
+        shouldNotBeNull(in, "in");
+        shouldNotBeNull(elementClass, "elementClass");
+
+        try {
+            JsonParser parser = jsonFactory.createJsonParser(in);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            return new JacksonArrayReader<T>(parser) {
+                private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+                @Override
+                protected T readElement(JsonParser parser) throws IOException {
+                    buffer.reset();
+                    JsonGenerator generator = jsonFactory.createJsonGenerator(buffer);
+                    generator.copyCurrentStructure(parser);
+                    generator.close();
+                    return JSON.parseObject(buffer.toByteArray(), elementClass, Feature.AllowISO8601DateFormat);
+                }
+            };
+        } catch (IOException e) {
+            log.error("JSON 배열 reader 를 생성하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** {@link JSON#toJSONString(Object, SerializerFeature...)} 와 같이 기본 feature 에 {@link #features} 를 추가한 serializer 를 생성합니다. */
+    private JSONSerializer createSerializer(SerializeWriter writer) {
+        JSONSerializer serializer = new JSONSerializer(writer);
+        for (SerializerFeature feature : features)
+            serializer.config(feature, true);
+        return serializer;
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.core.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * google-gson {@link JsonReader} 로 최상위 JSON 배열의 요소를 하나씩 역직렬화하는 {@link IJsonArrayReader} 입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+class GsonArrayReader<T> implements IJsonArrayReader<T> {
+
+    private final JsonReader reader;
+    private final TypeAdapter<T> adapter;
+    private boolean started;
+    private boolean finished;
+    private long readCount;
+
+    GsonArrayReader(JsonReader reader, TypeAdapter<T> adapter) {
+        this.reader = reader;
+        this.adapter = adapter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished)
+            return false;
+        try {
+            if (!started) {
+                started = true;
+                try {
+                    reader.beginArray();
+                } catch (EOFException empty) {
+                    finished = true;
+                    return false;
+                }
+            }
+            if (reader.peek() == JsonToken.END_ARRAY) {
+                reader.endArray();
+                finished = true;
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            log.error("JSON 배열을 읽는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        try {
+            T element = adapter.read(reader);
+            readCount++;
+            return element;
+        } catch (IOException e) {
+            log.error("JSON 배열의 요소를 역직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long getReadCount() {
+        return readCount;
+    }
+
+    /** 읽기를 중단합니다. 입력 스트림은 닫지 않습니다. */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+    }
+}
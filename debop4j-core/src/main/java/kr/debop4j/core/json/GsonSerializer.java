@@ -16,12 +16,22 @@
 
 package kr.debop4j.core.json;
 
+import com.google.common.base.Charsets;
+import com.google.common.collect.Maps;
 import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 import kr.debop4j.core.Guard;
 import kr.debop4j.core.tools.StringTool;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.*;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentMap;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+
 /**
  * <a href="http://code.google.com/p/google-gson/">google-gson</a> 을 이용한 json serializer 입니다.
  *
@@ -34,6 +44,8 @@ public class GsonSerializer implements IJsonSerializer {
     @Getter
     private final Gson gson;
 
+    private final ConcurrentMap<Class<?>, TypeAdapter<?>> adapters = Maps.newConcurrentMap();
+
     /** Instantiates a new Gson serializer. */
     public GsonSerializer() {
         this(new Gson());
@@ -81,4 +93,87 @@ public class GsonSerializer implements IJsonSerializer {
     public byte[] serialize(Object graph) {
         return StringTool.getUtf8Bytes(serializeToText(graph));
     }
+
+    @Override
+    public void serialize(Object graph, OutputStream out) {
+        shouldNotBeNull(out, "out");
+        if (graph == null)
+            return;
+
+        if (log.isTraceEnabled())
+            log.trace("Json 직렬화를 스트림에 수행합니다... type=[{}]", graph.getClass().getName());
+
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charsets.UTF_8));
+            gson.toJson(graph, graph.getClass(), writer);
+            writer.flush();
+        } catch (Exception e) {
+            log.error("객체를 Json 직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(InputStream in, Class<T> targetClass) {
+        shouldNotBeNull(in, "in");
+
+        if (log.isTraceEnabled())
+            log.trace("스트림에서 Json 역직렬화를 수행합니다. targetClass=[{}]", targetClass.getName());
+
+        return gson.fromJson(new InputStreamReader(in, Charsets.UTF_8), targetClass);
+    }
+
+    @Override
+    public long writeArray(Iterator<?> elements, OutputStream out) {
+        shouldNotBeNull(elements, "elements");
+        shouldNotBeNull(out, "out");
+
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charsets.UTF_8));
+            long count = 0;
+            writer.write('[');
+            while (elements.hasNext()) {
+                Object element = elements.next();
+                if (count > 0)
+                    writer.write(',');
+                if (element == null)
+                    writer.write("null");
+                else
+                    gson.toJson(element, element.getClass(), writer);
+                count++;
+            }
+            writer.write(']');
+            writer.flush();
+
+            if (log.isDebugEnabled())
+                log.debug("JSON 배열을 스트림에 썼습니다. count=[{}]", count);
+            return count;
+        } catch (IOException e) {
+            log.error("JSON 배열을 직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> IJsonArrayReader<T> readArray(InputStream in, Class<T> elementClass) {
+        shouldNotBeNull(in, "in");
+        shouldNotBeNull(elementClass, "elementClass");
+
+        JsonReader reader = new JsonReader(new InputStreamReader(in, Charsets.UTF_8));
+        reader.setLenient(true);
+        return new GsonArrayReader<T>(reader, getAdapter(elementClass));
+    }
+
+    /** 지정한 타입의 캐시된 {@link TypeAdapter} 를 반환합니다. */
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> getAdapter(Class<T> type) {
+        TypeAdapter<T> adapter = (TypeAdapter<T>) adapters.get(type);
+        if (adapter == null) {
+            adapter = gson.getAdapter(type);
+            TypeAdapter<T> existing = (TypeAdapter<T>) adapters.putIfAbsent(type, adapter);
+            if (existing != null)
+                adapter = existing;
+        }
+        return adapter;
+    }
 }
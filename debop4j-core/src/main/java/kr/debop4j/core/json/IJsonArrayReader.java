@@ -0,0 +1,32 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.json;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * 최상위 JSON 배열의 요소를 하나씩 역직렬화하여 열거합니다. {@link IJsonSerializer#readArray(java.io.InputStream, Class)} 로 생성합니다.
+ * 읽기 중 발생한 예외는 RuntimeException 으로 전달되며, {@link Iterator#remove()} 는 지원하지 않습니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public interface IJsonArrayReader<T> extends Iterator<T>, Closeable {
+
+    /** 지금까지 읽은 요소의 수 */
+    long getReadCount();
+}
@@ -18,6 +18,10 @@ package kr.debop4j.core.json;
 
 import kr.debop4j.core.ISerializer;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
 /**
  * JSON 포맷으로 직렬화 / 역직렬화를 수행합니다.
  *
@@ -43,4 +47,39 @@ public interface IJsonSerializer extends ISerializer {
      * @param targetClass 역직렬화할 타입
      */
     <T> T deserializeFromText(String jsonText, Class<T> targetClass);
+
+    /**
+     * 객체를 JSON 으로 직렬화하여 (UTF-8) 출력 스트림에 바로 씁니다. 스트림은 닫지 않습니다.
+     *
+     * @param graph 직렬화할 객체
+     * @param out   출력 스트림
+     */
+    void serialize(Object graph, OutputStream out);
+
+    /**
+     * 입력 스트림의 JSON 을 역직렬화하여 객체로 빌드합니다. 스트림은 닫지 않습니다.
+     *
+     * @param in          JSON 을 읽을 입력 스트림
+     * @param targetClass 역직렬화할 타입
+     */
+    <T> T deserialize(InputStream in, Class<T> targetClass);
+
+    /**
+     * 요소들을 하나씩 직렬화하여 JSON 배열로 출력 스트림에 씁니다. 전체 요소를 메모리에 올리지 않으므로 대량 데이터를 내보낼 때 사용합니다.
+     * 스트림은 닫지 않습니다.
+     *
+     * @param elements 직렬화할 요소들
+     * @param out      출력 스트림
+     * @return 기록한 요소 수
+     */
+    long writeArray(Iterator<?> elements, OutputStream out);
+
+    /**
+     * 최상위 JSON 배열의 요소를 하나씩 역직렬화하여 반환하는 reader 를 생성합니다. 배열 전체를 메모리에 올리지 않습니다.
+     * reader 를 다 사용한 후에는 반드시 닫아야 합니다. (입력 스트림은 닫지 않습니다)
+     *
+     * @param in           JSON 배열을 읽을 입력 스트림
+     * @param elementClass 배열 요소의 타입
+     */
+    <T> IJsonArrayReader<T> readArray(InputStream in, Class<T> elementClass);
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Jackson {@link JsonParser} 로 JSON 배열의 토큰을 읽으며, 요소 단위로 역직렬화하는 {@link IJsonArrayReader} 의 기본 클래스입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+abstract class JacksonArrayReader<T> implements IJsonArrayReader<T> {
+
+    protected final JsonParser parser;
+    private JsonToken current;
+    private boolean fetched;
+    private boolean closed;
+    private long readCount;
+
+    JacksonArrayReader(JsonParser parser) throws IOException {
+        this.parser = parser;
+
+        JsonToken first = parser.nextToken();
+        if (first == null) {
+            fetched = true;
+        } else if (first != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("JSON 배열이 아닙니다. token=" + first);
+        }
+    }
+
+    /**
+     * parser 가 요소의 첫 토큰에 위치한 상태에서 요소 하나를 역직렬화합니다.
+     *
+     * @param parser JSON parser
+     * @return 역직렬화한 요소
+     */
+    protected abstract T readElement(JsonParser parser) throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (closed)
+            return false;
+        try {
+            if (!fetched) {
+                current = parser.nextToken();
+                fetched = true;
+            }
+            return current != null && current != JsonToken.END_ARRAY;
+        } catch (IOException e) {
+            log.error("JSON 배열을 읽는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        try {
+            fetched = false;
+            T element = readElement(parser);
+            readCount++;
+            return element;
+        } catch (IOException e) {
+            log.error("JSON 배열의 요소를 역직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long getReadCount() {
+        return readCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        parser.close();
+    }
+}
@@ -16,7 +16,13 @@
 
 package kr.debop4j.core.json;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.Maps;
 import kr.debop4j.core.Guard;
 import kr.debop4j.core.tools.ArrayTool;
 import kr.debop4j.core.tools.StringTool;
@@ -24,8 +30,19 @@ import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentMap;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+
 /**
  * jackson 라이브러리를 이용한 Json Serializer
+ * <p/>
+ * 타입별 {@link ObjectReader}/{@link ObjectWriter} 를 캐시하여 재사용합니다.
+ * 캐시된 reader/writer 는 생성 시점의 설정을 사용하므로, {@link #getMapper()} 의 설정은 사용 전에 변경해야 합니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 9. 14
@@ -33,11 +50,13 @@ import org.slf4j.LoggerFactory;
 public class JacksonSerializer implements IJsonSerializer {
 
     private static final Logger log = LoggerFactory.getLogger(JacksonSerializer.class);
-    private static final boolean isDebugEnabled = log.isDebugEnabled();
 
     @Getter
     private final ObjectMapper mapper;
 
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = Maps.newConcurrentMap();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = Maps.newConcurrentMap();
+
     /** Instantiates a new Jackson serializer. */
     public JacksonSerializer() {
         this(new ObjectMapper());
@@ -52,16 +71,40 @@ public class JacksonSerializer implements IJsonSerializer {
         this.mapper = Guard.firstNotNull(mapper, new ObjectMapper());
     }
 
+    /** 지정한 타입의 캐시된 {@link ObjectReader} 를 반환합니다. */
+    public ObjectReader getReader(Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = mapper.reader(type);
+            ObjectReader existing = readers.putIfAbsent(type, reader);
+            if (existing != null)
+                reader = existing;
+        }
+        return reader;
+    }
+
+    /** 지정한 타입의 캐시된 {@link ObjectWriter} 를 반환합니다. */
+    public ObjectWriter getWriter(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            writer = mapper.writerWithType(type);
+            ObjectWriter existing = writers.putIfAbsent(type, writer);
+            if (existing != null)
+                writer = existing;
+        }
+        return writer;
+    }
+
     @Override
     public byte[] serialize(Object graph) {
         try {
             if (graph == null)
                 return EMPTY_BYTES;
 
-            if (log.isDebugEnabled())
-                log.debug("인스턴스를 JSON 포맷으로 직렬화합니다. graph=[{}]", graph);
+            if (log.isTraceEnabled())
+                log.trace("인스턴스를 JSON 포맷으로 직렬화합니다. type=[{}]", graph.getClass().getName());
 
-            return mapper.writeValueAsBytes(graph);
+            return getWriter(graph.getClass()).writeValueAsBytes(graph);
         } catch (Exception e) {
 
             log.error("객체를 Json 직렬화하는데 실패했습니다.", e);
@@ -75,10 +118,10 @@ public class JacksonSerializer implements IJsonSerializer {
             if (graph == null)
                 return "";
 
-            if (log.isDebugEnabled())
-                log.debug("인스턴스를 JSON 포맷으로 직렬화합니다. graph=[{}]", graph);
+            if (log.isTraceEnabled())
+                log.trace("인스턴스를 JSON 포맷으로 직렬화합니다. type=[{}]", graph.getClass().getName());
 
-            return mapper.writeValueAsString(graph);
+            return getWriter(graph.getClass()).writeValueAsString(graph);
         } catch (Exception e) {
 
             log.error("객체를 Json 직렬화하는데 실패했습니다.", e);
@@ -92,10 +135,10 @@ public class JacksonSerializer implements IJsonSerializer {
             if (StringTool.isWhiteSpace(jsonText))
                 return (T) null;
 
-            if (log.isDebugEnabled())
-                log.debug("JSON 역직렬화를 수행합니다. valueType=[{}]", targetClass.getName());
+            if (log.isTraceEnabled())
+                log.trace("JSON 역직렬화를 수행합니다. valueType=[{}]", targetClass.getName());
 
-            return mapper.readValue(jsonText, targetClass);
+            return getReader(targetClass).readValue(jsonText);
         } catch (Exception e) {
 
             log.error("Json 역직렬화하는데 실패했습니다.", e);
@@ -109,14 +152,122 @@ public class JacksonSerializer implements IJsonSerializer {
             if (ArrayTool.isEmpty(bytes))
                 return (T) null;
 
-            if (log.isDebugEnabled())
-                log.debug("JSON 역직렬화를 수행합니다. targetClass=[{}]", targetType.getName());
+            if (log.isTraceEnabled())
+                log.trace("JSON 역직렬화를 수행합니다. targetClass=[{}]", targetType.getName());
 
-            return mapper.readValue(bytes, targetType);
+            return getReader(targetType).readValue(bytes);
         } catch (Exception e) {
 
             log.error("Json 역직렬화하는데 실패했습니다.", e);
             throw new RuntimeException(e);
         }
     }
+
+    @Override
+    public void serialize(Object graph, OutputStream out) {
+        shouldNotBeNull(out, "out");
+        if (graph == null)
+            return;
+
+        if (log.isTraceEnabled())
+            log.trace("인스턴스를 JSON 포맷으로 스트림에 직렬화합니다. type=[{}]", graph.getClass().getName());
+
+        try {
+            JsonGenerator generator = createGenerator(out);
+            try {
+                getWriter(graph.getClass()).writeValue(generator, graph);
+            } finally {
+                generator.close();
+            }
+        } catch (Exception e) {
+            log.error("객체를 Json 직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(InputStream in, Class<T> targetClass) {
+        shouldNotBeNull(in, "in");
+
+        if (log.isTraceEnabled())
+            log.trace("스트림에서 JSON 역직렬화를 수행합니다. targetClass=[{}]", targetClass.getName());
+
+        try {
+            JsonParser parser = createParser(in);
+            try {
+                if (parser.nextToken() == null)
+                    return null;
+                return getReader(targetClass).readValue(parser);
+            } finally {
+                parser.close();
+            }
+        } catch (Exception e) {
+            log.error("Json 역직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public long writeArray(Iterator<?> elements, OutputStream out) {
+        shouldNotBeNull(elements, "elements");
+        shouldNotBeNull(out, "out");
+
+        try {
+            JsonGenerator generator = createGenerator(out);
+            long count = 0;
+            try {
+                generator.writeStartArray();
+                while (elements.hasNext()) {
+                    Object element = elements.next();
+                    if (element == null)
+                        generator.writeNull();
+                    else
+                        getWriter(element.getClass()).writeValue(generator, element);
+                    count++;
+                }
+                generator.writeEndArray();
+            } finally {
+                generator.close();
+            }
+            if (log.isDebugEnabled())
+                log.debug("JSON 배열을 스트림에 썼습니다. count=[{}]", count);
+            return count;
+        } catch (Exception e) {
+            log.error("JSON 배열을 직렬화하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> IJsonArrayReader<T> readArray(InputStream in, final Class<T> elementClass) {
+        shouldNotBeNull(in, "in");
+        shouldNotBeNull(elementClass, "elementClass");
+
+        final ObjectReader reader = getReader(elementClass);
+        try {
+            return new JacksonArrayReader<T>(createParser(in)) {
+                @Override
+                protected T readElement(JsonParser parser) throws IOException {
+                    return reader.readValue(parser);
+                }
+            };
+        } catch (IOException e) {
+            log.error("JSON 배열 reader 를 생성하는데 실패했습니다.", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** 호출자의 스트림을 닫지 않는 generator 를 생성합니다. */
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = mapper.getJsonFactory().createJsonGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    /** 호출자의 스트림을 닫지 않는 parser 를 생성합니다. */
+    JsonParser createParser(InputStream in) throws IOException {
+        JsonParser parser = mapper.getJsonFactory().createJsonParser(in);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        return parser;
+    }
 }
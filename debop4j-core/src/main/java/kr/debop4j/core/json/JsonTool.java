@@ -20,6 +20,10 @@ import kr.debop4j.core.Guard;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
 /**
  * Json 직렬화/역직렬화 등을 지원하는 Utility Class 입니다.
  *
@@ -74,4 +78,47 @@ public class JsonTool {
     public static <T> T deserializeFromText(String jsonText, Class<T> targetClass) {
         return serializer.deserializeFromText(jsonText, targetClass);
     }
+
+    /**
+     * 지정된 객체를 JSON 직렬화하여 출력 스트림에 씁니다. 스트림은 닫지 않습니다.
+     *
+     * @param graph the graph
+     * @param out   the output stream
+     */
+    public static <T> void serialize(T graph, OutputStream out) {
+        serializer.serialize(graph, out);
+    }
+
+    /**
+     * 입력 스트림의 JSON 을 역직렬화하여, 대상 객체로 빌드합니다. 스트림은 닫지 않습니다.
+     *
+     * @param in          the input stream
+     * @param targetClass the target type
+     * @return the t
+     */
+    public static <T> T deserialize(InputStream in, Class<T> targetClass) {
+        return serializer.deserialize(in, targetClass);
+    }
+
+    /**
+     * 요소들을 JSON 배열로 출력 스트림에 씁니다.
+     *
+     * @param elements the elements
+     * @param out      the output stream
+     * @return 기록한 요소 수
+     */
+    public static long writeArray(Iterator<?> elements, OutputStream out) {
+        return serializer.writeArray(elements, out);
+    }
+
+    /**
+     * 입력 스트림의 최상위 JSON 배열을 요소 단위로 읽는 reader 를 생성합니다.
+     *
+     * @param in           the input stream
+     * @param elementClass the element type
+     * @return JSON 배열 reader
+     */
+    public static <T> IJsonArrayReader<T> readArray(InputStream in, Class<T> elementClass) {
+        return serializer.readArray(in, elementClass);
+    }
 }
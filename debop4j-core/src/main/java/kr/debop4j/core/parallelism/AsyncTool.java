@@ -19,8 +19,10 @@ package kr.debop4j.core.parallelism;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.*;
 import kr.debop4j.core.Action1;
 import kr.debop4j.core.Function1;
+import kr.debop4j.core.Local;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
@@ -32,6 +34,13 @@ import static kr.debop4j.core.Guard.shouldNotBeNull;
 
 /**
  * 비동기 작업 관련 Utility Class
+ * <p/>
+ * 비동기 작업은 {@link ListenableFuture} 를 반환하며, {@link #thenApply}, {@link #thenCompose}, {@link #whenAll},
+ * {@link #whenAny}, {@link #withTimeout} 으로 후속 작업을 callback 방식으로 연결합니다.
+ * 후속 작업은 선행 작업이 완료된 후에 실행되므로, 선행 작업을 기다리느라 thread 가 block 되지 않습니다.
+ * <p/>
+ * 작업은 {@link ExecutorRegistry} 의 대기열 크기가 제한된 Executor 에서 실행되며,
+ * {@link #startNew(String, Callable)} 로 하위 시스템별 Executor 를 지정할 수 있습니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 9. 14
@@ -43,8 +52,15 @@ public abstract class AsyncTool {
     /** 생성자 */
     private AsyncTool() { }
 
-    private static final ExecutorService executor =
-            Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+    /** AsyncTool 의 기본 Executor 이름 ({@link ExecutorRegistry} 에서 설정을 바꿀 수 있습니다) */
+    public static final String EXECUTOR_NAME = "AsyncTool";
+
+    /** 제한 시간 검사용 scheduler (작업 Pool 이 포화되어도 제한 시간이 지켜지도록 별도로 둡니다) */
+    private static final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                                                               .setNameFormat("AsyncTool-timer-%d")
+                                                               .setDaemon(true)
+                                                               .build());
 
     public static final Runnable EMPTY_RUNNABLE = new Runnable() {
         @Override
@@ -60,8 +76,8 @@ public abstract class AsyncTool {
      * @param callable the callable
      * @return the future task
      */
-    public static <T> FutureTask<T> newTask(final Callable<T> callable) {
-        return new FutureTask<T>(callable);
+    public static <T> ListenableFutureTask<T> newTask(final Callable<T> callable) {
+        return ListenableFutureTask.create(callable);
     }
 
     /**
@@ -72,8 +88,8 @@ public abstract class AsyncTool {
      * @param result   the result
      * @return the future task
      */
-    public static <T> FutureTask<T> newTask(final Runnable runnable, final T result) {
-        return new FutureTask<T>(runnable, result);
+    public static <T> ListenableFutureTask<T> newTask(final Runnable runnable, final T result) {
+        return ListenableFutureTask.create(runnable, result);
     }
 
     /**
@@ -83,8 +99,8 @@ public abstract class AsyncTool {
      * @param runnable the runnable
      * @return the future task
      */
-    public static FutureTask<Void> newTask(final Runnable runnable) {
-        return new FutureTask<Void>(runnable, null);
+    public static ListenableFutureTask<Void> newTask(final Runnable runnable) {
+        return ListenableFutureTask.create(runnable, null);
     }
 
     /**
@@ -93,8 +109,19 @@ public abstract class AsyncTool {
      * @param callable the callable
      * @return the future
      */
-    public static <T> Future<T> startNew(final Callable<T> callable) {
-        return executor.submit(callable);
+    public static <T> ListenableFuture<T> startNew(final Callable<T> callable) {
+        return startNew(EXECUTOR_NAME, callable);
+    }
+
+    /**
+     * 새로운 작업을 생성하고, 지정한 이름의 Executor 에서 시작합니다.
+     *
+     * @param executorName Executor 이름 ({@link ExecutorRegistry} 참고)
+     * @param callable     the callable
+     * @return the future
+     */
+    public static <T> ListenableFuture<T> startNew(final String executorName, final Callable<T> callable) {
+        return ExecutorRegistry.getListening(executorName).submit(callable);
     }
 
     /**
@@ -104,59 +131,244 @@ public abstract class AsyncTool {
      * @param result   the result
      * @return the future
      */
-    public static <T> Future<T> startNew(final Runnable runnable, final T result) {
-        return executor.submit(runnable, result);
+    public static <T> ListenableFuture<T> startNew(final Runnable runnable, final T result) {
+        return startNew(EXECUTOR_NAME, runnable, result);
+    }
+
+    /**
+     * 새로운 작업을 생성하고, 지정한 이름의 Executor 에서 실행합니다.
+     *
+     * @param executorName Executor 이름 ({@link ExecutorRegistry} 참고)
+     * @param runnable     the runnable
+     * @param result       the result
+     * @return the future
+     */
+    public static <T> ListenableFuture<T> startNew(final String executorName, final Runnable runnable, final T result) {
+        return ExecutorRegistry.getListening(executorName).submit(runnable, result);
+    }
+
+    /**
+     * 현재 Thread 의 {@link Local} 저장소를 전달하여 새로운 작업을 시작합니다.
+     *
+     * @param callable the callable
+     * @return the future
+     */
+    public static <T> ListenableFuture<T> startNewWithLocal(final Callable<T> callable) {
+        return startNewWithLocal(EXECUTOR_NAME, callable);
+    }
+
+    /**
+     * 현재 Thread 의 {@link Local} 저장소를 전달하여, 지정한 이름의 Executor 에서 새로운 작업을 시작합니다.
+     * 작업은 저장소의 복사본을 사용하므로, 작업에서 저장한 값은 호출한 Thread 에 반영되지 않습니다.
+     * Hibernate Session 처럼 전달하지 않도록 지정한 Key 의 값은 복사본에 포함되지 않습니다. ({@link Local#newKey(String, boolean)} 참고)
+     *
+     * @param executorName Executor 이름 ({@link ExecutorRegistry} 참고)
+     * @param callable     the callable
+     * @return the future
+     */
+    public static <T> ListenableFuture<T> startNewWithLocal(final String executorName, final Callable<T> callable) {
+        return startNew(executorName, Local.wrap(callable));
     }
 
+    private static ListeningExecutorService getExecutor() {
+        return ExecutorRegistry.getListening(EXECUTOR_NAME);
+    }
+
+    /**
+     * 후속 작업을 실행하는 Executor 입니다.
+     * Guava 의 ExecutionList 는 listener 를 실행할 Executor 가 거부한 예외를 로그로만 남기므로,
+     * 대기열이 가득 찬 상태 (REJECT 정책, BLOCK 정책의 대기 시간 초과) 에서는 후속 작업의 future 가 완료되지 않습니다.
+     * 이를 막기 위해 거부된 후속 작업은 선행 작업을 완료시킨 thread 에서 바로 실행합니다.
+     */
+    private static final Executor callbackExecutor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            try {
+                getExecutor().execute(command);
+            } catch (RejectedExecutionException e) {
+                log.warn("후속 작업이 거부되어 현재 thread 에서 실행합니다. error=[{}]", e.getMessage());
+                MoreExecutors.sameThreadExecutor().execute(command);
+            }
+        }
+    };
+
     /**
-     * prevTask 가 완료되면, action을 수행합니다.
+     * prevTask 가 완료되면, action을 수행합니다. prevTask 를 기다리는 동안 thread 를 점유하지 않습니다.
      *
      * @param prevTask the prev task
      * @param action   the action
      * @param result   the result
      * @return the future
      */
-    public static <T, V> Future<V> continueTask(final FutureTask<T> prevTask,
-                                                final Action1<T> action,
-                                                final @Nullable V result) {
-        final Callable<V> chainTask = new Callable<V>() {
+    public static <T, V> ListenableFuture<V> continueTask(final ListenableFuture<T> prevTask,
+                                                          final Action1<T> action,
+                                                          final @Nullable V result) {
+        shouldNotBeNull(action, "action");
+
+        return thenApply(prevTask, new Function1<T, V>() {
             @Override
-            public V call() throws Exception {
-                T prev = prevTask.get();
+            public V execute(T prev) {
                 action.perform(prev);
                 return result;
             }
-        };
-
-        return startNew(chainTask);
+        });
     }
 
     /**
      * prevTask의 실행 결과 값을 받아 후속 function에서 작업하고 결과를 반환합니다.
+     * prevTask 를 기다리는 동안 thread 를 점유하지 않습니다.
      *
      * @param prevTask the prev task
      * @param function the function
      * @return the future
      */
-    public static <T, V> Future<V> continueTask(final FutureTask<T> prevTask,
-                                                final Function1<T, V> function) {
-        return startNew(new Callable<V>() {
+    public static <T, V> ListenableFuture<V> continueTask(final ListenableFuture<T> prevTask,
+                                                          final Function1<T, V> function) {
+        return thenApply(prevTask, function);
+    }
+
+    /**
+     * 선행 작업이 완료되면, 그 결과를 function 으로 변환합니다. function 은 AsyncTool 의 executor 에서 실행되며,
+     * executor 가 거부하면 선행 작업을 완료시킨 thread 에서 실행됩니다.
+     * 선행 작업이 실패하거나 취소되면, 반환된 future 도 같은 상태가 됩니다.
+     *
+     * @param prevTask 선행 작업
+     * @param function 결과 변환 함수
+     * @return 변환된 결과를 가질 future
+     */
+    public static <T, V> ListenableFuture<V> thenApply(final ListenableFuture<T> prevTask,
+                                                       final Function1<T, V> function) {
+        shouldNotBeNull(prevTask, "prevTask");
+        shouldNotBeNull(function, "function");
+
+        return Futures.transform(prevTask, new com.google.common.base.Function<T, V>() {
             @Override
-            public V call() throws Exception {
-                return function.execute(prevTask.get());
+            public V apply(@Nullable T input) {
+                return function.execute(input);
             }
-        });
+        }, callbackExecutor);
     }
 
+    /**
+     * 선행 작업이 완료되면, 그 결과로 다음 비동기 작업을 시작하고, 다음 작업의 결과를 반환합니다.
+     *
+     * @param prevTask 선행 작업
+     * @param function 다음 비동기 작업을 시작하는 함수
+     * @return 다음 작업의 결과를 가질 future
+     */
+    public static <T, V> ListenableFuture<V> thenCompose(final ListenableFuture<T> prevTask,
+                                                         final Function1<T, ? extends ListenableFuture<V>> function) {
+        shouldNotBeNull(prevTask, "prevTask");
+        shouldNotBeNull(function, "function");
+
+        return Futures.transform(prevTask, new AsyncFunction<T, V>() {
+            @Override
+            public ListenableFuture<V> apply(@Nullable T input) throws Exception {
+                return function.execute(input);
+            }
+        }, callbackExecutor);
+    }
 
     /**
-     * Gets task has result.
+     * 모든 작업이 완료되면, 작업 순서대로 결과를 담은 리스트를 가지는 future 를 반환합니다.
+     * 하나라도 실패하거나 취소되면, 반환된 future 도 실패합니다.
+     *
+     * @param tasks 작업들
+     * @return 모든 작업의 결과를 가질 future
+     */
+    public static <T> ListenableFuture<List<T>> whenAll(final Iterable<? extends ListenableFuture<? extends T>> tasks) {
+        shouldNotBeNull(tasks, "tasks");
+        return Futures.allAsList(tasks);
+    }
+
+    /**
+     * 작업들 중 가장 먼저 완료된 작업의 결과 (또는 예외) 를 가지는 future 를 반환합니다.
+     * 작업이 하나도 없으면 {@link IllegalArgumentException} 으로 실패한 future 를 반환합니다.
+     *
+     * @param tasks 작업들
+     * @return 가장 먼저 완료된 작업의 결과를 가질 future
+     */
+    public static <T> ListenableFuture<T> whenAny(final Iterable<? extends ListenableFuture<? extends T>> tasks) {
+        shouldNotBeNull(tasks, "tasks");
+
+        final SettableFuture<T> first = SettableFuture.create();
+        boolean hasTask = false;
+        for (ListenableFuture<? extends T> task : tasks) {
+            hasTask = true;
+            Futures.addCallback(task, new FutureCallback<T>() {
+                @Override
+                public void onSuccess(@Nullable T result) {
+                    first.set(result);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    first.setException(t);
+                }
+            });
+        }
+        if (!hasTask)
+            first.setException(new IllegalArgumentException("tasks 가 비어 있습니다."));
+        return first;
+    }
+
+    /**
+     * 지정한 시간 내에 작업이 완료되지 않으면 {@link TimeoutException} 으로 실패하고, 원래 작업은 취소합니다.
+     *
+     * @param task    작업
+     * @param timeout 제한 시간
+     * @param unit    제한 시간 단위
+     * @return 제한 시간이 적용된 future
+     */
+    public static <T> ListenableFuture<T> withTimeout(final ListenableFuture<T> task,
+                                                      final long timeout,
+                                                      final TimeUnit unit) {
+        shouldNotBeNull(task, "task");
+        shouldNotBeNull(unit, "unit");
+
+        final SettableFuture<T> result = SettableFuture.create();
+        final ScheduledFuture<?> timeoutTask = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (result.setException(new TimeoutException("작업이 제한 시간 [" + timeout + " " + unit + "] 내에 완료되지 않았습니다.")))
+                    task.cancel(true);
+            }
+        }, timeout, unit);
+
+        Futures.addCallback(task, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(@Nullable T value) {
+                timeoutTask.cancel(false);
+                result.set(value);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                timeoutTask.cancel(false);
+                result.setException(t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 이미 완료되어 지정한 결과를 가지는 future 를 반환합니다.
      *
      * @param result the result
      * @return the task has result
      */
-    public static <T> FutureTask<T> getTaskHasResult(final T result) {
-        return newTask(EMPTY_RUNNABLE, result);
+    public static <T> ListenableFuture<T> getTaskHasResult(final T result) {
+        return Futures.immediateFuture(result);
+    }
+
+    /**
+     * 이미 지정한 예외로 실패한 future 를 반환합니다.
+     *
+     * @param throwable 예외
+     * @return 실패한 future
+     */
+    public static <T> ListenableFuture<T> getTaskHasException(final Throwable throwable) {
+        return Futures.immediateFailedFuture(throwable);
     }
 
     /**
@@ -182,7 +394,7 @@ public abstract class AsyncTool {
             };
             tasks.add(task);
         }
-        return executor.invokeAll(tasks);
+        return getExecutor().invokeAll(tasks);
     }
 
     /**
@@ -192,7 +404,7 @@ public abstract class AsyncTool {
      * @throws InterruptedException the interrupted exception
      */
     public static <T> void invokeAll(final Collection<? extends Callable<T>> tasks) throws InterruptedException {
-        getAll(executor.invokeAll(tasks));
+        getAll(getExecutor().invokeAll(tasks));
     }
 
     /**
@@ -206,7 +418,7 @@ public abstract class AsyncTool {
     public static <T> void invokeAll(final Collection<? extends Callable<T>> tasks,
                                      final long timeout,
                                      final TimeUnit unit) throws InterruptedException {
-        getAll(executor.invokeAll(tasks, timeout, unit));
+        getAll(getExecutor().invokeAll(tasks, timeout, unit));
     }
 
     /** 비동기 작업들을 실행하고, 작업이 완료되거나 취소될때까지 기다립니다. */
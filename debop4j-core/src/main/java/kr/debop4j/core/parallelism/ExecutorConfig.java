@@ -0,0 +1,110 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.parallelism;
+
+import com.google.common.base.Objects;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
+
+/**
+ * {@link InstrumentedExecutor} 의 설정 정보입니다.
+ * <p/>
+ * 기본값은 시스템 속성 <code>debop4j.executor.{name}.{property}</code> 로 재정의할 수 있습니다.
+ * (예: <code>-Ddebop4j.executor.FileTool.maxPoolSize=4 -Ddebop4j.executor.FileTool.rejectionPolicy=BLOCK</code>)
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+@Getter
+@Setter
+public class ExecutorConfig {
+
+    /** 시스템 속성 이름의 접두사 */
+    public static final String PROPERTY_PREFIX = "debop4j.executor.";
+
+    private static final int PROCESS_COUNT = Runtime.getRuntime().availableProcessors();
+
+    /** Executor 이름 (thread 이름의 접두사와 registry 의 키로 사용됩니다) */
+    private final String name;
+
+    /** 기본 thread 수 */
+    private int corePoolSize = PROCESS_COUNT * 2;
+
+    /** 최대 thread 수 (대기열이 가득 찼을 때만 기본 thread 수 이상으로 늘어납니다) */
+    private int maxPoolSize = PROCESS_COUNT * 2;
+
+    /** 작업 대기열의 최대 크기 */
+    private int queueCapacity = 10000;
+
+    /** 유휴 thread 를 유지하는 시간 (milliseconds) */
+    private long keepAliveMillis = 60000L;
+
+    /** 대기열이 가득 찼을 때의 처리 방식 */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+    /** {@link RejectionPolicy#BLOCK} 일 때 대기열을 기다리는 최대 시간 (milliseconds) */
+    private long blockTimeoutMillis = 1000L;
+
+    /** daemon thread 사용 여부 */
+    private boolean daemon = true;
+
+    /**
+     * 기본 설정에 시스템 속성을 적용한 설정 정보를 생성합니다.
+     *
+     * @param name Executor 이름
+     */
+    public ExecutorConfig(String name) {
+        this.name = shouldNotBeWhiteSpace(name, "name");
+        applySystemProperties();
+    }
+
+    private void applySystemProperties() {
+        String prefix = PROPERTY_PREFIX + name + ".";
+
+        corePoolSize = Integer.getInteger(prefix + "corePoolSize", corePoolSize);
+        maxPoolSize = Math.max(corePoolSize, Integer.getInteger(prefix + "maxPoolSize", maxPoolSize));
+        queueCapacity = Integer.getInteger(prefix + "queueCapacity", queueCapacity);
+        keepAliveMillis = Long.getLong(prefix + "keepAliveMillis", keepAliveMillis);
+        blockTimeoutMillis = Long.getLong(prefix + "blockTimeoutMillis", blockTimeoutMillis);
+
+        String policy = System.getProperty(prefix + "rejectionPolicy");
+        if (policy != null) {
+            try {
+                rejectionPolicy = RejectionPolicy.valueOf(policy.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("알 수 없는 rejectionPolicy 입니다. 기본값을 사용합니다. name=[{}], rejectionPolicy=[{}]", name, policy);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("name", name)
+                .add("corePoolSize", corePoolSize)
+                .add("maxPoolSize", maxPoolSize)
+                .add("queueCapacity", queueCapacity)
+                .add("keepAliveMillis", keepAliveMillis)
+                .add("rejectionPolicy", rejectionPolicy)
+                .add("blockTimeoutMillis", blockTimeoutMillis)
+                .add("daemon", daemon)
+                .toString();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.parallelism;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
+
+/**
+ * 이름으로 구분되는 {@link InstrumentedExecutor} 들을 관리합니다.
+ * <p/>
+ * 하위 시스템 (FileTool, SerializeTool, Cache 등) 마다 별도의 Executor 를 사용하므로,
+ * 한 하위 시스템의 작업이 몰려도 다른 하위 시스템의 작업이 굶지 않습니다.
+ * 설정을 바꾸려면 처음 사용하기 전에 {@link #register(ExecutorConfig)} 를 호출하거나, {@link ExecutorConfig} 의 시스템 속성을 지정합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public final class ExecutorRegistry {
+
+    private ExecutorRegistry() { }
+
+    private static final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * 지정한 설정으로 Executor 를 등록합니다. 같은 이름의 Executor 가 있다면 기존 Executor 를 종료하고 교체합니다.
+     *
+     * @param config Executor 설정 정보
+     * @return 등록된 Executor
+     */
+    public static InstrumentedExecutor register(final ExecutorConfig config) {
+        shouldNotBeNull(config, "config");
+
+        Entry entry = new Entry(new InstrumentedExecutor(config));
+        Entry old;
+        synchronized (entries) {
+            old = entries.put(config.getName(), entry);
+        }
+        if (old != null) {
+            if (log.isDebugEnabled())
+                log.debug("기존 Executor 를 종료하고 교체합니다. name=[{}]", config.getName());
+            old.executor.shutdown();
+        }
+        return entry.executor;
+    }
+
+    /**
+     * 지정한 이름의 Executor 를 가져옵니다. 없으면 기본 설정으로 생성합니다.
+     *
+     * @param name Executor 이름
+     * @return Executor
+     */
+    public static InstrumentedExecutor get(final String name) {
+        return getEntry(name).executor;
+    }
+
+    /**
+     * 지정한 이름의 Executor 를 {@link ListeningExecutorService} 로 가져옵니다. 없으면 기본 설정으로 생성합니다.
+     *
+     * @param name Executor 이름
+     * @return ListeningExecutorService
+     */
+    public static ListeningExecutorService getListening(final String name) {
+        return getEntry(name).listening;
+    }
+
+    private static Entry getEntry(final String name) {
+        Entry entry = entries.get(shouldNotBeWhiteSpace(name, "name"));
+        if (entry != null && !entry.executor.isShutdown())
+            return entry;
+
+        synchronized (entries) {
+            entry = entries.get(name);
+            if (entry == null || entry.executor.isShutdown()) {
+                entry = new Entry(new InstrumentedExecutor(new ExecutorConfig(name)));
+                entries.put(name, entry);
+            }
+            return entry;
+        }
+    }
+
+    /** 등록된 모든 Executor 를 이름과 함께 반환합니다. */
+    public static Map<String, InstrumentedExecutor> getAll() {
+        ImmutableMap.Builder<String, InstrumentedExecutor> builder = ImmutableMap.builder();
+        for (Map.Entry<String, Entry> e : entries.entrySet())
+            builder.put(e.getKey(), e.getValue().executor);
+        return builder.build();
+    }
+
+    /** 등록된 모든 Executor 의 통계 정보를 로그로 남깁니다. */
+    public static void logStatistics() {
+        for (Entry entry : entries.values())
+            log.info("Executor 통계. {}", entry.executor);
+    }
+
+    /** 등록된 모든 Executor 를 종료하고, 등록을 해제합니다. */
+    public static void shutdownAll() {
+        synchronized (entries) {
+            for (Entry entry : entries.values())
+                entry.executor.shutdown();
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+        final InstrumentedExecutor executor;
+        final ListeningExecutorService listening;
+
+        Entry(InstrumentedExecutor executor) {
+            this.executor = executor;
+            this.listening = MoreExecutors.listeningDecorator(executor);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.parallelism;
+
+import com.google.common.base.Objects;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+
+/**
+ * 작업 대기열의 크기가 제한되고, 실행 통계를 수집하는 {@link ThreadPoolExecutor} 입니다.
+ * <p/>
+ * 대기열이 가득 차면 {@link RejectionPolicy} 에 따라 호출 thread 에서 실행하거나, 거부하거나, 제한 시간 동안 기다립니다.
+ * 대기열 대기 시간과 실행 시간은 각각 {@link LatencyHistogram} 으로 집계됩니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class InstrumentedExecutor extends ThreadPoolExecutor {
+
+    @Getter
+    private final ExecutorConfig config;
+
+    /** 대기열에서 기다린 시간 */
+    @Getter
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+
+    /** 작업 실행 시간 */
+    @Getter
+    private final LatencyHistogram executionLatency = new LatencyHistogram();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * 생성자
+     *
+     * @param config Executor 설정 정보
+     */
+    public InstrumentedExecutor(final ExecutorConfig config) {
+        super(config.getCorePoolSize(),
+              config.getMaxPoolSize(),
+              config.getKeepAliveMillis(),
+              TimeUnit.MILLISECONDS,
+              new LinkedBlockingQueue<Runnable>(config.getQueueCapacity()),
+              new NamedThreadFactory(config.getName(), config.isDaemon()));
+
+        this.config = config;
+        setRejectedExecutionHandler(new CountingRejectionHandler(config));
+        allowCoreThreadTimeOut(true);
+
+        if (log.isDebugEnabled())
+            log.debug("InstrumentedExecutor 를 생성했습니다. config=[{}]", config);
+    }
+
+    /** Executor 이름 */
+    public String getName() {
+        return config.getName();
+    }
+
+    /** 대기열에서 실행을 기다리는 작업 수 */
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    /** 대기열의 남은 용량 */
+    public int getRemainingQueueCapacity() {
+        return getQueue().remainingCapacity();
+    }
+
+    /** 거부된 작업 수 (호출 thread 에서 실행된 작업 포함) */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        shouldNotBeNull(command, "command");
+        super.execute(new TimedRunnable(command));
+    }
+
+    /** 대기열에 들어간 시각을 기억했다가, 실행될 때 대기 시간과 실행 시간을 기록합니다. */
+    private final class TimedRunnable implements Runnable {
+
+        private final Runnable command;
+        private final long enqueuedNanos = System.nanoTime();
+
+        TimedRunnable(Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            queueLatency.record(startNanos - enqueuedNanos);
+            try {
+                command.run();
+            } finally {
+                executionLatency.record(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    /** 거부된 작업 수를 세고, {@link RejectionPolicy} 에 따라 처리합니다. */
+    private final class CountingRejectionHandler implements RejectedExecutionHandler {
+
+        private final ExecutorConfig config;
+
+        CountingRejectionHandler(ExecutorConfig config) {
+            this.config = config;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                rejectedCount.incrementAndGet();
+                throw new RejectedExecutionException("Executor 가 종료되었습니다. name=" + config.getName());
+            }
+
+            switch (config.getRejectionPolicy()) {
+                case CALLER_RUNS:
+                    rejectedCount.incrementAndGet();
+                    if (log.isTraceEnabled())
+                        log.trace("대기열이 가득 차서 호출 thread 에서 작업을 실행합니다. name=[{}]", config.getName());
+                    r.run();
+                    return;
+
+                case BLOCK:
+                    try {
+                        if (executor.getQueue().offer(r, config.getBlockTimeoutMillis(), TimeUnit.MILLISECONDS))
+                            return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    rejectedCount.incrementAndGet();
+                    throw new RejectedExecutionException("대기열에 빈 자리가 생기지 않았습니다. name=" + config.getName()
+                                                                 + ", blockTimeoutMillis=" + config.getBlockTimeoutMillis());
+
+                default:
+                    rejectedCount.incrementAndGet();
+                    throw new RejectedExecutionException("대기열이 가득 찼습니다. name=" + config.getName()
+                                                                 + ", queueCapacity=" + config.getQueueCapacity());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("name", getName())
+                .add("poolSize", getPoolSize())
+                .add("activeCount", getActiveCount())
+                .add("queueDepth", getQueueDepth())
+                .add("completedTaskCount", getCompletedTaskCount())
+                .add("rejectedCount", getRejectedCount())
+                .add("queueLatency", queueLatency)
+                .add("executionLatency", executionLatency)
+                .toString();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.parallelism;
+
+import com.google.common.base.Objects;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 작업 지연 시간의 분포를 lock 없이 기록하는 히스토그램입니다.
+ * 지연 시간은 microsecond 단위의 2의 거듭제곱 구간으로 집계되므로, 백분위수는 구간의 상한값으로 근사합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class LatencyHistogram {
+
+    /** 1us, 2us, 4us, ... 약 2^40 us 까지 */
+    private static final int BUCKET_COUNT = 41;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * 지연 시간을 기록합니다.
+     *
+     * @param nanos 지연 시간 (nanoseconds)
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = (micros == 0) ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+
+        long max;
+        do {
+            max = maxNanos.get();
+        } while (nanos > max && !maxNanos.compareAndSet(max, nanos));
+    }
+
+    /** 기록된 횟수 */
+    public long getCount() {
+        return count.get();
+    }
+
+    /** 평균 지연 시간 (nanoseconds) */
+    public long getMeanNanos() {
+        long n = count.get();
+        return (n == 0) ? 0 : totalNanos.get() / n;
+    }
+
+    /** 최대 지연 시간 (nanoseconds) */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * 지정한 백분위수의 지연 시간 상한을 구합니다.
+     *
+     * @param percentile 백분위수 (0 ~ 100)
+     * @return 지연 시간 상한 (nanoseconds)
+     */
+    public long getPercentileNanos(double percentile) {
+        long n = count.get();
+        if (n == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(n * Math.max(0.0, Math.min(100.0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank)
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << i), getMaxNanos());
+        }
+        return getMaxNanos();
+    }
+
+    /** 기록을 초기화합니다. */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            buckets.set(i, 0);
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("count", getCount())
+                .add("meanUs", TimeUnit.NANOSECONDS.toMicros(getMeanNanos()))
+                .add("p50Us", TimeUnit.NANOSECONDS.toMicros(getPercentileNanos(50)))
+                .add("p99Us", TimeUnit.NANOSECONDS.toMicros(getPercentileNanos(99)))
+                .add("maxUs", TimeUnit.NANOSECONDS.toMicros(getMaxNanos()))
+                .toString();
+    }
+}
@@ -33,6 +33,7 @@ public class NamedThreadFactory implements ThreadFactory {
 
     private static final AtomicInteger threadNumber = new AtomicInteger(1);
     private String prefix;
+    private boolean daemon;
 
     /**
      * Instantiates a new Named thread factory.
@@ -40,7 +41,18 @@ public class NamedThreadFactory implements ThreadFactory {
      * @param prefix the prefix
      */
     public NamedThreadFactory(String prefix) {
+        this(prefix, false);
+    }
+
+    /**
+     * Instantiates a new Named thread factory.
+     *
+     * @param prefix the prefix
+     * @param daemon daemon thread 여부
+     */
+    public NamedThreadFactory(String prefix, boolean daemon) {
         this.prefix = StringTool.isEmpty(prefix) ? "thread-" : prefix + " thread-";
+        this.daemon = daemon;
     }
 
     @Override
@@ -49,6 +61,8 @@ public class NamedThreadFactory implements ThreadFactory {
         final String threadName = prefix + threadNumber.getAndIncrement();
         if (log.isTraceEnabled())
             log.trace("새로운 thread를 생성합니다. threadName=[{}]", threadName);
-        return new Thread(r, threadName);
+        Thread thread = new Thread(r, threadName);
+        thread.setDaemon(daemon);
+        return thread;
     }
 }
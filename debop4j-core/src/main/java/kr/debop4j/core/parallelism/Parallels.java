@@ -16,18 +16,16 @@
 
 package kr.debop4j.core.parallelism;
 
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import kr.debop4j.core.Action1;
-import kr.debop4j.core.Function1;
+import kr.debop4j.core.*;
 import kr.debop4j.core.collection.NumberRange;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.RandomAccess;
 import java.util.concurrent.*;
 
 import static kr.debop4j.core.Guard.shouldNotBeNull;
@@ -35,6 +33,12 @@ import static kr.debop4j.core.Guard.shouldNotBeNull;
 
 /**
  * 대량 데이터에 대한 병렬 실행을 수행할 수 있도록 해주는 Class 입니다.
+ * <p/>
+ * 모든 병렬 작업은 하나의 공유된 work-stealing {@link ForkJoinPool} 에서 수행되고, 범위는 작업 부하에 따라 적응적으로 분할됩니다.
+ * 따라서 중첩되거나 동시에 호출된 병렬 작업도 CPU core 수 정도의 thread 만을 사용합니다.
+ * 병렬 수준은 시스템 속성 {@link #PARALLELISM_PROPERTY} 나 {@link #setPool(ForkJoinPool)} 로 지정할 수 있습니다.
+ * 작업에 호출한 Thread 의 {@link kr.debop4j.core.Local} 저장소가 필요하면 {@code Parallels.runEach(elements, Local.wrap(action))} 와 같이
+ * 감싸서 전달하세요.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 9. 26.
@@ -45,6 +49,42 @@ public abstract class Parallels {
     private static final boolean isTraceEnabled = log.isTraceEnabled();
     private static final boolean isDebugEnabled = log.isDebugEnabled();
 
+    /** 공유 Pool 의 병렬 수준을 지정하는 시스템 속성 이름 */
+    public static final String PARALLELISM_PROPERTY = "debop4j.parallels.parallelism";
+
+    /** 범위를 분할할 때, worker 당 최대 분할 수 */
+    private static final int SPLITS_PER_WORKER = 4;
+
+    /** 대기 중인 작업이 이 값보다 많으면, 더 이상 분할하지 않고 직접 처리합니다. */
+    private static final int MAX_SURPLUS_TASKS = 3;
+
+    private static volatile ForkJoinPool pool;
+
+    private static final LongBinaryOperator LONG_SUM = new LongBinaryOperator() {
+        @Override
+        public long execute(long left, long right) { return left + right; }
+    };
+    private static final LongBinaryOperator LONG_MIN = new LongBinaryOperator() {
+        @Override
+        public long execute(long left, long right) { return Math.min(left, right); }
+    };
+    private static final LongBinaryOperator LONG_MAX = new LongBinaryOperator() {
+        @Override
+        public long execute(long left, long right) { return Math.max(left, right); }
+    };
+    private static final DoubleBinaryOperator DOUBLE_SUM = new DoubleBinaryOperator() {
+        @Override
+        public double execute(double left, double right) { return left + right; }
+    };
+    private static final DoubleBinaryOperator DOUBLE_MIN = new DoubleBinaryOperator() {
+        @Override
+        public double execute(double left, double right) { return Math.min(left, right); }
+    };
+    private static final DoubleBinaryOperator DOUBLE_MAX = new DoubleBinaryOperator() {
+        @Override
+        public double execute(double left, double right) { return Math.max(left, right); }
+    };
+
     private Parallels() { }
 
     @Getter(lazy = true)
@@ -54,6 +94,51 @@ public abstract class Parallels {
     @Getter(lazy = true)
     private static final int workerCount = getProcessCount() * 2;
 
+    /**
+     * 병렬 작업에 사용하는 공유 {@link ForkJoinPool} 을 반환합니다.
+     *
+     * @return 공유 Pool
+     */
+    public static ForkJoinPool getPool() {
+        ForkJoinPool result = pool;
+        if (result == null) {
+            synchronized (Parallels.class) {
+                result = pool;
+                if (result == null) {
+                    int parallelism = Math.max(1, Integer.getInteger(PARALLELISM_PROPERTY, getProcessCount()));
+                    if (isDebugEnabled)
+                        log.debug("병렬 작업용 공유 ForkJoinPool 을 생성합니다. parallelism=[{}]", parallelism);
+                    result = new ForkJoinPool(parallelism);
+                    pool = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 병렬 작업에 사용할 공유 Pool 을 교체합니다. 기존 Pool 은 종료하지 않습니다.
+     *
+     * @param newPool 새로운 공유 Pool
+     */
+    public static void setPool(ForkJoinPool newPool) {
+        shouldNotBeNull(newPool, "newPool");
+        synchronized (Parallels.class) {
+            pool = newPool;
+        }
+        if (isDebugEnabled)
+            log.debug("병렬 작업용 공유 ForkJoinPool 을 교체했습니다. parallelism=[{}]", newPool.getParallelism());
+    }
+
+    /**
+     * 공유 Pool 의 병렬 수준
+     *
+     * @return 병렬 수준
+     */
+    public static int getParallelism() {
+        return getPool().getParallelism();
+    }
+
     /**
      * Create executor.
      *
@@ -74,7 +159,7 @@ public abstract class Parallels {
     }
 
     private static int getPartitionSize(int itemCount, int partitionCount) {
-        return (itemCount / partitionCount) + ((itemCount % partitionCount) > 0 ? 1 : 0);
+        return Math.max(1, (itemCount / partitionCount) + ((itemCount % partitionCount) > 0 ? 1 : 0));
     }
 
     /**
@@ -107,44 +192,26 @@ public abstract class Parallels {
      * @param runnable    the runnable
      */
     public static void run(int fromInclude, int toExclude, int step, final Runnable runnable) {
-        assert runnable != null;
-
-        if (log.isDebugEnabled())
-            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], workerCount=[{}]",
-                      fromInclude, toExclude, step, getWorkerCount());
+        shouldNotBeNull(runnable, "runnable");
 
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+        if (isDebugEnabled)
+            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], parallelism=[{}]",
+                      fromInclude, toExclude, step, getParallelism());
 
         try {
-            List<NumberRange.IntRange> partitions = NumberRange.partition(fromInclude, toExclude, step, getWorkerCount());
-            List<Callable<Void>> tasks = Lists.newLinkedList();
-
-            for (final NumberRange.IntRange partition : partitions) {
-                Callable<Void> task =
-                        new Callable<Void>() {
-                            @Override
-                            public Void call() throws Exception {
-                                for (final int element : partition)
-                                    runnable.run();
-                                return null;
-                            }
-                        };
-                tasks.add(task);
-            }
+            forEachIndex(NumberRange.range(fromInclude, toExclude, step), new IndexAction() {
+                @Override
+                public void perform(int index) throws Exception {
+                    runnable.run();
+                }
+            });
 
-            List<Future<Void>> results = executor.invokeAll(tasks);
-            for (Future<Void> result : results) {
-                result.get();
-            }
-
-            if (log.isDebugEnabled())
+            if (isDebugEnabled)
                 log.debug("병렬 작업을 수행하였습니다!");
 
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -181,41 +248,24 @@ public abstract class Parallels {
     public static void run(int fromInclude, int toExclude, int step, final Action1<Integer> action) {
         shouldNotBeNull(action, "function");
 
-        if (log.isDebugEnabled())
-            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], workerCount=[{}]",
-                      fromInclude, toExclude, step, getWorkerCount());
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+        if (isDebugEnabled)
+            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], parallelism=[{}]",
+                      fromInclude, toExclude, step, getParallelism());
 
         try {
-            List<NumberRange.IntRange> partitions = NumberRange.partition(fromInclude, toExclude, step, getWorkerCount());
-            List<Callable<Void>> tasks = Lists.newLinkedList();
-
-            for (final NumberRange.IntRange partition : partitions) {
-                Callable<Void> task =
-                        new Callable<Void>() {
-                            @Override
-                            public Void call() throws Exception {
-                                for (final int element : partition)
-                                    action.perform(element);
-                                return null;
-                            }
-                        };
-                tasks.add(task);
-            }
+            forEachIndex(NumberRange.range(fromInclude, toExclude, step), new IndexAction() {
+                @Override
+                public void perform(int index) throws Exception {
+                    action.perform(index);
+                }
+            });
 
-            List<Future<Void>> results = executor.invokeAll(tasks);
-            for (Future<Void> result : results) {
-                result.get();
-            }
-
-            if (log.isDebugEnabled())
+            if (isDebugEnabled)
                 log.debug("모든 작업을 병렬로 수행하였습니다!");
 
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -252,50 +302,29 @@ public abstract class Parallels {
      * @param callable    the callable
      * @return the list
      */
-    public static <V> List<V> run(int fromInclude, int toExclude, int step, final Callable<V> callable) {
+    public static <V> List<V> run(final int fromInclude, int toExclude, final int step, final Callable<V> callable) {
         shouldNotBeNull(callable, "callable");
         if (isDebugEnabled)
-            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], workerCount=[{}]",
-                      fromInclude, toExclude, step, getWorkerCount());
-
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], parallelism=[{}]",
+                      fromInclude, toExclude, step, getParallelism());
 
         try {
-            List<NumberRange.IntRange> partitions = NumberRange.partition(fromInclude, toExclude, step, getWorkerCount());
-            final Map<Integer, List<V>> localResults = Maps.newLinkedHashMap();
-            List<Callable<List<V>>> tasks = Lists.newLinkedList(); // False Sharing을 방지하기 위해
-
-            for (int p = 0; p < partitions.size(); p++) {
-                final NumberRange.IntRange partition = partitions.get(p);
-                final List<V> localResult = Lists.newArrayListWithCapacity(partition.size());
-                localResults.put(p, localResult);
-
-                Callable<List<V>> task = new Callable<List<V>>() {
-                    @Override
-                    public List<V> call() throws Exception {
-                        for (final int element : partition)
-                            localResult.add(callable.call());
-                        return localResult;
-                    }
-                };
-                tasks.add(task);
-            }
-
-            executor.invokeAll(tasks);
+            NumberRange.IntRange range = NumberRange.range(fromInclude, toExclude, step);
+            final Object[] results = new Object[range.size()];
 
-            List<V> results = Lists.newCopyOnWriteArrayList();
-            for (int i = 0; i < partitions.size(); i++) {
-                results.addAll(localResults.get(i));
-            }
+            forEachIndex(range, new IndexAction() {
+                @Override
+                public void perform(int index) throws Exception {
+                    results[(index - fromInclude) / step] = callable.call();
+                }
+            });
 
-            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. workerCount=[{}]", getWorkerCount());
+            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. parallelism=[{}]", getParallelism());
 
-            return results;
+            return toList(results);
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -332,49 +361,29 @@ public abstract class Parallels {
      * @param function    수행할 함수
      * @return 결과 값 컬렉션
      */
-    public static <V> List<V> run(int fromInclude, int toExclude, int step, final Function1<Integer, V> function) {
+    public static <V> List<V> run(final int fromInclude, int toExclude, final int step, final Function1<Integer, V> function) {
         shouldNotBeNull(function, "function");
         if (isDebugEnabled)
-            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], workerCount=[{}]",
-                      fromInclude, toExclude, step, getWorkerCount());
-
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], parallelism=[{}]",
+                      fromInclude, toExclude, step, getParallelism());
 
         try {
-            List<NumberRange.IntRange> partitions = NumberRange.partition(fromInclude, toExclude, step, getWorkerCount());
-            final Map<Integer, List<V>> localResults = Maps.newLinkedHashMap();
-            List<Callable<List<V>>> tasks = Lists.newLinkedList(); // False Sharing을 방지하기 위해
-
-            for (int p = 0; p < partitions.size(); p++) {
-                final NumberRange.IntRange partition = partitions.get(p);
-                final List<V> localResult = Lists.newArrayListWithCapacity(partition.size());
-                localResults.put(p, localResult);
-
-                Callable<List<V>> task = new Callable<List<V>>() {
-                    @Override
-                    public List<V> call() throws Exception {
-                        for (final int element : partition)
-                            localResult.add(function.execute(element));
-                        return localResult;
-                    }
-                };
-                tasks.add(task);
-            }
+            NumberRange.IntRange range = NumberRange.range(fromInclude, toExclude, step);
+            final Object[] results = new Object[range.size()];
 
-            executor.invokeAll(tasks);
+            forEachIndex(range, new IndexAction() {
+                @Override
+                public void perform(int index) throws Exception {
+                    results[(index - fromInclude) / step] = function.execute(index);
+                }
+            });
 
-            List<V> results = Lists.newArrayList();
-            for (int i = 0; i < partitions.size(); i++) {
-                results.addAll(localResults.get(i));
-            }
-            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. workerCount=[{}]", getWorkerCount());
+            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. parallelism=[{}]", getParallelism());
 
-            return results;
+            return toList(results);
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -387,41 +396,24 @@ public abstract class Parallels {
     public static <T> void runEach(final Iterable<T> elements, final Action1<T> action) {
         shouldNotBeNull(elements, "elements");
         shouldNotBeNull(action, "function");
-        if (isDebugEnabled) log.debug("병렬로 작업을 수행합니다... workerCount=[{}]", getWorkerCount());
-
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+        if (isDebugEnabled) log.debug("병렬로 작업을 수행합니다... parallelism=[{}]", getParallelism());
 
         try {
-            List<T> elemList = Lists.newArrayList(elements);
-            int partitionSize = getPartitionSize(elemList.size(), getWorkerCount());
-            Iterable<List<T>> partitions = Iterables.partition(elemList, partitionSize);
-            List<Callable<Void>> tasks = Lists.newLinkedList();
+            final List<T> elemList = Lists.newArrayList(elements);
 
-            for (final List<T> partition : partitions) {
-                Callable<Void> task =
-                        new Callable<Void>() {
-                            @Override
-                            public Void call() throws Exception {
-                                for (final T element : partition)
-                                    action.perform(element);
-                                return null;
-                            }
-                        };
-                tasks.add(task);
-            }
-            List<Future<Void>> results = executor.invokeAll(tasks);
-            for (Future<Void> result : results) {
-                result.get();
-            }
+            forEachIndex(NumberRange.range(elemList.size()), new IndexAction() {
+                @Override
+                public void perform(int index) throws Exception {
+                    action.perform(elemList.get(index));
+                }
+            });
 
             if (isDebugEnabled)
-                log.debug("모든 작업을 병렬로 수행하였습니다. workerCount=[{}]", getWorkerCount());
+                log.debug("모든 작업을 병렬로 수행하였습니다. parallelism=[{}]", getParallelism());
 
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -435,51 +427,26 @@ public abstract class Parallels {
     public static <T, V> List<V> runEach(final Iterable<T> elements, final Function1<T, V> function) {
         shouldNotBeNull(elements, "elements");
         shouldNotBeNull(function, "function");
-        if (isDebugEnabled) log.debug("병렬로 작업을 수행합니다... workerCount=[{}]", getWorkerCount());
-
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+        if (isDebugEnabled) log.debug("병렬로 작업을 수행합니다... parallelism=[{}]", getParallelism());
 
         try {
-            List<T> elemList = Lists.newArrayList(elements);
-            int partitionSize = getPartitionSize(elemList.size(), getWorkerCount());
-            List<List<T>> partitions = Lists.partition(elemList, partitionSize);
-            final Map<Integer, List<V>> localResults = Maps.newLinkedHashMap();
-
-            List<Callable<List<V>>> tasks = Lists.newLinkedList(); // False Sharing을 방지하기 위해
-
-            for (int p = 0; p < partitions.size(); p++) {
-                final List<T> partition = partitions.get(p);
-                final List<V> localResult = Lists.newArrayListWithCapacity(partition.size());
-                localResults.put(p, localResult);
-
-                Callable<List<V>> task = new Callable<List<V>>() {
-                    @Override
-                    public List<V> call() throws Exception {
-                        for (final T element : partition)
-                            localResult.add(function.execute(element));
-                        return localResult;
-                    }
-                };
-                tasks.add(task);
-            }
-
-            executor.invokeAll(tasks);
-
-            List<V> results = Lists.newArrayListWithCapacity(elemList.size());
+            final List<T> elemList = Lists.newArrayList(elements);
+            final Object[] results = new Object[elemList.size()];
 
-            for (int i = 0; i < partitions.size(); i++) {
-                results.addAll(localResults.get(i));
-            }
+            forEachIndex(NumberRange.range(elemList.size()), new IndexAction() {
+                @Override
+                public void perform(int index) throws Exception {
+                    results[index] = function.execute(elemList.get(index));
+                }
+            });
 
-            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. workerCount=[{}]", getWorkerCount());
+            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. parallelism=[{}]", getParallelism());
 
-            return results;
+            return toList(results);
 
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -516,14 +483,12 @@ public abstract class Parallels {
     public static void runPartitions(int fromInclude, int toExclude, int step, final Action1<List<Integer>> action) {
         shouldNotBeNull(action, "function");
         if (isDebugEnabled)
-            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], workerCount=[{}]",
-                      fromInclude, toExclude, step, getWorkerCount());
-
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], parallelism=[{}]",
+                      fromInclude, toExclude, step, getParallelism());
 
         try {
-            List<NumberRange.IntRange> partitions = NumberRange.partition(fromInclude, toExclude, step, getWorkerCount());
-            List<Callable<Void>> tasks = Lists.newLinkedList();
+            List<NumberRange.IntRange> partitions = NumberRange.partition(fromInclude, toExclude, step, getParallelism());
+            List<Callable<Void>> tasks = Lists.newArrayListWithCapacity(partitions.size());
 
             for (NumberRange.IntRange partition : partitions) {
                 final List<Integer> inputs = Lists.newArrayList(partition.iterator());
@@ -538,19 +503,14 @@ public abstract class Parallels {
                 tasks.add(task);
             }
 
-            List<Future<Void>> results = executor.invokeAll(tasks);
-            for (Future<Void> result : results) {
-                result.get();
-            }
+            invokeTasks(tasks);
 
-            if (log.isDebugEnabled())
+            if (isDebugEnabled)
                 log.debug("모든 작업을 병렬로 수행하였습니다!");
 
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -590,14 +550,12 @@ public abstract class Parallels {
     public static <V> List<V> runPartitions(int fromInclude, int toExclude, int step, final Function1<List<Integer>, List<V>> function) {
         shouldNotBeNull(function, "function");
         if (isDebugEnabled)
-            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], workerCount=[{}]",
-                      fromInclude, toExclude, step, getWorkerCount());
-
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+            log.debug("병렬로 작업을 수행합니다... fromInclude=[{}], toExclude=[{}], step=[{}], parallelism=[{}]",
+                      fromInclude, toExclude, step, getParallelism());
 
         try {
-            List<NumberRange.IntRange> partitions = NumberRange.partition(fromInclude, toExclude, step, getWorkerCount());
-            List<Callable<List<V>>> tasks = Lists.newLinkedList(); // False Sharing을 방지하기 위해
+            List<NumberRange.IntRange> partitions = NumberRange.partition(fromInclude, toExclude, step, getParallelism());
+            List<Callable<List<V>>> tasks = Lists.newArrayListWithCapacity(partitions.size());
 
             for (final NumberRange.IntRange partition : partitions) {
                 final List<Integer> inputs = Lists.newArrayList(partition.iterator());
@@ -610,22 +568,18 @@ public abstract class Parallels {
                 tasks.add(task);
             }
             // 작업 시작
-            List<Future<List<V>>> outputs = executor.invokeAll(tasks);
-
             List<V> results = Lists.newArrayList();
-            for (Future<List<V>> output : outputs) {
-                results.addAll(output.get());
+            for (List<V> output : invokeTasks(tasks)) {
+                results.addAll(output);
             }
 
-            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. workerCount=[{}]", getWorkerCount());
+            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. parallelism=[{}]", getParallelism());
 
             return results;
 
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -638,15 +592,13 @@ public abstract class Parallels {
     public static <T> void runPartitions(final Iterable<T> elements, final Action1<List<T>> action) {
         shouldNotBeNull(elements, "elements");
         shouldNotBeNull(action, "function");
-        if (isDebugEnabled) log.debug("병렬로 작업을 수행합니다... workerCount=[{}]", getWorkerCount());
-
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+        if (isDebugEnabled) log.debug("병렬로 작업을 수행합니다... parallelism=[{}]", getParallelism());
 
         try {
             List<T> elemList = Lists.newArrayList(elements);
-            int partitionSize = getPartitionSize(elemList.size(), getWorkerCount());
-            Iterable<List<T>> partitions = Iterables.partition(elemList, partitionSize);
-            List<Callable<Void>> tasks = Lists.newLinkedList();
+            int partitionSize = getPartitionSize(elemList.size(), getParallelism());
+            List<List<T>> partitions = Lists.partition(elemList, partitionSize);
+            List<Callable<Void>> tasks = Lists.newArrayListWithCapacity(partitions.size());
 
             for (final List<T> partition : partitions) {
                 Callable<Void> task = new Callable<Void>() {
@@ -659,18 +611,13 @@ public abstract class Parallels {
                 tasks.add(task);
             }
             // 작업 시작
-            List<Future<Void>> results = executor.invokeAll(tasks);
-
-            for (Future<Void> result : results)
-                result.get();
+            invokeTasks(tasks);
 
             if (isDebugEnabled)
-                log.debug("모든 작업을 병렬로 수행했습니다. workCount=[{}]");
+                log.debug("모든 작업을 병렬로 수행했습니다. parallelism=[{}]", getParallelism());
         } catch (Exception e) {
             log.error("데이터에 대한 병렬작업중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -684,17 +631,13 @@ public abstract class Parallels {
     public static <T, V> List<V> runPartitions(final Iterable<T> elements, final Function1<List<T>, List<V>> function) {
         shouldNotBeNull(elements, "elements");
         shouldNotBeNull(function, "function");
-        if (isDebugEnabled) log.debug("병렬로 작업을 수행합니다... workerCount=[{}]", getWorkerCount());
-
-        ExecutorService executor = Executors.newFixedThreadPool(getWorkerCount());
+        if (isDebugEnabled) log.debug("병렬로 작업을 수행합니다... parallelism=[{}]", getParallelism());
 
         try {
             List<T> elemList = Lists.newArrayList(elements);
-            int partitionSize = getPartitionSize(elemList.size(), getWorkerCount());
+            int partitionSize = getPartitionSize(elemList.size(), getParallelism());
             List<List<T>> partitions = Lists.partition(elemList, partitionSize);
-            final Map<Integer, List<V>> localResults = Maps.newLinkedHashMap();
-
-            List<Callable<List<V>>> tasks = Lists.newLinkedList(); // False Sharing을 방지하기 위해
+            List<Callable<List<V>>> tasks = Lists.newArrayListWithCapacity(partitions.size());
 
             for (final List<T> partition : partitions) {
                 Callable<List<V>> task = new Callable<List<V>>() {
@@ -706,22 +649,734 @@ public abstract class Parallels {
                 tasks.add(task);
             }
             // 작업 시작
-            List<Future<List<V>>> futures = executor.invokeAll(tasks);
-
             List<V> results = Lists.newArrayListWithCapacity(elemList.size());
-            for (Future<List<V>> future : futures)
-                results.addAll(future.get());
+            for (List<V> output : invokeTasks(tasks))
+                results.addAll(output);
 
-            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. workerCount=[{}]", getWorkerCount());
+            if (isDebugEnabled) log.debug("모든 작업을 병렬로 완료했습니다. parallelism=[{}]", getParallelism());
 
             return results;
 
         } catch (Exception e) {
             log.error("데이터에 대한 병렬 작업 중 예외가 발생했습니다.", e);
             throw new RuntimeException(e);
-        } finally {
-            executor.shutdown();
         }
     }
 
+    /**
+     * 지정한 범위의 각 인덱스에 대해 boxing 없이 병렬로 action 을 수행합니다.
+     *
+     * @param count  수행할 횟수
+     * @param action 인덱스에 대해 수행할 작업
+     */
+    public static void forEach(int count, IntAction action) {
+        forEach(NumberRange.range(count), action);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대해 boxing 없이 병렬로 action 을 수행합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param action      인덱스에 대해 수행할 작업
+     */
+    public static void forEach(int fromInclude, int toExclude, IntAction action) {
+        forEach(NumberRange.range(fromInclude, toExclude), action);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대해 boxing 없이 병렬로 action 을 수행합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param step        Step
+     * @param action      인덱스에 대해 수행할 작업
+     */
+    public static void forEach(int fromInclude, int toExclude, int step, IntAction action) {
+        forEach(NumberRange.range(fromInclude, toExclude, step), action);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대해 boxing 없이 병렬로 action 을 수행합니다. 범위는 변경되지 않습니다.
+     *
+     * @param range  인덱스 범위
+     * @param action 인덱스에 대해 수행할 작업
+     */
+    public static void forEach(NumberRange.IntRange range, final IntAction action) {
+        shouldNotBeNull(range, "range");
+        shouldNotBeNull(action, "action");
+        if (isDebugEnabled)
+            log.debug("병렬로 작업을 수행합니다... range=[{}], parallelism=[{}]", range, getParallelism());
+
+        invoke(new IntActionTask(range, getThreshold(range), action));
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값의 합을 boxing 없이 병렬로 계산합니다.
+     *
+     * @param count  수행할 횟수
+     * @param mapper 인덱스의 값을 구하는 함수
+     * @return 합계
+     */
+    public static long sumLong(int count, IntToLongFunction mapper) {
+        return sumLong(0, count, mapper);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값의 합을 boxing 없이 병렬로 계산합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param mapper      인덱스의 값을 구하는 함수
+     * @return 합계
+     */
+    public static long sumLong(int fromInclude, int toExclude, IntToLongFunction mapper) {
+        return reduceLong(fromInclude, toExclude, 0L, mapper, LONG_SUM);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값의 합을 boxing 없이 병렬로 계산합니다.
+     *
+     * @param count  수행할 횟수
+     * @param mapper 인덱스의 값을 구하는 함수
+     * @return 합계
+     */
+    public static double sumDouble(int count, IntToDoubleFunction mapper) {
+        return sumDouble(0, count, mapper);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값의 합을 boxing 없이 병렬로 계산합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param mapper      인덱스의 값을 구하는 함수
+     * @return 합계
+     */
+    public static double sumDouble(int fromInclude, int toExclude, IntToDoubleFunction mapper) {
+        return reduceDouble(fromInclude, toExclude, 0.0, mapper, DOUBLE_SUM);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값 중 최소값을 구합니다. 범위가 비었으면 {@link Long#MAX_VALUE} 를 반환합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param mapper      인덱스의 값을 구하는 함수
+     * @return 최소값
+     */
+    public static long minLong(int fromInclude, int toExclude, IntToLongFunction mapper) {
+        return reduceLong(fromInclude, toExclude, Long.MAX_VALUE, mapper, LONG_MIN);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값 중 최대값을 구합니다. 범위가 비었으면 {@link Long#MIN_VALUE} 를 반환합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param mapper      인덱스의 값을 구하는 함수
+     * @return 최대값
+     */
+    public static long maxLong(int fromInclude, int toExclude, IntToLongFunction mapper) {
+        return reduceLong(fromInclude, toExclude, Long.MIN_VALUE, mapper, LONG_MAX);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값 중 최소값을 구합니다. 범위가 비었으면 {@link Double#POSITIVE_INFINITY} 를 반환합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param mapper      인덱스의 값을 구하는 함수
+     * @return 최소값
+     */
+    public static double minDouble(int fromInclude, int toExclude, IntToDoubleFunction mapper) {
+        return reduceDouble(fromInclude, toExclude, Double.POSITIVE_INFINITY, mapper, DOUBLE_MIN);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값 중 최대값을 구합니다. 범위가 비었으면 {@link Double#NEGATIVE_INFINITY} 를 반환합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param mapper      인덱스의 값을 구하는 함수
+     * @return 최대값
+     */
+    public static double maxDouble(int fromInclude, int toExclude, IntToDoubleFunction mapper) {
+        return reduceDouble(fromInclude, toExclude, Double.NEGATIVE_INFINITY, mapper, DOUBLE_MAX);
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값을 boxing 없이 병렬로 집계합니다.
+     * 각 partition 의 부분 결과를 reducer 로 병합하므로, reducer 는 결합 법칙을 만족해야 하고 identity 는 항등원이어야 합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param identity    집계의 초기값 (항등원)
+     * @param mapper      인덱스의 값을 구하는 함수
+     * @param reducer     두 값을 집계하는 함수
+     * @return 집계 결과
+     */
+    public static long reduceLong(int fromInclude, int toExclude, long identity,
+                                  IntToLongFunction mapper, LongBinaryOperator reducer) {
+        shouldNotBeNull(mapper, "mapper");
+        shouldNotBeNull(reducer, "reducer");
+        if (isDebugEnabled)
+            log.debug("병렬로 집계합니다... fromInclude=[{}], toExclude=[{}], parallelism=[{}]",
+                      fromInclude, toExclude, getParallelism());
+
+        NumberRange.IntRange range = NumberRange.range(fromInclude, toExclude);
+        LongReduceTask task = new LongReduceTask(range, getThreshold(range), identity, mapper, reducer);
+        invoke(task);
+        return task.result;
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스에 대한 값을 boxing 없이 병렬로 집계합니다.
+     * 각 partition 의 부분 결과를 reducer 로 병합하므로, reducer 는 결합 법칙을 만족해야 하고 identity 는 항등원이어야 합니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param identity    집계의 초기값 (항등원)
+     * @param mapper      인덱스의 값을 구하는 함수
+     * @param reducer     두 값을 집계하는 함수
+     * @return 집계 결과
+     */
+    public static double reduceDouble(int fromInclude, int toExclude, double identity,
+                                      IntToDoubleFunction mapper, DoubleBinaryOperator reducer) {
+        shouldNotBeNull(mapper, "mapper");
+        shouldNotBeNull(reducer, "reducer");
+        if (isDebugEnabled)
+            log.debug("병렬로 집계합니다... fromInclude=[{}], toExclude=[{}], parallelism=[{}]",
+                      fromInclude, toExclude, getParallelism());
+
+        NumberRange.IntRange range = NumberRange.range(fromInclude, toExclude);
+        DoubleReduceTask task = new DoubleReduceTask(range, getThreshold(range), identity, mapper, reducer);
+        invoke(task);
+        return task.result;
+    }
+
+    /**
+     * 컬렉션 요소들의 값의 합을 boxing 없이 병렬로 계산합니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param mapper   요소의 값을 구하는 함수
+     * @return 합계
+     */
+    public static <T> long sumLong(Iterable<T> elements, ToLongFunction<T> mapper) {
+        return reduceLong(elements, 0L, mapper, LONG_SUM);
+    }
+
+    /**
+     * 컬렉션 요소들의 값의 합을 boxing 없이 병렬로 계산합니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param mapper   요소의 값을 구하는 함수
+     * @return 합계
+     */
+    public static <T> double sumDouble(Iterable<T> elements, ToDoubleFunction<T> mapper) {
+        return reduceDouble(elements, 0.0, mapper, DOUBLE_SUM);
+    }
+
+    /**
+     * 컬렉션 요소들의 값 중 최소값을 구합니다. 컬렉션이 비었으면 {@link Long#MAX_VALUE} 를 반환합니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param mapper   요소의 값을 구하는 함수
+     * @return 최소값
+     */
+    public static <T> long minLong(Iterable<T> elements, ToLongFunction<T> mapper) {
+        return reduceLong(elements, Long.MAX_VALUE, mapper, LONG_MIN);
+    }
+
+    /**
+     * 컬렉션 요소들의 값 중 최대값을 구합니다. 컬렉션이 비었으면 {@link Long#MIN_VALUE} 를 반환합니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param mapper   요소의 값을 구하는 함수
+     * @return 최대값
+     */
+    public static <T> long maxLong(Iterable<T> elements, ToLongFunction<T> mapper) {
+        return reduceLong(elements, Long.MIN_VALUE, mapper, LONG_MAX);
+    }
+
+    /**
+     * 컬렉션 요소들의 값 중 최소값을 구합니다. 컬렉션이 비었으면 {@link Double#POSITIVE_INFINITY} 를 반환합니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param mapper   요소의 값을 구하는 함수
+     * @return 최소값
+     */
+    public static <T> double minDouble(Iterable<T> elements, ToDoubleFunction<T> mapper) {
+        return reduceDouble(elements, Double.POSITIVE_INFINITY, mapper, DOUBLE_MIN);
+    }
+
+    /**
+     * 컬렉션 요소들의 값 중 최대값을 구합니다. 컬렉션이 비었으면 {@link Double#NEGATIVE_INFINITY} 를 반환합니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param mapper   요소의 값을 구하는 함수
+     * @return 최대값
+     */
+    public static <T> double maxDouble(Iterable<T> elements, ToDoubleFunction<T> mapper) {
+        return reduceDouble(elements, Double.NEGATIVE_INFINITY, mapper, DOUBLE_MAX);
+    }
+
+    /**
+     * 컬렉션 요소들의 값을 boxing 없이 병렬로 집계합니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param identity 집계의 초기값 (항등원)
+     * @param mapper   요소의 값을 구하는 함수
+     * @param reducer  두 값을 집계하는 함수 (결합 법칙을 만족해야 합니다)
+     * @return 집계 결과
+     */
+    public static <T> long reduceLong(Iterable<T> elements, long identity,
+                                      final ToLongFunction<T> mapper, LongBinaryOperator reducer) {
+        shouldNotBeNull(elements, "elements");
+        shouldNotBeNull(mapper, "mapper");
+
+        final List<T> elemList = toRandomAccessList(elements);
+        return reduceLong(0, elemList.size(), identity, new IntToLongFunction() {
+            @Override
+            public long execute(int index) {
+                return mapper.execute(elemList.get(index));
+            }
+        }, reducer);
+    }
+
+    /**
+     * 컬렉션 요소들의 값을 boxing 없이 병렬로 집계합니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param identity 집계의 초기값 (항등원)
+     * @param mapper   요소의 값을 구하는 함수
+     * @param reducer  두 값을 집계하는 함수 (결합 법칙을 만족해야 합니다)
+     * @return 집계 결과
+     */
+    public static <T> double reduceDouble(Iterable<T> elements, double identity,
+                                          final ToDoubleFunction<T> mapper, DoubleBinaryOperator reducer) {
+        shouldNotBeNull(elements, "elements");
+        shouldNotBeNull(mapper, "mapper");
+
+        final List<T> elemList = toRandomAccessList(elements);
+        return reduceDouble(0, elemList.size(), identity, new IntToDoubleFunction() {
+            @Override
+            public double execute(int index) {
+                return mapper.execute(elemList.get(index));
+            }
+        }, reducer);
+    }
+
+    /**
+     * 컬렉션 요소들을 병렬로 집계합니다. 부분 결과는 요소 순서대로 병합되므로, reducer 는 결합 법칙만 만족하면 됩니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param identity 집계의 초기값 (항등원)
+     * @param reducer  두 값을 집계하는 함수
+     * @return 집계 결과
+     */
+    public static <T> T reduce(Iterable<T> elements, T identity, Function2<T, T, T> reducer) {
+        return mapReduce(elements, identity, new Function1<T, T>() {
+            @Override
+            public T execute(T arg) {
+                return arg;
+            }
+        }, reducer);
+    }
+
+    /**
+     * 컬렉션 요소들을 변환한 후 병렬로 집계합니다. 중간 결과 컬렉션을 만들지 않습니다.
+     *
+     * @param elements 요소 컬렉션
+     * @param identity 집계의 초기값 (항등원)
+     * @param mapper   요소를 변환하는 함수
+     * @param reducer  두 값을 집계하는 함수 (결합 법칙을 만족해야 합니다)
+     * @return 집계 결과
+     */
+    public static <T, V> V mapReduce(Iterable<T> elements, V identity,
+                                     final Function1<T, V> mapper, Function2<V, V, V> reducer) {
+        shouldNotBeNull(elements, "elements");
+        shouldNotBeNull(mapper, "mapper");
+        shouldNotBeNull(reducer, "reducer");
+
+        final List<T> elemList = toRandomAccessList(elements);
+        NumberRange.IntRange range = NumberRange.range(elemList.size());
+        ReduceTask<V> task = new ReduceTask<V>(range, getThreshold(range), identity, new IndexFunction<V>() {
+            @Override
+            public V execute(int index) {
+                return mapper.execute(elemList.get(index));
+            }
+        }, reducer);
+        invoke(task);
+        return task.result;
+    }
+
+    /**
+     * 지정한 범위의 각 인덱스를 변환한 후 병렬로 집계합니다. 중간 결과 컬렉션을 만들지 않습니다.
+     *
+     * @param fromInclude 시작 인덱스 (하한)
+     * @param toExclude   종료 인덱스 (상한)
+     * @param identity    집계의 초기값 (항등원)
+     * @param mapper      인덱스를 변환하는 함수
+     * @param reducer     두 값을 집계하는 함수 (결합 법칙을 만족해야 합니다)
+     * @return 집계 결과
+     */
+    public static <V> V mapReduce(int fromInclude, int toExclude, V identity,
+                                  final Function1<Integer, V> mapper, Function2<V, V, V> reducer) {
+        shouldNotBeNull(mapper, "mapper");
+        shouldNotBeNull(reducer, "reducer");
+
+        NumberRange.IntRange range = NumberRange.range(fromInclude, toExclude);
+        ReduceTask<V> task = new ReduceTask<V>(range, getThreshold(range), identity, new IndexFunction<V>() {
+            @Override
+            public V execute(int index) {
+                return mapper.execute(index);
+            }
+        }, reducer);
+        invoke(task);
+        return task.result;
+    }
+
+    /**
+     * 컬렉션 요소들을 병렬로 수집합니다. 작업마다 supplier 로 부분 결과 container 를 만들어 accumulator 로 누적하고,
+     * combiner 로 요소 순서대로 병합합니다. (첫번째 인자에 두번째 인자를 병합해야 합니다)
+     *
+     * @param elements    요소 컬렉션
+     * @param supplier    부분 결과 container 를 생성하는 함수
+     * @param accumulator container 에 요소를 누적하는 함수
+     * @param combiner    container 에 다른 container 를 병합하는 함수
+     * @return 수집 결과
+     */
+    public static <T, C> C collect(Iterable<T> elements,
+                                   Function<C> supplier,
+                                   final Action2<C, T> accumulator,
+                                   Action2<C, C> combiner) {
+        shouldNotBeNull(elements, "elements");
+        shouldNotBeNull(supplier, "supplier");
+        shouldNotBeNull(accumulator, "accumulator");
+        shouldNotBeNull(combiner, "combiner");
+
+        final List<T> elemList = toRandomAccessList(elements);
+        NumberRange.IntRange range = NumberRange.range(elemList.size());
+        CollectTask<C> task = new CollectTask<C>(range, getThreshold(range), supplier, new IndexAccumulator<C>() {
+            @Override
+            public void accumulate(C container, int index) {
+                accumulator.perform(container, elemList.get(index));
+            }
+        }, combiner);
+        invoke(task);
+        return task.result;
+    }
+
+    /**
+     * 공유 Pool 에서 작업을 수행합니다. 공유 Pool 의 worker thread 에서 호출되면 (중첩 호출), 현재 thread 에서 직접 수행합니다.
+     */
+    private static <V> V invoke(ForkJoinTask<V> task) {
+        ForkJoinPool shared = getPool();
+        Thread current = Thread.currentThread();
+
+        if (current instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) current).getPool() == shared)
+            return task.invoke();
+
+        return shared.invoke(task);
+    }
+
+    /** 범위의 모든 인덱스에 대해 action 을 병렬로 수행합니다. */
+    private static void forEachIndex(NumberRange.IntRange range, IndexAction action) {
+        invoke(new ForEachTask(range, getThreshold(range), action));
+    }
+
+    /** 분할을 멈출 범위의 크기 */
+    private static int getThreshold(NumberRange.IntRange range) {
+        return Math.max(1, range.size() / (getParallelism() * SPLITS_PER_WORKER));
+    }
+
+    /** 작업들을 공유 Pool 에서 병렬로 수행하고, 작업 순서대로 결과를 반환합니다. */
+    private static <V> List<V> invokeTasks(final List<? extends Callable<V>> callables) {
+        return invoke(new RecursiveTask<List<V>>() {
+            @Override
+            protected List<V> compute() {
+                List<ForkJoinTask<V>> tasks = Lists.newArrayListWithCapacity(callables.size());
+                for (Callable<V> callable : callables)
+                    tasks.add(ForkJoinTask.adapt(callable));
+
+                invokeAll(tasks);
+
+                List<V> results = Lists.newArrayListWithCapacity(tasks.size());
+                for (ForkJoinTask<V> task : tasks)
+                    results.add(task.join());
+                return results;
+            }
+        });
+    }
+
+    private static <T> List<T> toRandomAccessList(Iterable<T> elements) {
+        if (elements instanceof List && elements instanceof RandomAccess)
+            return (List<T>) elements;
+        return Lists.newArrayList(elements);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> List<V> toList(Object[] results) {
+        return Lists.newArrayList((List<V>) Arrays.asList(results));
+    }
+
+    /** 범위의 인덱스 하나에 대해 수행할 작업 */
+    private interface IndexAction {
+        void perform(int index) throws Exception;
+    }
+
+    /** 범위의 인덱스 하나에 대한 값을 반환하는 함수 */
+    private interface IndexFunction<V> {
+        V execute(int index);
+    }
+
+    /** 범위의 인덱스 하나를 부분 결과 container 에 누적하는 함수 */
+    private interface IndexAccumulator<C> {
+        void accumulate(C container, int index);
+    }
+
+    /**
+     * 범위를 적응적으로 분할하여 수행하는 작업입니다.
+     * 다른 worker 들이 가져갈 작업이 부족할 때만 범위를 반으로 나누어 fork 하고,
+     * 충분한 작업이 대기 중이면 분할하지 않고 threshold 크기만큼 직접 처리합니다.
+     * 작업이 직접 처리하는 구간은 항상 범위의 앞부분이므로, fork 한 작업을 역순으로 병합하면 범위 순서가 유지됩니다.
+     */
+    private static abstract class RangeTask extends RecursiveAction {
+
+        protected final NumberRange.IntRange range;
+        protected final int threshold;
+
+        RangeTask(NumberRange.IntRange range, int threshold) {
+            this.range = range;
+            this.threshold = threshold;
+        }
+
+        /** 분할된 범위를 처리할 작업을 생성합니다. */
+        protected abstract RangeTask createSubTask(NumberRange.IntRange subRange);
+
+        /** 인덱스 하나를 처리합니다. */
+        protected abstract void process(int index) throws Exception;
+
+        /** 현재 작업 뒤쪽 구간을 처리한 작업의 결과를 병합합니다. */
+        protected void merge(RangeTask next) { }
+
+        @Override
+        protected void compute() {
+            // trySplit/split 은 범위를 변경하므로, 호출자의 범위 대신 복사본을 분할합니다.
+            NumberRange.IntRange remaining = range.copy();
+            List<RangeTask> forked = null;
+
+            while (remaining.size() > threshold) {
+                if (getSurplusQueuedTaskCount() <= MAX_SURPLUS_TASKS) {
+                    NumberRange.IntRange left = remaining.trySplit();
+                    RangeTask right = createSubTask(remaining);
+                    right.fork();
+                    if (forked == null) forked = Lists.newArrayList();
+                    forked.add(right);
+                    remaining = left;
+                } else {
+                    NumberRange.IntRange chunk = remaining.split(threshold);
+                    processRange(chunk.getFromInclude(), chunk.size(), chunk.getStep());
+                }
+            }
+            processRange(remaining.getFromInclude(), remaining.size(), remaining.getStep());
+
+            if (forked != null) {
+                for (int i = forked.size() - 1; i >= 0; i--) {
+                    RangeTask next = forked.get(i);
+                    next.join();
+                    merge(next);
+                }
+            }
+        }
+
+        private void processRange(int fromInclude, int size, int step) {
+            try {
+                int index = fromInclude;
+                for (int i = 0; i < size; i++, index += step)
+                    process(index);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /** 범위의 모든 인덱스에 대해 작업을 수행합니다. */
+    private static final class ForEachTask extends RangeTask {
+
+        private final IndexAction action;
+
+        ForEachTask(NumberRange.IntRange range, int threshold, IndexAction action) {
+            super(range, threshold);
+            this.action = action;
+        }
+
+        @Override
+        protected RangeTask createSubTask(NumberRange.IntRange subRange) {
+            return new ForEachTask(subRange, threshold, action);
+        }
+
+        @Override
+        protected void process(int index) throws Exception {
+            action.perform(index);
+        }
+    }
+
+    /** 범위의 모든 인덱스에 대해 boxing 없이 {@link IntAction} 을 수행합니다. */
+    private static final class IntActionTask extends RangeTask {
+
+        private final IntAction action;
+
+        IntActionTask(NumberRange.IntRange range, int threshold, IntAction action) {
+            super(range, threshold);
+            this.action = action;
+        }
+
+        @Override
+        protected RangeTask createSubTask(NumberRange.IntRange subRange) {
+            return new IntActionTask(subRange, threshold, action);
+        }
+
+        @Override
+        protected void process(int index) {
+            action.perform(index);
+        }
+    }
+
+    /** 범위의 값들을 boxing 없이 long 으로 집계합니다. */
+    private static final class LongReduceTask extends RangeTask {
+
+        private final long identity;
+        private final IntToLongFunction mapper;
+        private final LongBinaryOperator reducer;
+        private long result;
+
+        LongReduceTask(NumberRange.IntRange range, int threshold, long identity,
+                       IntToLongFunction mapper, LongBinaryOperator reducer) {
+            super(range, threshold);
+            this.identity = identity;
+            this.mapper = mapper;
+            this.reducer = reducer;
+            this.result = identity;
+        }
+
+        @Override
+        protected RangeTask createSubTask(NumberRange.IntRange subRange) {
+            return new LongReduceTask(subRange, threshold, identity, mapper, reducer);
+        }
+
+        @Override
+        protected void process(int index) {
+            result = reducer.execute(result, mapper.execute(index));
+        }
+
+        @Override
+        protected void merge(RangeTask next) {
+            result = reducer.execute(result, ((LongReduceTask) next).result);
+        }
+    }
+
+    /** 범위의 값들을 boxing 없이 double 로 집계합니다. */
+    private static final class DoubleReduceTask extends RangeTask {
+
+        private final double identity;
+        private final IntToDoubleFunction mapper;
+        private final DoubleBinaryOperator reducer;
+        private double result;
+
+        DoubleReduceTask(NumberRange.IntRange range, int threshold, double identity,
+                         IntToDoubleFunction mapper, DoubleBinaryOperator reducer) {
+            super(range, threshold);
+            this.identity = identity;
+            this.mapper = mapper;
+            this.reducer = reducer;
+            this.result = identity;
+        }
+
+        @Override
+        protected RangeTask createSubTask(NumberRange.IntRange subRange) {
+            return new DoubleReduceTask(subRange, threshold, identity, mapper, reducer);
+        }
+
+        @Override
+        protected void process(int index) {
+            result = reducer.execute(result, mapper.execute(index));
+        }
+
+        @Override
+        protected void merge(RangeTask next) {
+            result = reducer.execute(result, ((DoubleReduceTask) next).result);
+        }
+    }
+
+    /** 범위의 값들을 범위 순서대로 집계합니다. */
+    private static final class ReduceTask<V> extends RangeTask {
+
+        private final V identity;
+        private final IndexFunction<V> mapper;
+        private final Function2<V, V, V> reducer;
+        private V result;
+
+        ReduceTask(NumberRange.IntRange range, int threshold, V identity,
+                   IndexFunction<V> mapper, Function2<V, V, V> reducer) {
+            super(range, threshold);
+            this.identity = identity;
+            this.mapper = mapper;
+            this.reducer = reducer;
+            this.result = identity;
+        }
+
+        @Override
+        protected RangeTask createSubTask(NumberRange.IntRange subRange) {
+            return new ReduceTask<V>(subRange, threshold, identity, mapper, reducer);
+        }
+
+        @Override
+        protected void process(int index) {
+            result = reducer.execute(result, mapper.execute(index));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void merge(RangeTask next) {
+            result = reducer.execute(result, ((ReduceTask<V>) next).result);
+        }
+    }
+
+    /** 작업마다 부분 결과 container 를 만들어 누적하고, 범위 순서대로 병합합니다. */
+    private static final class CollectTask<C> extends RangeTask {
+
+        private final Function<C> supplier;
+        private final IndexAccumulator<C> accumulator;
+        private final Action2<C, C> combiner;
+        private final C result;
+
+        CollectTask(NumberRange.IntRange range, int threshold,
+                    Function<C> supplier, IndexAccumulator<C> accumulator, Action2<C, C> combiner) {
+            super(range, threshold);
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+            this.result = supplier.execute();
+        }
+
+        @Override
+        protected RangeTask createSubTask(NumberRange.IntRange subRange) {
+            return new CollectTask<C>(subRange, threshold, supplier, accumulator, combiner);
+        }
+
+        @Override
+        protected void process(int index) {
+            accumulator.accumulate(result, index);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void merge(RangeTask next) {
+            combiner.perform(result, ((CollectTask<C>) next).result);
+        }
+    }
 }
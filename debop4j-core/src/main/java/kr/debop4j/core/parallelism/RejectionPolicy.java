@@ -0,0 +1,34 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.parallelism;
+
+/**
+ * {@link InstrumentedExecutor} 의 작업 대기열이 가득 찼을 때의 처리 방식 (back-pressure)
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public enum RejectionPolicy {
+
+    /** 작업을 요청한 thread 에서 직접 수행합니다. */
+    CALLER_RUNS,
+
+    /** {@link java.util.concurrent.RejectedExecutionException} 을 발생시킵니다. */
+    REJECT,
+
+    /** 대기열에 빈 자리가 생길 때까지 제한 시간 동안 기다리고, 제한 시간이 지나면 거부합니다. */
+    BLOCK
+}
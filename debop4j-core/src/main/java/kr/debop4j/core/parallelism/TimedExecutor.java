@@ -22,6 +22,9 @@ import kr.debop4j.core.Guard;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -33,10 +36,14 @@ import java.util.concurrent.TimeoutException;
 @Slf4j
 public class TimedExecutor {
 
+    /** 기본 Executor 이름 */
+    public static final String EXECUTOR_NAME = "TimedExecutor";
+
     @Getter
     private final long timeout;
+    /** 작업을 실행할 Executor 이름 ({@link ExecutorRegistry} 참고) */
     @Getter
-    private final long checkMilliSeconds;
+    private final String executorName;
 
     /**
      * 수행 시 제한 시간을 제한하여 수행합니다.
@@ -44,18 +51,32 @@ public class TimedExecutor {
      * @param timeout 제한 시간 (Millisecond 단위)
      */
     public TimedExecutor(long timeout) {
-        this(timeout, 100);
+        this(timeout, EXECUTOR_NAME);
     }
 
     /**
      * 수행 시 제한 시간을 두고 작업을 처리하도록 합니다.
      *
      * @param timeout           제한 시간 (Milliseconds 단위)
-     * @param checkMilliSeconds 완료 여부 검사 시간 주기 (Milliseconds 딘위)
+     * @param checkMilliSeconds 사용하지 않습니다.
+     * @deprecated 완료 여부를 주기적으로 검사하지 않고 제한 시간까지 기다리므로, {@link #TimedExecutor(long)} 를 사용하세요.
      */
+    @Deprecated
     public TimedExecutor(long timeout, long checkMilliSeconds) {
+        this(timeout);
+    }
+
+    /**
+     * 수행 시 제한 시간을 두고, 지정한 이름의 Executor 에서 작업을 처리하도록 합니다.
+     * Executor 의 {@link RejectionPolicy} 가 {@link RejectionPolicy#CALLER_RUNS} 이고 대기열이 가득 찬 경우에는
+     * 호출 thread 에서 바로 실행되므로 제한 시간이 적용되지 않습니다.
+     *
+     * @param timeout      제한 시간 (Milliseconds 단위)
+     * @param executorName Executor 이름
+     */
+    public TimedExecutor(long timeout, String executorName) {
         this.timeout = timeout;
-        this.checkMilliSeconds = Math.max(1, Math.min(timeout, checkMilliSeconds));
+        this.executorName = Guard.shouldNotBeWhiteSpace(executorName, "executorName");
     }
 
     /**
@@ -71,22 +92,24 @@ public class TimedExecutor {
             log.debug("제한된 시간[{}](milliSeconds) 동안 Executable 인스턴스를 수행합니다.", timeout);
 
         final ExecutableAdapter adapter = new ExecutableAdapter(executable);
-        final Thread separateThread = new Thread(adapter);
-        separateThread.start();
+        final Future<?> future = ExecutorRegistry.get(executorName).submit(adapter);
 
-        long runningTime = 0L;
-        do {
-            if (runningTime > timeout) {
-                try {
-                    executable.timedOut();
-                } catch (Exception ignored) {}
-                throw new TimeoutException();
-            }
+        try {
+            future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
             try {
-                Thread.sleep(checkMilliSeconds);
-                runningTime += checkMilliSeconds;
-            } catch (InterruptedException ignored) { }
-        } while (!adapter.isDone());
+                executable.timedOut();
+            } catch (Exception ignored) {}
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            log.error("Executable 수행 중 예외가 발생했습니다.", e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
 
         adapter.reThrowAnyErrrors();
 
@@ -16,12 +16,13 @@
 
 package kr.debop4j.core.reflect;
 
-import com.google.common.collect.Lists;
 import kr.debop4j.core.Guard;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
-import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * AccessClassLoader
@@ -32,22 +33,26 @@ import java.util.List;
 @Slf4j
 class AccessClassLoader extends ClassLoader {
 
-    private static final List<AccessClassLoader> accessClassLoaders = Lists.newArrayList();
+    /**
+     * 부모 ClassLoader 별 AccessClassLoader. 부모 ClassLoader 가 unload 될 수 있도록 key, value 모두 약한 참조로 보관합니다.
+     * (AccessClassLoader 가 부모를 강하게 참조하므로, value 를 강하게 참조하면 key 가 회수되지 않습니다)
+     */
+    private static final Map<ClassLoader, WeakReference<AccessClassLoader>> accessClassLoaders =
+            new WeakHashMap<ClassLoader, WeakReference<AccessClassLoader>>();
 
-    /** AccessClassLoger를 생성합니다. */
+    /** 부모 ClassLoader 별로 하나의 AccessClassLoader 를 반환합니다. 여러 thread 가 동시에 호출해도 같은 인스턴스를 반환합니다. */
     static AccessClassLoader get(Class type) {
-        if (log.isDebugEnabled())
-            log.debug("AccessClassLoader를 생성합니다. type=[{}]", type);
         ClassLoader parent = type.getClassLoader();
 
-        // com.google.common.collect.Iterables 를 사용하여 변경해 보세요.
         synchronized (accessClassLoaders) {
-            for (AccessClassLoader loader : accessClassLoaders) {
-                if (loader.getParent() == parent)
-                    return loader;
+            WeakReference<AccessClassLoader> ref = accessClassLoaders.get(parent);
+            AccessClassLoader loader = (ref != null) ? ref.get() : null;
+            if (loader == null) {
+                if (log.isDebugEnabled())
+                    log.debug("AccessClassLoader를 생성합니다. type=[{}]", type);
+                loader = new AccessClassLoader(parent);
+                accessClassLoaders.put(parent, new WeakReference<AccessClassLoader>(loader));
             }
-            AccessClassLoader loader = new AccessClassLoader(parent);
-            accessClassLoaders.add(loader);
             return loader;
         }
     }
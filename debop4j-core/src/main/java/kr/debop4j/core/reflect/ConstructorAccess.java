@@ -44,8 +44,6 @@ public abstract class ConstructorAccess<T> {
     /** Constructor for inner classes (non-static nested classes) - except static nested classes */
     public abstract T newInstance(Object enclosingInstance);
 
-    private static final Object syncLock = new Object();
-
     /** 지정한 수형의 생성자에 대한 접근자를 생성합니다. */
     @SuppressWarnings("unchecked")
     public static <T> ConstructorAccess<T> get(Class<T> type) {
@@ -65,7 +63,8 @@ public abstract class ConstructorAccess<T> {
         AccessClassLoader loader = AccessClassLoader.get(type);
         shouldNotBeNull(loader, "loader");
 
-        synchronized (syncLock) {
+        // FieldAccess, MethodAccess 와 같이 ClassLoader 단위로 동기화합니다.
+        synchronized (loader) {
             try {
                 accessClass = loader.loadClass(accessClassName);
             } catch (ClassNotFoundException ignored) {
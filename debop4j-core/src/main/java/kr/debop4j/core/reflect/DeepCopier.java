@@ -0,0 +1,620 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.reflect;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import kr.debop4j.core.io.BinarySerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.joda.time.*;
+import org.objenesis.instantiator.ObjectInstantiator;
+import org.objenesis.strategy.InstantiatorStrategy;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+
+/**
+ * 직렬화를 거치지 않고, 객체 그래프를 직접 복사하여 deep copy 를 수행합니다.
+ * <p/>
+ * <ul>
+ * <li>수형별 복사 방식 (copy plan) 을 한번만 분석하여 캐시합니다.</li>
+ * <li>String, boxed primitive, Enum, BigDecimal, Joda-Time 수형 등 immutable 객체는 복사하지 않고 참조를 공유합니다.
+ * {@link #registerImmutable(Class)} 로 immutable 수형을 추가할 수 있습니다.</li>
+ * <li>순환 참조와 공유 참조는 원본과 같은 구조로 복사됩니다.</li>
+ * <li>일반 객체는 {@link ConstructorAccess} (기본 생성자가 없으면 objenesis) 로 생성하고, 필드 값은 {@link FieldAccess}
+ * (접근할 수 없는 필드는 reflection) 로 복사합니다.</li>
+ * <li>Java 직렬화와 같이 static, transient 필드는 복사하지 않습니다.</li>
+ * <li>writeObject/readObject/readResolve/writeReplace 를 정의하거나 Externalizable 인 수형, 그리고 따로 처리하지 않는 JDK 수형은
+ * 직렬화 방식으로 복사합니다. 이런 객체가 그래프 중간에 있으면 그 안팎의 공유 참조를 유지하기 위해 그래프 전체를 직렬화로 복사하고,
+ * 그래프 전체를 직렬화할 수 없을 때만 객체별로 복사합니다.</li>
+ * </ul>
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public final class DeepCopier {
+
+    private DeepCopier() {}
+
+    private static final BinarySerializer serializer = new BinarySerializer();
+    private static final InstantiatorStrategy instantiatorStrategy = new StdInstantiatorStrategy();
+
+    private static final Set<Class<?>> immutableTypes =
+            Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+
+    private static final LoadingCache<Class<?>, CopyPlan> plans =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build(new CacheLoader<Class<?>, CopyPlan>() {
+                        @Override
+                        public CopyPlan load(Class<?> type) throws Exception {
+                            return createPlan(type);
+                        }
+                    });
+
+    static {
+        Collections.addAll(immutableTypes,
+                           String.class, Boolean.class, Byte.class, Short.class, Character.class,
+                           Integer.class, Long.class, Float.class, Double.class,
+                           BigInteger.class, BigDecimal.class, Class.class, UUID.class, Locale.class,
+                           Currency.class, Pattern.class, java.net.URI.class, java.net.URL.class, java.io.File.class,
+                           DateTime.class, LocalDate.class, LocalDateTime.class, LocalTime.class, Instant.class,
+                           Duration.class, Period.class, Interval.class, YearMonth.class, MonthDay.class, Partial.class,
+                           Years.class, Months.class, Weeks.class, Days.class, Hours.class, Minutes.class, Seconds.class);
+    }
+
+    /**
+     * 복사하지 않고 참조를 공유할 immutable 수형을 등록합니다.
+     *
+     * @param type immutable 수형
+     */
+    public static void registerImmutable(Class<?> type) {
+        shouldNotBeNull(type, "type");
+        immutableTypes.add(type);
+        plans.invalidate(type);
+    }
+
+    /**
+     * 지정한 수형이 복사할 필요가 없는 immutable 수형인지 판단합니다.
+     *
+     * @param type 검사할 수형
+     * @return immutable 여부
+     */
+    public static boolean isImmutable(Class<?> type) {
+        return type.isPrimitive()
+                || immutableTypes.contains(type)
+                || Enum.class.isAssignableFrom(type)
+                || DateTimeZone.class.isAssignableFrom(type)
+                || Chronology.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 객체 그래프를 deep copy 합니다.
+     *
+     * @param graph 원본 객체
+     * @param <T>   객체 수형
+     * @return 복사한 객체
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T graph) {
+        if (graph == null)
+            return null;
+
+        try {
+            try {
+                return (T) copy(graph, new IdentityHashMap<Object, Object>());
+            } catch (GraphSerializationRequired e) {
+                return (T) copyBySerialization(graph);
+            }
+        } catch (RuntimeException e) {
+            log.error("객체를 복사하는데 실패했습니다. type=" + graph.getClass().getName(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * 그래프 중간에 직렬화로만 복사할 수 있는 객체가 있을 때, 공유 참조와 순환 참조를 유지하도록 그래프 전체를 직렬화로 복사합니다.
+     * 그래프 전체를 직렬화할 수 없으면 객체별로 복사하며, 이 경우 직렬화로 복사한 객체 안팎의 공유 참조는 유지되지 않습니다.
+     */
+    private static Object copyBySerialization(Object graph) {
+        if (graph instanceof Serializable) {
+            try {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                    oos.writeObject(graph);
+                }
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+                    return ois.readObject();
+                }
+            } catch (NotSerializableException e) {
+                if (log.isDebugEnabled())
+                    log.debug("그래프 전체를 직렬화할 수 없어 객체별로 복사합니다. type=[{}], error=[{}]",
+                              graph.getClass().getName(), e.getMessage());
+            } catch (Exception e) {
+                throw new RuntimeException("객체를 직렬화로 복사하지 못했습니다. type=" + graph.getClass().getName(), e);
+            }
+        }
+        return copy(graph, new PerObjectCopies());
+    }
+
+    static Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+        if (source == null)
+            return null;
+
+        Object copied = copies.get(source);
+        if (copied != null)
+            return copied;
+
+        return plans.getUnchecked(source.getClass()).copy(source, copies);
+    }
+
+    private static CopyPlan createPlan(Class<?> type) {
+        if (log.isTraceEnabled())
+            log.trace("수형 [{}] 의 복사 방식을 분석합니다.", type.getName());
+
+        if (isImmutable(type))
+            return ImmutablePlan.INSTANCE;
+
+        if (type.isArray())
+            return type.getComponentType().isPrimitive()
+                    ? PrimitiveArrayPlan.INSTANCE
+                    : new ObjectArrayPlan(type.getComponentType());
+
+        if (type == EnumMap.class)
+            return EnumMapPlan.INSTANCE;
+
+        boolean jdkType = isJdkType(type);
+        if (jdkType && (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type))) {
+            ContainerPlan plan = ContainerPlan.create(type);
+            if (plan != null)
+                return plan;
+        }
+        if (jdkType && Cloneable.class.isAssignableFrom(type)) {
+            Method cloneMethod = getPublicClone(type);
+            if (cloneMethod != null)
+                return new ClonePlan(cloneMethod);
+        }
+        if (Serializable.class.isAssignableFrom(type) && (jdkType || hasCustomSerialization(type)))
+            return SerializationPlan.INSTANCE;
+
+        return new FieldPlan(type);
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.");
+    }
+
+    private static Method getPublicClone(Class<?> type) {
+        try {
+            Method method = type.getMethod("clone");
+            return Modifier.isPublic(method.getModifiers()) ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasCustomSerialization(Class<?> type) {
+        if (Externalizable.class.isAssignableFrom(type))
+            return true;
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (hasDeclaredMethod(current, "writeObject", ObjectOutputStream.class)
+                    || hasDeclaredMethod(current, "readObject", ObjectInputStream.class)
+                    || hasDeclaredMethod(current, "readResolve")
+                    || hasDeclaredMethod(current, "writeReplace"))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean hasDeclaredMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            type.getDeclaredMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /** 수형별 복사 방식 */
+    static abstract class CopyPlan {
+        abstract Object copy(Object source, IdentityHashMap<Object, Object> copies);
+    }
+
+    /** immutable 객체는 참조를 그대로 사용합니다. */
+    static final class ImmutablePlan extends CopyPlan {
+        static final ImmutablePlan INSTANCE = new ImmutablePlan();
+
+        @Override
+        Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+            return source;
+        }
+    }
+
+    static final class PrimitiveArrayPlan extends CopyPlan {
+        static final PrimitiveArrayPlan INSTANCE = new PrimitiveArrayPlan();
+
+        @Override
+        Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+            int length = Array.getLength(source);
+            Object target = Array.newInstance(source.getClass().getComponentType(), length);
+            System.arraycopy(source, 0, target, 0, length);
+            copies.put(source, target);
+            return target;
+        }
+    }
+
+    static final class ObjectArrayPlan extends CopyPlan {
+        private final Class<?> componentType;
+
+        ObjectArrayPlan(Class<?> componentType) {
+            this.componentType = componentType;
+        }
+
+        @Override
+        Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+            Object[] array = (Object[]) source;
+            Object[] target = (Object[]) Array.newInstance(componentType, array.length);
+            copies.put(source, target);
+            for (int i = 0; i < array.length; i++)
+                target[i] = DeepCopier.copy(array[i], copies);
+            return target;
+        }
+    }
+
+    /**
+     * java.util 의 Collection, Map 은 새 인스턴스를 만들고 요소를 복사하여 추가합니다.
+     * 정렬 기준 (comparator) 과 LinkedHashMap 의 access order 는 원본과 같게 생성합니다.
+     */
+    static final class ContainerPlan extends CopyPlan {
+        private static final Field ACCESS_ORDER_FIELD = getAccessOrderField();
+
+        private final Constructor<?> defaultConstructor;
+        private final Constructor<?> comparatorConstructor;
+        private final Constructor<?> accessOrderConstructor;
+
+        private ContainerPlan(Constructor<?> defaultConstructor, Constructor<?> comparatorConstructor, Constructor<?> accessOrderConstructor) {
+            this.defaultConstructor = defaultConstructor;
+            this.comparatorConstructor = comparatorConstructor;
+            this.accessOrderConstructor = accessOrderConstructor;
+        }
+
+        static ContainerPlan create(Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers()))
+                return null;
+            try {
+                Constructor<?> comparatorConstructor = null;
+                if (SortedMap.class.isAssignableFrom(type) || SortedSet.class.isAssignableFrom(type))
+                    comparatorConstructor = type.getConstructor(Comparator.class);
+                else if (PriorityQueue.class.isAssignableFrom(type))
+                    comparatorConstructor = type.getConstructor(int.class, Comparator.class);
+
+                Constructor<?> accessOrderConstructor = null;
+                if (LinkedHashMap.class.isAssignableFrom(type) && ACCESS_ORDER_FIELD != null) {
+                    try {
+                        accessOrderConstructor = type.getConstructor(int.class, float.class, boolean.class);
+                    } catch (NoSuchMethodException ignored) {}
+                }
+
+                return new ContainerPlan(type.getConstructor(), comparatorConstructor, accessOrderConstructor);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private static Field getAccessOrderField() {
+            try {
+                Field field = LinkedHashMap.class.getDeclaredField("accessOrder");
+                field.setAccessible(true);
+                return field;
+            } catch (Exception e) {
+                log.warn("LinkedHashMap 의 accessOrder 필드에 접근할 수 없습니다. access order 는 복사하지 않습니다.", e);
+                return null;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+            try {
+                Object target = newInstance(source);
+                copies.put(source, target);
+
+                if (source instanceof Map) {
+                    Map<Object, Object> targetMap = (Map<Object, Object>) target;
+                    for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet()) {
+                        targetMap.put(DeepCopier.copy(entry.getKey(), copies), DeepCopier.copy(entry.getValue(), copies));
+                    }
+                } else {
+                    Collection<Object> targetCollection = (Collection<Object>) target;
+                    for (Object element : (Collection<?>) source)
+                        targetCollection.add(DeepCopier.copy(element, copies));
+                }
+                return target;
+            } catch (GraphSerializationRequired e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("컬렉션을 복사하지 못했습니다. type=" + source.getClass().getName(), e);
+            }
+        }
+
+        private Object newInstance(Object source) throws Exception {
+            if (accessOrderConstructor != null && ACCESS_ORDER_FIELD.getBoolean(source))
+                return accessOrderConstructor.newInstance(Math.max(16, ((Map<?, ?>) source).size() * 4 / 3 + 1), 0.75f, true);
+
+            Comparator<?> comparator = null;
+            if (source instanceof SortedMap)
+                comparator = ((SortedMap<?, ?>) source).comparator();
+            else if (source instanceof SortedSet)
+                comparator = ((SortedSet<?>) source).comparator();
+            else if (source instanceof PriorityQueue)
+                comparator = ((PriorityQueue<?>) source).comparator();
+
+            if (comparator == null)
+                return defaultConstructor.newInstance();
+
+            return (source instanceof PriorityQueue)
+                    ? comparatorConstructor.newInstance(Math.max(1, ((PriorityQueue<?>) source).size()), comparator)
+                    : comparatorConstructor.newInstance(comparator);
+        }
+    }
+
+    /** EnumMap 은 기본 생성자가 없으므로 clone() 으로 key 수형을 유지하고, 값은 deep copy 합니다. */
+    static final class EnumMapPlan extends CopyPlan {
+        static final EnumMapPlan INSTANCE = new EnumMapPlan();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+            EnumMap<?, Object> target = ((EnumMap<?, Object>) source).clone();
+            copies.put(source, target);
+            for (Map.Entry<?, Object> entry : target.entrySet())
+                entry.setValue(DeepCopier.copy(entry.getValue(), copies));
+            return target;
+        }
+    }
+
+    /** Date, Calendar 처럼 public clone() 을 제공하는 JDK 수형은 clone() 을 사용합니다. */
+    static final class ClonePlan extends CopyPlan {
+        private final Method cloneMethod;
+
+        ClonePlan(Method cloneMethod) {
+            this.cloneMethod = cloneMethod;
+        }
+
+        @Override
+        Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+            try {
+                Object target = cloneMethod.invoke(source);
+                copies.put(source, target);
+                return target;
+            } catch (Exception e) {
+                throw new RuntimeException("객체를 clone 하지 못했습니다. type=" + source.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 직렬화 방식을 직접 정의한 수형은 직렬화/역직렬화로 복사합니다.
+     * 직렬화한 객체는 복사한 객체 목록 ({@code copies}) 을 거치지 않으므로, 그래프의 시작 객체가 아니면
+     * {@link GraphSerializationRequired} 를 던져 그래프 전체를 직렬화로 복사하게 합니다.
+     */
+    static final class SerializationPlan extends CopyPlan {
+        static final SerializationPlan INSTANCE = new SerializationPlan();
+
+        @Override
+        Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+            if (!copies.isEmpty() && !(copies instanceof PerObjectCopies))
+                throw GraphSerializationRequired.INSTANCE;
+
+            Object target = serializer.deserialize(serializer.serialize(source), Object.class);
+            copies.put(source, target);
+            return target;
+        }
+    }
+
+    /** 그래프 전체를 직렬화할 수 없을 때, 직렬화로 복사할 객체를 객체별로 직렬화하도록 표시한 복사 목록입니다. */
+    static final class PerObjectCopies extends IdentityHashMap<Object, Object> {
+        private static final long serialVersionUID = -2206741530476658071L;
+    }
+
+    /** 그래프 중간에 직렬화로만 복사할 수 있는 객체가 있음을 알립니다. (stack trace 를 만들지 않습니다) */
+    static final class GraphSerializationRequired extends RuntimeException {
+        private static final long serialVersionUID = 3170924378409436473L;
+        static final GraphSerializationRequired INSTANCE = new GraphSerializationRequired();
+
+        private GraphSerializationRequired() {
+            super(null, null, false, false);
+        }
+    }
+
+    /** 인스턴스를 생성하고 필드 값을 하나씩 복사합니다. */
+    static final class FieldPlan extends CopyPlan {
+        private final Class<?> type;
+        private final ConstructorAccess<?> constructorAccess;
+        private final ObjectInstantiator instantiator;
+        private final FieldCopier[] copiers;
+
+        FieldPlan(Class<?> type) {
+            this.type = type;
+            this.constructorAccess = getConstructorAccess(type);
+            this.instantiator = (constructorAccess == null) ? instantiatorStrategy.newInstantiatorOf(type) : null;
+            this.copiers = createCopiers(type);
+        }
+
+        @Override
+        Object copy(Object source, IdentityHashMap<Object, Object> copies) {
+            Object target = (constructorAccess != null) ? constructorAccess.newInstance() : instantiator.newInstance();
+            copies.put(source, target);
+            for (FieldCopier copier : copiers)
+                copier.copy(source, target, copies);
+            return target;
+        }
+
+        private static ConstructorAccess<?> getConstructorAccess(Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers()))
+                return null;
+            if (type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers()))
+                return null;
+            try {
+                type.getConstructor();
+                return ConstructorAccess.get(type);
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+
+        private static FieldCopier[] createCopiers(Class<?> type) {
+            List<Field> fields = Lists.newArrayList();
+            Map<String, Integer> nameCounts = new HashMap<String, Integer>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))
+                        continue;
+                    fields.add(field);
+                    Integer count = nameCounts.get(field.getName());
+                    nameCounts.put(field.getName(), (count == null) ? 1 : count + 1);
+                }
+            }
+
+            FieldAccess fieldAccess = null;
+            List<FieldCopier> copiers = Lists.newArrayListWithCapacity(fields.size());
+            for (Field field : fields) {
+                boolean deep = !isShallowType(field.getType());
+
+                if (canUseFieldAccess(type, field) && nameCounts.get(field.getName()) == 1) {
+                    if (fieldAccess == null)
+                        fieldAccess = getFieldAccess(type);
+                    if (fieldAccess != null) {
+                        copiers.add(new FieldAccessCopier(fieldAccess, fieldAccess.getIndex(field.getName()), deep));
+                        continue;
+                    }
+                }
+                field.setAccessible(true);
+                copiers.add(new ReflectionFieldCopier(field, deep));
+            }
+            return copiers.toArray(new FieldCopier[copiers.size()]);
+        }
+
+        /** 생성된 FieldAccess 클래스는 대상 수형과 같은 패키지에 만들어지므로, 그 패키지에서 접근 가능한 필드만 사용합니다. */
+        private static boolean canUseFieldAccess(Class<?> type, Field field) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isPrivate(modifiers) || Modifier.isFinal(modifiers))
+                return false;
+            if (Modifier.isPublic(modifiers) && Modifier.isPublic(field.getDeclaringClass().getModifiers()))
+                return true;
+            return packageName(field.getDeclaringClass()).equals(packageName(type));
+        }
+
+        private static FieldAccess getFieldAccess(Class<?> type) {
+            try {
+                return FieldAccess.get(type);
+            } catch (Throwable t) {
+                if (log.isDebugEnabled())
+                    log.debug("FieldAccess 를 생성하지 못해 reflection 을 사용합니다. type=" + type.getName(), t);
+                return null;
+            }
+        }
+
+        private static String packageName(Class<?> type) {
+            String name = type.getName();
+            int index = name.lastIndexOf('.');
+            return (index < 0) ? "" : name.substring(0, index);
+        }
+
+        /** 선언 수형만으로 복사가 필요 없다고 판단할 수 있는 경우 (primitive, final immutable 수형) */
+        private static boolean isShallowType(Class<?> fieldType) {
+            return fieldType.isPrimitive()
+                    || (Modifier.isFinal(fieldType.getModifiers()) && isImmutable(fieldType));
+        }
+
+        @Override
+        public String toString() {
+            return "FieldPlan{type=" + type.getName() + ", fields=" + copiers.length + "}";
+        }
+    }
+
+    static abstract class FieldCopier {
+        protected final boolean deep;
+
+        FieldCopier(boolean deep) {
+            this.deep = deep;
+        }
+
+        abstract void copy(Object source, Object target, IdentityHashMap<Object, Object> copies);
+
+        protected final Object copyValue(Object value, IdentityHashMap<Object, Object> copies) {
+            return deep ? DeepCopier.copy(value, copies) : value;
+        }
+    }
+
+    static final class FieldAccessCopier extends FieldCopier {
+        private final FieldAccess access;
+        private final int index;
+
+        FieldAccessCopier(FieldAccess access, int index, boolean deep) {
+            super(deep);
+            this.access = access;
+            this.index = index;
+        }
+
+        @Override
+        void copy(Object source, Object target, IdentityHashMap<Object, Object> copies) {
+            access.set(target, index, copyValue(access.get(source, index), copies));
+        }
+    }
+
+    static final class ReflectionFieldCopier extends FieldCopier {
+        private final Field field;
+
+        ReflectionFieldCopier(Field field, boolean deep) {
+            super(deep);
+            this.field = field;
+        }
+
+        @Override
+        void copy(Object source, Object target, IdentityHashMap<Object, Object> copies) {
+            try {
+                field.set(target, copyValue(field.get(source), copies));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("필드 값을 복사하지 못했습니다. field=" + field, e);
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package kr.debop4j.core.reflect;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import kr.debop4j.core.Guard;
 import kr.debop4j.core.tools.StringTool;
@@ -23,9 +24,13 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * 동적으로 객체의 속성, 메소드에 접근할 수 있는 접근자입니다.
+ * <p/>
+ * 속성 접근 ({@link #getProperty(Object, String)}, {@link #setProperty(Object, String, Object)}) 은 미리 컴파일된 {@link PropertyAccess} 를 사용하므로,
+ * private 필드와 getter/setter 가 있는 bean 속성 모두에 접근할 수 있습니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 13. 1. 21
@@ -38,9 +43,12 @@ public class DynamicAccessor<T> {
     private final ConstructorAccess<T> ctorAccessor;
     private final FieldAccess fieldAccessor;
     private final MethodAccess methodAccessor;
+    @Getter
+    private final PropertyAccess propertyAccessor;
 
     private final List<String> fieldNames;
     private final List<String> methodNames;
+    private final Set<String> methodNameSet;
 
     /**
      * Instantiates a new Dynamic accessor.
@@ -56,9 +64,11 @@ public class DynamicAccessor<T> {
         this.ctorAccessor = ConstructorAccess.get(this.targetType);
         this.fieldAccessor = FieldAccess.get(this.targetType);
         this.methodAccessor = MethodAccess.get(this.targetType);
+        this.propertyAccessor = PropertyAccess.get(this.targetType);
 
         this.fieldNames = Lists.newArrayList(fieldAccessor.getFieldNames());
         this.methodNames = Lists.newArrayList(methodAccessor.getMethodNames());
+        this.methodNameSet = ImmutableSet.copyOf(methodNames);
 
         if (log.isDebugEnabled())
             log.debug("수형 [{}]애 대한 DynamicAccessor를 생성했습니다.", targetType);
@@ -221,7 +231,11 @@ public class DynamicAccessor<T> {
      * @return the property
      */
     public Object getProperty(Object instance, String fieldName) {
-        String methodName = (methodNames.contains(fieldName))
+        int index = propertyAccessor.findIndex(fieldName);
+        if (index >= 0 && propertyAccessor.isReadable(index))
+            return propertyAccessor.get(instance, index);
+
+        String methodName = (methodNameSet.contains(fieldName))
                 ? fieldName
                 : "get" + getPropertyName(fieldName);
 
@@ -236,7 +250,13 @@ public class DynamicAccessor<T> {
      * @param nv the nv
      */
     public void setProperty(Object instance, String fieldName, Object nv) {
-        String methodName = (methodNames.contains(fieldName))
+        int index = propertyAccessor.findIndex(fieldName);
+        if (index >= 0 && propertyAccessor.isWritable(index)) {
+            propertyAccessor.set(instance, index, nv);
+            return;
+        }
+
+        String methodName = (methodNameSet.contains(fieldName))
                 ? fieldName
                 : "set" + getPropertyName(fieldName);
         invoke(instance, methodName, nv);
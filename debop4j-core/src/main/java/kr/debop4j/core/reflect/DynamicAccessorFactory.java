@@ -19,12 +19,16 @@ package kr.debop4j.core.reflect;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.ExecutionException;
 
 /**
  *{@link DynamicAccessor} 의 생성자입니다.
+ * <p/>
+ * 수형별 {@link DynamicAccessor} 를 캐시합니다. 같은 수형에 대해 여러 thread 가 동시에 요청해도 한번만 생성하며,
+ * 수형 (과 그 ClassLoader) 이 unload 될 수 있도록 수형을 약한 참조로 보관합니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 13. 1. 21
@@ -46,7 +50,7 @@ public class DynamicAccessorFactory {
             }
         };
 
-        cache = CacheBuilder.newBuilder().weakValues().maximumSize(2000).build(loader);
+        cache = CacheBuilder.newBuilder().weakKeys().maximumSize(2000).build(loader);
 
         log.info("DynamicAccessor 캐시를 생성했습니다.");
     }
@@ -61,7 +65,7 @@ public class DynamicAccessorFactory {
     public static <T> DynamicAccessor<T> create(Class<T> targetType) {
         try {
             return (DynamicAccessor<T>) cache.get(targetType);
-        } catch (ExecutionException e) {
+        } catch (ExecutionException | UncheckedExecutionException e) {
             log.error("DynamicAccessor 를 생성하는데 실패했습니다. targetType=" + targetType.getName(), e);
             return null;
         }
@@ -71,6 +75,7 @@ public class DynamicAccessorFactory {
      * Clear void.
      */
     public static synchronized void clear() {
+        cache.invalidateAll();
         cache.cleanUp();
     }
 }
@@ -17,6 +17,7 @@
 package kr.debop4j.core.reflect;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import kr.debop4j.core.Guard;
 import lombok.extern.slf4j.Slf4j;
 import org.objectweb.asm.ClassWriter;
@@ -28,6 +29,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.objectweb.asm.Opcodes.*;
 
@@ -41,6 +43,8 @@ import static org.objectweb.asm.Opcodes.*;
 public abstract class FieldAccess {
 
     private String[] fieldNames;
+    /** 필드명 - 인덱스 (같은 이름의 필드가 상위 클래스에도 있으면, 하위 클래스의 필드 인덱스) */
+    private Map<String, Integer> fieldIndexes;
 
     /**
      * Gets index.
@@ -49,9 +53,10 @@ public abstract class FieldAccess {
      * @return the index
      */
     public int getIndex(String fieldName) {
-        for (int i = 0, n = fieldNames.length; i < n; i++)
-            if (fieldNames[i].equals(fieldName)) return i;
-        throw new IllegalArgumentException("Unable to find public field: " + fieldName);
+        Integer index = fieldIndexes.get(fieldName);
+        if (index == null)
+            throw new IllegalArgumentException("Unable to find public field: " + fieldName);
+        return index;
     }
 
     /**
@@ -329,12 +334,21 @@ public abstract class FieldAccess {
         try {
             FieldAccess access = (FieldAccess) accessClass.newInstance();
             access.fieldNames = fieldNames;
+            access.fieldIndexes = buildIndexes(fieldNames);
             return access;
         } catch (Exception ex) {
             throw new RuntimeException("Error constructing field access class: " + accessClassName, ex);
         }
     }
 
+    /** 이름 - 인덱스 맵을 만듭니다. 같은 이름이 여러 개면 첫번째 인덱스를 사용합니다. */
+    static Map<String, Integer> buildIndexes(String[] names) {
+        Map<String, Integer> indexes = Maps.newHashMapWithExpectedSize(names.length);
+        for (int i = names.length - 1; i >= 0; i--)
+            indexes.put(names[i], i);
+        return indexes;
+    }
+
     static private void insertConstructor(ClassWriter cw) {
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
         mv.visitCode();
@@ -26,6 +26,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.objectweb.asm.Opcodes.*;
 
@@ -40,6 +41,8 @@ public abstract class MethodAccess {
 
     private String[] methodNames;
     private Class[][] parameterTypes;
+    /** 메소드명 - 인덱스 (오버로드된 메소드는 첫번째 메소드의 인덱스) */
+    private Map<String, Integer> methodIndexes;
 
 
     /**
@@ -91,11 +94,10 @@ public abstract class MethodAccess {
      * @return the index
      */
     public int getIndex(String methodName) {
-        for (int i = 0, size = methodNames.length; i < size; i++) {
-            if (methodNames[i].equals(methodName))
-                return i;
-        }
-        throw new IllegalArgumentException("Unable to find public method: " + methodName);
+        Integer index = methodIndexes.get(methodName);
+        if (index == null)
+            throw new IllegalArgumentException("Unable to find public method: " + methodName);
+        return index;
     }
 
     /**
@@ -314,6 +316,7 @@ public abstract class MethodAccess {
             MethodAccess access = (MethodAccess) accessClass.newInstance();
             access.methodNames = methodNames;
             access.parameterTypes = parameterTypes;
+            access.methodIndexes = FieldAccess.buildIndexes(methodNames);
 
             return access;
         } catch (Exception ex) {
@@ -0,0 +1,446 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.core.reflect;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import kr.debop4j.core.Guard;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 객체의 속성 (bean property 및 private 을 포함한 모든 인스턴스 필드) 에 접근하는 컴파일된 접근자입니다.
+ * <p/>
+ * 생성 시에 속성명-인덱스 맵과 속성별 접근 경로를 미리 계산해 두므로, 호출 시에는 이름 검색이나 reflection 조회가 없습니다.
+ * 접근 경로는 빠른 순서로 다음 중 하나를 선택합니다.
+ * <ul>
+ * <li>private 이 아닌 getter/setter : {@link MethodAccess} 가 생성한 bytecode</li>
+ * <li>getter/setter 가 없고 private 이 아닌 필드 : {@link FieldAccess} 가 생성한 bytecode</li>
+ * <li>private 필드 : 접근 가능하도록 설정한 {@link Field}</li>
+ * <li>생성된 bytecode 로 호출할 수 없는 getter/setter : {@link MethodHandle}</li>
+ * </ul>
+ * 인스턴스는 thread-safe 하며, {@link DynamicAccessorFactory} 를 통해 수형별로 캐시하여 사용하세요.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public final class PropertyAccess {
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    @Getter
+    private final Class<?> type;
+    private final String[] propertyNames;
+    private final Class<?>[] propertyTypes;
+    private final Type[] genericPropertyTypes;
+    private final Map<String, Integer> propertyIndexes;
+    /** 속성별 값 조회 경로, 읽을 수 없으면 null */
+    private final PropertyGetter[] getters;
+    /** 속성별 값 설정 경로, 쓸 수 없으면 null */
+    private final PropertySetter[] setters;
+
+    private PropertyAccess(Class<?> type, List<Property> properties) {
+        int size = properties.size();
+        this.type = type;
+        this.propertyNames = new String[size];
+        this.propertyTypes = new Class<?>[size];
+        this.genericPropertyTypes = new Type[size];
+        this.getters = new PropertyGetter[size];
+        this.setters = new PropertySetter[size];
+
+        for (int i = 0; i < size; i++) {
+            Property property = properties.get(i);
+            propertyNames[i] = property.name;
+            propertyTypes[i] = property.type;
+            genericPropertyTypes[i] = property.genericType;
+            getters[i] = property.getter;
+            setters[i] = property.setter;
+        }
+        this.propertyIndexes = FieldAccess.buildIndexes(propertyNames);
+    }
+
+    /**
+     * 속성의 인덱스를 반환합니다.
+     *
+     * @param propertyName 속성명
+     * @return 속성의 인덱스
+     * @throws IllegalArgumentException 속성이 없을 때
+     */
+    public int getIndex(String propertyName) {
+        Integer index = propertyIndexes.get(propertyName);
+        if (index == null)
+            throw new IllegalArgumentException("Unable to find property: " + propertyName);
+        return index;
+    }
+
+    /**
+     * 속성의 인덱스를 반환합니다.
+     *
+     * @param propertyName 속성명
+     * @return 속성의 인덱스, 속성이 없으면 -1
+     */
+    public int findIndex(String propertyName) {
+        Integer index = propertyIndexes.get(propertyName);
+        return (index != null) ? index : -1;
+    }
+
+    /** 속성명들을 반환합니다. */
+    public String[] getPropertyNames() {
+        return Arrays.copyOf(propertyNames, propertyNames.length);
+    }
+
+    /** 속성의 수형을 반환합니다. */
+    public Class<?> getPropertyType(int index) {
+        return propertyTypes[index];
+    }
+
+    /** 속성의 generic 수형을 반환합니다. (예: {@code List<String>}) */
+    public Type getGenericPropertyType(int index) {
+        return genericPropertyTypes[index];
+    }
+
+    /** 속성 값을 읽을 수 있는지 여부 */
+    public boolean isReadable(int index) {
+        return getters[index] != null;
+    }
+
+    /** 속성 값을 쓸 수 있는지 여부 (final 필드이고 setter 가 없으면 쓸 수 없습니다) */
+    public boolean isWritable(int index) {
+        return setters[index] != null;
+    }
+
+    /**
+     * 속성 값을 조회합니다.
+     *
+     * @param instance     대상 객체
+     * @param propertyName 속성명
+     * @return 속성 값
+     */
+    public Object get(Object instance, String propertyName) {
+        return get(instance, getIndex(propertyName));
+    }
+
+    /**
+     * 속성 값을 조회합니다.
+     *
+     * @param instance 대상 객체
+     * @param index    속성의 인덱스
+     * @return 속성 값
+     */
+    public Object get(Object instance, int index) {
+        PropertyGetter getter = getters[index];
+        if (getter == null)
+            throw new IllegalArgumentException("읽을 수 없는 속성입니다. property=" + propertyNames[index]);
+        try {
+            return getter.get(instance);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * 속성 값을 설정합니다.
+     *
+     * @param instance     대상 객체
+     * @param propertyName 속성명
+     * @param value        설정할 값
+     */
+    public void set(Object instance, String propertyName, Object value) {
+        set(instance, getIndex(propertyName), value);
+    }
+
+    /**
+     * 속성 값을 설정합니다.
+     *
+     * @param instance 대상 객체
+     * @param index    속성의 인덱스
+     * @param value    설정할 값
+     */
+    public void set(Object instance, int index, Object value) {
+        PropertySetter setter = setters[index];
+        if (setter == null)
+            throw new IllegalArgumentException("쓸 수 없는 속성입니다. property=" + propertyNames[index]);
+        try {
+            setter.set(instance, value);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * 지정한 수형의 속성 접근자를 생성합니다. 생성 비용이 크므로 {@link DynamicAccessorFactory} 등으로 캐시해서 사용하세요.
+     *
+     * @param type 대상 수형
+     * @return 속성 접근자
+     */
+    public static PropertyAccess get(Class<?> type) {
+        Guard.shouldNotBeNull(type, "type");
+        if (log.isDebugEnabled())
+            log.debug("수형 [{}]에 대한 PropertyAccess 를 생성합니다...", type.getName());
+
+        MethodAccess methodAccess = null;
+        FieldAccess fieldAccess = null;
+        try {
+            methodAccess = MethodAccess.get(type);
+            fieldAccess = FieldAccess.get(type);
+        } catch (Throwable t) {
+            log.warn("접근자 클래스를 생성하지 못해 reflection 으로 접근합니다. type=[{}], error=[{}]", type.getName(), t.toString());
+        }
+
+        Map<String, Property> properties = Maps.newLinkedHashMap();
+        try {
+            BeanInfo beanInfo = Introspector.getBeanInfo(type, Object.class);
+            for (PropertyDescriptor pd : beanInfo.getPropertyDescriptors()) {
+                if (pd.getPropertyType() == null)
+                    continue;  // indexed property
+                Property property = new Property(type, pd.getName(), pd.getPropertyType());
+                property.bindGetter(pd.getReadMethod(), methodAccess);
+                property.bindSetter(pd.getWriteMethod(), methodAccess);
+                properties.put(property.name, property);
+            }
+        } catch (Exception e) {
+            log.error("Bean 정보를 조회하는데 실패했습니다. type=" + type.getName(), e);
+            throw new RuntimeException(e);
+        }
+
+        // getter/setter 가 없는 부분은 필드로 접근합니다. (상위 클래스의 같은 이름의 필드는 가려지므로 하위 클래스의 필드만 사용합니다)
+        Set<String> fieldNames = Sets.newHashSet();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic())
+                    continue;
+                if (!fieldNames.add(field.getName()))
+                    continue;
+                Property property = properties.get(field.getName());
+                if (property == null) {
+                    property = new Property(type, field.getName(), field.getType());
+                    properties.put(property.name, property);
+                } else if (!property.type.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                property.bindField(field, fieldAccess);
+            }
+        }
+
+        return new PropertyAccess(type, Lists.newArrayList(properties.values()));
+    }
+
+    /** 속성 값 조회 경로 */
+    private interface PropertyGetter {
+        Object get(Object instance) throws Throwable;
+    }
+
+    /** 속성 값 설정 경로 */
+    private interface PropertySetter {
+        void set(Object instance, Object value) throws Throwable;
+    }
+
+    /** 속성 하나의 접근 경로를 계산합니다. */
+    private static final class Property {
+
+        final Class<?> ownerType;
+        final String name;
+        final Class<?> type;
+        Type genericType;
+        PropertyGetter getter;
+        PropertySetter setter;
+
+        Property(Class<?> ownerType, String name, Class<?> type) {
+            this.ownerType = ownerType;
+            this.name = name;
+            this.type = type;
+            this.genericType = type;
+        }
+
+        void bindGetter(Method method, final MethodAccess methodAccess) {
+            if (method == null) return;
+            genericType = method.getGenericReturnType();
+
+            final int index = findMethodIndex(ownerType, method, methodAccess);
+            if (index >= 0) {
+                getter = new PropertyGetter() {
+                    @Override
+                    public Object get(Object instance) {
+                        return methodAccess.invoke(instance, index, EMPTY_ARGS);
+                    }
+                };
+            } else {
+                final MethodHandle handle = unreflect(method, GETTER_TYPE);
+                if (handle != null) {
+                    getter = new PropertyGetter() {
+                        @Override
+                        public Object get(Object instance) throws Throwable {
+                            return (Object) handle.invokeExact(instance);
+                        }
+                    };
+                }
+            }
+        }
+
+        void bindSetter(Method method, final MethodAccess methodAccess) {
+            if (method == null) return;
+
+            final int index = findMethodIndex(ownerType, method, methodAccess);
+            if (index >= 0) {
+                setter = new PropertySetter() {
+                    @Override
+                    public void set(Object instance, Object value) {
+                        methodAccess.invoke(instance, index, value);
+                    }
+                };
+            } else {
+                final MethodHandle handle = unreflect(method, SETTER_TYPE);
+                if (handle != null) {
+                    setter = new PropertySetter() {
+                        @Override
+                        public void set(Object instance, Object value) throws Throwable {
+                            handle.invokeExact(instance, value);
+                        }
+                    };
+                }
+            }
+        }
+
+        void bindField(final Field field, final FieldAccess fieldAccess) {
+            if (genericType == type)
+                genericType = field.getGenericType();
+            boolean bindGetter = (getter == null);
+            boolean bindSetter = (setter == null) && !Modifier.isFinal(field.getModifiers());
+            if (!bindGetter && !bindSetter)
+                return;
+
+            final int index = findFieldIndex(ownerType, field, fieldAccess);
+            if (index >= 0) {
+                if (bindGetter) {
+                    getter = new PropertyGetter() {
+                        @Override
+                        public Object get(Object instance) {
+                            return fieldAccess.get(instance, index);
+                        }
+                    };
+                }
+                if (bindSetter) {
+                    setter = new PropertySetter() {
+                        @Override
+                        public void set(Object instance, Object value) {
+                            fieldAccess.set(instance, index, value);
+                        }
+                    };
+                }
+                return;
+            }
+
+            // private 필드는 JDK 의 reflection 이 non-constant MethodHandle 보다 빠릅니다.
+            try {
+                field.setAccessible(true);
+            } catch (SecurityException e) {
+                log.warn("필드에 접근할 수 없습니다. field=[{}], error=[{}]", field, e.toString());
+                return;
+            }
+            if (bindGetter) {
+                getter = new PropertyGetter() {
+                    @Override
+                    public Object get(Object instance) throws Exception {
+                        return field.get(instance);
+                    }
+                };
+            }
+            if (bindSetter) {
+                setter = new PropertySetter() {
+                    @Override
+                    public void set(Object instance, Object value) throws Exception {
+                        field.set(instance, value);
+                    }
+                };
+            }
+        }
+
+        /** 생성된 {@link MethodAccess} 에서 접근 가능한 메소드만 bytecode 로 호출하고, 나머지는 -1 을 반환해 MethodHandle 로 호출합니다. */
+        private static int findMethodIndex(Class<?> ownerType, Method method, MethodAccess methodAccess) {
+            if (methodAccess == null || !isAccessible(ownerType, method.getDeclaringClass(), method.getModifiers()))
+                return -1;
+            try {
+                return methodAccess.getIndex(method.getName(), method.getParameterTypes());
+            } catch (IllegalArgumentException ignored) {
+                return -1;
+            }
+        }
+
+        /** 생성된 {@link FieldAccess} 에서 접근 가능한 필드만 bytecode 로 접근하고, 나머지는 -1 을 반환해 reflection 으로 접근합니다. */
+        private static int findFieldIndex(Class<?> ownerType, Field field, FieldAccess fieldAccess) {
+            if (fieldAccess == null || !isAccessible(ownerType, field.getDeclaringClass(), field.getModifiers()))
+                return -1;
+            try {
+                return fieldAccess.getIndex(field.getName());
+            } catch (IllegalArgumentException ignored) {
+                return -1;
+            }
+        }
+
+        /**
+         * 생성된 접근자 클래스는 대상 수형과 같은 패키지에 만들어지므로, 그 패키지에서 접근 가능한 멤버인지 판단합니다.
+         * 다른 패키지의 상위 클래스에 선언된 protected, package-private 멤버는 접근할 수 없습니다 ({@link IllegalAccessError}).
+         */
+        private static boolean isAccessible(Class<?> ownerType, Class<?> declaringClass, int modifiers) {
+            if (Modifier.isPrivate(modifiers))
+                return false;
+            if (Modifier.isPublic(modifiers) && Modifier.isPublic(declaringClass.getModifiers()))
+                return true;
+            return packageName(declaringClass).equals(packageName(ownerType));
+        }
+
+        private static String packageName(Class<?> type) {
+            String name = type.getName();
+            int index = name.lastIndexOf('.');
+            return (index < 0) ? "" : name.substring(0, index);
+        }
+
+        private static MethodHandle unreflect(Method method, MethodType methodType) {
+            try {
+                method.setAccessible(true);
+                return lookup.unreflect(method).asType(methodType);
+            } catch (Exception e) {
+                log.warn("메소드에 접근할 수 없습니다. method=[{}], error=[{}]", method, e.toString());
+                return null;
+            }
+        }
+    }
+}
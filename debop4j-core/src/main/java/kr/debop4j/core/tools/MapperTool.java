@@ -17,21 +17,25 @@
 package kr.debop4j.core.tools;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
 import kr.debop4j.core.parallelism.AsyncTool;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.config.Configuration;
 import org.modelmapper.convention.MatchingStrategies;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
 
 import static kr.debop4j.core.Guard.shouldNotBeNull;
 
 
 /**
- * {@link org.modelmapper.ModelMapper} 를 이용하여, 객체간의 정보를 매핑합니다.
+ * 객체간의 정보를 매핑합니다.
+ * <p/>
+ * 원본 수형과 대상 수형 쌍마다 {@link MappingPlan} 을 한번만 분석하여 재사용하고, plan 으로 처리할 수 없는 수형 쌍
+ * (속성 평탄화, 수형 변환 등) 만 {@link org.modelmapper.ModelMapper} 로 매핑합니다.
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 9. 20.
@@ -41,6 +45,9 @@ public final class MapperTool {
 
     private MapperTool() { }
 
+    /** 비동기 매핑 작업을 실행할 Executor 이름 ({@link kr.debop4j.core.parallelism.ExecutorRegistry} 참고) */
+    public static final String EXECUTOR_NAME = "MapperTool";
+
     private static final ModelMapper mapper;
 
     static {
@@ -54,6 +61,11 @@ public final class MapperTool {
             log.info("ModelMapper를 초기화했습니다.");
     }
 
+    /** {@link MappingPlan} 으로 처리할 수 없는 수형 쌍을 매핑할 ModelMapper */
+    static ModelMapper getModelMapper() {
+        return mapper;
+    }
+
     /**
      * 객체를 매핑을 통해 원하는 수형으로 변환합니다.
      *
@@ -65,7 +77,7 @@ public final class MapperTool {
         shouldNotBeNull(source, "source");
         shouldNotBeNull(destinationClass, "destinationClass");
 
-        return mapper.map(source, destinationClass);
+        return MapperTool.<T>getPlan(source.getClass(), destinationClass).map(source);
     }
 
     /**
@@ -78,7 +90,7 @@ public final class MapperTool {
         shouldNotBeNull(source, "source");
         shouldNotBeNull(destination, "destination");
 
-        mapper.map(source, destination);
+        getPlan(source.getClass(), destination.getClass()).map(source, destination);
     }
 
     /**
@@ -89,10 +101,49 @@ public final class MapperTool {
      * @return the list
      */
     public static <S, T> List<T> mapList(final Iterable<S> sources, final Class<T> destinationClass) {
-        List<T> destinations = Lists.newArrayList();
+        shouldNotBeNull(sources, "sources");
+        shouldNotBeNull(destinationClass, "destinationClass");
 
+        List<T> destinations = (sources instanceof Collection)
+                ? Lists.<T>newArrayListWithCapacity(((Collection<S>) sources).size())
+                : Lists.<T>newArrayList();
+
+        // 요소의 수형이 바뀔 때만 plan 을 다시 조회합니다.
+        MappingPlan<Object, T> plan = null;
         for (S source : sources) {
-            destinations.add(mapper.map(source, destinationClass));
+            if (source == null) {
+                destinations.add(null);
+                continue;
+            }
+            if (plan == null || plan.getSourceClass() != source.getClass())
+                plan = MapperTool.<T>getPlan(source.getClass(), destinationClass);
+            destinations.add(plan.map(source));
+        }
+        return destinations;
+    }
+
+    /**
+     * 원본 목록의 요소를 같은 위치의 대상 목록의 요소로 매핑합니다. 두 목록 중 짧은 쪽의 길이만큼 매핑합니다.
+     *
+     * @param sources      the sources
+     * @param destinations the destinations
+     * @return the destinations
+     */
+    public static <S, T> List<T> mapList(final List<S> sources, final List<T> destinations) {
+        shouldNotBeNull(sources, "sources");
+        shouldNotBeNull(destinations, "destinations");
+
+        int size = Math.min(sources.size(), destinations.size());
+        MappingPlan<Object, Object> plan = null;
+
+        for (int i = 0; i < size; i++) {
+            S source = sources.get(i);
+            T destination = destinations.get(i);
+            if (source == null || destination == null)
+                continue;
+            if (plan == null || plan.getSourceClass() != source.getClass() || plan.getDestinationClass() != destination.getClass())
+                plan = getPlan(source.getClass(), destination.getClass());
+            plan.map(source, destination);
         }
         return destinations;
     }
@@ -104,11 +155,11 @@ public final class MapperTool {
      * @param destinationClass the destination class
      * @return the future
      */
-    public static <T> Future<T> mapAsync(final Object source, final Class<T> destinationClass) {
-        return AsyncTool.startNew(new Callable<T>() {
+    public static <T> ListenableFuture<T> mapAsync(final Object source, final Class<T> destinationClass) {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<T>() {
             @Override
             public T call() throws Exception {
-                return mapper.map(source, destinationClass);
+                return map(source, destinationClass);
             }
         });
     }
@@ -120,12 +171,17 @@ public final class MapperTool {
      * @param destinationClass the destination class
      * @return the future
      */
-    public static <S, T> Future<List<T>> mapListAsync(final Iterable<S> sources, final Class<T> destinationClass) {
-        return AsyncTool.startNew(new Callable<List<T>>() {
+    public static <S, T> ListenableFuture<List<T>> mapListAsync(final Iterable<S> sources, final Class<T> destinationClass) {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<List<T>>() {
             @Override
             public List<T> call() throws Exception {
                 return mapList(sources, destinationClass);
             }
         });
     }
+
+    @SuppressWarnings("unchecked")
+    private static <T> MappingPlan<Object, T> getPlan(Class<?> sourceClass, Class<?> destinationClass) {
+        return (MappingPlan<Object, T>) MappingPlan.get(sourceClass, destinationClass);
+    }
 }
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.core.tools;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Primitives;
+import kr.debop4j.core.reflect.ConstructorAccess;
+import kr.debop4j.core.reflect.DeepCopier;
+import kr.debop4j.core.reflect.PropertyAccess;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+
+/**
+ * 원본 수형과 대상 수형 쌍에 대해 한번만 분석하여 캐시해 두는 객체 매핑 방식 (mapping plan) 입니다.
+ * <p/>
+ * 대상 수형의 쓸 수 있는 속성마다 같은 이름의 원본 속성을 찾아 {@link PropertyAccess} 의 인덱스로 미리 연결해 두므로,
+ * 매핑 시에는 속성 검색이나 매칭 규칙 평가 없이 값만 복사합니다.
+ * <ul>
+ * <li>대입 가능한 수형 (primitive 와 wrapper 포함) 은 참조를 그대로 복사합니다.</li>
+ * <li>서로 다른 bean 수형은 중첩된 mapping plan 으로 매핑합니다.</li>
+ * <li>컬렉션은 새 컬렉션을 만들고, 요소를 대상 컬렉션의 generic 요소 수형으로 매핑합니다.</li>
+ * <li>순환 참조는 한번의 매핑 호출 안에서 같은 원본에 대해 같은 대상 객체를 사용합니다.</li>
+ * </ul>
+ * 이름이 다른 속성의 평탄화 (예: {@code customerName <- customer.name}), 수형 변환 등 위 규칙으로 처리할 수 없는 수형 쌍은
+ * 수형 쌍 전체를 {@link MapperTool} 의 ModelMapper (LOOSE 매칭) 로 매핑합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public final class MappingPlan<S, T> {
+
+    private static final LoadingCache<Class<?>, ConcurrentMap<Class<?>, MappingPlan<?, ?>>> plans =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build(new CacheLoader<Class<?>, ConcurrentMap<Class<?>, MappingPlan<?, ?>>>() {
+                        @Override
+                        public ConcurrentMap<Class<?>, MappingPlan<?, ?>> load(Class<?> sourceClass) throws Exception {
+                            return Maps.newConcurrentMap();
+                        }
+                    });
+
+    /**
+     * 원본 수형과 대상 수형에 대한 mapping plan 을 반환합니다. 처음 요청 시에만 분석하고 이후로는 캐시된 plan 을 사용합니다.
+     *
+     * @param sourceClass      원본 수형
+     * @param destinationClass 대상 수형
+     * @return mapping plan
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> MappingPlan<S, T> get(Class<S> sourceClass, Class<T> destinationClass) {
+        shouldNotBeNull(sourceClass, "sourceClass");
+        shouldNotBeNull(destinationClass, "destinationClass");
+
+        ConcurrentMap<Class<?>, MappingPlan<?, ?>> destinations = plans.getUnchecked(sourceClass);
+        MappingPlan<?, ?> plan = destinations.get(destinationClass);
+        if (plan == null) {
+            plan = new MappingPlan<>(sourceClass, destinationClass);
+            MappingPlan<?, ?> existing = destinations.putIfAbsent(destinationClass, plan);
+            if (existing != null)
+                plan = existing;
+        }
+        return (MappingPlan<S, T>) plan;
+    }
+
+    /** 캐시된 mapping plan 을 모두 제거합니다. */
+    public static void clear() {
+        plans.invalidateAll();
+    }
+
+    @Getter
+    private final Class<S> sourceClass;
+    @Getter
+    private final Class<T> destinationClass;
+
+    private PropertyAccess sourceAccess;
+    private PropertyAccess destinationAccess;
+    private Instantiator<T> instantiator;
+    private int[] sourceIndexes;
+    private int[] destinationIndexes;
+    /** 속성별 값 변환기, 참조를 그대로 복사하면 null */
+    private Converter[] converters;
+    /** 중첩 객체나 컬렉션을 매핑하는 속성이 있으면 순환 참조를 추적합니다. */
+    private boolean tracksReferences;
+
+    /** 분석한 규칙으로 매핑할 수 있는지 여부, false 이면 ModelMapper 로 매핑합니다. */
+    @Getter
+    private boolean compiled;
+
+    private MappingPlan(Class<S> sourceClass, Class<T> destinationClass) {
+        this.sourceClass = sourceClass;
+        this.destinationClass = destinationClass;
+        try {
+            this.compiled = compile();
+        } catch (Exception e) {
+            log.warn("Mapping plan 을 분석하지 못해 ModelMapper 로 매핑합니다. source=[{}], destination=[{}], error=[{}]",
+                     sourceClass.getName(), destinationClass.getName(), e.toString());
+            this.compiled = false;
+        }
+
+        if (log.isDebugEnabled())
+            log.debug("Mapping plan 을 생성했습니다. source=[{}], destination=[{}], compiled=[{}]",
+                      sourceClass.getName(), destinationClass.getName(), compiled);
+    }
+
+    /**
+     * 원본 객체를 대상 수형의 새 인스턴스로 매핑합니다.
+     *
+     * @param source 원본 객체
+     * @return 매핑된 대상 객체
+     */
+    public T map(S source) {
+        shouldNotBeNull(source, "source");
+        if (!compiled)
+            return MapperTool.getModelMapper().map(source, destinationClass);
+
+        T destination = instantiator.newInstance();
+        mapProperties(source, destination, tracksReferences ? new MappingContext(source, destination) : null);
+        return destination;
+    }
+
+    /**
+     * 원본 객체의 속성 값을 대상 객체에 매핑합니다.
+     *
+     * @param source      원본 객체
+     * @param destination 대상 객체
+     */
+    public void map(S source, T destination) {
+        shouldNotBeNull(source, "source");
+        shouldNotBeNull(destination, "destination");
+        if (!compiled) {
+            MapperTool.getModelMapper().map(source, destination);
+            return;
+        }
+        mapProperties(source, destination, tracksReferences ? new MappingContext(source, destination) : null);
+    }
+
+    private void mapProperties(Object source, Object destination, MappingContext context) {
+        for (int i = 0; i < sourceIndexes.length; i++) {
+            Object value = sourceAccess.get(source, sourceIndexes[i]);
+            if (value != null && converters[i] != null)
+                value = converters[i].convert(value, context);
+
+            if (value == null && destinationAccess.getPropertyType(destinationIndexes[i]).isPrimitive())
+                continue;
+            destinationAccess.set(destination, destinationIndexes[i], value);
+        }
+    }
+
+    /** 중첩된 객체를 매핑합니다. 같은 매핑 호출 안에서 이미 매핑한 원본이면 그 결과를 재사용합니다. */
+    private T mapNested(Object source, MappingContext context) {
+        if (!compiled)
+            return MapperTool.getModelMapper().map(source, destinationClass);
+
+        T destination = instantiator.newInstance();
+        context.put(source, destination);
+        mapProperties(source, destination, context);
+        return destination;
+    }
+
+    private boolean compile() {
+        if (!isBean(sourceClass) || !isBean(destinationClass) || isProxy(sourceClass))
+            return false;
+
+        instantiator = createInstantiator(destinationClass);
+        if (instantiator == null)
+            return false;
+
+        sourceAccess = PropertyAccess.get(sourceClass);
+        destinationAccess = PropertyAccess.get(destinationClass);
+
+        String[] destinationNames = destinationAccess.getPropertyNames();
+        List<Integer> sources = Lists.newArrayList();
+        List<Integer> destinations = Lists.newArrayList();
+        List<Converter> converterList = Lists.newArrayList();
+
+        for (int di = 0; di < destinationNames.length; di++) {
+            if (!destinationAccess.isWritable(di))
+                continue;
+
+            int si = sourceAccess.findIndex(destinationNames[di]);
+            if (si < 0 || !sourceAccess.isReadable(si)) {
+                // ModelMapper 의 LOOSE 매칭으로 평탄화될 수 있는 속성이면 분석한 규칙으로는 같은 결과를 만들 수 없습니다.
+                if (isFlatteningCandidate(destinationNames[di]))
+                    return false;
+                continue;
+            }
+
+            Converter converter;
+            Class<?> sourceType = sourceAccess.getPropertyType(si);
+            Class<?> destinationType = destinationAccess.getPropertyType(di);
+
+            if (Collection.class.isAssignableFrom(sourceType) && Collection.class.isAssignableFrom(destinationType)) {
+                converter = createCollectionConverter(sourceAccess.getGenericPropertyType(si),
+                                                      destinationType,
+                                                      destinationAccess.getGenericPropertyType(di));
+                if (converter == null)
+                    return false;
+            } else if (Map.class.isAssignableFrom(sourceType) || sourceType.isArray()) {
+                return false;
+            } else if (Primitives.wrap(destinationType).isAssignableFrom(Primitives.wrap(sourceType))) {
+                converter = null;
+            } else if (isBean(sourceType) && isBean(destinationType)) {
+                converter = new BeanConverter(destinationType);
+            } else {
+                return false;
+            }
+
+            sources.add(si);
+            destinations.add(di);
+            converterList.add(converter);
+            tracksReferences |= (converter != null);
+        }
+
+        sourceIndexes = toArray(sources);
+        destinationIndexes = toArray(destinations);
+        converters = converterList.toArray(new Converter[converterList.size()]);
+        return true;
+    }
+
+    /**
+     * 대상 속성명이 원본 속성명으로 시작하거나 (예: customerName - customer), 원본의 중첩 객체에 같은 이름의 속성이 있는지 검사합니다.
+     */
+    private boolean isFlatteningCandidate(String destinationName) {
+        String lowerName = destinationName.toLowerCase();
+        for (String sourceName : sourceAccess.getPropertyNames()) {
+            int si = sourceAccess.getIndex(sourceName);
+            if (!sourceAccess.isReadable(si))
+                continue;
+            if (lowerName.startsWith(sourceName.toLowerCase()))
+                return true;
+
+            Class<?> sourceType = sourceAccess.getPropertyType(si);
+            if (isBean(sourceType) && PropertyAccess.get(sourceType).findIndex(destinationName) >= 0)
+                return true;
+        }
+        return false;
+    }
+
+    private Converter createCollectionConverter(Type sourceType, Class<?> destinationType, Type destinationGenericType) {
+        Class<?> sourceElementType = getElementType(sourceType);
+        Class<?> destinationElementType = getElementType(destinationGenericType);
+
+        Instantiator<?> collectionInstantiator = createCollectionInstantiator(destinationType);
+        if (collectionInstantiator == null)
+            return null;
+
+        if (Primitives.wrap(destinationElementType).isAssignableFrom(Primitives.wrap(sourceElementType)))
+            return new CollectionConverter(collectionInstantiator, null);
+        if (isBean(sourceElementType) && isBean(destinationElementType))
+            return new CollectionConverter(collectionInstantiator, new BeanConverter(destinationElementType));
+        return null;
+    }
+
+    private static Class<?> getElementType(Type collectionType) {
+        if (collectionType instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) collectionType).getActualTypeArguments();
+            if (arguments.length == 1) {
+                if (arguments[0] instanceof Class)
+                    return (Class<?>) arguments[0];
+                if (arguments[0] instanceof ParameterizedType)
+                    return (Class<?>) ((ParameterizedType) arguments[0]).getRawType();
+            }
+        }
+        return Object.class;
+    }
+
+    /** 속성 단위로 매핑할 수 있는 사용자 정의 수형인지 판단합니다. JDK 수형, enum, 배열, immutable 수형은 제외합니다. */
+    private static boolean isBean(Class<?> type) {
+        return !type.isPrimitive()
+                && !type.isArray()
+                && !type.isInterface()
+                && !DeepCopier.isImmutable(type)
+                && !Modifier.isAbstract(type.getModifiers())
+                && !type.getName().startsWith("java")
+                && type.getPackage() != null;
+    }
+
+    /** Hibernate 의 javassist, cglib proxy 는 필드가 초기화되지 않았으므로 ModelMapper 로 매핑합니다. */
+    private static boolean isProxy(Class<?> type) {
+        return type.getName().contains("$$");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Instantiator<T> createInstantiator(final Class<T> type) {
+        if (type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers()))
+            return null;
+        try {
+            final ConstructorAccess<T> access = ConstructorAccess.get(type);
+            return new Instantiator<T>() {
+                @Override
+                public T newInstance() {
+                    return access.newInstance();
+                }
+            };
+        } catch (Exception ignored) {
+            // public 기본 생성자가 없으면 reflection 으로 생성합니다.
+        }
+        try {
+            final Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return new Instantiator<T>() {
+                @Override
+                public T newInstance() {
+                    try {
+                        return constructor.newInstance();
+                    } catch (Exception e) {
+                        log.error("인스턴스를 생성하지 못했습니다. type=" + type.getName(), e);
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Instantiator<?> createCollectionInstantiator(final Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            if (type.isAssignableFrom(ArrayList.class)) {
+                return new Instantiator<Collection>() {
+                    @Override
+                    public Collection newInstance() {
+                        return new ArrayList();
+                    }
+                };
+            }
+            if (type.isAssignableFrom(LinkedHashSet.class)) {
+                return new Instantiator<Collection>() {
+                    @Override
+                    public Collection newInstance() {
+                        return new LinkedHashSet();
+                    }
+                };
+            }
+            if (type.isAssignableFrom(TreeSet.class)) {
+                return new Instantiator<Collection>() {
+                    @Override
+                    public Collection newInstance() {
+                        return new TreeSet();
+                    }
+                };
+            }
+            return null;
+        }
+        return createInstantiator(type);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++)
+            array[i] = values.get(i);
+        return array;
+    }
+
+    private interface Instantiator<T> {
+        T newInstance();
+    }
+
+    private static abstract class Converter {
+        abstract Object convert(Object value, MappingContext context);
+    }
+
+    /** 중첩된 bean 을 원본 객체의 실제 수형에 대한 mapping plan 으로 매핑합니다. */
+    private static final class BeanConverter extends Converter {
+        private final Class<?> destinationType;
+        private volatile MappingPlan<?, ?> lastPlan;
+
+        BeanConverter(Class<?> destinationType) {
+            this.destinationType = destinationType;
+        }
+
+        @Override
+        Object convert(Object value, MappingContext context) {
+            Object mapped = context.get(value);
+            if (mapped != null)
+                return mapped;
+
+            // 같은 수형의 원본이 반복되는 경우가 대부분이므로, 마지막으로 사용한 plan 을 재사용합니다.
+            MappingPlan<?, ?> plan = lastPlan;
+            if (plan == null || plan.sourceClass != value.getClass()) {
+                plan = MappingPlan.get(value.getClass(), destinationType);
+                lastPlan = plan;
+            }
+            return plan.mapNested(value, context);
+        }
+    }
+
+    private static final class CollectionConverter extends Converter {
+        private final Instantiator<?> instantiator;
+        /** 요소 변환기, 요소를 그대로 복사하면 null */
+        private final Converter elementConverter;
+
+        CollectionConverter(Instantiator<?> instantiator, Converter elementConverter) {
+            this.instantiator = instantiator;
+            this.elementConverter = elementConverter;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object convert(Object value, MappingContext context) {
+            Collection<Object> source = (Collection<Object>) value;
+            Collection<Object> destination = (Collection<Object>) instantiator.newInstance();
+            if (destination instanceof ArrayList)
+                ((ArrayList<Object>) destination).ensureCapacity(source.size());
+
+            for (Object element : source) {
+                if (element != null && elementConverter != null)
+                    element = elementConverter.convert(element, context);
+                destination.add(element);
+            }
+            return destination;
+        }
+    }
+
+    /** 한번의 매핑 호출 안에서 원본 객체별로 매핑된 대상 객체를 추적합니다. (순환 참조, 공유 참조 처리용) */
+    private static final class MappingContext {
+        private final IdentityHashMap<Object, Object> mapped = new IdentityHashMap<>();
+
+        MappingContext(Object source, Object destination) {
+            mapped.put(source, destination);
+        }
+
+        Object get(Object source) {
+            return mapped.get(source);
+        }
+
+        void put(Object source, Object destination) {
+            mapped.put(source, destination);
+        }
+    }
+}
@@ -16,10 +16,12 @@
 
 package kr.debop4j.core.tools;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import kr.debop4j.core.BinaryStringFormat;
 import kr.debop4j.core.ISerializer;
 import kr.debop4j.core.io.BinarySerializer;
 import kr.debop4j.core.parallelism.AsyncTool;
+import kr.debop4j.core.reflect.DeepCopier;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,7 +30,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
 
 import static kr.debop4j.core.Guard.shouldNotBeNull;
 import static kr.debop4j.core.tools.StringTool.getBytesFromHexString;
@@ -48,6 +49,9 @@ public final class SerializeTool {
 
     private SerializeTool() { }
 
+    /** 비동기 직렬화 작업을 실행할 Executor 이름 ({@link kr.debop4j.core.parallelism.ExecutorRegistry} 참고) */
+    public static final String EXECUTOR_NAME = "SerializeTool";
+
     /**
      * 객체를 직렬화하여 문자열로 반환합니다.
      *
@@ -139,16 +143,16 @@ public final class SerializeTool {
     }
 
     /**
-     * 객체를 {@link BinarySerializer} 를 이용하여 deep copy 를 수행합니다.  @param graph the graph
+     * 객체를 deep copy 합니다. 직렬화를 거치지 않고 {@link DeepCopier} 로 객체 그래프를 직접 복사합니다.
      *
-     * @return the t
+     * @param graph 원본 객체
+     * @return 복사한 객체
      */
-    @SuppressWarnings("unchecked")
     public static <T> T copyObject(T graph) {
         if (graph == null)
             return null;
 
-        return (T) deserializeObject(serializeObject(graph), graph.getClass());
+        return DeepCopier.copy(graph);
     }
 
     /**
@@ -157,11 +161,11 @@ public final class SerializeTool {
      * @param graph 객체
      * @return 직렬화 결과
      */
-    public static Future<byte[]> serializeObjectAsync(final Object graph) {
+    public static ListenableFuture<byte[]> serializeObjectAsync(final Object graph) {
         if (graph == null) {
             return AsyncTool.getTaskHasResult(new byte[0]);
         }
-        return AsyncTool.startNew(new Callable<byte[]>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<byte[]>() {
             @Override
             public byte[] call() throws Exception {
                 return getBinarySerializer().serialize(graph);
@@ -176,11 +180,11 @@ public final class SerializeTool {
      * @param clazz 역직렬화할 객체의 수형
      * @return 역직렬화한 객체
      */
-    public static <T> Future<T> deserializeObjectAsync(final byte[] bytes, final Class<T> clazz) {
+    public static <T> ListenableFuture<T> deserializeObjectAsync(final byte[] bytes, final Class<T> clazz) {
         if (ArrayTool.isEmpty(bytes)) {
-            return null;
+            return AsyncTool.getTaskHasResult(null);
         }
-        return AsyncTool.startNew(new Callable<T>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<T>() {
             @Override
             public T call() throws Exception {
                 return getBinarySerializer().deserialize(bytes, clazz);
@@ -194,17 +198,15 @@ public final class SerializeTool {
      * @param graph 원본 인스턴스
      * @return 복사한 인스턴스
      */
-    @SuppressWarnings("unchecked")
-    public static <T> Future<T> copyObjectAsync(final T graph) {
+    public static <T> ListenableFuture<T> copyObjectAsync(final T graph) {
         if (graph == null) {
             return AsyncTool.getTaskHasResult(graph);
         }
 
-        return AsyncTool.startNew(new Callable<T>() {
+        return AsyncTool.startNew(EXECUTOR_NAME, new Callable<T>() {
             @Override
             public T call() throws Exception {
-                byte[] bytes = getBinarySerializer().serialize(graph);
-                return (T) getBinarySerializer().deserialize(bytes, graph.getClass());
+                return DeepCopier.copy(graph);
             }
         });
     }
@@ -16,6 +16,7 @@
 
 package kr.debop4j.core.tools;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import kr.debop4j.core.Action;
 import kr.debop4j.core.Action1;
 import kr.debop4j.core.AutoStopwatch;
@@ -24,7 +25,6 @@ import kr.debop4j.core.parallelism.AsyncTool;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
 
 import static kr.debop4j.core.Guard.shouldNotBeNull;
 
@@ -201,7 +201,7 @@ public final class With {
      *
      * @param action 실행할 action
      */
-    public static Future<Void> tryActionAsync(final Action action) {
+    public static ListenableFuture<Void> tryActionAsync(final Action action) {
         return tryActionAsync(action, null, null);
     }
 
@@ -212,9 +212,9 @@ public final class With {
      * @param exceptionAction 예외 처리용 action
      * @param finallyAction   정리 시 수행할 action
      */
-    public static Future<Void> tryActionAsync(final Action action,
-                                              final Action1<Exception> exceptionAction,
-                                              final Action finallyAction) {
+    public static ListenableFuture<Void> tryActionAsync(final Action action,
+                                                        final Action1<Exception> exceptionAction,
+                                                        final Action finallyAction) {
         assert action != null;
         return AsyncTool.startNew(new Callable<Void>() {
             @Override
@@ -242,7 +242,7 @@ public final class With {
      * @param func 실행할 function
      * @return 수행한 결과
      */
-    public static <R> Future<R> tryFunctionAsync(final Function<R> func) {
+    public static <R> ListenableFuture<R> tryFunctionAsync(final Function<R> func) {
         return tryFunctionAsync(func, null, null, null);
     }
 
@@ -255,10 +255,10 @@ public final class With {
      * @param finallyAction   정리 시 수행할 action
      * @return 수행한 결과
      */
-    public static <R> Future<R> tryFunctionAsync(final Function<R> func,
-                                                 final Function<R> valueFactory,
-                                                 final Action1<Exception> exceptionAction,
-                                                 final Action finallyAction) {
+    public static <R> ListenableFuture<R> tryFunctionAsync(final Function<R> func,
+                                                           final Function<R> valueFactory,
+                                                           final Action1<Exception> exceptionAction,
+                                                           final Action finallyAction) {
         assert func != null;
         return AsyncTool.startNew(new Callable<R>() {
             @Override
@@ -0,0 +1,127 @@
+package kr.debop4j.core;
+
+import kr.debop4j.core.parallelism.AsyncTool;
+import kr.debop4j.core.parallelism.Parallels;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link Local} 테스트
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class LocalTest extends AbstractTest {
+
+    private static final Local.Key<String> NAME_KEY = Local.newKey("name");
+    private static final Local.Key<Integer> COUNT_KEY = Local.newKey("count");
+    private static final Local.Key<Object> RESOURCE_KEY = Local.newKey("resource", false);
+
+    @Override
+    protected void onAfter() {
+        Local.clear();
+    }
+
+    @Test
+    public void keyAndObjectKeyTest() {
+        assertNull(NAME_KEY.get());
+
+        NAME_KEY.set("debop");
+        Local.put(COUNT_KEY, 10);
+        Local.put("legacy", "value");
+
+        assertEquals("debop", Local.get(NAME_KEY));
+        assertEquals(10, (int) COUNT_KEY.get());
+        assertEquals("value", Local.get("legacy", String.class));
+
+        Local.remove(NAME_KEY);
+        Local.remove("legacy");
+        assertNull(NAME_KEY.get());
+        assertNull(Local.get("legacy"));
+        assertEquals(10, (int) COUNT_KEY.get());
+
+        Local.clear();
+        assertNull(COUNT_KEY.get());
+    }
+
+    @Test
+    public void getOrCreateTest() {
+        Function<String> factory = new Function<String>() {
+            @Override
+            public String execute() {
+                return "created";
+            }
+        };
+        assertEquals("created", Local.getOrCreate(NAME_KEY, factory));
+        NAME_KEY.set("other");
+        assertEquals("other", Local.getOrCreate(NAME_KEY, factory));
+    }
+
+    @Test
+    public void propagateToAsyncTaskTest() throws Exception {
+        NAME_KEY.set("caller");
+        Local.put("legacy", "caller");
+
+        String result = AsyncTool.startNewWithLocal(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                String value = NAME_KEY.get() + "/" + Local.get("legacy");
+                // 작업에서의 변경은 호출한 Thread 에 반영되지 않습니다.
+                NAME_KEY.set("task");
+                return value;
+            }
+        }).get();
+
+        assertEquals("caller/caller", result);
+        assertEquals("caller", NAME_KEY.get());
+
+        // 전달하지 않으면 작업 Thread 의 저장소를 사용합니다.
+        String notPropagated = AsyncTool.startNew(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return NAME_KEY.get();
+            }
+        }).get();
+        assertNull(notPropagated);
+    }
+
+    @Test
+    public void localOnlyKeyIsNotPropagatedTest() throws Exception {
+        NAME_KEY.set("caller");
+        RESOURCE_KEY.set(new Object());
+        assertFalse(RESOURCE_KEY.isPropagate());
+
+        String result = AsyncTool.startNewWithLocal(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return NAME_KEY.get() + "/" + RESOURCE_KEY.get();
+            }
+        }).get();
+        assertEquals("caller/null", result);
+
+        // 전달하지 않는 값은 호출한 Thread 에 그대로 남아 있습니다.
+        assertNotNull(RESOURCE_KEY.get());
+    }
+
+    @Test
+    public void propagateToParallelsTest() {
+        COUNT_KEY.set(100);
+
+        List<Integer> results = Parallels.run(0, 100, Local.wrap(new Function1<Integer, Integer>() {
+            @Override
+            public Integer execute(Integer arg) {
+                return COUNT_KEY.get() + arg;
+            }
+        }));
+
+        assertEquals(100, results.size());
+        for (int i = 0; i < results.size(); i++)
+            assertEquals(100 + i, (int) results.get(i));
+    }
+}
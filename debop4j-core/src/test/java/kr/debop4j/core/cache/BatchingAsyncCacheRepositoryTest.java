@@ -0,0 +1,159 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import kr.debop4j.core.parallelism.AsyncTool;
+import kr.debop4j.core.parallelism.ExecutorConfig;
+import kr.debop4j.core.parallelism.ExecutorRegistry;
+import kr.debop4j.core.parallelism.RejectionPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.cache.BatchingAsyncCacheRepositoryTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class BatchingAsyncCacheRepositoryTest {
+
+    /** 원격 저장소를 흉내내어, 일괄 조회 횟수를 세고 첫번째 조회를 잠시 붙잡아 둡니다. */
+    private static class SlowRemoteRepository extends ConcurrentHashMapCacheRepository {
+
+        final AtomicInteger getAllCount = new AtomicInteger();
+        final CountDownLatch firstCallStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        SlowRemoteRepository() {
+            super(0);
+        }
+
+        @Override
+        public Map<String, Object> getAll(Iterable<String> keys) {
+            if (getAllCount.incrementAndGet() == 1) {
+                firstCallStarted.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {}
+            }
+            return super.getAll(keys);
+        }
+    }
+
+    @Test
+    public void coalesceConcurrentGets() throws Exception {
+        SlowRemoteRepository remote = new SlowRemoteRepository();
+        Map<String, Object> items = Maps.newHashMap();
+        for (int i = 0; i < 100; i++)
+            items.put("key-" + i, i);
+        remote.setAll(items, 0);
+
+        BatchingAsyncCacheRepository repository = new BatchingAsyncCacheRepository(remote);
+
+        List<ListenableFuture<Object>> futures = Lists.newArrayList();
+        futures.add(repository.getAsync("key-0"));
+        assertTrue(remote.firstCallStarted.await(5, TimeUnit.SECONDS));
+
+        // 첫 번째 조회가 진행되는 동안 들어온 요청들은 한 번에 조회됩니다.
+        for (int i = 1; i < 100; i++)
+            futures.add(repository.getAsync("key-" + i));
+        futures.add(repository.getAsync("missing"));
+        remote.release.countDown();
+
+        List<Object> values = Futures.allAsList(futures).get(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, values.get(i));
+        assertNull(values.get(100));
+
+        assertEquals(2, remote.getAllCount.get());
+        assertEquals(2, repository.getBatchCount());
+    }
+
+    @Test
+    public void failPendingGetsWhenExecutorRejects() throws Exception {
+        ExecutorConfig config = new ExecutorConfig(BatchingAsyncCacheRepository.EXECUTOR_NAME);
+        config.setCorePoolSize(1);
+        config.setMaxPoolSize(1);
+        config.setQueueCapacity(1);
+        config.setRejectionPolicy(RejectionPolicy.BLOCK);
+        config.setBlockTimeoutMillis(100);
+        ExecutorRegistry.register(config);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {}
+            }
+        };
+        try {
+            BatchingAsyncCacheRepository repository = new BatchingAsyncCacheRepository(new ConcurrentHashMapCacheRepository(0));
+            repository.setAsync("a", "A", 0).get();
+
+            // 실행 중인 작업과 대기열을 모두 채웁니다.
+            AsyncTool.startNew(BatchingAsyncCacheRepository.EXECUTOR_NAME, blocker, null);
+            AsyncTool.startNew(BatchingAsyncCacheRepository.EXECUTOR_NAME, blocker, null);
+
+            try {
+                repository.getAsync("a").get(5, TimeUnit.SECONDS);
+                fail("Executor 가 거부한 조회 요청은 예외로 완료되어야 합니다.");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+
+            // 거부된 후에도 다음 요청은 정상적으로 처리되어야 합니다.
+            release.countDown();
+            assertEquals("A", repository.getAsync("a").get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            ExecutorRegistry.register(new ExecutorConfig(BatchingAsyncCacheRepository.EXECUTOR_NAME));
+        }
+    }
+
+    @Test
+    public void bulkOperations() throws Exception {
+        BatchingAsyncCacheRepository repository = new BatchingAsyncCacheRepository(new ConcurrentHashMapCacheRepository(0));
+
+        Map<String, Object> items = Maps.newHashMap();
+        items.put("a", "A");
+        items.put("b", "B");
+        repository.setAllAsync(items, 0).get();
+
+        Map<String, Object> values = repository.getsAsync("a", "b", "c").get();
+        assertEquals(2, values.size());
+        assertEquals("A", values.get("a"));
+
+        repository.removeAllAsync("a", "b").get();
+        assertTrue(repository.getsAsync("a", "b").get().isEmpty());
+    }
+}
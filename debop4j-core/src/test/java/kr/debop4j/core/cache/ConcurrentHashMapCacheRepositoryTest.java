@@ -0,0 +1,232 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.cache.ConcurrentHashMapCacheRepositoryTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class ConcurrentHashMapCacheRepositoryTest {
+
+    private static class FakeTicker extends Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(long time, TimeUnit unit) {
+            nanos.addAndGet(unit.toNanos(time));
+        }
+    }
+
+    @Test
+    public void honorValidFor() {
+        FakeTicker ticker = new FakeTicker();
+        ConcurrentHashMapCacheRepository repository =
+                new ConcurrentHashMapCacheRepository(0, 0, new SerializedSizeWeigher(), ticker);
+
+        repository.set("short", "value", 1);
+        repository.set("long", "value", 10);
+        repository.set("forever", "value", 0);
+
+        ticker.advance(2, TimeUnit.MINUTES);
+
+        assertNull(repository.get("short"));
+        assertFalse(repository.exists("short"));
+        assertEquals("value", repository.get("long"));
+        assertEquals("value", repository.get("forever"));
+
+        ticker.advance(1, TimeUnit.DAYS);
+        repository.set("other", "value", 0);
+
+        // 일정 주기마다 set 시에 만료된 항목을 제거합니다.
+        assertEquals(2, repository.size());
+        assertFalse(repository.getCache().containsKey("long"));
+    }
+
+    @Test
+    public void evictByWeight() {
+        ConcurrentHashMapCacheRepository repository =
+                new ConcurrentHashMapCacheRepository(0, 1000, new Weigher<String, Object>() {
+                    @Override
+                    public int weigh(String key, Object value) {
+                        return ((byte[]) value).length;
+                    }
+                });
+
+        for (int i = 0; i < 100; i++)
+            repository.set("key-" + i, new byte[100], 0);
+
+        assertTrue(repository.size() <= 10);
+        assertTrue(repository.getStats().evictionCount() >= 90);
+    }
+
+    @Test
+    public void serializedSizeWeigher() {
+        assertEquals(100, SerializedSizeWeigher.sizeOf(new byte[100]));
+        assertEquals(8, SerializedSizeWeigher.sizeOf("abcd"));
+        assertTrue(SerializedSizeWeigher.sizeOf(new java.util.Date()) > 0);
+        assertEquals(SerializedSizeWeigher.DEFAULT_WEIGHT, SerializedSizeWeigher.sizeOf(new Object()));
+    }
+
+    @Test
+    public void clearRemovesAll() {
+        ConcurrentHashMapCacheRepository repository = new ConcurrentHashMapCacheRepository(10);
+        for (int i = 0; i < 10; i++)
+            repository.set("key-" + i, i, 0);
+        assertEquals(10, repository.size());
+
+        repository.clear();
+
+        assertEquals(0, repository.size());
+        assertNull(repository.get("key-0"));
+    }
+
+    @Test
+    public void getAllAndSetAll() throws Exception {
+        FakeTicker ticker = new FakeTicker();
+        ConcurrentHashMapCacheRepository repository =
+                new ConcurrentHashMapCacheRepository(0, 0, new SerializedSizeWeigher(), ticker);
+
+        Map<String, Object> items = Maps.newLinkedHashMap();
+        items.put("a", "A");
+        items.put("b", "B");
+        repository.setAll(items, 1);
+        repository.set("c", "C", 0);
+
+        Map<String, Object> values = repository.getsAsync("a", "b", "c", "d").get();
+        assertEquals(3, values.size());
+        assertEquals("A", values.get("a"));
+
+        ticker.advance(2, TimeUnit.MINUTES);
+        values = repository.getAll(Arrays.asList("a", "b", "c"));
+        assertEquals(1, values.size());
+        assertEquals("C", values.get("c"));
+    }
+
+    @Test
+    public void getOrLoadRunsOneLoaderPerKey() throws Exception {
+        final ConcurrentHashMapCacheRepository repository = new ConcurrentHashMapCacheRepository(0);
+        final AtomicInteger loadCount = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final Callable<Object> loader = new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                loadCount.incrementAndGet();
+                Thread.sleep(100);
+                return "loaded";
+            }
+        };
+
+        List<Future<Object>> results = Lists.newArrayList();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        start.await();
+                        return repository.getOrLoad("cold", loader, 1);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Object> result : results)
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void refreshAheadAndServeStale() throws Exception {
+        FakeTicker ticker = new FakeTicker();
+        ConcurrentHashMapCacheRepository repository =
+                new ConcurrentHashMapCacheRepository(0, 0, new SerializedSizeWeigher(), ticker);
+        repository.setRefreshAheadRatio(0.5);
+        repository.setMaxStale(10, TimeUnit.MINUTES);
+
+        final AtomicInteger version = new AtomicInteger();
+        final Callable<Object> loader = new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return "v" + version.incrementAndGet();
+            }
+        };
+
+        assertEquals("v1", repository.getOrLoad("key", loader, 10));
+
+        // 유효기간의 절반이 지나면 현재 값을 반환하고 비동기로 다시 load 합니다.
+        ticker.advance(6, TimeUnit.MINUTES);
+        assertEquals("v1", repository.getOrLoad("key", loader, 10));
+        waitFor(repository, "key", "v2");
+
+        // 만료되었지만 maxStale 이내이면 이전 값을 반환하고 다시 load 합니다.
+        ticker.advance(15, TimeUnit.MINUTES);
+        assertNull(repository.get("key"));
+        assertEquals("v2", repository.getOrLoad("key", loader, 10));
+        waitFor(repository, "key", "v3");
+
+        // maxStale 도 지나면 동기로 load 합니다.
+        ticker.advance(1, TimeUnit.HOURS);
+        assertEquals("v4", repository.getOrLoad("key", loader, 10));
+    }
+
+    private static void waitFor(ConcurrentHashMapCacheRepository repository, String key, Object expected) throws Exception {
+        for (int i = 0; i < 100 && !expected.equals(repository.getCache().get(key)); i++)
+            Thread.sleep(10);
+        assertEquals(expected, repository.getCache().get(key));
+    }
+
+    @Test
+    public void hitAndMissStats() {
+        ConcurrentHashMapCacheRepository repository = new ConcurrentHashMapCacheRepository(10);
+        repository.set("a", "A", 0);
+
+        repository.get("a");
+        repository.get("a");
+        repository.get("b");
+
+        CacheStats stats = repository.getStats();
+        log.debug("stats=[{}]", stats);
+        assertEquals(2, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.cache.HashMapCacheRepositoryTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class HashMapCacheRepositoryTest {
+
+    @Test
+    public void setAllRemovesNullValues() {
+        HashMapCacheRepository repository = new HashMapCacheRepository(0);
+        repository.set("b", "old", 0);
+
+        Map<String, Object> items = new HashMap<String, Object>();
+        items.put("a", "A");
+        items.put("b", null);
+        repository.setAll(items, 10);
+
+        assertEquals("A", repository.get("a"));
+        assertNull(repository.get("b"));
+
+        repository.set("a", null, 0);
+        assertNull(repository.get("a"));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.cache.NearCacheRepositoryTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class NearCacheRepositoryTest {
+
+    /** 원격 저장소를 흉내내어 조회 횟수를 셉니다. */
+    private static class CountingRemoteRepository extends ConcurrentHashMapCacheRepository {
+        final AtomicInteger getCount = new AtomicInteger();
+
+        CountingRemoteRepository() {
+            super(0);
+        }
+
+        @Override
+        public Object get(String key) {
+            getCount.incrementAndGet();
+            return super.get(key);
+        }
+
+        @Override
+        public Map<String, Object> getAll(Iterable<String> keys) {
+            getCount.incrementAndGet();
+            return super.getAll(keys);
+        }
+    }
+
+    private CountingRemoteRepository remote;
+    private NearCacheRepository repository;
+
+    @Before
+    public void before() {
+        remote = new CountingRemoteRepository();
+        repository = new NearCacheRepository(remote, 10, TimeUnit.MINUTES, 1024 * 1024);
+    }
+
+    @Test
+    public void hotKeysAreServedLocally() throws Exception {
+        remote.set("hot", "value", 0);
+
+        for (int i = 0; i < 10; i++)
+            assertEquals("value", repository.get("hot"));
+
+        assertEquals(1, remote.getCount.get());
+        assertEquals(9, repository.getLocalStats().hitCount());
+        assertEquals(1, repository.getRemoteStats().hitCount());
+        assertEquals(10, repository.getStats().hitCount());
+
+        assertNull(repository.get("cold"));
+        assertEquals(1, repository.getStats().missCount());
+    }
+
+    @Test
+    public void localCopyFollowsRemoteValidForWithoutLocalTtl() throws Exception {
+        final AtomicLong nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        ConcurrentHashMapCacheRepository local =
+                new ConcurrentHashMapCacheRepository(0, 0, new SerializedSizeWeigher(), ticker);
+        NearCacheRepository near = new NearCacheRepository(remote, local, 0, TimeUnit.MINUTES);
+
+        near.set("a", "A", 5);
+        near.setAll(ImmutableMap.of("b", "B"), 5);
+        near.set("forever", "value", 0);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        assertNull(local.get("a"));
+        assertNull(local.get("b"));
+        assertEquals("value", local.get("forever"));
+    }
+
+    @Test
+    public void getAllFetchesOnlyLocalMisses() throws Exception {
+        repository.set("a", "A", 0);
+        remote.set("b", "B", 0);
+
+        Map<String, Object> values = repository.getAll(Arrays.asList("a", "b", "c"));
+        assertEquals(2, values.size());
+        assertEquals(1, remote.getCount.get());
+
+        // b 는 로컬로 들어왔으므로 다시 조회하지 않습니다.
+        repository.getAll(Arrays.asList("a", "b"));
+        assertEquals(1, remote.getCount.get());
+    }
+
+    @Test
+    public void writesGoThroughAndPublishInvalidations() throws Exception {
+        final List<String> published = Lists.newArrayList();
+        repository.setInvalidationPublisher(new ICacheInvalidationPublisher() {
+            @Override
+            public void publish(Iterable<String> keys) {
+                Iterables.addAll(published, keys);
+            }
+
+            @Override
+            public void publishClear() {
+                published.add("*");
+            }
+        });
+
+        Map<String, Object> items = Maps.newHashMap();
+        items.put("a", "A");
+        repository.setAll(items, 0);
+        repository.remove("a");
+        repository.clear();
+
+        assertEquals(Arrays.asList("a", "a", "*"), published);
+        assertFalse(remote.exists("a"));
+    }
+
+    @Test
+    public void invalidateLocalReloadsFromRemote() throws Exception {
+        repository.set("a", "A", 0);
+
+        // 다른 노드에서 원격 캐시를 변경하고 무효화 메시지를 보낸 경우
+        remote.set("a", "B", 0);
+        assertEquals("A", repository.get("a"));
+
+        repository.invalidateLocal(Arrays.asList("a"));
+        assertEquals("B", repository.get("a"));
+    }
+}
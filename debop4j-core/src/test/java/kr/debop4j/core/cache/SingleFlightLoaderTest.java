@@ -0,0 +1,98 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.cache;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.cache.SingleFlightLoaderTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class SingleFlightLoaderTest {
+
+    private final SingleFlightLoader singleFlightLoader = new SingleFlightLoader();
+
+    @Test
+    public void callerAfterCompletionSharesResult() throws Exception {
+        final AtomicInteger loadCount = new AtomicInteger();
+        final CountDownLatch listenerAdded = new CountDownLatch(1);
+        final Callable<Object> loader = new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                // listener 를 등록하기 전에 load 가 끝나지 않도록 기다립니다.
+                listenerAdded.await(5, TimeUnit.SECONDS);
+                return "v" + loadCount.incrementAndGet();
+            }
+        };
+
+        final ListenableFuture<Object> future = singleFlightLoader.loadAsync("key", loader, "singleFlightTest");
+        final AtomicReference<Object> joined = new AtomicReference<Object>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // 결과가 설정된 직후 (목록에서 제거되기 전) 에 들어온 요청은 다시 load 하지 않고 같은 결과를 받습니다.
+        future.addListener(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    joined.set(singleFlightLoader.load("key", loader));
+                } catch (Exception e) {
+                    joined.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        listenerAdded.countDown();
+
+        assertEquals("v1", future.get(5, TimeUnit.SECONDS));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("v1", joined.get());
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void reentrantLoadFailsInsteadOfBlocking() throws Exception {
+        final Callable<Object> loader = new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return singleFlightLoader.load("key", this);
+            }
+        };
+
+        try {
+            singleFlightLoader.load("key", loader);
+            fail("IllegalStateException 이 발생해야 합니다.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertFalse(singleFlightLoader.isLoading("key"));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.core.collection;
+
+import kr.debop4j.core.Action1;
+import kr.debop4j.core.IntAction;
+import kr.debop4j.core.parallelism.Parallels;
+import kr.debop4j.core.reflect.benchmark.Benchmark;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * {@link NumberRange.IntRange} 를 boxing 하는 {@link Iterable} 로 열거할 때와, primitive cursor / forEach 로 열거할 때를 비교합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class NumberRangeBenchmark extends Benchmark {
+
+    private static final int COUNT = 20000000;
+    private static final int ROUNDS = 10;
+
+    private final long[] sink = new long[1024];
+
+    @Test
+    public void benchmarkSequential() {
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            if (round == ROUNDS) warmup = false;
+
+            NumberRange.IntRange range = NumberRange.range(COUNT);
+
+            start();
+            long sum = 0;
+            for (Integer x : range)
+                sum += x;
+            sink[0] = sum;
+            end("Iterable<Integer> (boxing)");
+
+            start();
+            sum = 0;
+            NumberRange.IntCursor cursor = range.cursor();
+            while (cursor.hasNext())
+                sum += cursor.nextInt();
+            sink[1] = sum;
+            end("IntCursor.nextInt()");
+
+            start();
+            range.forEach(new IntAction() {
+                @Override
+                public void perform(int x) {
+                    sink[x & 1023] += x;
+                }
+            });
+            end("IntRange.forEach(IntAction)");
+        }
+        report();
+    }
+
+    @Test
+    public void benchmarkParallel() {
+        final Action1<Integer> boxed = new Action1<Integer>() {
+            @Override
+            public void perform(Integer x) {
+                sink[x & 1023] = x;
+            }
+        };
+        final IntAction primitive = new IntAction() {
+            @Override
+            public void perform(int x) {
+                sink[x & 1023] = x;
+            }
+        };
+
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            if (round == ROUNDS) warmup = false;
+
+            start();
+            Parallels.run(COUNT, boxed);
+            end("Parallels.run(Action1<Integer>)");
+
+            start();
+            Parallels.forEach(COUNT, primitive);
+            end("Parallels.forEach(IntAction)");
+        }
+        report();
+    }
+
+    private void report() {
+        for (Map.Entry<String, Long> entry : runTimes.entrySet())
+            log.info("[{}] count=[{}], best=[{}] ms", entry.getKey(), COUNT, entry.getValue() / 1000000f);
+        runTimes.clear();
+        warmup = true;
+    }
+}
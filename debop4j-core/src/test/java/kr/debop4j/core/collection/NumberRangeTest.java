@@ -1,13 +1,16 @@
 package kr.debop4j.core.collection;
 
 import com.google.common.collect.Lists;
+import kr.debop4j.core.IntAction;
+import kr.debop4j.core.LongAction;
 import kr.debop4j.core.tools.StringTool;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 
+import java.util.Iterator;
 import java.util.List;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /**
  * kr.debop4j.core.collection.NumberRangeTest
@@ -112,4 +115,70 @@ public class NumberRangeTest {
             assertEquals(expected[3], intRange.size());
         }
     }
+
+    @Test
+    public void iteratorIsIndependent() {
+        NumberRange.IntRange range = NumberRange.range(0, 10, 3);
+
+        Iterator<Integer> first = range.iterator();
+        Iterator<Integer> second = range.iterator();
+        assertEquals(Integer.valueOf(0), first.next());
+        assertEquals(Integer.valueOf(3), first.next());
+        assertEquals(Integer.valueOf(0), second.next());
+
+        assertEquals(Lists.newArrayList(0, 3, 6, 9), Lists.newArrayList(range.iterator()));
+        assertEquals(Lists.newArrayList(0, 3, 6, 9), Lists.newArrayList(range.iterator()));
+    }
+
+    @Test
+    public void primitiveCursorAndForEach() {
+        NumberRange.IntRange range = NumberRange.range(10, 0);
+
+        NumberRange.IntCursor cursor = range.cursor();
+        int expected = 10;
+        while (cursor.hasNext())
+            assertEquals(expected--, cursor.nextInt());
+        assertEquals(0, expected);
+
+        final int[] sum = new int[1];
+        range.forEach(new IntAction() {
+            @Override
+            public void perform(int arg) {
+                sum[0] += arg;
+            }
+        });
+        assertEquals(55, sum[0]);
+
+        final long[] longSum = new long[1];
+        NumberRange.range(0L, 100L, 10L).forEach(new LongAction() {
+            @Override
+            public void perform(long arg) {
+                longSum[0] += arg;
+            }
+        });
+        assertEquals(450L, longSum[0]);
+        assertEquals(10L, NumberRange.range(0L, 100L, 10L).size());
+    }
+
+    @Test
+    public void trySplit() {
+        NumberRange.IntRange range = NumberRange.range(0, 11, 2);
+        assertEquals(6, range.size());
+
+        NumberRange.IntRange prefix = range.trySplit();
+        assertEquals(Lists.newArrayList(0, 2, 4), Lists.newArrayList(prefix.iterator()));
+        assertEquals(Lists.newArrayList(6, 8, 10), Lists.newArrayList(range.iterator()));
+
+        NumberRange.IntRange chunk = range.split(5);
+        assertEquals(Lists.newArrayList(6, 8, 10), Lists.newArrayList(chunk.iterator()));
+        assertEquals(0, range.size());
+        assertNull(range.trySplit());
+
+        NumberRange.LongRange longRange = NumberRange.range(10L, 0L);
+        NumberRange.LongRange longPrefix = longRange.trySplit();
+        assertEquals(5L, longPrefix.size());
+        assertEquals(10L, longPrefix.getFromInclude());
+        assertEquals(5L, longRange.getFromInclude());
+        assertEquals(5L, longRange.size());
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.compress;
+
+import kr.debop4j.core.io.BinarySerializer;
+import kr.debop4j.core.reflect.benchmark.Benchmark;
+import kr.debop4j.core.tools.StringTool;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@link CompressTool} 에 등록된 모든 Compressor 의 압축/복원 속도 (MB/s) 와 압축률을 JSON, 바이너리 데이터에 대해 측정합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class CompressorBenchmark extends Benchmark {
+
+    private static final int PAYLOAD_SIZE = 256 * 1024;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    private final Random random = new Random(2013L);
+
+    @Test
+    public void benchmarkJson() {
+        run("JSON", createJsonPayload());
+    }
+
+    @Test
+    public void benchmarkBinary() {
+        run("Binary", createBinaryPayload());
+    }
+
+    private void run(String payloadName, byte[] payload) {
+        for (ICompressor compressor : CompressTool.getCompressors()) {
+            byte[] compressed = null;
+            long compressNanos = Long.MAX_VALUE;
+            long decompressNanos = Long.MAX_VALUE;
+
+            for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+                long start = System.nanoTime();
+                compressed = compressor.compress(payload);
+                long middle = System.nanoTime();
+                byte[] restored = compressor.decompress(compressed);
+                long end = System.nanoTime();
+
+                if (i == 0)
+                    Assert.assertArrayEquals(compressor.toString(), payload, restored);
+                if (i >= WARMUP_ROUNDS) {
+                    compressNanos = Math.min(compressNanos, middle - start);
+                    decompressNanos = Math.min(decompressNanos, end - middle);
+                }
+            }
+
+            log.info(String.format("[%s] %-8s ratio=%6.2f%%, compress=%8.2f MB/s, decompress=%8.2f MB/s",
+                                   payloadName,
+                                   compressor.getAlgorithm(),
+                                   compressed.length * 100.0 / payload.length,
+                                   megaBytesPerSecond(payload.length, compressNanos),
+                                   megaBytesPerSecond(payload.length, decompressNanos)));
+        }
+    }
+
+    private static double megaBytesPerSecond(int bytes, long nanos) {
+        return (bytes / (1024.0 * 1024.0)) / (nanos / 1_000_000_000.0);
+    }
+
+    /** API 응답과 비슷한 형태의 JSON 배열을 만듭니다. */
+    private byte[] createJsonPayload() {
+        StringBuilder builder = new StringBuilder(PAYLOAD_SIZE + 1024).append('[');
+        for (int i = 0; builder.length() < PAYLOAD_SIZE; i++) {
+            if (i > 0) builder.append(',');
+            builder.append("{\"id\":").append(i)
+                   .append(",\"name\":\"user-").append(random.nextInt(100000)).append('"')
+                   .append(",\"email\":\"user").append(i).append("@debop4j.kr\"")
+                   .append(",\"score\":").append(random.nextDouble() * 100)
+                   .append(",\"active\":").append(random.nextBoolean())
+                   .append(",\"tags\":[\"tag").append(random.nextInt(10)).append("\",\"tag").append(random.nextInt(10)).append("\"]")
+                   .append(",\"createdAt\":").append(1373846400000L + random.nextInt(1000000000))
+                   .append('}');
+        }
+        return StringTool.getUtf8Bytes(builder.append(']').toString());
+    }
+
+    /** 측정값 (double), 시각 (long), 일부 문자열로 구성된 객체를 Java 직렬화한 바이너리를 만듭니다. */
+    private byte[] createBinaryPayload() {
+        int count = PAYLOAD_SIZE / 24;
+        double[] measures = new double[count];
+        long[] timestamps = new long[count];
+        long time = 1373846400000L;
+        for (int i = 0; i < count; i++) {
+            measures[i] = random.nextGaussian() * 10 + 50;
+            time += random.nextInt(1000);
+            timestamps[i] = time;
+        }
+        List<Object> graph = new ArrayList<Object>();
+        graph.add(measures);
+        graph.add(timestamps);
+        for (int i = 0; i < 100; i++)
+            graph.add(new Date(timestamps[i]));
+
+        return new BinarySerializer().serialize(graph);
+    }
+}
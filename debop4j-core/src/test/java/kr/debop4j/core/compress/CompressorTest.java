@@ -16,9 +16,15 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Random;
+import java.util.zip.GZIPInputStream;
 
 /**
  * {@link ICompressor} TestCase
@@ -78,6 +84,99 @@ public class CompressorTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void compressStream() {
+        byte[] plainBytes = StringTool.getUtf8Bytes(plainText);
+
+        for (ICompressor compressor : compressors) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            long compressedSize = compressor.compress(new ByteArrayInputStream(plainBytes), compressed);
+            Assert.assertEquals(compressed.size(), compressedSize);
+            Assert.assertArrayEquals(compressor.toString(), compressor.compress(plainBytes), compressed.toByteArray());
+
+            ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+            long plainSize = compressor.decompress(new ByteArrayInputStream(compressed.toByteArray()), decompressed);
+            Assert.assertEquals(plainBytes.length, plainSize);
+            Assert.assertArrayEquals(compressor.toString(), plainBytes, decompressed.toByteArray());
+        }
+    }
+
+    @Test
+    public void compressByteBuffer() {
+        byte[] plainBytes = StringTool.getUtf8Bytes(plainText);
+
+        for (ICompressor compressor : compressors) {
+            for (boolean direct : new boolean[] { false, true }) {
+                ByteBuffer src = direct ? ByteBuffer.allocateDirect(plainBytes.length) : ByteBuffer.allocate(plainBytes.length);
+                src.put(plainBytes).flip();
+
+                ByteBuffer compressed = ByteBuffer.allocate(plainBytes.length + 1024);
+                int compressedSize = compressor.compress(src, compressed);
+                Assert.assertFalse(src.hasRemaining());
+                Assert.assertEquals(compressedSize, compressed.position());
+                compressed.flip();
+
+                ByteBuffer plain = direct ? ByteBuffer.allocateDirect(plainBytes.length) : ByteBuffer.allocate(plainBytes.length);
+                int plainSize = compressor.decompress(compressed, plain);
+                Assert.assertEquals(plainBytes.length, plainSize);
+
+                byte[] result = new byte[plainSize];
+                plain.flip();
+                plain.get(result);
+                Assert.assertArrayEquals(compressor.toString(), plainBytes, result);
+            }
+        }
+    }
+
+    @Test
+    public void compressByteBufferOverflow() {
+        byte[] plainBytes = StringTool.getUtf8Bytes(plainText);
+
+        for (ICompressor compressor : compressors) {
+            try {
+                compressor.compress(ByteBuffer.wrap(plainBytes), ByteBuffer.allocate(4));
+                Assert.fail("BufferOverflowException 이 발생해야 합니다. compressor=" + compressor);
+            } catch (BufferOverflowException expected) {
+                // OK
+            }
+        }
+    }
+
+    /** Pool 에서 재사용한 Deflater 로 반복 압축해도 결과가 같아야 합니다. */
+    @Test
+    public void reusePooledDeflater() {
+        byte[] plainBytes = StringTool.getUtf8Bytes(plainText);
+
+        for (ICompressor compressor : new ICompressor[] { new DeflateCompressor(), new GZipCompressor() }) {
+            byte[] first = compressor.compress(plainBytes);
+            for (int i = 0; i < 10; i++) {
+                byte[] compressed = compressor.compress(plainBytes);
+                Assert.assertTrue(Arrays.equals(first, compressed));
+                Assert.assertArrayEquals(plainBytes, compressor.decompress(compressed));
+            }
+        }
+    }
+
+    /** GZipCompressor 는 헤더를 직접 쓰므로, JDK 의 GZIPInputStream 과 호환되는지 확인합니다. */
+    @Test
+    public void gzipCompatibleWithJdk() throws Exception {
+        byte[] plainBytes = StringTool.getUtf8Bytes(plainText);
+        byte[] compressed = new GZipCompressor().compress(plainBytes);
+
+        GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed));
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            byte[] buff = new byte[ICompressor.BUFFER_SIZE];
+            int n;
+            while ((n = gzip.read(buff)) > 0) {
+                bos.write(buff, 0, n);
+            }
+            Assert.assertArrayEquals(plainBytes, bos.toByteArray());
+        } finally {
+            gzip.close();
+        }
+    }
+
     private static void compressAndDecompress(ICompressor compressor) {
 
         if (log.isDebugEnabled())
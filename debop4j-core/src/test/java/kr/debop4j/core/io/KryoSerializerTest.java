@@ -0,0 +1,141 @@
+package kr.debop4j.core.io;
+
+import kr.debop4j.core.AbstractTest;
+import kr.debop4j.core.YearWeek;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * TestCase for {@link KryoSerializer}
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class KryoSerializerTest extends AbstractTest {
+
+    @Test
+    public void serializeAndDeserialize() throws Exception {
+        KryoSerializer serializer = new KryoSerializer();
+
+        YearWeek yearWeek = new YearWeek(2000, 1);
+        YearWeek copied = serializer.deserialize(serializer.serialize(yearWeek), YearWeek.class);
+
+        assertNotNull(copied);
+        assertEquals(yearWeek, copied);
+
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(new byte[0], YearWeek.class));
+    }
+
+    @Test
+    public void deepReferenceSerialize() throws Exception {
+        KryoSerializer serializer = new KryoSerializer();
+        Company company = createCompany();
+
+        Company copied = serializer.deserialize(serializer.serialize(company), Company.class);
+
+        assertNotNull(copied);
+        assertEquals(100, copied.getUsers().size());
+        assertEquals(company, copied);
+
+        int length = company.getUsers().size();
+        for (int i = 0; i < length; i++)
+            assertEquals(company.getUsers().get(i), copied.getUsers().get(i));
+    }
+
+    @Test
+    public void registeredClassIsSmaller() throws Exception {
+        Company company = createCompany();
+
+        byte[] unregistered = new KryoSerializer().serialize(company);
+        KryoSerializer serializer = new KryoSerializer().register(Company.class, 100).register(User.class, 101);
+        byte[] registered = serializer.serialize(company);
+
+        log.debug("unregistered=[{}], registered=[{}], java=[{}]",
+                  unregistered.length, registered.length, new BinarySerializer().serialize(company).length);
+
+        assertTrue(registered.length < unregistered.length);
+        assertEquals(company, serializer.deserialize(registered, Company.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedClassId() throws Exception {
+        new KryoSerializer().register(Company.class, 100).register(User.class, 100);
+    }
+
+    /** compatible 모드에서는 필드가 추가된 클래스로도 이전 데이터를 읽을 수 있어야 합니다. */
+    @Test
+    public void schemaEvolution() throws Exception {
+        KryoSerializer writer = new KryoSerializer(true).register(ProfileV1.class, 200);
+        KryoSerializer reader = new KryoSerializer(true).register(ProfileV2.class, 200);
+
+        ProfileV1 v1 = new ProfileV1();
+        v1.setName("debop");
+        v1.setAge(45);
+
+        ProfileV2 v2 = reader.deserialize(writer.serialize(v1), ProfileV2.class);
+        assertEquals("debop", v2.getName());
+        assertEquals(45, v2.getAge());
+        assertNull(v2.getEmail());
+
+        v2.setEmail("sunghyouk.bae@gmail.com");
+        ProfileV1 back = writer.deserialize(reader.serialize(v2), ProfileV1.class);
+        assertEquals("debop", back.getName());
+        assertEquals(45, back.getAge());
+    }
+
+    @Test
+    public void withoutDefaultConstructor() throws Exception {
+        KryoSerializer serializer = new KryoSerializer();
+
+        NoDefaultConstructor copied = serializer.deserialize(serializer.serialize(new NoDefaultConstructor("abc")),
+                                                             NoDefaultConstructor.class);
+        assertEquals("abc", copied.getValue());
+    }
+
+    private static Company createCompany() {
+        Company company = new Company();
+        company.setCode("KTH");
+        company.setName("KT Hitel");
+        company.setAmount(10000L);
+        company.setDescription("한국통신 하이텔");
+
+        for (int i = 0; i < 100; i++) {
+            User user = new User();
+            user.setName("USER_" + i);
+            user.setEmployeeNumber("EMPNO_" + i);
+            user.setAddress("ADDR_" + i);
+            company.getUsers().add(user);
+        }
+        return company;
+    }
+
+    @Getter
+    @Setter
+    public static class ProfileV1 {
+        private String name;
+        private int age;
+    }
+
+    @Getter
+    @Setter
+    public static class ProfileV2 {
+        private String name;
+        private int age;
+        private String email;
+    }
+
+    @Getter
+    public static class NoDefaultConstructor {
+        private final String value;
+
+        public NoDefaultConstructor(String value) {
+            this.value = value;
+        }
+    }
+}
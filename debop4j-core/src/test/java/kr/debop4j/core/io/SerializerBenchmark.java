@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.io;
+
+import com.google.common.collect.Maps;
+import kr.debop4j.core.ISerializer;
+import kr.debop4j.core.json.FastJsonSerializer;
+import kr.debop4j.core.json.GsonSerializer;
+import kr.debop4j.core.json.JacksonSerializer;
+import kr.debop4j.core.reflect.benchmark.Benchmark;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * {@link KryoSerializer} 와 기존 serializer 들의 직렬화 크기와 ns/op 를 비교합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class SerializerBenchmark extends Benchmark {
+
+    private static final int WARMUP_ROUNDS = 2000;
+    private static final int ROUNDS = 5000;
+
+    @Test
+    public void benchmarkSerializers() {
+        Map<String, ISerializer> serializers = Maps.newLinkedHashMap();
+        serializers.put("Binary", new BinarySerializer());
+        serializers.put("Jackson", new JacksonSerializer());
+        serializers.put("Gson", new GsonSerializer());
+        serializers.put("FastJson", new FastJsonSerializer());
+        serializers.put("Kryo", new KryoSerializer());
+        serializers.put("Kryo(registered)", new KryoSerializer().register(Company.class, 100).register(User.class, 101));
+        serializers.put("Kryo(compatible)", new KryoSerializer(true).register(Company.class, 100).register(User.class, 101));
+
+        Company company = createCompany();
+
+        for (Map.Entry<String, ISerializer> entry : serializers.entrySet()) {
+            ISerializer serializer = entry.getValue();
+            byte[] bytes = serializer.serialize(company);
+            Company copied = serializer.deserialize(bytes, Company.class);
+            Assert.assertEquals(entry.getKey(), company.getUsers().size(), copied.getUsers().size());
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++)
+                serializer.deserialize(serializer.serialize(company), Company.class);
+
+            long serializeNanos = 0;
+            long deserializeNanos = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                bytes = serializer.serialize(company);
+                long middle = System.nanoTime();
+                serializer.deserialize(bytes, Company.class);
+                serializeNanos += middle - start;
+                deserializeNanos += System.nanoTime() - middle;
+            }
+
+            log.info(String.format("%-18s size=%6d bytes, serialize=%9d ns/op, deserialize=%9d ns/op",
+                                   entry.getKey(), bytes.length, serializeNanos / ROUNDS, deserializeNanos / ROUNDS));
+        }
+    }
+
+    private static Company createCompany() {
+        Company company = new Company();
+        company.setCode("KTH");
+        company.setName("KT Hitel");
+        company.setAmount(10000L);
+        company.setDescription("한국통신 하이텔");
+
+        for (int i = 0; i < 20; i++) {
+            User user = new User();
+            user.setName("USER_" + i);
+            user.setEmployeeNumber("EMPNO_" + i);
+            user.setAddress("ADDR_" + i);
+            company.getUsers().add(user);
+        }
+        return company;
+    }
+}
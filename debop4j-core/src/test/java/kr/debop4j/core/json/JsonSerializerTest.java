@@ -6,10 +6,13 @@ import kr.debop4j.core.User;
 import kr.debop4j.core.tools.StringTool;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 /**
  * kr.debop4j.core.json.JsonSerializerTest
@@ -44,4 +47,66 @@ public class JsonSerializerTest extends AbstractTest {
             assertArrayEquals(user.getByteArray(), deserialized.getByteArray());
         }
     }
+
+    @Test
+    public void streamSerializeTest() throws Exception {
+        User user = User.getUser(999);
+
+        for (IJsonSerializer serializer : serializers) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            serializer.serialize(user, out);
+
+            User deserialized = serializer.deserialize(new ByteArrayInputStream(out.toByteArray()), User.class);
+
+            assertEquals(user, deserialized);
+            assertEquals(user.getHomeAddress(), deserialized.getHomeAddress());
+            assertArrayEquals(user.getByteArray(), deserialized.getByteArray());
+        }
+    }
+
+    @Test
+    public void arrayStreamTest() throws Exception {
+        final int count = 100;
+        List<User> users = Lists.newArrayList();
+        for (int i = 0; i < count; i++)
+            users.add(User.getUser(10));
+
+        for (IJsonSerializer serializer : serializers) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(count, serializer.writeArray(users.iterator(), out));
+
+            IJsonArrayReader<User> reader =
+                    serializer.readArray(new ByteArrayInputStream(out.toByteArray()), User.class);
+            try {
+                int index = 0;
+                while (reader.hasNext()) {
+                    User user = reader.next();
+                    assertEquals(users.get(index), user);
+                    assertEquals(users.get(index).getHomeAddress(), user.getHomeAddress());
+                    index++;
+                }
+                assertEquals(count, index);
+                assertEquals(count, reader.getReadCount());
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    @Test
+    public void emptyArrayStreamTest() throws Exception {
+        for (IJsonSerializer serializer : serializers) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(0, serializer.writeArray(Lists.newArrayList().iterator(), out));
+
+            IJsonArrayReader<User> reader =
+                    serializer.readArray(new ByteArrayInputStream(out.toByteArray()), User.class);
+            assertFalse(reader.hasNext());
+            reader.close();
+
+            reader = serializer.readArray(new ByteArrayInputStream(new byte[0]), User.class);
+            assertFalse(reader.hasNext());
+            reader.close();
+        }
+    }
 }
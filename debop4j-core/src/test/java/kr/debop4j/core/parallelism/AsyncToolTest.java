@@ -0,0 +1,180 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.core.parallelism;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import kr.debop4j.core.Function1;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.parallelism.AsyncToolTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class AsyncToolTest {
+
+    private static ListenableFuture<Integer> square(final int x) {
+        return AsyncTool.startNew(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return x * x;
+            }
+        });
+    }
+
+    @Test
+    public void thenApplyAndCompose() throws Exception {
+        ListenableFuture<Integer> result =
+                AsyncTool.thenCompose(square(3), new Function1<Integer, ListenableFuture<Integer>>() {
+                    @Override
+                    public ListenableFuture<Integer> execute(Integer x) {
+                        return square(x);
+                    }
+                });
+        ListenableFuture<String> text =
+                AsyncTool.thenApply(result, new Function1<Integer, String>() {
+                    @Override
+                    public String execute(Integer x) {
+                        return "value=" + x;
+                    }
+                });
+
+        assertEquals("value=81", text.get());
+    }
+
+    /** 선행 작업이 완료되지 않아도 후속 작업을 수천 개 연결할 수 있어야 합니다. (thread 를 점유하지 않음) */
+    @Test
+    public void manyContinuationsDoNotBlockThreads() throws Exception {
+        SettableFuture<Integer> source = SettableFuture.create();
+        List<ListenableFuture<Integer>> chains = Lists.newArrayList();
+
+        for (int i = 0; i < 5000; i++) {
+            final int offset = i;
+            chains.add(AsyncTool.thenApply(source, new Function1<Integer, Integer>() {
+                @Override
+                public Integer execute(Integer x) {
+                    return x + offset;
+                }
+            }));
+        }
+        source.set(1);
+
+        List<Integer> results = AsyncTool.whenAll(chains).get(10, TimeUnit.SECONDS);
+        assertEquals(5000, results.size());
+        assertEquals(5000, results.get(4999).intValue());
+    }
+
+    @Test
+    public void whenAny() throws Exception {
+        SettableFuture<String> never = SettableFuture.create();
+        ListenableFuture<String> done = AsyncTool.getTaskHasResult("first");
+
+        List<ListenableFuture<String>> tasks = Lists.newArrayList(never, done);
+        assertEquals("first", AsyncTool.whenAny(tasks).get());
+    }
+
+    @Test
+    public void whenAnyWithEmptyTasks() throws Exception {
+        List<ListenableFuture<String>> tasks = Lists.newArrayList();
+        try {
+            AsyncTool.whenAny(tasks).get(1, TimeUnit.SECONDS);
+            fail("IllegalArgumentException 이 발생해야 합니다.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void thenApplyWhenExecutorRejects() throws Exception {
+        ExecutorConfig config = new ExecutorConfig(AsyncTool.EXECUTOR_NAME);
+        config.setCorePoolSize(1);
+        config.setMaxPoolSize(1);
+        config.setQueueCapacity(1);
+        config.setRejectionPolicy(RejectionPolicy.REJECT);
+        ExecutorRegistry.register(config);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {}
+            }
+        };
+        try {
+            // 실행 중인 작업과 대기열을 모두 채웁니다.
+            AsyncTool.startNew(AsyncTool.EXECUTOR_NAME, blocker, null);
+            AsyncTool.startNew(AsyncTool.EXECUTOR_NAME, blocker, null);
+
+            SettableFuture<Integer> prev = SettableFuture.create();
+            ListenableFuture<Integer> applied = AsyncTool.thenApply(prev, new Function1<Integer, Integer>() {
+                @Override
+                public Integer execute(Integer input) {
+                    return input * 2;
+                }
+            });
+            ListenableFuture<Integer> composed = AsyncTool.thenCompose(prev, new Function1<Integer, ListenableFuture<Integer>>() {
+                @Override
+                public ListenableFuture<Integer> execute(Integer input) {
+                    return AsyncTool.getTaskHasResult(input + 1);
+                }
+            });
+            prev.set(10);
+
+            assertEquals(20, applied.get(1, TimeUnit.SECONDS).intValue());
+            assertEquals(11, composed.get(1, TimeUnit.SECONDS).intValue());
+        } finally {
+            release.countDown();
+            ExecutorRegistry.register(new ExecutorConfig(AsyncTool.EXECUTOR_NAME));
+        }
+    }
+
+    @Test
+    public void withTimeout() throws Exception {
+        SettableFuture<String> never = SettableFuture.create();
+        ListenableFuture<String> timed = AsyncTool.withTimeout(never, 50, TimeUnit.MILLISECONDS);
+
+        try {
+            timed.get();
+            fail("TimeoutException 이 발생해야 합니다.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        // 원래 작업은 제한 시간 예외를 설정한 직후에 취소됩니다.
+        for (int i = 0; i < 100 && !never.isCancelled(); i++)
+            Thread.sleep(10);
+        assertTrue(never.isCancelled());
+
+        ListenableFuture<String> fast = AsyncTool.withTimeout(AsyncTool.getTaskHasResult("ok"), 1, TimeUnit.SECONDS);
+        assertEquals("ok", fast.get());
+    }
+}
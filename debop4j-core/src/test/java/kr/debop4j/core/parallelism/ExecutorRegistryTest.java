@@ -0,0 +1,191 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.core.parallelism;
+
+import kr.debop4j.core.Executable;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.parallelism.ExecutorRegistryTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class ExecutorRegistryTest {
+
+    private static final String NAME = "ExecutorRegistryTest";
+
+    @After
+    public void after() {
+        ExecutorRegistry.get(NAME).shutdownNow();
+    }
+
+    private static InstrumentedExecutor register(RejectionPolicy policy) {
+        ExecutorConfig config = new ExecutorConfig(NAME);
+        config.setCorePoolSize(1);
+        config.setMaxPoolSize(1);
+        config.setQueueCapacity(1);
+        config.setRejectionPolicy(policy);
+        config.setBlockTimeoutMillis(50);
+        return ExecutorRegistry.register(config);
+    }
+
+    /** 유일한 thread 를 점유하고 대기열을 채웁니다. */
+    private static CountDownLatch saturate(InstrumentedExecutor executor) {
+        final CountDownLatch latch = new CountDownLatch(1);
+        Runnable blocker = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    latch.await();
+                } catch (InterruptedException ignored) {}
+            }
+        };
+        executor.execute(blocker);
+        executor.execute(blocker);
+        return latch;
+    }
+
+    @Test
+    public void getOrCreateByName() {
+        InstrumentedExecutor executor = ExecutorRegistry.get(NAME);
+        assertSame(executor, ExecutorRegistry.get(NAME));
+        assertTrue(ExecutorRegistry.getAll().containsKey(NAME));
+        assertEquals(NAME, executor.getName());
+    }
+
+    @Test
+    public void rejectPolicy() throws Exception {
+        InstrumentedExecutor executor = register(RejectionPolicy.REJECT);
+        CountDownLatch latch = saturate(executor);
+        try {
+            executor.execute(AsyncTool.EMPTY_RUNNABLE);
+            fail("RejectedExecutionException 이 발생해야 합니다.");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(1, executor.getRejectedCount());
+            assertEquals(1, executor.getQueueDepth());
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    @Test
+    public void callerRunsPolicy() throws Exception {
+        InstrumentedExecutor executor = register(RejectionPolicy.CALLER_RUNS);
+        CountDownLatch latch = saturate(executor);
+        try {
+            final AtomicReference<Thread> runner = new AtomicReference<Thread>();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runner.set(Thread.currentThread());
+                }
+            });
+            assertSame(Thread.currentThread(), runner.get());
+            assertEquals(1, executor.getRejectedCount());
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    @Test
+    public void blockPolicyTimesOut() throws Exception {
+        InstrumentedExecutor executor = register(RejectionPolicy.BLOCK);
+        CountDownLatch latch = saturate(executor);
+        try {
+            executor.execute(AsyncTool.EMPTY_RUNNABLE);
+            fail("RejectedExecutionException 이 발생해야 합니다.");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(1, executor.getRejectedCount());
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    @Test
+    public void blockPolicyWaitsForRoom() throws Exception {
+        InstrumentedExecutor executor = register(RejectionPolicy.BLOCK);
+        executor.getConfig().setBlockTimeoutMillis(5000);
+        final CountDownLatch latch = saturate(executor);
+
+        Executors.newSingleThreadScheduledExecutor().schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+
+        Future<?> future = executor.submit(AsyncTool.EMPTY_RUNNABLE);
+        future.get(5, TimeUnit.SECONDS);
+        assertEquals(0, executor.getRejectedCount());
+    }
+
+    @Test
+    public void recordLatencies() throws Exception {
+        InstrumentedExecutor executor = register(RejectionPolicy.CALLER_RUNS);
+        for (int i = 0; i < 10; i++) {
+            executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    Thread.sleep(2);
+                    return 0;
+                }
+            }).get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(10, executor.getExecutionLatency().getCount());
+        assertEquals(10, executor.getQueueLatency().getCount());
+        assertTrue(executor.getExecutionLatency().getPercentileNanos(50) >= TimeUnit.MILLISECONDS.toNanos(1));
+        log.debug("executor=[{}]", executor);
+    }
+
+    @Test
+    public void asyncToolWithNamedExecutor() throws Exception {
+        register(RejectionPolicy.CALLER_RUNS);
+        String threadName = AsyncTool.startNew(NAME, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return Thread.currentThread().getName();
+            }
+        }).get();
+        assertTrue(threadName.startsWith(NAME));
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void timedExecutorTimesOut() throws Exception {
+        new TimedExecutor(50).execute(new Executable() {
+            @Override
+            public void execute() {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException ignored) {}
+            }
+
+            @Override
+            public void timedOut() { }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.core.parallelism;
+
+import com.google.common.collect.Lists;
+import kr.debop4j.core.Action1;
+import kr.debop4j.core.collection.NumberRange;
+import kr.debop4j.core.reflect.benchmark.Benchmark;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 공유 ForkJoinPool 기반의 {@link Parallels} 와 호출마다 고정 크기 Pool 을 생성하는 기존 방식을 비교합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class ParallelsBenchmark extends Benchmark {
+
+    private static final int SMALL = 1000;
+    private static final int LARGE = 10000000;
+
+    private final double[] dontCompileMeAway = new double[1024];
+
+    private final Action1<Integer> action = new Action1<Integer>() {
+        @Override
+        public void perform(Integer x) {
+            dontCompileMeAway[x & 1023] = Math.sqrt(x);
+        }
+    };
+
+    @Test
+    public void benchmarkSmallRange() throws Exception {
+        compare(SMALL, 200);
+    }
+
+    @Test
+    public void benchmarkLargeRange() throws Exception {
+        compare(LARGE, 5);
+    }
+
+    private void compare(int count, int rounds) throws Exception {
+        for (int i = 0; i < rounds; i++) {
+            Parallels.run(count, action);
+            runWithNewPool(count, action);
+        }
+        warmup = false;
+
+        for (int i = 0; i < rounds; i++) {
+            start();
+            Parallels.run(count, action);
+            end("Shared ForkJoinPool, count=" + count);
+        }
+        for (int i = 0; i < rounds; i++) {
+            start();
+            runWithNewPool(count, action);
+            end("Fixed pool per call, count=" + count);
+        }
+    }
+
+    /** 기존 Parallels 구현과 같이 호출마다 고정 크기 Pool 을 생성하여 수행합니다. */
+    private static void runWithNewPool(int count, final Action1<Integer> action) throws Exception {
+        int workerCount = Parallels.getWorkerCount();
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+        try {
+            List<Callable<Void>> tasks = Lists.newLinkedList();
+            for (final NumberRange.IntRange partition : NumberRange.partition(count, workerCount)) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (final int element : partition)
+                            action.perform(element);
+                        return null;
+                    }
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(tasks))
+                result.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -17,9 +17,7 @@
 package kr.debop4j.core.parallelism;
 
 import com.google.common.collect.Lists;
-import kr.debop4j.core.Action1;
-import kr.debop4j.core.AutoStopwatch;
-import kr.debop4j.core.Function1;
+import kr.debop4j.core.*;
 import kr.debop4j.core.collection.NumberRange;
 import lombok.Cleanup;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +26,7 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The type Parallels test.
@@ -228,6 +227,137 @@ public class ParallelsTest {
     }
 
 
+    /** 결과는 입력 순서대로 반환되어야 합니다. */
+    @Test
+    public void runFunctionKeepsOrder() {
+        List<Integer> results = Parallels.run(0, 10001, 3, new Function1<Integer, Integer>() {
+            @Override
+            public Integer execute(Integer x) {
+                return x * 2;
+            }
+        });
+
+        Assert.assertEquals(3334, results.size());
+        for (int i = 0; i < results.size(); i++)
+            Assert.assertEquals(i * 3 * 2, results.get(i).intValue());
+    }
+
+    /** 중첩된 병렬 작업은 공유 Pool 에서 교착 없이 수행되어야 합니다. */
+    @Test
+    public void nestedRun() {
+        final AtomicLong counter = new AtomicLong();
+
+        Parallels.run(0, 100, new Action1<Integer>() {
+            @Override
+            public void perform(Integer x) {
+                Parallels.run(0, 1000, new Action1<Integer>() {
+                    @Override
+                    public void perform(Integer y) {
+                        counter.incrementAndGet();
+                    }
+                });
+            }
+        });
+
+        Assert.assertEquals(100 * 1000, counter.get());
+    }
+
+    /** boxing 없는 forEach 는 범위의 모든 인덱스를 한번씩 방문해야 합니다. */
+    @Test
+    public void forEachPrimitive() {
+        final int count = 100000;
+        final int[] visits = new int[count];
+        NumberRange.IntRange range = NumberRange.range(count - 1, -1);
+
+        Parallels.forEach(range, new IntAction() {
+            @Override
+            public void perform(int index) {
+                visits[index]++;
+            }
+        });
+
+        for (int visit : visits)
+            Assert.assertEquals(1, visit);
+
+        // 범위는 변경되지 않아야 합니다.
+        Assert.assertEquals(count, range.size());
+        Assert.assertEquals(count - 1, range.getFromInclude());
+    }
+
+    /** boxing 없는 합계, 최소값, 최대값 */
+    @Test
+    public void sumMinMax() {
+        final int count = 1000000;
+        IntToLongFunction identity = new IntToLongFunction() {
+            @Override
+            public long execute(int arg) {
+                return arg;
+            }
+        };
+
+        Assert.assertEquals((long) count * (count - 1) / 2, Parallels.sumLong(count, identity));
+        Assert.assertEquals(0L, Parallels.minLong(0, count, identity));
+        Assert.assertEquals(count - 1, Parallels.maxLong(0, count, identity));
+        Assert.assertEquals(0L, Parallels.sumLong(0, identity));
+
+        double sum = Parallels.sumDouble(count, new IntToDoubleFunction() {
+            @Override
+            public double execute(int arg) {
+                return 0.5;
+            }
+        });
+        Assert.assertEquals(count * 0.5, sum, 1.0e-6);
+
+        List<String> words = Lists.newArrayList("a", "bb", "ccc", "dddd");
+        ToLongFunction<String> length = new ToLongFunction<String>() {
+            @Override
+            public long execute(String arg) {
+                return arg.length();
+            }
+        };
+        Assert.assertEquals(10L, Parallels.sumLong(words, length));
+        Assert.assertEquals(1L, Parallels.minLong(words, length));
+        Assert.assertEquals(4L, Parallels.maxLong(words, length));
+    }
+
+    /** 집계와 수집은 요소 순서대로 병합되어야 합니다. */
+    @Test
+    public void reduceAndCollectKeepOrder() {
+        List<Integer> elements = Lists.newArrayList(NumberRange.range(0, 10000).iterator());
+
+        String concat = Parallels.mapReduce(elements, "", new Function1<Integer, String>() {
+            @Override
+            public String execute(Integer arg) {
+                return (arg % 10) + "";
+            }
+        }, new Function2<String, String, String>() {
+            @Override
+            public String execute(String left, String right) {
+                return left + right;
+            }
+        });
+        Assert.assertEquals(10000, concat.length());
+        Assert.assertEquals("0123456789", concat.substring(9990));
+
+        List<Integer> collected = Parallels.collect(elements, new Function<List<Integer>>() {
+            @Override
+            public List<Integer> execute() {
+                return Lists.newArrayList();
+            }
+        }, new Action2<List<Integer>, Integer>() {
+            @Override
+            public void perform(List<Integer> container, Integer element) {
+                container.add(element);
+            }
+        }, new Action2<List<Integer>, List<Integer>>() {
+            @Override
+            public void perform(List<Integer> container, List<Integer> other) {
+                container.addAll(other);
+            }
+        });
+        Assert.assertEquals(elements, collected);
+    }
+
     /** The type Hero. */
     public static class Hero {
 
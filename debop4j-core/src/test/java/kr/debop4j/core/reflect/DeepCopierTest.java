@@ -0,0 +1,259 @@
+package kr.debop4j.core.reflect;
+
+import com.google.common.collect.Lists;
+import kr.debop4j.core.AbstractTest;
+import kr.debop4j.core.io.BinarySerializer;
+import kr.debop4j.core.io.Company;
+import kr.debop4j.core.io.User;
+import kr.debop4j.core.tools.SerializeTool;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.reflect.DeepCopierTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class DeepCopierTest extends AbstractTest {
+
+    @Test
+    public void copyObjectGraph() {
+        Company company = createCompany(100);
+        Company copied = SerializeTool.copyObject(company);
+
+        assertNotSame(company, copied);
+        assertEquals(company, copied);
+        assertEquals(company.getDescription(), copied.getDescription());
+        assertEquals(company.getAmount(), copied.getAmount());
+        assertNotSame(company.getUsers(), copied.getUsers());
+        assertEquals(100, copied.getUsers().size());
+
+        for (int i = 0; i < company.getUsers().size(); i++) {
+            assertNotSame(company.getUsers().get(i), copied.getUsers().get(i));
+            assertEquals(company.getUsers().get(i), copied.getUsers().get(i));
+            assertEquals(company.getUsers().get(i).getAddress(), copied.getUsers().get(i).getAddress());
+        }
+    }
+
+    @Test
+    public void immutablesAreShared() {
+        Node node = new Node("root");
+        node.setCreatedAt(new DateTime());
+        node.setUpdatedAt(new Date());
+
+        Node copied = DeepCopier.copy(node);
+
+        assertSame(node.getName(), copied.getName());
+        assertSame(node.getCreatedAt(), copied.getCreatedAt());
+        assertNotSame(node.getUpdatedAt(), copied.getUpdatedAt());
+        assertEquals(node.getUpdatedAt(), copied.getUpdatedAt());
+        assertSame(Thread.State.NEW, DeepCopier.copy(Thread.State.NEW));
+    }
+
+    @Test
+    public void cyclicAndSharedReferences() {
+        Node root = new Node("root");
+        Node child = new Node("child");
+        root.getChildren().add(child);
+        root.getChildren().add(child);
+        child.setParent(root);
+        root.setParent(root);
+
+        Node copied = DeepCopier.copy(root);
+
+        assertNotSame(root, copied);
+        assertSame(copied, copied.getParent());
+        assertEquals(2, copied.getChildren().size());
+        assertSame(copied.getChildren().get(0), copied.getChildren().get(1));
+        assertNotSame(child, copied.getChildren().get(0));
+        assertSame(copied, copied.getChildren().get(0).getParent());
+    }
+
+    @Test
+    public void copyArraysAndCollections() {
+        Node node = new Node("node");
+        node.setScores(new int[] { 1, 2, 3 });
+        node.getAttributes().put("b", new StringBuilder("B"));
+        node.getAttributes().put("a", new StringBuilder("A"));
+
+        Node copied = DeepCopier.copy(node);
+
+        assertNotSame(node.getScores(), copied.getScores());
+        assertArrayEquals(node.getScores(), copied.getScores());
+        assertTrue(copied.getAttributes() instanceof TreeMap);
+        assertNotNull(((TreeMap<String, Object>) copied.getAttributes()).comparator());
+        assertEquals(Lists.newArrayList("b", "a"), Lists.newArrayList(copied.getAttributes().keySet()));
+        assertNotSame(node.getAttributes().get("a"), copied.getAttributes().get("a"));
+        assertEquals("A", copied.getAttributes().get("a").toString());
+
+        Object[] array = new Object[] { "x", node, node };
+        Object[] copiedArray = DeepCopier.copy(array);
+        assertSame(copiedArray[1], copiedArray[2]);
+        assertNotSame(node, copiedArray[1]);
+    }
+
+    @Test
+    public void copyEnumMapAndAccessOrderedMap() {
+        EnumMap<TimeUnit, StringBuilder> enumMap = new EnumMap<TimeUnit, StringBuilder>(TimeUnit.class);
+        enumMap.put(TimeUnit.SECONDS, new StringBuilder("sec"));
+
+        EnumMap<TimeUnit, StringBuilder> copiedEnumMap = DeepCopier.copy(enumMap);
+        assertNotSame(enumMap.get(TimeUnit.SECONDS), copiedEnumMap.get(TimeUnit.SECONDS));
+        assertEquals("sec", copiedEnumMap.get(TimeUnit.SECONDS).toString());
+
+        LinkedHashMap<String, String> lru = new LinkedHashMap<String, String>(16, 0.75f, true);
+        lru.put("a", "A");
+        lru.put("b", "B");
+        lru.get("a");
+
+        LinkedHashMap<String, String> copiedLru = DeepCopier.copy(lru);
+        assertEquals(Lists.newArrayList("b", "a"), Lists.newArrayList(copiedLru.keySet()));
+        copiedLru.get("b");
+        assertEquals(Lists.newArrayList("a", "b"), Lists.newArrayList(copiedLru.keySet()));
+    }
+
+    @Test
+    public void sharedReferenceAcrossUnmodifiableList() {
+        SharedHolder holder = new SharedHolder();
+        holder.first = new SharedItem("shared");
+        holder.items = Collections.unmodifiableList(Lists.newArrayList(holder.first));
+        holder.array = Arrays.asList(holder.first);
+
+        SharedHolder copied = DeepCopier.copy(holder);
+
+        assertNotSame(holder.first, copied.first);
+        assertEquals("shared", copied.first.name);
+        assertSame(copied.first, copied.items.get(0));
+        assertSame(copied.first, copied.array.get(0));
+    }
+
+    @Test
+    public void transientFieldsAreNotCopied() {
+        Node node = new Node("node");
+        node.setCache("cached");
+
+        assertNull(DeepCopier.copy(node).getCache());
+    }
+
+    @Test
+    public void customSerializationIsRespected() {
+        Singleton copied = DeepCopier.copy(Singleton.INSTANCE);
+        assertSame(Singleton.INSTANCE, copied);
+    }
+
+    @Test
+    public void copyWithoutDefaultConstructor() {
+        NoDefaultConstructor source = new NoDefaultConstructor("value", new ArrayList<String>(Arrays.asList("a", "b")));
+        NoDefaultConstructor copied = DeepCopier.copy(source);
+
+        assertEquals("value", copied.getValue());
+        assertNotSame(source.getItems(), copied.getItems());
+        assertEquals(source.getItems(), copied.getItems());
+    }
+
+    @Test
+    public void compareWithSerialization() {
+        Company company = createCompany(100);
+        BinarySerializer serializer = new BinarySerializer();
+
+        for (int i = 0; i < 5000; i++)
+            DeepCopier.copy(company);
+        for (int i = 0; i < 500; i++)
+            serializer.deserialize(serializer.serialize(company), Company.class);
+
+        final int rounds = 2000;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++)
+            DeepCopier.copy(company);
+        long copierNanos = (System.nanoTime() - start) / rounds;
+
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++)
+            serializer.deserialize(serializer.serialize(company), Company.class);
+        long serializerNanos = (System.nanoTime() - start) / rounds;
+
+        log.info("deep copy: DeepCopier=[{}] ns/op, BinarySerializer=[{}] ns/op", copierNanos, serializerNanos);
+    }
+
+    private static Company createCompany(int userCount) {
+        Company company = new Company();
+        company.setCode("KTH");
+        company.setName("KT Hitel");
+        company.setAmount(10000L);
+        company.setDescription("한국통신 하이텔");
+
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setName("USER_" + i);
+            user.setEmployeeNumber("EMPNO_" + i);
+            user.setAddress("ADDR_" + i);
+            company.getUsers().add(user);
+        }
+        return company;
+    }
+
+    @Getter
+    @Setter
+    static class Node {
+        private String name;
+        private Node parent;
+        private final List<Node> children = new ArrayList<Node>();
+        private final Map<String, Object> attributes = new TreeMap<String, Object>(Collections.reverseOrder());
+        private DateTime createdAt;
+        private Date updatedAt;
+        private int[] scores;
+        private transient String cache;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    static class SharedHolder implements Serializable {
+        private static final long serialVersionUID = 1L;
+        SharedItem first;
+        List<SharedItem> items;
+        List<SharedItem> array;
+    }
+
+    static class SharedItem implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final String name;
+
+        SharedItem(String name) { this.name = name; }
+    }
+
+    static final class Singleton implements Serializable {
+        static final Singleton INSTANCE = new Singleton();
+
+        private Singleton() {}
+
+        private Object readResolve() {
+            return INSTANCE;
+        }
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Getter
+    public static class NoDefaultConstructor {
+        private final String value;
+        protected final List<String> items;
+
+        public NoDefaultConstructor(String value, List<String> items) {
+            this.value = value;
+            this.items = items;
+        }
+    }
+}
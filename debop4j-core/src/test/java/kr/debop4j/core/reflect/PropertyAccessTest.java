@@ -0,0 +1,142 @@
+package kr.debop4j.core.reflect;
+
+import com.google.common.collect.Lists;
+import kr.debop4j.core.AbstractTest;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * kr.debop4j.core.reflect.PropertyAccessTest
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class PropertyAccessTest extends AbstractTest {
+
+    static class Base {
+        private String id;
+        protected int version;
+    }
+
+    static class Member extends Base {
+        @Getter
+        @Setter
+        private String name;
+        @Getter
+        private boolean active;
+        private final long createdAt = 42L;
+        private int counter;
+
+        public Member() {}
+
+        public int getCounter() { return counter; }
+
+        public void setCounter(int counter) { this.counter = counter * 10; }
+    }
+
+    @Test
+    public void beanPropertiesAndPrivateFields() {
+        PropertyAccess access = PropertyAccess.get(Member.class);
+        Member member = new Member();
+
+        access.set(member, "name", "debop");
+        assertEquals("debop", member.getName());
+        assertEquals("debop", access.get(member, "name"));
+
+        // getter 만 있는 boolean 속성은 private 필드로 설정합니다.
+        access.set(member, "active", true);
+        assertTrue(member.isActive());
+        assertEquals(true, access.get(member, "active"));
+
+        // setter 가 있으면 setter 를 호출합니다.
+        access.set(member, "counter", 3);
+        assertEquals(30, member.getCounter());
+
+        // 상위 클래스의 private, protected 필드
+        access.set(member, "id", "id-1");
+        access.set(member, access.getIndex("version"), 7);
+        assertEquals("id-1", access.get(member, "id"));
+        assertEquals(7, access.get(member, "version"));
+
+        // final 필드는 읽기만 가능합니다.
+        int createdAt = access.getIndex("createdAt");
+        assertTrue(access.isReadable(createdAt));
+        assertFalse(access.isWritable(createdAt));
+        assertEquals(42L, access.get(member, createdAt));
+        assertEquals(long.class, access.getPropertyType(createdAt));
+
+        assertEquals(-1, access.findIndex("notExists"));
+        try {
+            access.getIndex("notExists");
+            fail("IllegalArgumentException 이 발생해야 합니다.");
+        } catch (IllegalArgumentException expected) { }
+    }
+
+    /** 다른 패키지(java.util)의 상위 클래스에 선언된 protected 필드 modCount 를 가집니다. */
+    static class Items extends AbstractList<String> {
+        @Override
+        public String get(int index) { throw new IndexOutOfBoundsException(); }
+
+        @Override
+        public int size() { return 0; }
+    }
+
+    @Test
+    public void protectedFieldOfOtherPackageSuperclass() {
+        PropertyAccess access = PropertyAccess.get(Items.class);
+        Items items = new Items();
+
+        access.set(items, "modCount", 7);
+        assertEquals(7, access.get(items, "modCount"));
+    }
+
+    @Test
+    public void dynamicAccessorUsesPropertyAccess() {
+        DynamicAccessor<Member> accessor = DynamicAccessorFactory.create(Member.class);
+        Member member = accessor.newInstance();
+
+        accessor.setProperty(member, "id", "id-2");
+        accessor.setProperty(member, "name", "name-2");
+        assertEquals("id-2", accessor.getProperty(member, "id"));
+        assertEquals("name-2", accessor.getProperty(member, "name"));
+    }
+
+    @Test
+    public void concurrentFactoryCreatesSingleAccessor() throws Exception {
+        DynamicAccessorFactory.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<DynamicAccessor<Member>>> tasks = Lists.newArrayList();
+            for (int i = 0; i < 32; i++) {
+                tasks.add(new Callable<DynamicAccessor<Member>>() {
+                    @Override
+                    public DynamicAccessor<Member> call() throws Exception {
+                        return DynamicAccessorFactory.create(Member.class);
+                    }
+                });
+            }
+            DynamicAccessor<Member> first = null;
+            for (Future<DynamicAccessor<Member>> future : executor.invokeAll(tasks)) {
+                DynamicAccessor<Member> accessor = future.get();
+                assertNotNull(accessor);
+                if (first == null) first = accessor;
+                assertSame(first, accessor);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
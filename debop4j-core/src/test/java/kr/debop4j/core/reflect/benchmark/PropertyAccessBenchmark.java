@@ -0,0 +1,95 @@
+package kr.debop4j.core.reflect.benchmark;
+
+import kr.debop4j.core.reflect.PropertyAccess;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * {@link PropertyAccess} 와 reflection 으로 bean 속성 및 private 필드에 접근하는 성능을 비교합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class PropertyAccessBenchmark extends Benchmark {
+
+    private static final int COUNT = 1000000;
+    private static final int ROUNDS = 20;
+
+    @Test
+    public void benchmarkPropertyAccess() throws Exception {
+        Object[] dontCompileMeAway = new Object[COUNT];
+        SomeBean bean = new SomeBean();
+
+        PropertyAccess access = PropertyAccess.get(SomeBean.class);
+        int nameIndex = access.getIndex("name");
+        int secretIndex = access.getIndex("secret");
+
+        Method getter = SomeBean.class.getMethod("getName");
+        Method setter = SomeBean.class.getMethod("setName", String.class);
+        Field secret = SomeBean.class.getDeclaredField("secret");
+        secret.setAccessible(true);
+
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            if (round == ROUNDS) warmup = false;
+
+            start();
+            for (int i = 0; i < COUNT; i++) {
+                access.set(bean, nameIndex, "first");
+                dontCompileMeAway[i] = access.get(bean, nameIndex);
+            }
+            end("PropertyAccess (bean property, index)");
+
+            start();
+            for (int i = 0; i < COUNT; i++) {
+                access.set(bean, "name", "first");
+                dontCompileMeAway[i] = access.get(bean, "name");
+            }
+            end("PropertyAccess (bean property, name)");
+
+            start();
+            for (int i = 0; i < COUNT; i++) {
+                setter.invoke(bean, "first");
+                dontCompileMeAway[i] = getter.invoke(bean);
+            }
+            end("Reflection (Method.invoke)");
+
+            start();
+            for (int i = 0; i < COUNT; i++) {
+                SomeBean.class.getMethod("setName", String.class).invoke(bean, "first");
+                dontCompileMeAway[i] = SomeBean.class.getMethod("getName").invoke(bean);
+            }
+            end("Reflection (Method lookup by name + invoke)");
+
+            start();
+            for (int i = 0; i < COUNT; i++) {
+                access.set(bean, secretIndex, "first");
+                dontCompileMeAway[i] = access.get(bean, secretIndex);
+            }
+            end("PropertyAccess (private field)");
+
+            start();
+            for (int i = 0; i < COUNT; i++) {
+                secret.set(bean, "first");
+                dontCompileMeAway[i] = secret.get(bean);
+            }
+            end("Reflection (private Field)");
+        }
+
+        for (Map.Entry<String, Long> entry : runTimes.entrySet())
+            log.info("[{}] count=[{}], best=[{}] ms", entry.getKey(), COUNT, entry.getValue() / 1000000f);
+    }
+
+    static public class SomeBean {
+        private String name;
+        private String secret;
+
+        public String getName() { return name; }
+
+        public void setName(String name) { this.name = name; }
+    }
+}
@@ -0,0 +1,65 @@
+package kr.debop4j.core.tools;
+
+import com.google.common.collect.Lists;
+import kr.debop4j.core.reflect.benchmark.Benchmark;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static kr.debop4j.core.tools.MapperToolTest.*;
+
+/**
+ * {@link MappingPlan} 을 사용하는 {@link MapperTool} 과 ModelMapper 의 매핑 성능을 비교합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class MapperToolBenchmark extends Benchmark {
+
+    private static final int COUNT = 1000;
+    private static final int ROUNDS = 10;
+
+    @Test
+    public void benchmarkMapList() throws Exception {
+        List<Parent> parents = Lists.newArrayListWithCapacity(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            Parent parent = new Parent();
+            parent.setId(i);
+            parent.setAge(i % 100);
+            parent.setName("부모-" + i);
+            for (int j = 0; j < 5; j++) {
+                Child child = new Child();
+                child.setId(j);
+                child.setName("자식-" + j);
+                child.setParent(parent);
+                parent.getChildren().add(child);
+            }
+            parents.add(parent);
+        }
+        ModelMapper modelMapper = MapperTool.getModelMapper();
+        Object[] dontCompileMeAway = new Object[ROUNDS * 2];
+
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            if (round == ROUNDS) warmup = false;
+
+            start();
+            dontCompileMeAway[round] = MapperTool.mapList(parents, ParentDTO.class);
+            end("MapperTool.mapList (MappingPlan)");
+
+            start();
+            List<ParentDTO> dtos = Lists.newArrayListWithCapacity(COUNT);
+            for (Parent parent : parents) {
+                dtos.add(modelMapper.map(parent, ParentDTO.class));
+            }
+            dontCompileMeAway[round] = dtos;
+            end("ModelMapper.map");
+        }
+
+        for (Map.Entry<String, Long> entry : runTimes.entrySet())
+            log.info("[{}] count=[{}], best=[{}] ms", entry.getKey(), COUNT, entry.getValue() / 1000000f);
+    }
+}
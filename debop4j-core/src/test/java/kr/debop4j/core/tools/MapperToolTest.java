@@ -36,6 +36,55 @@ public class MapperToolTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void mapWithCycleTest() {
+        Parent parent = getParentSample();
+
+        ParentDTO parentDTO = MapperTool.map(parent, ParentDTO.class);
+
+        Assert.assertTrue(MappingPlan.get(Parent.class, ParentDTO.class).isCompiled());
+        for (ChildDTO childDTO : parentDTO.getChildren()) {
+            Assert.assertSame(parentDTO, childDTO.getParent());
+        }
+    }
+
+    @Test
+    public void mapListTest() {
+        List<Parent> parents = Lists.newArrayList();
+        for (int i = 0; i < 5; i++) {
+            parents.add(getParentSample());
+        }
+
+        List<ParentDTO> parentDTOs = MapperTool.mapList(parents, ParentDTO.class);
+
+        Assert.assertEquals(parents.size(), parentDTOs.size());
+        for (int i = 0; i < parents.size(); i++) {
+            Assert.assertEquals(parents.get(i).getName(), parentDTOs.get(i).getName());
+            Assert.assertEquals(parents.get(i).getChildren().size(), parentDTOs.get(i).getChildren().size());
+        }
+
+        List<ParentDTO> targets = Lists.newArrayList();
+        for (int i = 0; i < parents.size(); i++) {
+            targets.add(new ParentDTO());
+        }
+        MapperTool.mapList(parents, targets);
+        for (int i = 0; i < parents.size(); i++) {
+            Assert.assertEquals(parents.get(i).getAge(), targets.get(i).getAge());
+        }
+    }
+
+    @Test
+    public void mapFlatteningTest() {
+        Child child = getParentSample().getChildren().get(0);
+
+        ChildFlatDTO childDTO = MapperTool.map(child, ChildFlatDTO.class);
+
+        // 평탄화는 ModelMapper 로 매핑합니다.
+        Assert.assertFalse(MappingPlan.get(Child.class, ChildFlatDTO.class).isCompiled());
+        Assert.assertEquals(child.getName(), childDTO.getName());
+        Assert.assertEquals(child.getParent().getName(), childDTO.getParentName());
+    }
+
     private static Parent getParentSample() {
         Parent parent = new Parent();
         parent.setId(1);
@@ -96,4 +145,13 @@ public class MapperToolTest extends AbstractTest {
         private String description;
         private ParentDTO parent;
     }
+
+    @Getter
+    @Setter
+    public static class ChildFlatDTO extends ValueObjectBase {
+
+        private Integer id;
+        private String name;
+        private String parentName;
+    }
 }
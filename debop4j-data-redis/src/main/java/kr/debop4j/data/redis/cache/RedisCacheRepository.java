@@ -0,0 +1,124 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.data.redis.cache;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import kr.debop4j.core.cache.CacheRepositoryBase;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.redis.jedis.JedisClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static kr.debop4j.core.Guard.shouldNotBeNull;
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
+
+/**
+ * Redis 를 캐시 저장소로 사용하는 {@link kr.debop4j.core.cache.ICacheRepository} 입니다.
+ * <p/>
+ * 여러 키에 대한 조회는 MGET 한 번으로, 여러 항목의 저장은 하나의 pipeline 으로 처리하여 왕복 횟수를 줄입니다.
+ * pipeline 은 MULTI/EXEC 가 아니므로 여러 항목의 저장이 원자적으로 처리되지는 않습니다.
+ * 비동기 방식으로 사용하려면 {@link kr.debop4j.core.cache.BatchingAsyncCacheRepository} 로 감싸서 사용하면,
+ * 동시에 들어온 단건 조회들도 MGET 한 번으로 묶입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class RedisCacheRepository extends CacheRepositoryBase {
+
+    @Getter
+    private final JedisClient client;
+
+    /**
+     * 생성자
+     *
+     * @param client Redis client
+     */
+    public RedisCacheRepository(JedisClient client) {
+        this.client = shouldNotBeNull(client, "client");
+    }
+
+    @Override
+    public Object get(final String key) {
+        shouldNotBeWhiteSpace(key, "key");
+        return client.get(key);
+    }
+
+    @Override
+    public Map<String, Object> getAll(final Iterable<String> keys) {
+        shouldNotBeNull(keys, "keys");
+
+        List<String> keyList = Lists.newArrayList(keys);
+        List<Object> values = client.mget(keyList);
+
+        Map<String, Object> result = Maps.newLinkedHashMap();
+        for (int i = 0; i < keyList.size() && i < values.size(); i++) {
+            if (values.get(i) != null)
+                result.put(keyList.get(i), values.get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public void set(final String key, final Object value, final long validFor) {
+        shouldNotBeWhiteSpace(key, "key");
+        client.set(key, value, getTimeoutInSeconds(validFor));
+    }
+
+    @Override
+    public void setAll(final Map<String, ?> items, final long validFor) {
+        shouldNotBeNull(items, "items");
+        client.mset(items, getTimeoutInSeconds(validFor));
+    }
+
+    @Override
+    public void remove(final String key) {
+        shouldNotBeWhiteSpace(key, "key");
+        client.del(key);
+    }
+
+    @Override
+    public void removeAll(final String... keys) {
+        client.mdel(Arrays.asList(keys));
+    }
+
+    @Override
+    public void removeAll(final Iterable<String> keys) {
+        client.mdel(Lists.newArrayList(keys));
+    }
+
+    @Override
+    public boolean exists(final String key) {
+        shouldNotBeWhiteSpace(key, "key");
+        return client.exists(key);
+    }
+
+    @Override
+    public void clear() {
+        client.deleteRegion(client.getRegionName());
+    }
+
+    /** 항목의 유효기간이 없으면 저장소의 기본 유효기간을 사용합니다. (단위: seconds) */
+    private long getTimeoutInSeconds(long validFor) {
+        long minutes = (validFor > 0) ? validFor : getExpiry();
+        return (minutes > 0) ? TimeUnit.MINUTES.toSeconds(minutes) : -1L;
+    }
+}
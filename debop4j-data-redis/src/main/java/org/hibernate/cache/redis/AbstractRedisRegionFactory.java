@@ -0,0 +1,159 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.jedis.JedisClient;
+import org.hibernate.cache.redis.regions.*;
+import org.hibernate.cache.redis.util.Timestamper;
+import org.hibernate.cache.spi.*;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.util.Properties;
+
+/**
+ * Redis 를 Hibernate 2차 캐시 저장소로 사용하는 {@link RegionFactory} 의 기본 클래스입니다.
+ * region 마다 {@link JedisClient} 를 만들고, 모든 region 이 하나의 {@link JedisPool} 을 공유합니다.
+ * <p/>
+ * 설정 예:
+ * <pre>
+ *     hibernate.cache.use_second_level_cache=true
+ *     hibernate.cache.region.factory_class=org.hibernate.cache.redis.RedisRegionFactory
+ *     hibernate.redis.host=localhost
+ *     hibernate.redis.expiryInSeconds=120
+ *     hibernate.redis.expiryInSeconds.Calendar=3600
+ * </pre>
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public abstract class AbstractRedisRegionFactory implements RegionFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractRedisRegionFactory.class);
+
+    public static final String REDIS_HOST = "hibernate.redis.host";
+    public static final String REDIS_PORT = "hibernate.redis.port";
+    public static final String REDIS_TIMEOUT = "hibernate.redis.timeout";
+    public static final String REDIS_PASSWORD = "hibernate.redis.password";
+    public static final String REDIS_DATABASE = "hibernate.redis.database";
+
+    /** 캐시 항목의 기본 유효 기간 (초). region 별로는 "hibernate.redis.expiryInSeconds.{regionName}" 으로 지정합니다. */
+    public static final String EXPIRY_IN_SECONDS = "hibernate.redis.expiryInSeconds";
+
+    /** read-write strategy 의 lock 유효 시간 (밀리초) */
+    public static final String LOCK_TIMEOUT = "hibernate.redis.lockTimeout";
+
+    protected Settings settings;
+    protected Properties props;
+    protected JedisPool jedisPool;
+
+    protected AbstractRedisRegionFactory(Properties props) {
+        this.props = props;
+    }
+
+    /** Redis 2차 캐시는 원격 저장소이므로 minimal puts 를 기본으로 사용합니다. */
+    @Override
+    public boolean isMinimalPutsEnabledByDefault() {
+        return true;
+    }
+
+    @Override
+    public AccessType getDefaultAccessType() {
+        return AccessType.READ_WRITE;
+    }
+
+    @Override
+    public long nextTimestamp() {
+        return Timestamper.next();
+    }
+
+    @Override
+    public EntityRegion buildEntityRegion(String regionName,
+                                          Properties properties,
+                                          CacheDataDescription metadata) throws CacheException {
+        return new RedisEntityRegion(createClient(regionName), settings, metadata, properties);
+    }
+
+    @Override
+    public NaturalIdRegion buildNaturalIdRegion(String regionName,
+                                                Properties properties,
+                                                CacheDataDescription metadata) throws CacheException {
+        return new RedisNaturalIdRegion(createClient(regionName), settings, metadata, properties);
+    }
+
+    @Override
+    public CollectionRegion buildCollectionRegion(String regionName,
+                                                  Properties properties,
+                                                  CacheDataDescription metadata) throws CacheException {
+        return new RedisCollectionRegion(createClient(regionName), settings, metadata, properties);
+    }
+
+    @Override
+    public QueryResultsRegion buildQueryResultsRegion(String regionName,
+                                                      Properties properties) throws CacheException {
+        return new RedisQueryResultsRegion(createClient(regionName), properties);
+    }
+
+    /** timestamp 는 쿼리 결과보다 먼저 만료되면 안되므로 유효 기간 없이 저장합니다. */
+    @Override
+    public TimestampsRegion buildTimestampsRegion(String regionName,
+                                                  Properties properties) throws CacheException {
+        return new RedisTimestampsRegion(createClient(regionName, 0), properties);
+    }
+
+    /**
+     * 설정 정보로 {@link JedisPool} 을 생성합니다. database 선택은 connection 을 생성할 때 한번만 수행됩니다.
+     *
+     * @param properties Hibernate 설정 정보
+     * @return JedisPool
+     */
+    protected JedisPool createJedisPool(Properties properties) {
+        String host = ConfigurationHelper.getString(REDIS_HOST, properties, "localhost");
+        int port = ConfigurationHelper.getInt(REDIS_PORT, properties, 6379);
+        int timeout = ConfigurationHelper.getInt(REDIS_TIMEOUT, properties, 2000);
+        String password = ConfigurationHelper.getString(REDIS_PASSWORD, properties, null);
+        int database = ConfigurationHelper.getInt(REDIS_DATABASE, properties, 0);
+
+        log.info("Redis 2차 캐시용 JedisPool 을 생성합니다. host=[{}], port=[{}], database=[{}]",
+                 new Object[] { host, port, database });
+
+        return new JedisPool(new JedisPoolConfig(), host, port, timeout, password, database);
+    }
+
+    /** region 별 유효 기간 설정을 사용하여 {@link JedisClient} 를 생성합니다. */
+    protected JedisClient createClient(String regionName) {
+        int defaultExpiry = ConfigurationHelper.getInt(EXPIRY_IN_SECONDS, props, JedisClient.DEFAULT_EXPIRY_IN_SECONDS);
+        return createClient(regionName, ConfigurationHelper.getInt(EXPIRY_IN_SECONDS + "." + regionName, props, defaultExpiry));
+    }
+
+    /** 지정한 유효 기간으로 {@link JedisClient} 를 생성합니다. */
+    protected JedisClient createClient(String regionName, int expiryInSeconds) {
+        if (jedisPool == null)
+            throw new CacheException("RegionFactory 가 시작되지 않았습니다. start() 를 먼저 호출해야 합니다.");
+
+        if (log.isDebugEnabled())
+            log.debug("Redis region 을 생성합니다. regionName=[{}], expiryInSeconds=[{}]", regionName, expiryInSeconds);
+
+        return new JedisClient(regionName, jedisPool, expiryInSeconds);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cfg.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Properties;
+
+/**
+ * Redis 를 Hibernate 2차 캐시 저장소로 사용하는 RegionFactory 입니다.
+ * SessionFactory 마다 {@link redis.clients.jedis.JedisPool} 을 하나씩 생성합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class RedisRegionFactory extends AbstractRedisRegionFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRegionFactory.class);
+
+    public RedisRegionFactory() {
+        this(new Properties());
+    }
+
+    public RedisRegionFactory(Properties props) {
+        super(props);
+    }
+
+    @Override
+    public synchronized void start(Settings settings, Properties properties) throws CacheException {
+        log.info("Redis 2차 캐시 RegionFactory 를 시작합니다...");
+
+        if (jedisPool != null) {
+            log.warn("이미 시작된 RegionFactory 입니다.");
+            return;
+        }
+        try {
+            this.settings = settings;
+            this.props = properties;
+            this.jedisPool = createJedisPool(properties);
+        } catch (Exception e) {
+            log.error("Redis 2차 캐시 RegionFactory 를 시작하는데 실패했습니다.", e);
+            throw new CacheException(e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (jedisPool == null)
+            return;
+
+        log.info("Redis 2차 캐시 RegionFactory 를 중지합니다...");
+        try {
+            jedisPool.destroy();
+        } catch (Exception e) {
+            log.warn("JedisPool 을 종료하는데 실패했습니다.", e);
+        } finally {
+            jedisPool = null;
+        }
+    }
+}
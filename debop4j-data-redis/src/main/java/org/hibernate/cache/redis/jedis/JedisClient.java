@@ -20,29 +20,43 @@ import kr.debop4j.core.tools.StringTool;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.cache.CacheException;
-import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.redis.jedis.JedisCallback;
 import org.hibernate.redis.jedis.JedisPipelineCallback;
 import org.hibernate.redis.jedis.JedisTransactionalCallback;
+import org.hibernate.redis.jedis.JedisUpdateCallback;
 import org.hibernate.redis.serializer.BinaryRedisSerializer;
 import org.hibernate.redis.serializer.RedisSerializer;
 import org.hibernate.redis.serializer.SerializationTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.Client;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.Transaction;
+import redis.clients.jedis.Tuple;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * RedisClient implements using Jedis library
  * <p/>
+ * 캐시 키는 값 키와 함께 region 의 sorted set (key 집합) 에 기록되며, key 집합의 이름은 항상 이 client 의 {@link #getRegionName()} 입니다.
+ * <p/>
+ * <b>키 구조 변경:</b> 이전 버전은 {@link org.hibernate.cache.spi.CacheKey} 의 entity/role 이름을 key 집합 이름으로 사용했습니다.
+ * 이전 버전이 저장한 항목은 새 key 집합에 없으므로 region 이름으로 {@link #deleteRegion(String)} 을 호출해도 삭제되지 않습니다.
+ * 업그레이드할 때는 {@link #flushDb()} 로 캐시를 비우거나, 이전 key 집합 이름 (entity/role 이름) 으로 {@link #deleteRegion(String)} 을 호출해 정리해야 합니다.
+ * <p/>
  * 참고 : https://github.com/xetorthio/repository/wiki/AdvancedUsage
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
@@ -57,6 +71,9 @@ public class JedisClient {
     public static final int DEFAULT_EXPIRY_IN_SECONDS = 120;
     public static final String DEFAULT_REGION_NAME = "hibernate";
 
+    /** pipeline 으로 전송할 때 하나의 DEL / ZADD / ZREM 명령에 담는 최대 키 수 */
+    public static final int BATCH_SIZE = 1000;
+
     @Getter
     private final String regionName;
 
@@ -119,18 +136,24 @@ public class JedisClient {
         });
     }
 
-    /** 키에 해당하는 캐시 값이 존재하는지 확인합니다. */
+    /**
+     * 키에 해당하는 캐시 값이 존재하는지 확인합니다.
+     * region 의 key 집합은 값의 유효 기간이 지나도 남아 있으므로 값 키를 직접 확인하고, 만료된 키는 key 집합에서도 제거합니다.
+     */
     public boolean exists(Object key) {
-        final byte[] rawRegion = rawRegion(key);
-        final byte[] rawKey = rawValue(key);
-        Long rank = run(new JedisCallback<Long>() {
+        final byte[] rawRegion = rawRegion();
+        final byte[] rawKey = rawKey(key);
+        boolean exists = run(new JedisCallback<Boolean>() {
             @Override
-            public Long execute(Jedis jedis) {
-                return jedis.zrank(rawRegion, rawKey);
+            public Boolean execute(Jedis jedis) {
+                if (jedis.exists(rawKey))
+                    return true;
+                jedis.zrem(rawRegion, rawKey);
+                return false;
             }
         });
-        if (isTraceEnabled) log.trace("캐시 값이 존재하는지 확인합니다. key=[{}], exists=[{}]", key, (rank != null));
-        return rank != null;
+        if (isTraceEnabled) log.trace("캐시 값이 존재하는지 확인합니다. key=[{}], exists=[{}]", key, exists);
+        return exists;
     }
 
     /**
@@ -154,6 +177,7 @@ public class JedisClient {
 
     /**
      * 지정한 캐시 영역에 저장된 캐시의 키 집합을 반환합니다.
+     * 한 번에 모든 키를 가져오지 않고, {@link #BATCH_SIZE} 개 단위의 ZRANGE 로 나누어 조회합니다.
      *
      * @param regionName 캐시 영역명
      * @return 캐시 영역에 저장된 모든 키 정보
@@ -162,14 +186,38 @@ public class JedisClient {
         if (isTraceEnabled) log.trace("영역에 해당하는 모든 키 값을 가져옵니다. regionName=[{}]", regionName);
 
         final byte[] rawRegion = rawKey(regionName);
-        Set<byte[]> rawKeys = run(new JedisCallback<Set<byte[]>>() {
-            @Override
-            public Set<byte[]> execute(Jedis jedis) {
-                return jedis.zrange(rawRegion, 0, -1);
+        Set<Object> keys = new LinkedHashSet<Object>();
+
+        for (int start = 0; ; start += BATCH_SIZE) {
+            final int from = start;
+            Set<byte[]> rawKeys = run(new JedisCallback<Set<byte[]>>() {
+                @Override
+                public Set<byte[]> execute(Jedis jedis) {
+                    return jedis.zrange(rawRegion, from, from + BATCH_SIZE - 1);
+                }
+            });
+            keys.addAll(deserializeKeys(rawKeys));
 
+            if (rawKeys.size() < BATCH_SIZE)
+                break;
+        }
+        return keys;
+    }
+
+    /**
+     * 지정한 캐시 영역에 저장된 캐시 키의 수를 반환합니다.
+     *
+     * @param regionName 캐시 영역명
+     * @return 캐시 영역에 저장된 키의 수
+     */
+    public Long keySizeInRegion(String regionName) {
+        final byte[] rawRegion = rawKey(regionName);
+        return run(new JedisCallback<Long>() {
+            @Override
+            public Long execute(Jedis jedis) {
+                return jedis.zcard(rawRegion);
             }
         });
-        return deserializeKeys(rawKeys);
     }
 
     /**
@@ -227,39 +275,138 @@ public class JedisClient {
 
         final byte[] rawKey = rawKey(key);
         final byte[] rawValue = rawValue(value);
-        final byte[] rawRegion = rawRegion(key);
+        final byte[] rawRegion = rawRegion();
         final int seconds = (int) unit.toSeconds(timeout);
 
-        runWithTx(new JedisTransactionalCallback() {
+        pipeline(new JedisPipelineCallback() {
+            @Override
+            public void execute(Pipeline pipeline) {
+                if (seconds > 0)
+                    pipeline.setex(rawKey, seconds, rawValue);
+                else
+                    pipeline.set(rawKey, rawValue);
+                pipeline.zadd(rawRegion, System.currentTimeMillis(), rawKey);
+                if (seconds > 0)
+                    pipeline.expire(rawRegion, seconds);
+            }
+        });
+    }
+
+    /**
+     * 캐시 항목의 현재 값을 읽어 callback 이 구한 값으로 교체합니다.
+     * WATCH/MULTI/EXEC 로 수행하므로, 읽은 뒤 다른 서버가 먼저 값을 바꾸면 저장하지 않고 새 현재 값으로 다시 시도합니다.
+     *
+     * @param key              캐시 키
+     * @param callback         현재 값으로부터 저장할 값을 구하는 callback
+     * @param timeoutInSeconds 유효 기간 (Seconds 단위), 0 이하이면 유효 기간이 없습니다.
+     * @return 저장한 값, callback 이 null 을 반환하여 저장하지 않았으면 null
+     */
+    public Object update(final Object key, final JedisUpdateCallback callback, long timeoutInSeconds) {
+        final byte[] rawKey = rawKey(key);
+        final byte[] rawRegion = rawRegion();
+        final int seconds = (int) timeoutInSeconds;
+
+        return run(new JedisCallback<Object>() {
             @Override
-            public void execute(Transaction tx) {
-                tx.set(rawKey, rawValue);
-                tx.zadd(rawRegion, 0, rawKey);
-                if (seconds > 0) {
-                    tx.expire(rawKey, seconds);
-                    tx.expire(rawRegion, seconds);
+            public Object execute(Jedis jedis) {
+                while (true) {
+                    jedis.watch(rawKey);
+                    final Object value;
+                    try {
+                        value = callback.update(deserializeValue(jedis.get(rawKey)));
+                    } catch (RuntimeException e) {
+                        jedis.unwatch();
+                        throw e;
+                    }
+                    if (value == null) {
+                        jedis.unwatch();
+                        return null;
+                    }
+
+                    Transaction tx = jedis.multi();
+                    if (seconds > 0)
+                        tx.setex(rawKey, seconds, rawValue(value));
+                    else
+                        tx.set(rawKey, rawValue(value));
+                    tx.zadd(rawRegion, System.currentTimeMillis(), rawKey);
+                    if (seconds > 0)
+                        tx.expire(rawRegion, seconds);
+                    if (tx.exec() != null)
+                        return value;
+
+                    if (isTraceEnabled) log.trace("다른 서버가 캐시 값을 먼저 변경하여 다시 시도합니다. key=[{}]", key);
                 }
             }
         });
     }
 
+    /**
+     * 여러 캐시 항목을 한꺼번에 저장합니다.
+     * MULTI/EXEC 없이 pipeline 으로 전송하고, region 의 key 집합은 {@link #BATCH_SIZE} 개 단위의 variadic ZADD 로 갱신합니다.
+     *
+     * @param items            캐시 키와 값의 Map
+     * @param timeoutInSeconds 유효 기간 (Seconds 단위), 0 이하이면 유효 기간이 없습니다.
+     */
+    public void mset(final Map<?, ?> items, long timeoutInSeconds) {
+        if (items == null || items.size() == 0)
+            return;
+        if (isTraceEnabled) log.trace("multi set... keys=[{}]", StringTool.listToString(items.keySet()));
+
+        final int size = items.size();
+        final byte[][] rawKeys = new byte[size][];
+        final byte[][] rawValues = new byte[size][];
+        final byte[] rawRegion = rawRegion();
+        final int seconds = (int) timeoutInSeconds;
+
+        int i = 0;
+        for (Map.Entry<?, ?> item : items.entrySet()) {
+            rawKeys[i] = rawKey(item.getKey());
+            rawValues[i] = rawValue(item.getValue());
+            i++;
+        }
+
+        pipeline(new JedisPipelineCallback() {
+            @Override
+            public void execute(Pipeline pipeline) {
+                for (int i = 0; i < size; i++) {
+                    if (seconds > 0)
+                        pipeline.setex(rawKeys[i], seconds, rawValues[i]);
+                    else
+                        pipeline.set(rawKeys[i], rawValues[i]);
+                }
+
+                // variadic ZADD 는 score 를 Map 의 key 로 받으므로, 저장 시각(ms)을 넘지 않는 범위에서 항목마다 다른 score 를 부여합니다.
+                final long score = System.currentTimeMillis();
+                for (int from = 0; from < size; from += BATCH_SIZE) {
+                    int to = Math.min(from + BATCH_SIZE, size);
+                    Map<Double, byte[]> scoreMembers = new LinkedHashMap<Double, byte[]>(to - from);
+                    for (int i = from; i < to; i++)
+                        scoreMembers.put(score - (double) (i - from) / BATCH_SIZE, rawKeys[i]);
+                    ((BinaryPipeline) pipeline).zadd(rawRegion, scoreMembers);
+                }
+                if (seconds > 0)
+                    pipeline.expire(rawRegion, seconds);
+            }
+        });
+    }
+
     /** 지정된 키의 항목으로 삭제합니다. */
     public void del(Object key) {
         if (isTraceEnabled) log.trace("캐시를 삭제합니다. key=[{}]", key);
 
         final byte[] rawKey = rawKey(key);
-        final byte[] rawRegion = rawRegion(key);
+        final byte[] rawRegion = rawRegion();
 
-        runWithTx(new JedisTransactionalCallback() {
+        pipeline(new JedisPipelineCallback() {
             @Override
-            public void execute(Transaction tx) {
-                tx.del(rawKey);
-                tx.zrem(rawRegion, rawKey);
+            public void execute(Pipeline pipeline) {
+                pipeline.del(rawKey);
+                pipeline.zrem(rawRegion, rawKey);
             }
         });
     }
 
-    /** 지정된 키의 항목으로 삭제합니다. */
+    /** 지정된 키의 항목들을 {@link #BATCH_SIZE} 개 단위의 DEL / variadic ZREM 으로 삭제합니다. */
     public void mdel(Collection<? extends Object> keys) {
         if (isTraceEnabled) log.trace("캐시를 삭제합니다. keys=[{}]", StringTool.listToString(keys));
 
@@ -267,43 +414,66 @@ public class JedisClient {
             return;
 
         final byte[][] rawKeys = rawKeys(keys);
-        final byte[][] rawRegions = rawRegions(keys);
-        runWithTx(new JedisTransactionalCallback() {
+        final byte[] rawRegion = rawRegion();
+        pipeline(new JedisPipelineCallback() {
             @Override
-            public void execute(Transaction tx) {
-                tx.del(rawKeys);
-                for (int i = 0; i < rawKeys.length; i++)
-                    tx.zrem(rawRegions[i], rawKeys[i]);
+            public void execute(Pipeline pipeline) {
+                for (int from = 0; from < rawKeys.length; from += BATCH_SIZE) {
+                    byte[][] chunk = Arrays.copyOfRange(rawKeys, from, Math.min(from + BATCH_SIZE, rawKeys.length));
+                    pipeline.del(chunk);
+                    ((BinaryPipeline) pipeline).zrem(rawRegion, chunk);
+                }
             }
         });
     }
 
+    /**
+     * Region 에 속한 모든 캐시 항목을 삭제합니다.
+     * 삭제를 시작할 때 region 에 저장된 가장 큰 score 까지의 키를 {@link #BATCH_SIZE} 개씩 조회하여 DEL / ZREM 으로 삭제하므로,
+     * 큰 region 이라도 Redis 를 오래 점유하지 않고, 삭제 중에 새로 저장되는 항목 때문에 끝나지 않는 일도 없습니다.
+     * score 는 저장한 서버의 시각이므로, 기준값을 이 서버의 시각이 아닌 Redis 에 저장된 값에서 구합니다.
+     * 이전 버전이 entity/role 이름의 key 집합에 저장한 항목은 그 이름을 지정하여 삭제할 수 있습니다.
+     *
+     * @param regionName 캐시 영역명 (key 집합 이름)
+     */
     public void deleteRegion(final String regionName) throws CacheException {
         log.info("Region 전체를 삭제합니다... regionName=[{}]", regionName);
 
-        // Redis에서 한 Transaction 하에서 get / set 을 동시에 실행 할 수 없습니다. (복합 함수인 setnx 같은 것을 제외하고)
-        //
-
         try {
-            final byte[] rawRegion = rawRegion(regionName);
-
-            Set<byte[]> keySet = run(new JedisCallback<Set<byte[]>>() {
+            final byte[] rawRegion = rawKey(regionName);
+            Set<Tuple> last = run(new JedisCallback<Set<Tuple>>() {
                 @Override
-                public Set<byte[]> execute(Jedis jedis) {
-                    return jedis.zrange(rawRegion, 0, -1);
+                public Set<Tuple> execute(Jedis jedis) {
+                    return jedis.zrangeWithScores(rawRegion, -1, -1);
                 }
             });
-            if (keySet.size() > 0) {
+            if (last.size() == 0)
+                return;
+
+            final double maxScore = last.iterator().next().getScore();
+            long deleted = 0;
+
+            while (true) {
+                final Set<byte[]> keySet = run(new JedisCallback<Set<byte[]>>() {
+                    @Override
+                    public Set<byte[]> execute(Jedis jedis) {
+                        return jedis.zrangeByScore(rawRegion, Double.NEGATIVE_INFINITY, maxScore, 0, BATCH_SIZE);
+                    }
+                });
+                if (keySet.size() == 0)
+                    break;
 
                 final byte[][] rawKeys = keySet.toArray(new byte[keySet.size()][]);
-                runWithTx(new JedisTransactionalCallback() {
+                pipeline(new JedisPipelineCallback() {
                     @Override
-                    public void execute(Transaction tx) {
-                        tx.del(rawKeys);
-                        tx.zremrangeByRank(rawRegion, 0, -1);
+                    public void execute(Pipeline pipeline) {
+                        pipeline.del(rawKeys);
+                        ((BinaryPipeline) pipeline).zrem(rawRegion, rawKeys);
                     }
                 });
+                deleted += rawKeys.length;
             }
+            if (isDebugEnabled) log.debug("Region 을 삭제했습니다. regionName=[{}], deleted=[{}]", regionName, deleted);
         } catch (Throwable t) {
             log.error("Region을 삭제하는데 실패했습니다.", t);
             throw new CacheException(t);
@@ -337,26 +507,13 @@ public class JedisClient {
         return rawKeys;
     }
 
-    /** 키를 이용해 region 값을 직렬화합니다. */
+    /**
+     * 키가 속한 region 값을 직렬화합니다.
+     * 모든 키는 이 client 의 region 에 속하므로, Hibernate 2차 캐시에서 하나의 region 에 여러 엔티티가 있어도 region 단위로 삭제할 수 있습니다.
+     */
     @SuppressWarnings("unchecked")
-    private byte[] rawRegion(Object key) {
-        return getKeySerializer().serialize(getEntityName(key));
-    }
-
-    @SuppressWarnings("unchecked")
-    private byte[][] rawRegions(Collection<? extends Object> keys) {
-        byte[][] rawRegions = new byte[keys.size()][];
-        int i = 0;
-        for (Object key : keys) {
-            rawRegions[i++] = getKeySerializer().serialize(getEntityName(key));
-        }
-        return rawRegions;
-    }
-
-    private String getEntityName(Object key) {
-        if (key instanceof CacheKey)
-            return ((CacheKey) key).getEntityOrRoleName();
-        return regionName;
+    private byte[] rawRegion() {
+        return getKeySerializer().serialize(regionName);
     }
 
     /** byte[] 를 key 값으로 역직렬화 합니다 */
@@ -384,7 +541,7 @@ public class JedisClient {
         final Jedis jedis = jedisPool.getResource();
 
         try {
-            if (database != 0) jedis.select(database);
+            selectDatabase(jedis);
             return callback.execute(jedis);
         } catch (Throwable t) {
             log.error("Redis 작업 중 예외가 발생했습니다.", t);
@@ -403,7 +560,7 @@ public class JedisClient {
         final Jedis jedis = jedisPool.getResource();
 
         try {
-            if (database != 0) jedis.select(database);
+            selectDatabase(jedis);
             Transaction tx = jedis.multi();
             callback.execute(tx);
             return tx.exec();
@@ -415,13 +572,20 @@ public class JedisClient {
         }
     }
 
+    /**
+     * 복수의 작업을 MULTI/EXEC 없이 pipeline 으로 한꺼번에 전송합니다.<br />
+     * 전달되는 {@link Pipeline} 은 variadic ZADD / ZREM 을 지원하는 {@link BinaryPipeline} 입니다.
+     */
     public void pipeline(final JedisPipelineCallback callback) {
         final Jedis jedis = jedisPool.getResource();
         try {
-            if (database != 0) jedis.select(database);
-            Pipeline pipeline = jedis.pipelined();
+            selectDatabase(jedis);
+            Pipeline pipeline = pipelined(jedis);
             callback.execute(pipeline);
             pipeline.sync();
+        } catch (Throwable t) {
+            log.error("Pipeline 으로 Redis 작업 중 예외가 발생했습니다.", t);
+            throw new RuntimeException(t);
         } finally {
             jedisPool.returnResource(jedis);
         }
@@ -430,15 +594,55 @@ public class JedisClient {
     public List<Object> pipelineAndReturnAll(final JedisPipelineCallback callback) {
         final Jedis jedis = jedisPool.getResource();
         try {
-            if (database != 0) jedis.select(database);
-            Pipeline pipeline = jedis.pipelined();
+            selectDatabase(jedis);
+            Pipeline pipeline = pipelined(jedis);
             callback.execute(pipeline);
             return pipeline.syncAndReturnAll();
+        } catch (Throwable t) {
+            log.error("Pipeline 으로 Redis 작업 중 예외가 발생했습니다.", t);
+            throw new RuntimeException(t);
         } finally {
             jedisPool.returnResource(jedis);
         }
     }
 
+    /**
+     * connection 이 이미 지정한 database 를 사용 중이면 SELECT 를 생략합니다.
+     * JedisPool 을 database 와 함께 생성하면 SELECT 는 connection 생성 시 한번만 수행됩니다.
+     */
+    private void selectDatabase(Jedis jedis) {
+        if (database != 0 && jedis.getDB() != database)
+            jedis.select(database);
+    }
+
+    private static Pipeline pipelined(Jedis jedis) {
+        BinaryPipeline pipeline = new BinaryPipeline();
+        pipeline.setClient(jedis.getClient());
+        return pipeline;
+    }
+
+    /** jedis 2.1.0 의 {@link Pipeline} 에 없는 variadic ZADD / ZREM 을 제공합니다. */
+    private static final class BinaryPipeline extends Pipeline {
+
+        private Client client;
+
+        @Override
+        public void setClient(Client client) {
+            super.setClient(client);
+            this.client = client;
+        }
+
+        public Response<Long> zadd(byte[] key, Map<Double, byte[]> scoreMembers) {
+            client.zaddBinary(key, scoreMembers);
+            return getResponse(BuilderFactory.LONG);
+        }
+
+        public Response<Long> zrem(byte[] key, byte[]... members) {
+            client.zrem(key, members);
+            return getResponse(BuilderFactory.LONG);
+        }
+    }
+
     /** Raw Key 값들을 역직렬화하여 Key Set을 반환합니다. */
     @SuppressWarnings("unchecked")
     private Set<Object> deserializeKeys(Set<byte[]> rawKeys) {
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.regions;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.Getter;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.AbstractRedisRegionFactory;
+import org.hibernate.cache.redis.jedis.JedisClient;
+import org.hibernate.cache.redis.util.Timestamper;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.redis.jedis.JedisUpdateCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Redis 에 캐시 항목을 저장하는 Hibernate 2차 캐시 {@link Region} 의 기본 클래스입니다.
+ * region 마다 {@link JedisClient} 를 하나씩 가지며, 캐시 키는 region 이름의 sorted set 으로 관리됩니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public abstract class RedisDataRegion implements Region {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisDataRegion.class);
+    private static final boolean isTraceEnabled = log.isTraceEnabled();
+
+    /** 기본 lock 유효 시간 (밀리초) */
+    public static final int DEFAULT_LOCK_TIMEOUT = 60000;
+
+    @Getter
+    private final JedisClient cache;
+
+    @Getter
+    private final int expiryInSeconds;
+
+    /** lock 유효 시간 ({@link Timestamper} 단위) */
+    private final int lockTimeout;
+
+    protected RedisDataRegion(JedisClient cache, Properties props) {
+        this.cache = cache;
+        this.expiryInSeconds = cache.getExpiryInSeconds();
+        this.lockTimeout = Timestamper.ONE_MS *
+                ConfigurationHelper.getInt(AbstractRedisRegionFactory.LOCK_TIMEOUT, props, DEFAULT_LOCK_TIMEOUT);
+    }
+
+    @Override
+    public String getName() {
+        return cache.getRegionName();
+    }
+
+    /**
+     * Redis 의 캐시 항목은 다른 서버와 공유되므로, region 을 폐기할 때 저장된 항목은 삭제하지 않습니다.
+     */
+    @Override
+    public void destroy() throws CacheException {
+        if (log.isDebugEnabled())
+            log.debug("Region 을 폐기합니다. region=[{}]", getName());
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        try {
+            return cache.exists(key);
+        } catch (Exception e) {
+            log.error("캐시 항목 존재 여부를 확인하는데 실패했습니다. region=" + getName() + ", key=" + key, e);
+            throw new CacheException(e);
+        }
+    }
+
+    @Override
+    public long getSizeInMemory() {
+        return -1;
+    }
+
+    @Override
+    public long getElementCountInMemory() {
+        try {
+            return cache.keySizeInRegion(getName());
+        } catch (Exception e) {
+            log.error("Region 의 캐시 항목 수를 구하는데 실패했습니다. region=" + getName(), e);
+            return -1;
+        }
+    }
+
+    @Override
+    public long getElementCountOnDisk() {
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map toMap() {
+        try {
+            List<Object> keys = Lists.newArrayList(cache.keysInRegion(getName()));
+            List<Object> values = cache.mget(keys);
+
+            Map<Object, Object> result = Maps.newHashMapWithExpectedSize(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                if (values.get(i) != null)
+                    result.put(keys.get(i), values.get(i));
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("Region 의 캐시 항목을 조회하는데 실패했습니다. region=" + getName(), e);
+            throw new CacheException(e);
+        }
+    }
+
+    @Override
+    public long nextTimestamp() {
+        return Timestamper.next();
+    }
+
+    @Override
+    public int getTimeout() {
+        return lockTimeout;
+    }
+
+    /**
+     * 캐시 값을 조회합니다.
+     *
+     * @param key 캐시 키
+     * @return 캐시 값, 없으면 null
+     */
+    public Object get(Object key) {
+        if (isTraceEnabled) log.trace("캐시 값을 조회합니다. region=[{}], key=[{}]", getName(), key);
+        try {
+            return cache.get(key);
+        } catch (Exception e) {
+            log.error("캐시 값을 조회하는데 실패했습니다. region=" + getName() + ", key=" + key, e);
+            throw new CacheException(e);
+        }
+    }
+
+    /**
+     * 캐시 값을 region 의 유효 기간으로 저장합니다.
+     *
+     * @param key   캐시 키
+     * @param value 캐시 값
+     */
+    public void put(Object key, Object value) {
+        if (isTraceEnabled) log.trace("캐시 값을 저장합니다. region=[{}], key=[{}]", getName(), key);
+        try {
+            cache.set(key, value, expiryInSeconds);
+        } catch (Exception e) {
+            log.error("캐시 값을 저장하는데 실패했습니다. region=" + getName() + ", key=" + key, e);
+            throw new CacheException(e);
+        }
+    }
+
+    /**
+     * 캐시 항목의 현재 값을 읽어 callback 이 구한 값으로 원자적으로 교체합니다. (여러 서버 사이에서도 직렬화됩니다)
+     *
+     * @param key      캐시 키
+     * @param callback 현재 값으로부터 저장할 값을 구하는 callback
+     * @return 저장한 값, 저장하지 않았으면 null
+     * @see JedisClient#update(Object, JedisUpdateCallback, long)
+     */
+    public Object update(Object key, JedisUpdateCallback callback) {
+        if (isTraceEnabled) log.trace("캐시 값을 교체합니다. region=[{}], key=[{}]", getName(), key);
+        try {
+            return cache.update(key, callback, expiryInSeconds);
+        } catch (Exception e) {
+            log.error("캐시 값을 교체하는데 실패했습니다. region=" + getName() + ", key=" + key, e);
+            throw new CacheException(e);
+        }
+    }
+
+    /**
+     * 캐시 항목을 삭제합니다.
+     *
+     * @param key 캐시 키
+     */
+    public void remove(Object key) {
+        if (isTraceEnabled) log.trace("캐시 항목을 삭제합니다. region=[{}], key=[{}]", getName(), key);
+        try {
+            cache.del(key);
+        } catch (Exception e) {
+            log.error("캐시 항목을 삭제하는데 실패했습니다. region=" + getName() + ", key=" + key, e);
+            throw new CacheException(e);
+        }
+    }
+
+    /** Region 의 모든 캐시 항목을 삭제합니다. */
+    public void clear() {
+        try {
+            cache.deleteRegion(getName());
+        } catch (Exception e) {
+            log.error("Region 을 비우는데 실패했습니다. region=" + getName(), e);
+            throw new CacheException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.regions;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.jedis.JedisClient;
+import org.hibernate.cache.redis.strategy.NonStrictReadWriteRedisNaturalIdRegionAccessStrategy;
+import org.hibernate.cache.redis.strategy.ReadOnlyRedisNaturalIdRegionAccessStrategy;
+import org.hibernate.cache.redis.strategy.ReadWriteRedisNaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cfg.Settings;
+
+import java.util.Properties;
+
+/**
+ * natural-id 와 identifier 의 매핑 캐시를 저장하는 Redis region 입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class RedisNaturalIdRegion extends RedisTransactionalDataRegion implements NaturalIdRegion {
+
+    public RedisNaturalIdRegion(JedisClient cache,
+                                Settings settings,
+                                CacheDataDescription metadata,
+                                Properties props) {
+        super(cache, settings, metadata, props);
+    }
+
+    @Override
+    public NaturalIdRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+        switch (accessType) {
+            case READ_ONLY:
+                return new ReadOnlyRedisNaturalIdRegionAccessStrategy(this, getSettings());
+            case NONSTRICT_READ_WRITE:
+                return new NonStrictReadWriteRedisNaturalIdRegionAccessStrategy(this, getSettings());
+            case READ_WRITE:
+                return new ReadWriteRedisNaturalIdRegionAccessStrategy(this, getSettings());
+            default:
+                throw new IllegalArgumentException("지원하지 않는 AccessType 입니다. accessType=" + accessType);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.regions;
+
+import org.hibernate.cache.redis.jedis.JedisClient;
+import org.hibernate.cache.spi.TimestampsRegion;
+
+import java.util.Properties;
+
+/**
+ * 테이블별 최종 수정 시각을 저장하는 Redis region 입니다.
+ * 쿼리 결과보다 먼저 만료되면 오래된 쿼리 결과가 사용될 수 있으므로, 유효 기간 없이 생성해야 합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class RedisTimestampsRegion extends RedisGeneralDataRegion implements TimestampsRegion {
+
+    public RedisTimestampsRegion(JedisClient cache, Properties props) {
+        super(cache, props);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.regions;
+
+import lombok.Getter;
+import org.hibernate.cache.redis.jedis.JedisClient;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cfg.Settings;
+
+import java.util.Properties;
+
+/**
+ * 엔티티, 컬렉션, natural-id 처럼 access strategy 를 통해 읽고 쓰는 Redis region 의 기본 클래스입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public abstract class RedisTransactionalDataRegion extends RedisDataRegion implements TransactionalDataRegion {
+
+    @Getter
+    private final Settings settings;
+
+    @Getter
+    private final CacheDataDescription cacheDataDescription;
+
+    protected RedisTransactionalDataRegion(JedisClient cache,
+                                           Settings settings,
+                                           CacheDataDescription metadata,
+                                           Properties props) {
+        super(cache, props);
+        this.settings = settings;
+        this.cacheDataDescription = metadata;
+    }
+
+    /** Redis 는 JTA transaction 에 참여하지 않습니다. */
+    @Override
+    public boolean isTransactionAware() {
+        return false;
+    }
+}
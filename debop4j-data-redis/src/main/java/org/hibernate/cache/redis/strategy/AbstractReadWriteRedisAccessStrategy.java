@@ -0,0 +1,293 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.regions.RedisTransactionalDataRegion;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+import org.hibernate.redis.jedis.JedisUpdateCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-write access strategy 의 기본 클래스입니다.
+ * 캐시 값을 {@link Item} 으로 감싸서 저장하고, 수정 중인 항목은 {@link Lock} 으로 교체하여 다른 트랜잭션이 오래된 값을 읽거나 쓰지 못하게 합니다.
+ * <p/>
+ * 캐시 항목은 여러 서버가 공유하므로, 항목의 확인과 교체는 JVM 의 lock 이 아닌
+ * {@link RedisTransactionalDataRegion#update(Object, JedisUpdateCallback)} (WATCH/MULTI/EXEC) 로 원자적으로 수행합니다.
+ * 그 사이에 다른 서버가 값을 바꾸면 바뀐 값으로 다시 판단하므로, 오래된 값이 lock 이나 새 버전을 덮어쓰지 않습니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+abstract class AbstractReadWriteRedisAccessStrategy<T extends RedisTransactionalDataRegion>
+        extends AbstractRedisAccessStrategy<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractReadWriteRedisAccessStrategy.class);
+
+    private final UUID uuid = UUID.randomUUID();
+    private final AtomicLong nextLockId = new AtomicLong();
+
+    private final Comparator versionComparator;
+
+    AbstractReadWriteRedisAccessStrategy(T region, Settings settings) {
+        super(region, settings);
+        this.versionComparator = region.getCacheDataDescription().getVersionComparator();
+    }
+
+    /** 캐시 값이 트랜잭션 시작 전에 저장된 것이라면 반환합니다. */
+    public final Object get(Object key, long txTimestamp) throws CacheException {
+        Lockable item = (Lockable) region.get(key);
+        boolean readable = item != null && item.isReadable(txTimestamp);
+        if (readable) {
+            return item.getValue();
+        } else {
+            return null;
+        }
+    }
+
+    /** 캐시 항목이 없거나 새 버전으로 교체할 수 있을 때만 저장합니다. */
+    @Override
+    public final boolean putFromLoad(Object key,
+                                     final Object value,
+                                     final long txTimestamp,
+                                     final Object version,
+                                     boolean minimalPutOverride) throws CacheException {
+        Object stored = region.update(key, new JedisUpdateCallback() {
+            @Override
+            public Object update(Object current) {
+                Lockable item = (Lockable) current;
+                boolean writeable = item == null || item.isWriteable(txTimestamp, version, versionComparator);
+                return writeable ? new Item(value, version, region.nextTimestamp()) : null;
+            }
+        });
+        return stored != null;
+    }
+
+    /** 캐시 항목을 lock 으로 교체합니다. */
+    public final SoftLock lockItem(Object key, final Object version) throws CacheException {
+        return (Lock) region.update(key, new JedisUpdateCallback() {
+            @Override
+            public Object update(Object current) {
+                Lockable item = (Lockable) current;
+                long timeout = region.nextTimestamp() + region.getTimeout();
+                return (item == null)
+                        ? new Lock(timeout, uuid, nextLockId(), version)
+                        : item.lock(timeout, uuid, nextLockId());
+            }
+        });
+    }
+
+    /** 캐시 항목의 lock 을 해제합니다. */
+    public final void unlockItem(final Object key, final SoftLock lock) throws CacheException {
+        region.update(key, new JedisUpdateCallback() {
+            @Override
+            public Object update(Object current) {
+                Lockable item = (Lockable) current;
+                if ((item != null) && item.isUnlockable(lock)) {
+                    return decrementLock((Lock) item);
+                } else {
+                    return handleLockExpiry(key, item);
+                }
+            }
+        });
+    }
+
+    private long nextLockId() {
+        return nextLockId.getAndIncrement();
+    }
+
+    /** lock 의 참조 수를 줄인 lock 을 반환합니다. */
+    protected Lock decrementLock(Lock lock) {
+        lock.unlock(region.nextTimestamp());
+        return lock;
+    }
+
+    /** lock 이 만료되었거나 다른 lock 으로 교체된 경우, 해당 항목을 lock 이 끝날 때까지 사용하지 않도록 하는 lock 을 반환합니다. */
+    protected Lock handleLockExpiry(Object key, Lockable lock) {
+        log.warn("캐시 항목의 lock 이 만료되었습니다. region=[{}], key=[{}]", region.getName(), key);
+
+        long ts = region.nextTimestamp() + region.getTimeout();
+        Lock newLock = new Lock(ts, uuid, nextLockId(), null);
+        newLock.unlock(ts);
+        return newLock;
+    }
+
+    /** 캐시에 저장되는 값 ({@link Item}) 또는 lock ({@link Lock}) */
+    protected static interface Lockable {
+
+        /** 지정한 시각에 시작한 트랜잭션이 읽을 수 있는지 여부 */
+        boolean isReadable(long txTimestamp);
+
+        /** 지정한 시각에 시작한 트랜잭션이 새 버전으로 덮어쓸 수 있는지 여부 */
+        boolean isWriteable(long txTimestamp, Object version, Comparator versionComparator);
+
+        /** 캐시 값 */
+        Object getValue();
+
+        /** 지정한 lock 으로 해제할 수 있는지 여부 */
+        boolean isUnlockable(SoftLock lock);
+
+        /** 이 항목을 lock 으로 교체합니다. */
+        Lock lock(long timeout, UUID uuid, long lockId);
+    }
+
+    /** 캐시 값과 버전, 저장 시각 */
+    protected static final class Item implements Serializable, Lockable {
+
+        private static final long serialVersionUID = 6426446011425286632L;
+
+        private final Object value;
+        private final Object version;
+        private final long timestamp;
+
+        Item(Object value, Object version, long timestamp) {
+            this.value = value;
+            this.version = version;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public boolean isReadable(long txTimestamp) {
+            return txTimestamp > timestamp;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+            return version != null && versionComparator.compare(version, newVersion) < 0;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean isUnlockable(SoftLock lock) {
+            return false;
+        }
+
+        @Override
+        public Lock lock(long timeout, UUID uuid, long lockId) {
+            return new Lock(timeout, uuid, lockId, version);
+        }
+    }
+
+    /** 수정 중인 캐시 항목을 나타내는 lock */
+    protected static final class Lock implements Serializable, Lockable, SoftLock {
+
+        private static final long serialVersionUID = -4517813612813893432L;
+
+        private final UUID sourceUuid;
+        private final long lockId;
+        private final Object version;
+
+        private long timeout;
+        private boolean concurrent;
+        private int multiplicity = 1;
+        private long unlockTimestamp;
+
+        Lock(long timeout, UUID sourceUuid, long lockId, Object version) {
+            this.timeout = timeout;
+            this.lockId = lockId;
+            this.version = version;
+            this.sourceUuid = sourceUuid;
+        }
+
+        @Override
+        public boolean isReadable(long txTimestamp) {
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+            if (txTimestamp > timeout) {
+                // lock 이 만료되었다.
+                return true;
+            }
+            if (multiplicity > 0) {
+                // 아직 lock 중이다.
+                return false;
+            }
+            return version == null
+                    ? txTimestamp > unlockTimestamp
+                    : versionComparator.compare(version, newVersion) < 0;
+        }
+
+        @Override
+        public Object getValue() {
+            return null;
+        }
+
+        @Override
+        public boolean isUnlockable(SoftLock lock) {
+            return equals(lock);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this)
+                return true;
+            if (o instanceof Lock)
+                return (lockId == ((Lock) o).lockId) && sourceUuid.equals(((Lock) o).sourceUuid);
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = (sourceUuid != null ? sourceUuid.hashCode() : 0);
+            int temp = (int) lockId;
+            for (int i = 1; i < Long.SIZE / Integer.SIZE; i++) {
+                temp ^= (lockId >>> (i * Integer.SIZE));
+            }
+            return hash + temp;
+        }
+
+        /** 다른 트랜잭션도 이 항목을 lock 했는지 여부 */
+        public boolean wasLockedConcurrently() {
+            return concurrent;
+        }
+
+        @Override
+        public Lock lock(long timeout, UUID uuid, long lockId) {
+            concurrent = true;
+            multiplicity++;
+            this.timeout = timeout;
+            return this;
+        }
+
+        /** lock 참조 수를 줄이고, 모두 해제되면 해제 시각을 기록합니다. */
+        public void unlock(long timestamp) {
+            if (--multiplicity == 0) {
+                unlockTimestamp = timestamp;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Lock Source-UUID:" + sourceUuid + " Lock-ID:" + lockId;
+        }
+    }
+}
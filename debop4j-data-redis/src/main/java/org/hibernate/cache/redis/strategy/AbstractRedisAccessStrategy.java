@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.regions.RedisTransactionalDataRegion;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Redis region access strategy 의 기본 클래스입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+abstract class AbstractRedisAccessStrategy<T extends RedisTransactionalDataRegion> {
+
+    protected final T region;
+    protected final Settings settings;
+
+    AbstractRedisAccessStrategy(T region, Settings settings) {
+        this.region = region;
+        this.settings = settings;
+    }
+
+    /** minimal puts 설정에 따라 {@link #putFromLoad(Object, Object, long, Object, boolean)} 를 호출합니다. */
+    public final boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
+        return putFromLoad(key, value, txTimestamp, version, settings.isMinimalPutsEnabled());
+    }
+
+    /** DB 에서 로드한 값을 캐시에 저장합니다. */
+    public abstract boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+            throws CacheException;
+
+    /** Region 단위 lock 은 지원하지 않으므로 null 을 반환합니다. */
+    public final SoftLock lockRegion() {
+        return null;
+    }
+
+    /** Region 의 lock 을 해제할 때 region 전체를 비웁니다. */
+    public final void unlockRegion(SoftLock lock) throws CacheException {
+        region.clear();
+    }
+
+    /** 기본적으로 아무 작업도 하지 않습니다. */
+    public void remove(Object key) throws CacheException {}
+
+    /** Region 의 모든 항목을 삭제합니다. */
+    public final void removeAll() throws CacheException {
+        region.clear();
+    }
+
+    /** 캐시 항목을 삭제합니다. */
+    public final void evict(Object key) throws CacheException {
+        region.remove(key);
+    }
+
+    /** Region 의 모든 항목을 삭제합니다. */
+    public final void evictAll() throws CacheException {
+        region.clear();
+    }
+}
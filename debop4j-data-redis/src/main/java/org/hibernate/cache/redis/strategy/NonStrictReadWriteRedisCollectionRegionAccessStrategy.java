@@ -0,0 +1,74 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.regions.RedisCollectionRegion;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * 컬렉션을 위한 nonstrict read-write access strategy 입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class NonStrictReadWriteRedisCollectionRegionAccessStrategy
+        extends AbstractRedisAccessStrategy<RedisCollectionRegion>
+        implements CollectionRegionAccessStrategy {
+
+    public NonStrictReadWriteRedisCollectionRegionAccessStrategy(RedisCollectionRegion region, Settings settings) {
+        super(region, settings);
+    }
+
+    @Override
+    public CollectionRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public Object get(Object key, long txTimestamp) throws CacheException {
+        return region.get(key);
+    }
+
+    @Override
+    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+            throws CacheException {
+        if (minimalPutOverride && region.contains(key))
+            return false;
+
+        region.put(key, value);
+        return true;
+    }
+
+    @Override
+    public SoftLock lockItem(Object key, Object version) throws CacheException {
+        return null;
+    }
+
+    @Override
+    public void unlockItem(Object key, SoftLock lock) throws CacheException {
+        region.remove(key);
+    }
+
+    @Override
+    public void remove(Object key) throws CacheException {
+        region.remove(key);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.regions.RedisNaturalIdRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * natural-id 를 위한 nonstrict read-write access strategy 입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class NonStrictReadWriteRedisNaturalIdRegionAccessStrategy
+        extends AbstractRedisAccessStrategy<RedisNaturalIdRegion>
+        implements NaturalIdRegionAccessStrategy {
+
+    public NonStrictReadWriteRedisNaturalIdRegionAccessStrategy(RedisNaturalIdRegion region, Settings settings) {
+        super(region, settings);
+    }
+
+    @Override
+    public NaturalIdRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public Object get(Object key, long txTimestamp) throws CacheException {
+        return region.get(key);
+    }
+
+    @Override
+    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+            throws CacheException {
+        if (minimalPutOverride && region.contains(key))
+            return false;
+
+        region.put(key, value);
+        return true;
+    }
+
+    @Override
+    public SoftLock lockItem(Object key, Object version) throws CacheException {
+        return null;
+    }
+
+    @Override
+    public void unlockItem(Object key, SoftLock lock) throws CacheException {
+        region.remove(key);
+    }
+
+    @Override
+    public boolean insert(Object key, Object value) throws CacheException {
+        return false;
+    }
+
+    @Override
+    public boolean afterInsert(Object key, Object value) throws CacheException {
+        return false;
+    }
+
+    @Override
+    public boolean update(Object key, Object value) throws CacheException {
+        remove(key);
+        return false;
+    }
+
+    @Override
+    public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
+        unlockItem(key, lock);
+        return false;
+    }
+
+    @Override
+    public void remove(Object key) throws CacheException {
+        region.remove(key);
+    }
+}
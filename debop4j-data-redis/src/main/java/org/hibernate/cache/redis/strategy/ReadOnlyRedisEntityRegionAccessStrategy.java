@@ -0,0 +1,92 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.regions.RedisEntityRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * 변경되지 않는 엔티티를 위한 read-only access strategy 입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class ReadOnlyRedisEntityRegionAccessStrategy
+        extends AbstractRedisAccessStrategy<RedisEntityRegion>
+        implements EntityRegionAccessStrategy {
+
+    public ReadOnlyRedisEntityRegionAccessStrategy(RedisEntityRegion region, Settings settings) {
+        super(region, settings);
+    }
+
+    @Override
+    public EntityRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public Object get(Object key, long txTimestamp) throws CacheException {
+        return region.get(key);
+    }
+
+    @Override
+    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+            throws CacheException {
+        if (minimalPutOverride && region.contains(key))
+            return false;
+
+        region.put(key, value);
+        return true;
+    }
+
+    @Override
+    public SoftLock lockItem(Object key, Object version) throws UnsupportedOperationException {
+        return null;
+    }
+
+    @Override
+    public void unlockItem(Object key, SoftLock lock) throws CacheException {
+        evict(key);
+    }
+
+    @Override
+    public boolean insert(Object key, Object value, Object version) throws CacheException {
+        return false;
+    }
+
+    @Override
+    public boolean afterInsert(Object key, Object value, Object version) throws CacheException {
+        region.put(key, value);
+        return true;
+    }
+
+    @Override
+    public boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+            throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Read-only 엔티티는 수정할 수 없습니다. key=" + key);
+    }
+
+    @Override
+    public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
+            throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Read-only 엔티티는 수정할 수 없습니다. key=" + key);
+    }
+}
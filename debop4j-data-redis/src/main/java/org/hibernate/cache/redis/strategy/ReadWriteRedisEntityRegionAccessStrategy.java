@@ -0,0 +1,89 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.regions.RedisEntityRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+import org.hibernate.redis.jedis.JedisUpdateCallback;
+
+/**
+ * 엔티티를 위한 read-write access strategy 입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class ReadWriteRedisEntityRegionAccessStrategy
+        extends AbstractReadWriteRedisAccessStrategy<RedisEntityRegion>
+        implements EntityRegionAccessStrategy {
+
+    public ReadWriteRedisEntityRegionAccessStrategy(RedisEntityRegion region, Settings settings) {
+        super(region, settings);
+    }
+
+    @Override
+    public EntityRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public boolean insert(Object key, Object value, Object version) throws CacheException {
+        return false;
+    }
+
+    @Override
+    public boolean afterInsert(Object key, final Object value, final Object version) throws CacheException {
+        Object stored = region.update(key, new JedisUpdateCallback() {
+            @Override
+            public Object update(Object current) {
+                return (current == null) ? new Item(value, version, region.nextTimestamp()) : null;
+            }
+        });
+        return stored != null;
+    }
+
+    @Override
+    public boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+            throws CacheException {
+        return false;
+    }
+
+    @Override
+    public boolean afterUpdate(final Object key, final Object value, final Object currentVersion, Object previousVersion,
+                               final SoftLock lock) throws CacheException {
+        Object stored = region.update(key, new JedisUpdateCallback() {
+            @Override
+            public Object update(Object current) {
+                Lockable item = (Lockable) current;
+                if (item != null && item.isUnlockable(lock)) {
+                    Lock lockItem = (Lock) item;
+                    if (lockItem.wasLockedConcurrently()) {
+                        return decrementLock(lockItem);
+                    } else {
+                        return new Item(value, currentVersion, region.nextTimestamp());
+                    }
+                } else {
+                    return handleLockExpiry(key, item);
+                }
+            }
+        });
+        return stored instanceof Item;
+    }
+}
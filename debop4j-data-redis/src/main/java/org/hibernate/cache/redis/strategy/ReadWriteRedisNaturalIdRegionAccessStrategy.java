@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.redis.regions.RedisNaturalIdRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+import org.hibernate.redis.jedis.JedisUpdateCallback;
+
+/**
+ * natural-id 를 위한 read-write access strategy 입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class ReadWriteRedisNaturalIdRegionAccessStrategy
+        extends AbstractReadWriteRedisAccessStrategy<RedisNaturalIdRegion>
+        implements NaturalIdRegionAccessStrategy {
+
+    public ReadWriteRedisNaturalIdRegionAccessStrategy(RedisNaturalIdRegion region, Settings settings) {
+        super(region, settings);
+    }
+
+    @Override
+    public NaturalIdRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public boolean insert(Object key, Object value) throws CacheException {
+        return false;
+    }
+
+    @Override
+    public boolean afterInsert(Object key, final Object value) throws CacheException {
+        Object stored = region.update(key, new JedisUpdateCallback() {
+            @Override
+            public Object update(Object current) {
+                return (current == null) ? new Item(value, null, region.nextTimestamp()) : null;
+            }
+        });
+        return stored != null;
+    }
+
+    @Override
+    public boolean update(Object key, Object value) throws CacheException {
+        return false;
+    }
+
+    @Override
+    public boolean afterUpdate(final Object key, final Object value, final SoftLock lock) throws CacheException {
+        Object stored = region.update(key, new JedisUpdateCallback() {
+            @Override
+            public Object update(Object current) {
+                Lockable item = (Lockable) current;
+                if (item != null && item.isUnlockable(lock)) {
+                    Lock lockItem = (Lock) item;
+                    if (lockItem.wasLockedConcurrently()) {
+                        return decrementLock(lockItem);
+                    } else {
+                        return new Item(value, null, region.nextTimestamp());
+                    }
+                } else {
+                    return handleLockExpiry(key, item);
+                }
+            }
+        });
+        return stored instanceof Item;
+    }
+}
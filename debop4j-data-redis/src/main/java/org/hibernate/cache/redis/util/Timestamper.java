@@ -0,0 +1,54 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.cache.redis.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 2차 캐시에서 사용하는 timestamp 를 생성합니다.
+ * 밀리초 단위의 현재 시각을 {@link #BIN_DIGITS} 만큼 shift 하고 하위 비트에 일련번호를 붙여서, 같은 밀리초 내에서도 증가하는 값을 반환합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public final class Timestamper {
+
+    private Timestamper() {}
+
+    /** 밀리초 하위에 붙일 일련번호 비트 수 */
+    public static final int BIN_DIGITS = 12;
+
+    /** 1 밀리초에 해당하는 timestamp 값 */
+    public static final short ONE_MS = 1 << BIN_DIGITS;
+
+    private static final AtomicLong VALUE = new AtomicLong();
+
+    /** 다음 timestamp 값을 반환합니다. */
+    public static long next() {
+        while (true) {
+            long base = System.currentTimeMillis() << BIN_DIGITS;
+            long maxValue = base + ONE_MS - 1;
+
+            for (long current = VALUE.get(), update = Math.max(base, current + 1);
+                 update < maxValue;
+                 current = VALUE.get(), update = Math.max(base, current + 1)) {
+                if (VALUE.compareAndSet(current, update))
+                    return update;
+            }
+        }
+    }
+}
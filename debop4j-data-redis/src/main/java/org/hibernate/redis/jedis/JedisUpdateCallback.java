@@ -0,0 +1,35 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.redis.jedis;
+
+/**
+ * 캐시 항목의 현재 값으로부터 새로 저장할 값을 구합니다.
+ * {@link org.hibernate.cache.redis.jedis.JedisClient#update(Object, JedisUpdateCallback, long)} 에서 WATCH/MULTI/EXEC 로
+ * 원자적으로 교체할 때 사용하며, 다른 connection 이 먼저 값을 바꾸면 새 현재 값으로 다시 호출됩니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public interface JedisUpdateCallback {
+    /**
+     * 새로 저장할 값을 구합니다.
+     *
+     * @param current 현재 캐시 값, 없으면 null
+     * @return 저장할 값, null 이면 저장하지 않습니다.
+     */
+    public Object update(Object current);
+}
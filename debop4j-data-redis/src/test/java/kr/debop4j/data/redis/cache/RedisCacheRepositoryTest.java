@@ -0,0 +1,80 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.data.redis.cache;
+
+import com.google.common.collect.Maps;
+import kr.debop4j.core.cache.BatchingAsyncCacheRepository;
+import org.hibernate.cache.redis.jedis.JedisClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import redis.clients.jedis.JedisPool;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * {@link RedisCacheRepository} 테스트
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class RedisCacheRepositoryTest {
+
+    private JedisPool jedisPool;
+    private JedisClient client;
+    private RedisCacheRepository repository;
+
+    @Before
+    public void before() {
+        jedisPool = new JedisPool("localhost");
+        client = new JedisClient(jedisPool);
+        repository = new RedisCacheRepository(client);
+    }
+
+    @After
+    public void after() {
+        client.flushDb();
+        jedisPool.destroy();
+    }
+
+    @Test
+    public void getAllAndSetAll() throws Exception {
+        Map<String, Object> items = Maps.newHashMap();
+        for (int i = 0; i < 50; i++)
+            items.put("key-" + i, i);
+        repository.setAll(items, 1);
+
+        Map<String, Object> values = repository.getAll(Arrays.asList("key-0", "key-49", "missing"));
+        assertThat(values.size()).isEqualTo(2);
+        assertThat(values.get("key-49")).isEqualTo(49);
+
+        repository.removeAll("key-0", "key-49");
+        assertThat(repository.exists("key-0")).isFalse();
+        assertThat(repository.exists("key-1")).isTrue();
+    }
+
+    @Test
+    public void batchingAsync() throws Exception {
+        BatchingAsyncCacheRepository async = new BatchingAsyncCacheRepository(repository);
+        async.setAsync("a", "A", 0).get();
+
+        assertThat(async.getAsync("a").get()).isEqualTo("A");
+        assertThat(async.getsAsync("a", "b").get().size()).isEqualTo(1);
+    }
+}
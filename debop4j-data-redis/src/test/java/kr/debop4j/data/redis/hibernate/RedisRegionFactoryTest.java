@@ -0,0 +1,194 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.data.redis.hibernate;
+
+import kr.debop4j.data.redis.hibernate.model.Account;
+import kr.debop4j.data.redis.hibernate.model.Holiday;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.redis.AbstractRedisRegionFactory;
+import org.hibernate.cache.redis.RedisRegionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.service.ServiceRegistryBuilder;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * {@link RedisRegionFactory} 를 2차 캐시로 사용하는 테스트입니다. (localhost 의 Redis 서버가 필요합니다)
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class RedisRegionFactoryTest {
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeClass
+    public static void beforeClass() {
+        Configuration cfg = new Configuration()
+                .setProperty(Environment.DIALECT, "org.hibernate.dialect.H2Dialect")
+                .setProperty(Environment.DRIVER, "org.h2.Driver")
+                .setProperty(Environment.URL, "jdbc:h2:mem:redis-cache;DB_CLOSE_DELAY=-1")
+                .setProperty(Environment.USER, "sa")
+                .setProperty(Environment.HBM2DDL_AUTO, "create")
+                .setProperty(Environment.USE_SECOND_LEVEL_CACHE, "true")
+                .setProperty(Environment.USE_QUERY_CACHE, "true")
+                .setProperty(Environment.CACHE_REGION_FACTORY, RedisRegionFactory.class.getName())
+                .setProperty(Environment.CACHE_REGION_PREFIX, "")
+                .setProperty(Environment.GENERATE_STATISTICS, "true")
+                .setProperty(AbstractRedisRegionFactory.EXPIRY_IN_SECONDS, "60")
+                .addAnnotatedClass(Account.class)
+                .addAnnotatedClass(Holiday.class);
+
+        sessionFactory = cfg.buildSessionFactory(new ServiceRegistryBuilder().applySettings(cfg.getProperties())
+                                                                             .buildServiceRegistry());
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        if (sessionFactory != null)
+            sessionFactory.close();
+    }
+
+    @Before
+    public void before() {
+        sessionFactory.getCache().evictEntityRegions();
+        sessionFactory.getCache().evictCollectionRegions();
+        sessionFactory.getCache().evictNaturalIdRegions();
+        sessionFactory.getCache().evictQueryRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @Test
+    public void readWriteEntityTest() {
+        Long id = saveAccount("read-write@debop4j.kr", "read-write");
+
+        // identity 로 저장한 엔티티는 처음 로드할 때 캐시에 저장된다.
+        for (int i = 0; i < 2; i++) {
+            Account account = loadAccount(id);
+            assertThat(account.getName()).isEqualTo("read-write");
+            assertThat(account.getTags()).hasSize(2);
+        }
+
+        SecondLevelCacheStatistics stats = sessionFactory.getStatistics().getSecondLevelCacheStatistics("account");
+        assertThat(stats.getHitCount()).isGreaterThan(0);
+
+        // 수정하면 캐시도 새 버전으로 갱신된다.
+        Session session = sessionFactory.openSession();
+        session.beginTransaction();
+        Account account = (Account) session.get(Account.class, id);
+        account.setName("updated");
+        session.getTransaction().commit();
+        session.close();
+
+        long hitCount = stats.getHitCount();
+        assertThat(loadAccount(id).getName()).isEqualTo("updated");
+        assertThat(stats.getHitCount()).isGreaterThan(hitCount);
+    }
+
+    @Test
+    public void naturalIdTest() {
+        saveAccount("natural-id@debop4j.kr", "natural-id");
+
+        for (int i = 0; i < 2; i++) {
+            Session session = sessionFactory.openSession();
+            Account account = (Account) session.bySimpleNaturalId(Account.class).load("natural-id@debop4j.kr");
+            assertThat(account.getName()).isEqualTo("natural-id");
+            session.close();
+        }
+        SecondLevelCacheStatistics stats = sessionFactory.getStatistics().getSecondLevelCacheStatistics("account##NaturalId");
+        assertThat(stats.getElementCountInMemory()).isEqualTo(1);
+    }
+
+    @Test
+    public void nonStrictReadWriteEntityTest() {
+        Session session = sessionFactory.openSession();
+        session.beginTransaction();
+        Holiday holiday = new Holiday();
+        holiday.setName("new year");
+        Long id = (Long) session.save(holiday);
+        session.getTransaction().commit();
+        session.close();
+
+        for (int i = 0; i < 2; i++) {
+            session = sessionFactory.openSession();
+            assertThat(((Holiday) session.get(Holiday.class, id)).getName()).isEqualTo("new year");
+            session.close();
+        }
+        SecondLevelCacheStatistics stats = sessionFactory.getStatistics().getSecondLevelCacheStatistics("Calendar");
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getElementCountInMemory()).isGreaterThan(0);
+
+        sessionFactory.getCache().evictEntityRegion(Holiday.class);
+        assertThat(stats.getElementCountInMemory()).isEqualTo(0);
+    }
+
+    @Test
+    public void queryCacheTest() {
+        saveAccount("query@debop4j.kr", "query");
+
+        for (int i = 0; i < 2; i++) {
+            Session session = sessionFactory.openSession();
+            List<?> accounts = session.createQuery("from Account a where a.name = :name")
+                    .setString("name", "query")
+                    .setCacheable(true)
+                    .list();
+            assertThat(accounts).hasSize(1);
+            session.close();
+        }
+
+        Statistics stats = sessionFactory.getStatistics();
+        assertThat(stats.getQueryCacheMissCount()).isEqualTo(1);
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    private Long saveAccount(String email, String name) {
+        Session session = sessionFactory.openSession();
+        session.beginTransaction();
+        Account account = new Account();
+        account.setEmail(email);
+        account.setName(name);
+        account.getTags().add("redis");
+        account.getTags().add("hibernate");
+        Long id = (Long) session.save(account);
+        session.getTransaction().commit();
+        session.close();
+        return id;
+    }
+
+    private Account loadAccount(Long id) {
+        Session session = sessionFactory.openSession();
+        try {
+            Account account = (Account) session.get(Account.class, id);
+            account.getTags().size();
+            return account;
+        } finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kr.debop4j.data.redis.hibernate.model;
+
+import com.google.common.collect.Sets;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Redis 2차 캐시 테스트용 엔티티입니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Entity
+@Cache(region = "account", usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Getter
+@Setter
+public class Account implements Serializable {
+
+    private static final long serialVersionUID = -5270382826367786542L;
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @NaturalId
+    private String email;
+
+    private String name;
+
+    @Version
+    private Integer version;
+
+    @ElementCollection
+    @Cache(region = "account", usage = CacheConcurrencyStrategy.READ_WRITE)
+    private Set<String> tags = Sets.newHashSet();
+}
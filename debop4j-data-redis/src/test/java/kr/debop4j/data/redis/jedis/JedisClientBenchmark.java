@@ -0,0 +1,116 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package kr.debop4j.data.redis.jedis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.redis.jedis.JedisClient;
+import org.hibernate.redis.jedis.JedisTransactionalCallback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Transaction;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link JedisClient} 의 쓰기 처리량을 측정합니다.
+ * 이전 구현과 같이 키마다 MULTI/EXEC 로 저장하는 방식과 pipeline 으로 저장하는 {@link JedisClient#set(Object, Object, long)},
+ * {@link JedisClient#mset(java.util.Map, long)} 을 비교합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class JedisClientBenchmark {
+
+    private static final int KEY_COUNT = 10000;
+    private static final int EXPIRY_IN_SECONDS = 60;
+
+    private JedisPool jedisPool;
+    private JedisClient client;
+
+    @Before
+    public void before() {
+        jedisPool = new JedisPool("localhost");
+        client = new JedisClient(jedisPool);
+    }
+
+    @After
+    public void after() {
+        client.flushDb();
+        jedisPool.destroy();
+    }
+
+    @Test
+    public void benchmarkWrite() throws Exception {
+        final Map<String, String> items = new LinkedHashMap<String, String>(KEY_COUNT);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            items.put("Key-" + i, "Value-" + i);
+        }
+
+        // warm up
+        setWithTx(items);
+        setEach(items);
+        client.mset(items, EXPIRY_IN_SECONDS);
+
+        long start = System.nanoTime();
+        setWithTx(items);
+        double txThroughput = throughput(start);
+
+        start = System.nanoTime();
+        setEach(items);
+        double pipelinedThroughput = throughput(start);
+
+        start = System.nanoTime();
+        client.mset(items, EXPIRY_IN_SECONDS);
+        double msetThroughput = throughput(start);
+
+        log.info("keys=[{}], multi/exec=[{}] ops/sec, pipelined set=[{}] ops/sec, mset=[{}] ops/sec",
+                 new Object[] { KEY_COUNT, (long) txThroughput, (long) pipelinedThroughput, (long) msetThroughput });
+    }
+
+    /** 이전 구현과 같이 키마다 SET / ZADD / EXPIRE 를 MULTI/EXEC 로 묶어 저장합니다. */
+    private void setWithTx(Map<String, String> items) {
+        final byte[] rawRegion = client.getKeySerializer().serialize(client.getRegionName());
+        for (Map.Entry<String, String> item : items.entrySet()) {
+            final byte[] rawKey = client.getKeySerializer().serialize(item.getKey());
+            final byte[] rawValue = client.getValueSerializer().serialize(item.getValue());
+            client.runWithTx(new JedisTransactionalCallback() {
+                @Override
+                public void execute(Transaction tx) {
+                    tx.set(rawKey, rawValue);
+                    tx.zadd(rawRegion, 0, rawKey);
+                    tx.expire(rawKey, EXPIRY_IN_SECONDS);
+                    tx.expire(rawRegion, EXPIRY_IN_SECONDS);
+                }
+            });
+        }
+    }
+
+    private void setEach(Map<String, String> items) {
+        for (Map.Entry<String, String> item : items.entrySet()) {
+            client.set(item.getKey(), item.getValue(), EXPIRY_IN_SECONDS);
+        }
+    }
+
+    private static double throughput(long start) {
+        return KEY_COUNT / ((System.nanoTime() - start) / 1000000000.0);
+    }
+}
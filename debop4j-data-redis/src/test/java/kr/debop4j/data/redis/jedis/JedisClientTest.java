@@ -20,6 +20,7 @@ import kr.debop4j.core.unitTesting.TestTool;
 import org.hibernate.cache.redis.jedis.JedisClient;
 import org.hibernate.redis.jedis.JedisCallback;
 import org.hibernate.redis.jedis.JedisPipelineCallback;
+import org.hibernate.redis.jedis.JedisUpdateCallback;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,8 +29,14 @@ import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.Pipeline;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.fest.assertions.Assertions.assertThat;
 
@@ -88,6 +95,18 @@ public class JedisClientTest {
         assertThat(client.get("expireTest")).isNull();
     }
 
+    @Test
+    public void existsAfterExpire() throws Exception {
+        client.set("expired", "Value", 1);
+        client.set("alive", "Value", 60);
+        assertThat(client.exists("expired")).isTrue();
+
+        Thread.sleep(1100);
+        assertThat(client.exists("expired")).isFalse();
+        assertThat(client.exists("alive")).isTrue();
+        assertThat(client.keySizeInRegion(JedisClient.DEFAULT_REGION_NAME)).isEqualTo(1L);
+    }
+
     @Test
     public void flushDbTest() throws Exception {
         client.set("a", "a");
@@ -137,6 +156,25 @@ public class JedisClientTest {
     }
 
 
+    @Test
+    public void msetAndMdelInBatches() throws Exception {
+        int count = JedisClient.BATCH_SIZE * 2 + 10;
+        Map<Integer, Integer> items = new LinkedHashMap<Integer, Integer>();
+        for (int i = 0; i < count; i++) {
+            items.put(i, i);
+        }
+        client.mset(items, 30);
+
+        assertThat(client.keySizeInRegion(JedisClient.DEFAULT_REGION_NAME)).isEqualTo((long) count);
+        assertThat(client.mget(items.keySet())).isEqualTo(new ArrayList<Object>(items.values()));
+
+        client.mdel(items.keySet());
+        assertThat(client.keySizeInRegion(JedisClient.DEFAULT_REGION_NAME)).isEqualTo(0L);
+        for (int i = 0; i < count; i++) {
+            assertThat(client.get(i)).isNull();
+        }
+    }
+
     @Test
     public void keysInRegion() throws Exception {
         client.flushDb();
@@ -156,6 +194,120 @@ public class JedisClientTest {
         assertThat(keysInRegion.size()).isEqualTo(0);
     }
 
+    @Test
+    public void deleteRegionInBatches() throws Exception {
+        int count = JedisClient.BATCH_SIZE * 3 + 1;
+        Map<Integer, Integer> items = new LinkedHashMap<Integer, Integer>();
+        for (int i = 0; i < count; i++) {
+            items.put(i, i);
+        }
+        client.mset(items, 30);
+        client.set("last", "last");
+
+        Set<Object> keysInRegion = client.keysInRegion(JedisClient.DEFAULT_REGION_NAME);
+        assertThat(keysInRegion.size()).isEqualTo(count + 1);
+
+        client.deleteRegion(JedisClient.DEFAULT_REGION_NAME);
+        assertThat(client.keySizeInRegion(JedisClient.DEFAULT_REGION_NAME)).isEqualTo(0L);
+        assertThat(client.get(0)).isNull();
+        assertThat(client.get(count - 1)).isNull();
+        assertThat(client.get("last")).isNull();
+    }
+
+    @Test
+    public void deleteLegacyRegionByEntityName() throws Exception {
+        // 이전 버전은 entity 이름의 key 집합에 키를 기록했습니다.
+        final byte[] rawLegacyRegion = client.getKeySerializer().serialize("legacy.Entity");
+        final byte[] rawKey = client.getKeySerializer().serialize("legacy-key");
+        final byte[] rawValue = client.getValueSerializer().serialize("legacy-value");
+        client.run(new JedisCallback<Long>() {
+            @Override
+            public Long execute(Jedis jedis) {
+                jedis.set(rawKey, rawValue);
+                return jedis.zadd(rawLegacyRegion, 0, rawKey);
+            }
+        });
+
+        client.deleteRegion(JedisClient.DEFAULT_REGION_NAME);
+        assertThat(client.get("legacy-key")).isEqualTo("legacy-value");
+
+        client.deleteRegion("legacy.Entity");
+        assertThat(client.get("legacy-key")).isNull();
+        assertThat(client.keySizeInRegion("legacy.Entity")).isEqualTo(0L);
+    }
+
+    @Test
+    public void deleteRegionIgnoresWriterClock() throws Exception {
+        client.set("now", "now");
+        client.set("ahead", "ahead");
+
+        // 시각이 앞서는 다른 서버가 저장한 항목
+        final byte[] rawRegion = client.getKeySerializer().serialize(JedisClient.DEFAULT_REGION_NAME);
+        final byte[] rawKey = client.getKeySerializer().serialize("ahead");
+        client.run(new JedisCallback<Long>() {
+            @Override
+            public Long execute(Jedis jedis) {
+                return jedis.zadd(rawRegion, System.currentTimeMillis() + 3600 * 1000L, rawKey);
+            }
+        });
+
+        client.deleteRegion(JedisClient.DEFAULT_REGION_NAME);
+        assertThat(client.keySizeInRegion(JedisClient.DEFAULT_REGION_NAME)).isEqualTo(0L);
+        assertThat(client.get("now")).isNull();
+        assertThat(client.get("ahead")).isNull();
+    }
+
+    @Test
+    public void updateIsAtomicAcrossClients() throws Exception {
+        // 서로 다른 서버를 흉내 내기 위해 client 마다 다른 pool 을 사용합니다.
+        final JedisPool otherPool = new JedisPool("localhost");
+        final JedisClient[] clients = { client, new JedisClient(otherPool) };
+        final int threads = 8;
+        final int increments = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                final JedisClient target = clients[t % clients.length];
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < increments; i++) {
+                            target.update("counter", new JedisUpdateCallback() {
+                                @Override
+                                public Object update(Object current) {
+                                    return (current == null) ? 1 : (Integer) current + 1;
+                                }
+                            }, 60);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+            otherPool.destroy();
+        }
+        assertThat(client.get("counter")).isEqualTo(threads * increments);
+        assertThat(client.keySizeInRegion(JedisClient.DEFAULT_REGION_NAME)).isEqualTo(1L);
+    }
+
+    @Test
+    public void updateSkipsWhenCallbackReturnsNull() throws Exception {
+        client.set("key", "value");
+        Object stored = client.update("key", new JedisUpdateCallback() {
+            @Override
+            public Object update(Object current) {
+                return null;
+            }
+        }, 60);
+
+        assertThat(stored).isNull();
+        assertThat(client.get("key")).isEqualTo("value");
+    }
+
     @Test
     public void pipelineTest() throws Exception {
         final int count = 100000;
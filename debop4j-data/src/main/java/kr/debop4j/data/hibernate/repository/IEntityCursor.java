@@ -0,0 +1,40 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.data.hibernate.repository;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * 질의 결과를 forward-only 로 하나씩 읽는 cursor 입니다. {@link IHibernateDao#stream(Class, org.hibernate.criterion.DetachedCriteria, int)} 로 생성합니다.
+ * <p/>
+ * 결과 전체를 메모리에 올리지 않으므로 대량의 데이터를 export 하거나 batch 작업을 할 때 사용합니다.
+ * 한번만 열거할 수 있으며, 모두 읽으면 자동으로 닫힙니다. 중간에 멈추는 경우를 위해 try-with-resources 로 사용하세요.
+ * {@link Iterator#remove()} 는 지원하지 않습니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public interface IEntityCursor<T> extends Iterator<T>, Iterable<T>, Closeable {
+
+    /** 지금까지 읽은 행의 수 */
+    long getReadCount();
+
+    /** cursor 와 관련 자원 (ScrollableResults, StatelessSession) 을 닫습니다. */
+    @Override
+    void close();
+}
@@ -17,6 +17,8 @@
 package kr.debop4j.data.hibernate.repository;
 
 import kr.debop4j.core.collection.IPagedList;
+import kr.debop4j.core.collection.LongScrolledList;
+import kr.debop4j.core.collection.TimeScrolledList;
 import kr.debop4j.data.hibernate.HibernateParameter;
 import org.hibernate.*;
 import org.hibernate.criterion.DetachedCriteria;
@@ -27,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -87,7 +90,9 @@ public interface IHibernateDao {
     <T> T get(Class<T> clazz, Serializable id, LockOptions lockOptions);
 
     /**
-     * 특정 수형의 해당 id 들을 가지는 엔티티들을 로드합니다.
+     * 특정 수형의 해당 id 들을 가지는 엔티티들을 요청한 id 순서대로 로드합니다.
+     * Session 과 2차 캐시에 있는 엔티티는 재사용하고, 나머지만 일정 크기의 in 절로 나누어 조회합니다.
+     * (see {@link kr.debop4j.data.hibernate.tools.HibernateTool#getIn(org.hibernate.Session, Class, Collection)})
      *
      * @param clazz 엔티티 수형
      * @param ids   대상 id 컬렉션
@@ -96,7 +101,9 @@ public interface IHibernateDao {
     <T> List<T> getIn(Class<T> clazz, Collection<? extends Serializable> ids);
 
     /**
-     * 특정 수형의 해당 id 들을 가지는 엔티티들을 로드합니다.
+     * 특정 수형의 해당 id 들을 가지는 엔티티들을 요청한 id 순서대로 로드합니다.
+     * Session 과 2차 캐시에 있는 엔티티는 재사용하고, 나머지만 일정 크기의 in 절로 나누어 조회합니다.
+     * (see {@link kr.debop4j.data.hibernate.tools.HibernateTool#getIn(org.hibernate.Session, Class, Collection)})
      *
      * @param clazz 엔티티 수형
      * @param ids   대상 id 배열
@@ -163,6 +170,47 @@ public interface IHibernateDao {
     @Transactional(readOnly = true)
     ScrollableResults getScroll(Query query, ScrollMode scrollMode, HibernateParameter... parameters);
 
+    /**
+     * 질의 결과를 forward-only cursor 로 하나씩 읽습니다. JDBC fetch size 단위로 가져오며, 다음 행을 읽기 전에 이전 엔티티를 Session 에서
+     * evict 하므로 결과 크기와 관계없이 메모리 사용량이 일정합니다. (엔티티는 read-only 로 로드되고, 2차 캐시를 사용하지 않습니다)
+     * <pre>
+     * try (IEntityCursor&lt;User&gt; cursor = dao.stream(User.class, dc, 100)) {
+     *     for (User user : cursor) { ... }
+     * }
+     * </pre>
+     *
+     * @param clazz     엔티티 수형
+     * @param dc        질의 정보
+     * @param fetchSize JDBC fetch size
+     * @return 질의 결과 cursor
+     */
+    @Transactional(readOnly = true)
+    <T> IEntityCursor<T> stream(Class<T> clazz, DetachedCriteria dc, int fetchSize);
+
+    /**
+     * 질의 결과를 forward-only cursor 로 하나씩 읽습니다.
+     *
+     * @param query      질의
+     * @param fetchSize  JDBC fetch size
+     * @param parameters 질의 인자
+     * @return 질의 결과 cursor
+     * @see #stream(Class, org.hibernate.criterion.DetachedCriteria, int)
+     */
+    @Transactional(readOnly = true)
+    <T> IEntityCursor<T> stream(Query query, int fetchSize, HibernateParameter... parameters);
+
+    /**
+     * {@link StatelessSession} 으로 HQL 질의 결과를 forward-only cursor 로 하나씩 읽습니다. 1차 캐시, cascade, lazy loading 이 없으며,
+     * cursor 를 닫으면 StatelessSession 도 닫힙니다.
+     *
+     * @param hql        HQL 질의
+     * @param fetchSize  JDBC fetch size
+     * @param parameters 질의 인자
+     * @return 질의 결과 cursor
+     */
+    @Transactional(readOnly = true)
+    <T> IEntityCursor<T> streamStateless(String hql, int fetchSize, HibernateParameter... parameters);
+
     /**
      * 모든 엔티티를 조회합니다.
      *
@@ -380,6 +428,69 @@ public interface IHibernateDao {
     @Transactional(readOnly = true)
     <T> IPagedList<T> getPage(Class<T> clazz, DetachedCriteria dc, int pageNo, int pageSize, Order... orders);
 
+    /**
+     * 질의 조건에 해당하는 엔티티의 특정 페이지를 조회합니다. 전체 갯수는 {@link #countCached(Class, org.hibernate.criterion.DetachedCriteria, String)} 로
+     * 캐시된 값을 사용하므로, 페이지마다 count 질의를 수행하지 않습니다. (전체 갯수는 캐시 유효 시간 동안 실제와 다를 수 있습니다)
+     *
+     * @param clazz         엔티티 수형
+     * @param dc            질의 조건
+     * @param countCacheKey 전체 갯수를 캐시할 키 (질의 조건과 인자 값이 다르면 다른 키를 지정해야 합니다)
+     * @param pageNo        페이지 번호 (1부터 시작)
+     * @param pageSize      페이지 크기
+     * @param orders        정렬 방식
+     * @return 페이지 정보
+     */
+    @Transactional(readOnly = true)
+    <T> IPagedList<T> getPageWithCachedCount(Class<T> clazz, DetachedCriteria dc, String countCacheKey, int pageNo, int pageSize, Order... orders);
+
+    /**
+     * Keyset (seek) 방식으로 다음 영역을 조회합니다. offset 대신 {@code keyProperty > lastKey} 조건과 keyProperty 정렬을 사용하므로,
+     * 깊은 영역도 첫 영역과 같은 비용으로 조회합니다. keyProperty 는 값이 중복되지 않는 (unique) 엔티티 속성이어야 하며, index 가 있어야 합니다.
+     * <pre>
+     * LongScrolledList&lt;User&gt; page = dao.getScrolledList(User.class, dc, "id", null, 100);
+     * page = dao.getScrolledList(User.class, dc, "id", page.getUpperBound(), 100);   // 다음 영역
+     * </pre>
+     *
+     * @param clazz       엔티티 수형
+     * @param dc          질의 조건 (변경되지 않습니다, 지정된 정렬은 무시하고 keyProperty 로만 정렬합니다)
+     * @param keyProperty 정렬 및 검색 기준이 되는 unique 한 숫자형 속성명
+     * @param lastKey     이전 영역의 마지막 key 값 ({@link LongScrolledList#getUpperBound()}), 첫 영역이면 null
+     * @param pageSize    조회할 최대 갯수
+     * @return 조회된 영역, 하한/상한 값은 영역의 첫번째/마지막 엔티티의 key 값 (비어 있으면 lastKey)
+     */
+    @Transactional(readOnly = true)
+    <T> LongScrolledList<T> getScrolledList(Class<T> clazz, DetachedCriteria dc, String keyProperty, Long lastKey, int pageSize);
+
+    /**
+     * Keyset (seek) 방식으로 다음 영역을 조회합니다.
+     *
+     * @param clazz       엔티티 수형
+     * @param dc          질의 조건 (변경되지 않습니다)
+     * @param keyProperty 정렬 및 검색 기준이 되는 unique 한 숫자형 속성명
+     * @param lastKey     이전 영역의 마지막 key 값, 첫 영역이면 null
+     * @param pageSize    조회할 최대 갯수
+     * @param ascending   true 이면 key 의 오름차순, false 이면 내림차순으로 조회합니다.
+     * @return 조회된 영역
+     * @see #getScrolledList(Class, org.hibernate.criterion.DetachedCriteria, String, Long, int)
+     */
+    @Transactional(readOnly = true)
+    <T> LongScrolledList<T> getScrolledList(Class<T> clazz, DetachedCriteria dc, String keyProperty, Long lastKey, int pageSize, boolean ascending);
+
+    /**
+     * Keyset (seek) 방식으로 시각 속성을 기준으로 다음 영역을 조회합니다. (예: 최신 글 목록)
+     *
+     * @param clazz       엔티티 수형
+     * @param dc          질의 조건 (변경되지 않습니다)
+     * @param keyProperty 정렬 및 검색 기준이 되는 unique 한 {@link Date} 속성명
+     * @param lastKey     이전 영역의 마지막 key 값 ({@link TimeScrolledList#getUpperBound()}), 첫 영역이면 null
+     * @param pageSize    조회할 최대 갯수
+     * @param ascending   true 이면 시각의 오름차순, false 이면 내림차순으로 조회합니다.
+     * @return 조회된 영역
+     * @see #getScrolledList(Class, org.hibernate.criterion.DetachedCriteria, String, Long, int)
+     */
+    @Transactional(readOnly = true)
+    <T> TimeScrolledList<T> getTimeScrolledList(Class<T> clazz, DetachedCriteria dc, String keyProperty, Date lastKey, int pageSize, boolean ascending);
+
     /**
      * 조회 결과를 페이징 처리해서 가져온다.
      *
@@ -667,6 +778,21 @@ public interface IHibernateDao {
     @Transactional(readOnly = true)
     long count(Class<?> clazz, DetachedCriteria dc);
 
+    /**
+     * 질의 조건에 해당하는 엔티티의 갯수를 구합니다. 같은 캐시 키의 결과는 일정 시간 동안 캐시하므로, 추정치로 사용하세요.
+     * {@link DetachedCriteria} 로는 질의 조건과 인자 값을 정확히 구분할 수 없으므로, 캐시 키는 호출하는 쪽에서 지정합니다.
+     *
+     * @param clazz    엔티티 수형
+     * @param dc       질의 조건
+     * @param cacheKey 캐시 키 (질의 조건과 인자 값이 다르면 다른 키를 지정해야 합니다)
+     * @return 해당 엔티티의 갯수 (캐시된 값일 수 있습니다)
+     */
+    @Transactional(readOnly = true)
+    long countCached(Class<?> clazz, DetachedCriteria dc, String cacheKey);
+
+    /** {@link #countCached(Class, org.hibernate.criterion.DetachedCriteria, String)} 로 캐시된 갯수를 모두 제거합니다. */
+    void clearCountCache();
+
     /**
      * 질의 조건에 해당하는 엔티티의 갯수를 구합니다.
      *
@@ -715,6 +841,39 @@ public interface IHibernateDao {
      */
     void update(Object entity);
 
+    /**
+     * 엔티티들을 JDBC batch 로 저장합니다. batchSize 건마다 Session 을 flush 하고 clear 하므로, 저장한 엔티티들은 detached 상태가 됩니다.
+     * (IDENTITY 방식의 identifier 를 사용하는 엔티티는 Hibernate 가 insert 를 batch 로 실행하지 않습니다)
+     *
+     * @param entities  저장할 Transient Object 들
+     * @param batchSize flush 및 clear 할 단위 (hibernate.jdbc.batch_size 와 같게 지정하세요)
+     */
+    void saveAll(Collection<?> entities, int batchSize);
+
+    /**
+     * 엔티티들을 기본 batch 크기로 저장합니다.
+     *
+     * @param entities 저장할 Transient Object 들
+     * @see #saveAll(java.util.Collection, int)
+     */
+    void saveAll(Collection<?> entities);
+
+    /**
+     * 엔티티들을 JDBC batch 로 Update 합니다. batchSize 건마다 Session 을 flush 하고 clear 합니다.
+     *
+     * @param entities  Update 할 엔티티들
+     * @param batchSize flush 및 clear 할 단위
+     */
+    void updateAll(Collection<?> entities, int batchSize);
+
+    /**
+     * 엔티티들을 기본 batch 크기로 Update 합니다.
+     *
+     * @param entities Update 할 엔티티들
+     * @see #updateAll(java.util.Collection, int)
+     */
+    void updateAll(Collection<?> entities);
+
     /**
      * 해당 엔티티를 삭제합니다. 만약 cascading 이 지정되어 있다면 cascading delete 를 수행합니다.
      *
@@ -745,18 +904,28 @@ public interface IHibernateDao {
     void deleteAll(Collection<?> entities);
 
     /**
-     * 질의 조건에 해당하는 모든 엔티티를 삭제합니다.
+     * 엔티티들을 JDBC batch 로 삭제합니다. cascading 이 지정되어 있다면 cascading delete 를 수행합니다.
+     * batchSize 건마다 Session 을 flush 하고 clear 합니다.
+     *
+     * @param entities  삭제할 엔티티의 컬렉션
+     * @param batchSize flush 및 clear 할 단위
+     */
+    void deleteAll(Collection<?> entities, int batchSize);
+
+    /**
+     * 질의 조건에 해당하는 모든 엔티티를 삭제합니다. identifier 만 조회한 후 batch 단위로 로드하여 삭제하므로,
+     * 한꺼번에 모든 엔티티를 메모리에 올리지 않습니다. cascading 이 지정되어 있다면 cascading delete 를 수행합니다.
      *
      * @param clazz 엔티티 수형
-     * @param dc    질의 조건
+     * @param dc    질의 조건 (projection 이 identifier 로 교체됩니다)
      */
     void deleteAll(Class<?> clazz, DetachedCriteria dc);
 
     /**
-     * 질의 조건에 해당하는 모든 엔티티를 삭제합니다.
+     * 질의 조건에 해당하는 모든 엔티티를 삭제합니다. identifier 만 조회한 후 batch 단위로 로드하여 삭제합니다.
      *
      * @param clazz    엔티티 수형
-     * @param criteria 질의 조건
+     * @param criteria 질의 조건 (projection 이 identifier 로 교체됩니다)
      */
     void deleteAll(Class<?> clazz, Criteria criteria);
 
@@ -767,6 +936,24 @@ public interface IHibernateDao {
      */
     int deleteAllWithoutCascade(Class<?> clazz);
 
+    /**
+     * 질의 조건에 해당하는 엔티티들을 HQL bulk delete 로 삭제합니다. 엔티티를 로드하지 않으며, cascade 와 Session 의 엔티티는 반영되지 않습니다.
+     *
+     * @param clazz 엔티티 수형
+     * @param dc    질의 조건 (projection 이 identifier 로 교체됩니다)
+     * @return 삭제된 행의 수
+     */
+    int deleteAllWithoutCascade(Class<?> clazz, DetachedCriteria dc);
+
+    /**
+     * 지정한 identifier 들을 가진 엔티티들을 HQL bulk delete 로 삭제합니다. 엔티티를 로드하지 않으며, cascade 와 Session 의 엔티티는 반영되지 않습니다.
+     *
+     * @param clazz 엔티티 수형
+     * @param ids   삭제할 엔티티의 identifier 들
+     * @return 삭제된 행의 수
+     */
+    int deleteAllByIds(Class<?> clazz, Collection<? extends Serializable> ids);
+
     /**
      * 지정한 HQL 구문 (insert, update, delete) 을 수행합니다.
      *
@@ -16,18 +16,26 @@
 
 package kr.debop4j.data.hibernate.repository.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import kr.debop4j.core.collection.IPagedList;
+import kr.debop4j.core.collection.LongScrolledList;
 import kr.debop4j.core.collection.PaginatedList;
+import kr.debop4j.core.collection.TimeScrolledList;
 import kr.debop4j.core.tools.ArrayTool;
 import kr.debop4j.core.tools.StringTool;
 import kr.debop4j.data.hibernate.HibernateParameter;
+import kr.debop4j.data.hibernate.repository.IEntityCursor;
 import kr.debop4j.data.hibernate.repository.IHibernateDao;
-import kr.debop4j.data.hibernate.tools.CriteriaTool;
 import kr.debop4j.data.hibernate.tools.HibernateTool;
+import kr.debop4j.data.hibernate.tools.StatelessTool;
 import kr.debop4j.data.hibernate.unitofwork.UnitOfWorks;
 import org.hibernate.*;
 import org.hibernate.criterion.*;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.CriteriaImpl;
+import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.transform.Transformers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +44,16 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import static kr.debop4j.core.Guard.shouldBePositiveNumber;
 import static kr.debop4j.core.Guard.shouldNotBeNull;
+import static kr.debop4j.core.Guard.shouldNotBeWhiteSpace;
 
 /**
  * Hibernate Dao 기본 클래스
@@ -58,6 +72,21 @@ public class HibernateDao implements IHibernateDao {
     @Autowired
     SessionFactory sessionFactory;
 
+    /** 일괄 작업 시 flush 하는 기본 단위 (HibernateConfigBase 의 hibernate.jdbc.batch_size 와 같습니다) */
+    public static final int DEFAULT_BATCH_SIZE = 30;
+
+    /** HQL bulk delete 의 in 절에 한번에 지정할 identifier 수 */
+    private static final int BULK_DELETE_CHUNK_SIZE = 500;
+
+    /** {@link #countCached(Class, DetachedCriteria, String)} 의 결과를 캐시하는 시간 (초) */
+    public static final int COUNT_CACHE_EXPIRE_SECONDS = 60;
+
+    private final Cache<String, Long> countCache =
+            CacheBuilder.newBuilder()
+                    .maximumSize(1000)
+                    .expireAfterWrite(COUNT_CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS)
+                    .build();
+
     private boolean cacheable;
 
     /** Instantiates a new Hibernate dao. */
@@ -130,8 +159,7 @@ public class HibernateDao implements IHibernateDao {
         if (ArrayTool.isEmpty(ids))
             return Lists.newArrayList();
 
-        DetachedCriteria dc = CriteriaTool.addIn(DetachedCriteria.forClass(clazz), "id", ids);
-        return find(clazz, dc);
+        return HibernateTool.getIn(getSession(), clazz, ids);
     }
 
     @Override
@@ -139,8 +167,7 @@ public class HibernateDao implements IHibernateDao {
         if (ArrayTool.isEmpty(ids))
             return Lists.newArrayList();
 
-        DetachedCriteria dc = CriteriaTool.addIn(DetachedCriteria.forClass(clazz), "id", ids);
-        return find(clazz, dc);
+        return HibernateTool.getIn(getSession(), clazz, Arrays.asList(ids));
     }
 
     @Override
@@ -173,6 +200,53 @@ public class HibernateDao implements IHibernateDao {
         return HibernateTool.setParameters(query, parameters).scroll(scrollMode);
     }
 
+    @Override
+    public <T> IEntityCursor<T> stream(Class<T> clazz, DetachedCriteria dc, int fetchSize) {
+        shouldNotBeNull(dc, "dc");
+        shouldBePositiveNumber(fetchSize, "fetchSize");
+        if (isDebugEnabled)
+            log.debug("질의 결과를 cursor 로 읽습니다. clazz=[{}], fetchSize=[{}]", clazz, fetchSize);
+
+        final Session session = getSession();
+        ScrollableResults results = dc.getExecutableCriteria(session)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        return new ScrollableEntityCursor<>(results, session);
+    }
+
+    @Override
+    public <T> IEntityCursor<T> stream(Query query, int fetchSize, HibernateParameter... parameters) {
+        shouldNotBeNull(query, "query");
+        shouldBePositiveNumber(fetchSize, "fetchSize");
+
+        ScrollableResults results = HibernateTool.setParameters(query, parameters)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        return new ScrollableEntityCursor<>(results, getSession());
+    }
+
+    @Override
+    public <T> IEntityCursor<T> streamStateless(String hql, int fetchSize, HibernateParameter... parameters) {
+        shouldNotBeWhiteSpace(hql, "hql");
+        shouldBePositiveNumber(fetchSize, "fetchSize");
+        if (isDebugEnabled)
+            log.debug("StatelessSession 으로 질의 결과를 cursor 로 읽습니다. hql=[{}], fetchSize=[{}]", hql, fetchSize);
+
+        StatelessSession stateless = StatelessTool.openStatelessSession(getSession());
+        try {
+            Query query = stateless.createQuery(hql).setFetchSize(fetchSize);
+            ScrollableResults results = HibernateTool.setParameters(query, parameters).scroll(ScrollMode.FORWARD_ONLY);
+            return new ScrollableEntityCursor<>(results, stateless);
+        } catch (RuntimeException e) {
+            stateless.close();
+            throw e;
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public final <T> List<T> findAll(Class<T> clazz, Order... orders) {
@@ -314,6 +388,73 @@ public class HibernateDao implements IHibernateDao {
         return new PaginatedList(list, pageNo, pageSize, itemCount);
     }
 
+    @Override
+    public <T> PaginatedList<T> getPageWithCachedCount(Class<T> clazz, DetachedCriteria dc, String countCacheKey, int pageNo, int pageSize, Order... orders) {
+        long itemCount = countCached(clazz, dc, countCacheKey);
+
+        int firstResult = (pageNo - 1) * pageSize;
+        List<T> list = find(clazz, dc, firstResult, pageSize, orders);
+        return new PaginatedList(list, pageNo, pageSize, itemCount);
+    }
+
+    @Override
+    public <T> LongScrolledList<T> getScrolledList(Class<T> clazz, DetachedCriteria dc, String keyProperty, Long lastKey, int pageSize) {
+        return getScrolledList(clazz, dc, keyProperty, lastKey, pageSize, true);
+    }
+
+    @Override
+    public <T> LongScrolledList<T> getScrolledList(Class<T> clazz, DetachedCriteria dc, String keyProperty, Long lastKey, int pageSize, boolean ascending) {
+        List<T> list = findNextKeyset(clazz, dc, keyProperty, lastKey, pageSize, ascending);
+
+        long emptyBound = (lastKey != null) ? lastKey : 0L;
+        long lowerBound = list.isEmpty() ? emptyBound : ((Number) getKeyValue(clazz, list.get(0), keyProperty)).longValue();
+        long upperBound = list.isEmpty() ? emptyBound : ((Number) getKeyValue(clazz, list.get(list.size() - 1), keyProperty)).longValue();
+        return new LongScrolledList<>(list, lowerBound, upperBound);
+    }
+
+    @Override
+    public <T> TimeScrolledList<T> getTimeScrolledList(Class<T> clazz, DetachedCriteria dc, String keyProperty, Date lastKey, int pageSize, boolean ascending) {
+        List<T> list = findNextKeyset(clazz, dc, keyProperty, lastKey, pageSize, ascending);
+
+        Date lowerBound = list.isEmpty() ? lastKey : (Date) getKeyValue(clazz, list.get(0), keyProperty);
+        Date upperBound = list.isEmpty() ? lastKey : (Date) getKeyValue(clazz, list.get(list.size() - 1), keyProperty);
+        return new TimeScrolledList<>(list, lowerBound, upperBound);
+    }
+
+    /**
+     * keyProperty 로 정렬하여, lastKey 다음의 엔티티들을 조회합니다. (원본 질의 조건은 변경하지 않습니다)
+     * 검색 조건과 정렬 기준이 같아야 영역이 건너뛰거나 겹치지 않으므로, 복사한 질의 조건의 기존 정렬은 제거합니다.
+     */
+    private <T> List<T> findNextKeyset(Class<T> clazz, DetachedCriteria dc, String keyProperty, Object lastKey, int pageSize, boolean ascending) {
+        shouldNotBeNull(dc, "dc");
+        shouldNotBeWhiteSpace(keyProperty, "keyProperty");
+        shouldBePositiveNumber(pageSize, "pageSize");
+        if (isTraceEnabled)
+            log.trace("Keyset 방식으로 다음 영역을 조회합니다. clazz=[{}], keyProperty=[{}], lastKey=[{}], pageSize=[{}], ascending=[{}]",
+                      clazz, keyProperty, lastKey, pageSize, ascending);
+
+        Criteria criteria = HibernateTool.copyDetachedCriteria(dc).getExecutableCriteria(getSession());
+        Iterator<CriteriaImpl.OrderEntry> orderings = ((CriteriaImpl) criteria).iterateOrderings();
+        while (orderings.hasNext()) {
+            orderings.next();
+            orderings.remove();
+        }
+        if (lastKey != null)
+            criteria.add(ascending ? Restrictions.gt(keyProperty, lastKey) : Restrictions.lt(keyProperty, lastKey));
+
+        return criteria.addOrder(ascending ? Order.asc(keyProperty) : Order.desc(keyProperty))
+                .setMaxResults(pageSize)
+                .setCacheable(cacheable)
+                .list();
+    }
+
+    private Object getKeyValue(Class<?> clazz, Object entity, String keyProperty) {
+        ClassMetadata metadata = getSession().getSessionFactory().getClassMetadata(clazz);
+        if (keyProperty.equals(metadata.getIdentifierPropertyName()))
+            return metadata.getIdentifier(entity, (SessionImplementor) getSession());
+        return metadata.getPropertyValue(entity, keyProperty);
+    }
+
     @Override
     public <T> PaginatedList<T> getPage(Class<T> clazz, Query query, int pageNo, int pageSize, HibernateParameter... parameters) {
         Query countQuery = getSession().createQuery(query.getQueryString());
@@ -506,6 +647,28 @@ public class HibernateDao implements IHibernateDao {
         return count(clazz, dc.getExecutableCriteria(getSession()));
     }
 
+    @Override
+    public long countCached(Class<?> clazz, DetachedCriteria dc, String cacheKey) {
+        shouldNotBeNull(clazz, "clazz");
+        shouldNotBeNull(dc, "dc");
+        shouldNotBeWhiteSpace(cacheKey, "cacheKey");
+
+        // DetachedCriteria 의 문자열 표현은 sqlRestriction 의 인자 값 등을 포함하지 않아 다른 질의와 같아질 수 있으므로,
+        // 호출하는 쪽에서 지정한 캐시 키를 사용합니다.
+        String key = clazz.getName() + ":" + cacheKey;
+        Long count = countCache.getIfPresent(key);
+        if (count == null) {
+            count = count(clazz, HibernateTool.copyDetachedCriteria(dc));
+            countCache.put(key, count);
+        }
+        return count;
+    }
+
+    @Override
+    public void clearCountCache() {
+        countCache.invalidateAll();
+    }
+
     @Override
     public long count(Class<?> clazz, Query query, HibernateParameter... parameters) {
         assert query != null;
@@ -545,6 +708,60 @@ public class HibernateDao implements IHibernateDao {
         getSession().update(entity);
     }
 
+    @Override
+    public void saveAll(Collection<?> entities) {
+        saveAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    public void saveAll(Collection<?> entities, int batchSize) {
+        shouldNotBeNull(entities, "entities");
+        shouldBePositiveNumber(batchSize, "batchSize");
+        if (isDebugEnabled)
+            log.debug("엔티티 [{}]개를 batch 로 저장합니다. batchSize=[{}]", entities.size(), batchSize);
+
+        final Session session = getSession();
+        int count = 0;
+        for (Object entity : entities) {
+            session.save(entity);
+            if (++count % batchSize == 0)
+                flushAndClear(session);
+        }
+        flushAndClear(session);
+    }
+
+    @Override
+    public void updateAll(Collection<?> entities) {
+        updateAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    public void updateAll(Collection<?> entities, int batchSize) {
+        shouldNotBeNull(entities, "entities");
+        shouldBePositiveNumber(batchSize, "batchSize");
+        if (isDebugEnabled)
+            log.debug("엔티티 [{}]개를 batch 로 update 합니다. batchSize=[{}]", entities.size(), batchSize);
+
+        final Session session = getSession();
+        int count = 0;
+        for (Object entity : entities) {
+            session.update(entity);
+            if (++count % batchSize == 0)
+                flushAndClear(session);
+        }
+        flushAndClear(session);
+    }
+
+    private String getIdentifierName(Class<?> clazz) {
+        return getSession().getSessionFactory().getClassMetadata(clazz).getIdentifierPropertyName();
+    }
+
+    /** 모아둔 insert/update/delete 구문을 JDBC batch 로 실행하고, 1차 캐시를 비웁니다. */
+    private static void flushAndClear(Session session) {
+        session.flush();
+        session.clear();
+    }
+
     @Override
     public void delete(Object entity) {
         getSession().delete(entity);
@@ -577,14 +794,46 @@ public class HibernateDao implements IHibernateDao {
         }
     }
 
+    @Override
+    public void deleteAll(Collection<?> entities, int batchSize) {
+        shouldNotBeNull(entities, "entities");
+        shouldBePositiveNumber(batchSize, "batchSize");
+        if (isDebugEnabled)
+            log.debug("엔티티 [{}]개를 batch 로 삭제합니다. batchSize=[{}]", entities.size(), batchSize);
+
+        final Session session = getSession();
+        int count = 0;
+        for (Object entity : entities) {
+            session.delete(entity);
+            if (++count % batchSize == 0)
+                flushAndClear(session);
+        }
+        flushAndClear(session);
+    }
+
     @Override
     public void deleteAll(Class<?> clazz, DetachedCriteria dc) {
-        deleteAll(find(clazz, dc.getExecutableCriteria(getSession())));
+        deleteAll(clazz, dc.getExecutableCriteria(getSession()));
     }
 
     @Override
     public void deleteAll(Class<?> clazz, Criteria criteria) {
-        deleteAll(find(clazz, criteria));
+        List<Serializable> ids = criteria.setProjection(Projections.id()).list();
+        if (isDebugEnabled)
+            log.debug("엔티티 [{}]개를 삭제합니다. clazz=[{}]", ids.size(), clazz);
+        if (ids.isEmpty())
+            return;
+
+        // chunk 단위로 로드하여 삭제합니다. 삭제된 엔티티는 flush 시에 Session 에서 제거되므로, clear 하지 않아도 메모리에 쌓이지 않습니다.
+        final Session session = getSession();
+        final String idName = getIdentifierName(clazz);
+        for (List<Serializable> chunk : Lists.partition(ids, BULK_DELETE_CHUNK_SIZE)) {
+            List<?> entities = session.createCriteria(clazz).add(Restrictions.in(idName, chunk)).list();
+            for (Object entity : entities) {
+                session.delete(entity);
+            }
+            session.flush();
+        }
     }
 
     @Override
@@ -597,6 +846,33 @@ public class HibernateDao implements IHibernateDao {
                 .executeUpdate();
     }
 
+    @Override
+    public int deleteAllWithoutCascade(Class<?> clazz, DetachedCriteria dc) {
+        List<Serializable> ids = dc.setProjection(Projections.id())
+                .getExecutableCriteria(getSession())
+                .list();
+        return deleteAllByIds(clazz, ids);
+    }
+
+    @Override
+    public int deleteAllByIds(Class<?> clazz, Collection<? extends Serializable> ids) {
+        shouldNotBeNull(clazz, "clazz");
+        shouldNotBeNull(ids, "ids");
+        if (ids.isEmpty())
+            return 0;
+
+        if (isDebugEnabled)
+            log.debug("HQL bulk delete 로 엔티티 [{}]개를 삭제합니다. clazz=[{}]", ids.size(), clazz);
+
+        Query query = getSession().createQuery("delete from " + clazz.getName() + " where " + getIdentifierName(clazz) + " in (:ids)");
+
+        int deleted = 0;
+        for (List<? extends Serializable> chunk : Lists.partition(Lists.newArrayList(ids), BULK_DELETE_CHUNK_SIZE)) {
+            deleted += query.setParameterList("ids", chunk).executeUpdate();
+        }
+        return deleted;
+    }
+
 
     @Override
     public int executeUpdateByHql(String hql, HibernateParameter... parameters) {
@@ -23,7 +23,6 @@ import kr.debop4j.core.tools.ArrayTool;
 import kr.debop4j.core.tools.StringTool;
 import kr.debop4j.data.hibernate.HibernateParameter;
 import kr.debop4j.data.hibernate.repository.IHibernateRepository;
-import kr.debop4j.data.hibernate.tools.CriteriaTool;
 import kr.debop4j.data.hibernate.tools.HibernateTool;
 import kr.debop4j.data.hibernate.unitofwork.UnitOfWorks;
 import kr.debop4j.data.model.IStatefulEntity;
@@ -36,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -138,8 +138,7 @@ public class HibernateRepository<E extends IStatefulEntity> implements IHibernat
         if (ArrayTool.isEmpty(ids))
             return Lists.newArrayList();
 
-        DetachedCriteria dc = CriteriaTool.addIn(DetachedCriteria.forClass(entityClazz), "id", ids);
-        return find(dc);
+        return (List<E>) HibernateTool.getIn(getSession(), entityClazz, ids);
     }
 
     @Override
@@ -147,8 +146,7 @@ public class HibernateRepository<E extends IStatefulEntity> implements IHibernat
         if (ArrayTool.isEmpty(ids))
             return Lists.newArrayList();
 
-        DetachedCriteria dc = CriteriaTool.addIn(DetachedCriteria.forClass(entityClazz), "id", ids);
-        return find(dc);
+        return (List<E>) HibernateTool.getIn(getSession(), entityClazz, Arrays.asList(ids));
     }
 
     @Override
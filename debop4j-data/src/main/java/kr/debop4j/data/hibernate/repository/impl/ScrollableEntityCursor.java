@@ -0,0 +1,130 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.data.hibernate.repository.impl;
+
+import kr.debop4j.data.hibernate.repository.IEntityCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link ScrollableResults} 를 감싼 {@link IEntityCursor} 구현체입니다.
+ * <p/>
+ * Session 으로 조회한 경우, 다음 행을 읽기 전에 이전 행의 엔티티를 Session 에서 evict 하므로 1차 캐시가 커지지 않습니다.
+ * StatelessSession 으로 조회한 경우에는 1차 캐시가 없으며, cursor 를 닫을 때 StatelessSession 도 닫습니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+@SuppressWarnings("unchecked")
+class ScrollableEntityCursor<T> implements IEntityCursor<T> {
+
+    private final ScrollableResults results;
+    /** 읽은 엔티티를 evict 할 Session, StatelessSession 으로 조회한 경우는 null */
+    private final Session session;
+    /** cursor 를 닫을 때 함께 닫을 StatelessSession */
+    private final StatelessSession statelessSession;
+
+    /** 다음 행으로 이동했는지 여부, 아직 이동하지 않았으면 null */
+    private Boolean advanced;
+    private Object previous;
+    private long readCount;
+    private boolean closed;
+
+    ScrollableEntityCursor(ScrollableResults results, Session session) {
+        this(results, session, null);
+    }
+
+    ScrollableEntityCursor(ScrollableResults results, StatelessSession statelessSession) {
+        this(results, null, statelessSession);
+    }
+
+    private ScrollableEntityCursor(ScrollableResults results, Session session, StatelessSession statelessSession) {
+        this.results = results;
+        this.session = session;
+        this.statelessSession = statelessSession;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed)
+            return false;
+
+        if (advanced == null) {
+            evictPrevious();
+            advanced = results.next();
+            if (!advanced)
+                close();
+        }
+        return advanced;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        advanced = null;
+        T row = (T) results.get(0);
+        previous = row;
+        readCount++;
+        return row;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove 는 지원하지 않습니다.");
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this;
+    }
+
+    @Override
+    public long getReadCount() {
+        return readCount;
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        evictPrevious();
+
+        try {
+            results.close();
+        } finally {
+            if (statelessSession != null)
+                statelessSession.close();
+        }
+        if (log.isDebugEnabled())
+            log.debug("cursor 를 닫았습니다. readCount=[{}]", readCount);
+    }
+
+    private void evictPrevious() {
+        if (previous != null && session != null && session.contains(previous))
+            session.evict(previous);
+        previous = null;
+    }
+}
@@ -95,6 +95,10 @@ public abstract class HibernateConfigBase {
         props.put(Environment.RELEASE_CONNECTIONS, ConnectionReleaseMode.ON_CLOSE);
         props.put(Environment.AUTOCOMMIT, "true");
         props.put(Environment.STATEMENT_BATCH_SIZE, "30");
+        // batch 로 실행할 수 있도록 insert/update 구문을 엔티티 수형별로 정렬합니다.
+        props.put(Environment.ORDER_INSERTS, "true");
+        props.put(Environment.ORDER_UPDATES, "true");
+        props.put(Environment.BATCH_VERSIONED_DATA, "true");
 
         return props;
     }
@@ -396,16 +396,12 @@ public class EntityTool {
         shouldNotBeNull(sources, "sources");
         shouldNotBeNull(targets, "targets");
 
-        int size = Math.min(sources.size(), targets.size());
-
-        for (int i = 0; i < size; i++) {
-            MapperTool.map(sources.get(i), targets.get(i));
-        }
-        return targets;
+        return MapperTool.mapList(sources, targets);
     }
 
     /**
      * 병렬 방식으로 원본으로부터 대상엔티티로 매핑합니다. 대용량 정보의 DTO 생성 시 유리합니다.
+     * 수형 쌍별 매핑 방식은 {@link kr.debop4j.core.tools.MappingPlan} 으로 한번만 분석하여 모든 스레드가 공유합니다.
      *
      * @param sources     the sources
      * @param targetClass the target class
@@ -16,7 +16,9 @@
 
 package kr.debop4j.data.hibernate.tools;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import kr.debop4j.core.Guard;
 import kr.debop4j.core.tools.SerializeTool;
 import kr.debop4j.core.tools.StringTool;
@@ -29,21 +31,29 @@ import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.spi.*;
 import org.hibernate.event.service.spi.EventListenerRegistry;
 import org.hibernate.event.spi.EventType;
 import org.hibernate.internal.CriteriaImpl;
 import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.service.ServiceRegistryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static kr.debop4j.core.Guard.shouldNotBeNull;
 
@@ -63,6 +73,9 @@ public class HibernateTool {
 
     private HibernateTool() { }
 
+    /** {@link #getIn(Session, Class, Collection)} 에서 in 절의 identifier 수. 이 크기들로만 채워서 질의하므로 prepared statement 가 재사용됩니다. */
+    private static final int[] IN_CLAUSE_SIZES = { 16, 32, 64, 128 };
+
     /**
      * Build session factory.
      *
@@ -386,4 +399,99 @@ public class HibernateTool {
 
         return query;
     }
+
+    /**
+     * 지정한 identifier 들의 엔티티를 요청한 순서대로 로드합니다.
+     * <ul>
+     * <li>Session 에 이미 로드된 엔티티와 2차 캐시에 있는 엔티티는 DB 를 조회하지 않습니다.</li>
+     * <li>나머지는 16/32/64/128 개 크기로 나누고 부족한 자리는 마지막 identifier 로 채워서 조회하므로,
+     * DB 의 인자 수 제한을 넘지 않고 prepared statement 도 4가지 형태만 사용합니다.</li>
+     * <li>중복된 identifier 는 한번만, 없는 identifier 는 결과에서 제외됩니다.</li>
+     * </ul>
+     *
+     * @param session 현재 session
+     * @param clazz   엔티티 수형
+     * @param ids     identifier 컬렉션 (엔티티의 identifier 와 같은 수형이어야 합니다)
+     * @return 요청한 순서대로 정렬된 엔티티 목록
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> getIn(Session session, Class<T> clazz, Collection<? extends Serializable> ids) {
+        shouldNotBeNull(session, "session");
+        shouldNotBeNull(clazz, "clazz");
+        shouldNotBeNull(ids, "ids");
+
+        Set<Serializable> requested = Sets.newLinkedHashSet(ids);
+        requested.remove(null);
+        if (requested.isEmpty())
+            return Lists.newArrayList();
+
+        SessionImplementor sessionImpl = (SessionImplementor) session;
+        EntityPersister persister = sessionImpl.getFactory().getEntityPersister(clazz.getName());
+        PersistenceContext persistenceContext = sessionImpl.getPersistenceContext();
+
+        Map<Serializable, Object> loaded = Maps.newHashMapWithExpectedSize(requested.size());
+        List<Serializable> misses = Lists.newArrayList();
+
+        for (Serializable id : requested) {
+            Object entity = persistenceContext.getEntity(sessionImpl.generateEntityKey(id, persister));
+            if (entity != null) {
+                EntityEntry entry = persistenceContext.getEntry(entity);
+                if (entry == null || (entry.getStatus() != Status.DELETED && entry.getStatus() != Status.GONE))
+                    loaded.put(id, entity);
+                continue;
+            }
+            if (persister.hasCache()) {
+                CacheKey cacheKey = sessionImpl.generateCacheKey(id, persister.getIdentifierType(), persister.getRootEntityName());
+                if (persister.getCacheAccessStrategy().get(cacheKey, sessionImpl.getTimestamp()) != null) {
+                    entity = session.get(clazz, id);
+                    if (entity != null)
+                        loaded.put(id, entity);
+                    continue;
+                }
+            }
+            misses.add(id);
+        }
+
+        if (isDebugEnabled)
+            log.debug("엔티티를 로드합니다. clazz=[{}], requested=[{}], session/2nd cache hits=[{}], misses=[{}]",
+                      clazz, requested.size(), loaded.size(), misses.size());
+
+        String idName = persister.getIdentifierPropertyName();
+        int maxSize = IN_CLAUSE_SIZES[IN_CLAUSE_SIZES.length - 1];
+
+        for (int from = 0; from < misses.size(); from += maxSize) {
+            List<Serializable> chunk = misses.subList(from, Math.min(from + maxSize, misses.size()));
+            List<Object> entities = session.createCriteria(clazz)
+                    .add(Restrictions.in(idName, padInClause(chunk)))
+                    .list();
+            for (Object entity : entities) {
+                loaded.put(persister.getIdentifier(entity, sessionImpl), entity);
+            }
+        }
+
+        List<T> results = Lists.newArrayListWithCapacity(loaded.size());
+        for (Serializable id : requested) {
+            Object entity = loaded.get(id);
+            if (entity != null)
+                results.add((T) entity);
+        }
+        return results;
+    }
+
+    /** in 절의 인자 수를 {@link #IN_CLAUSE_SIZES} 중 하나로 맞추도록 마지막 값으로 채웁니다. */
+    private static List<Serializable> padInClause(List<Serializable> values) {
+        int size = values.size();
+        for (int inSize : IN_CLAUSE_SIZES) {
+            if (size <= inSize) {
+                size = inSize;
+                break;
+            }
+        }
+        List<Serializable> padded = Lists.newArrayListWithCapacity(size);
+        padded.addAll(values);
+        Serializable last = values.get(values.size() - 1);
+        while (padded.size() < size)
+            padded.add(last);
+        return padded;
+    }
 }
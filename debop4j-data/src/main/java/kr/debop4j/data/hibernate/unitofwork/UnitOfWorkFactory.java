@@ -31,6 +31,9 @@ import org.hibernate.SessionFactory;
 @Slf4j
 public class UnitOfWorkFactory implements IUnitOfWorkFactory {
 
+    /** Thread 별 현재 Session 을 보관하는 {@link Local} 저장소의 slot (Session 은 thread-safe 하지 않으므로 다른 Thread 에 전달하지 않습니다) */
+    private static final Local.Key<Session> CURRENT_SESSION = Local.newKey(IUnitOfWorkFactory.CURRENT_HIBERNATE_SESSION, false);
+
     protected final Object syncLock = new Object();
     protected SessionFactory sessionFactory;
 
@@ -50,7 +53,7 @@ public class UnitOfWorkFactory implements IUnitOfWorkFactory {
 
     @Override
     public Session getCurrentSession() {
-        Session session = (Session) Local.get(IUnitOfWorkFactory.CURRENT_HIBERNATE_SESSION);
+        Session session = Local.get(CURRENT_SESSION);
         Guard.shouldBe(session != null, "Session이 현 Thread Context에서 생성되지 않았습니다. UnitOfWorks.getStart() 를 먼저 호출하셔야 합니다.");
         return session;
     }
@@ -59,7 +62,7 @@ public class UnitOfWorkFactory implements IUnitOfWorkFactory {
     public void setCurrentSession(Session session) {
         if (log.isDebugEnabled())
             log.debug("현 ThreadContext의 Session을 설정합니다. session=[{}]", session);
-        Local.put(IUnitOfWorkFactory.CURRENT_HIBERNATE_SESSION, session);
+        Local.put(CURRENT_SESSION, session);
     }
 
 
@@ -31,6 +31,9 @@ import static kr.debop4j.core.Guard.shouldNotBeNull;
 
 /**
  * Unit of Work 패턴을 구현한 Static 클래스입니다.
+ * <p/>
+ * 현재 UnitOfWork 는 Thread 별 저장소 ({@link Local}) 에, 전역 UnitOfWork 와 {@link IUnitOfWorkFactory} 는 volatile 필드에 보관하므로,
+ * 조회 메소드들은 전역 lock 없이 실행됩니다. (모든 DAO 호출이 거치는 경로이므로 lock 을 사용하지 마세요)
  *
  * @author 배성혁 ( sunghyouk.bae@gmail.com )
  * @since 12. 12. 18
@@ -48,23 +51,32 @@ public final class UnitOfWorks {
 
     private static final String UNIT_OF_WORK_NOT_STARTED = "UnitOfWorks가 시작되지 않았습니다. 사용 전에 UnitOfWorks.start()를 호출하세요.";
 
+    /** Thread 별 현재 UnitOfWork 를 보관하는 {@link Local} 저장소의 slot (UnitOfWork 는 Thread 간에 공유할 수 없으므로 다른 Thread 에 전달하지 않습니다) */
+    private static final Local.Key<IUnitOfWork> CURRENT_UNIT_OF_WORK = Local.newKey(IUnitOfWork.CURRENT_UNIT_OF_WORK_KEY, false);
+
     private static volatile IUnitOfWork globalNonThreadSafeUnitOfWork;
     private static volatile IUnitOfWorkFactory unitOfWorkFactory;
 
     /** UnitOfWork 가 이미 시작되었는지 확인한다. */
-    public static synchronized boolean isStarted() {
-        return globalNonThreadSafeUnitOfWork != null || Local.get(IUnitOfWork.CURRENT_UNIT_OF_WORK_KEY) != null;
+    public static boolean isStarted() {
+        return getCurrentOrNull() != null;
     }
 
     /** 현재 시작된 {@link IUnitOfWork}의 인스턴스 ({@link UnitOfWorkAdapter}를 반환합니다. */
-    public static synchronized IUnitOfWork getCurrent() {
-        if (!isStarted())
+    public static IUnitOfWork getCurrent() {
+        IUnitOfWork current = getCurrentOrNull();
+        if (current == null)
             throw new HibernateException(UNIT_OF_WORK_NOT_STARTED);
+        return current;
+    }
 
-        if (globalNonThreadSafeUnitOfWork != null)
-            return globalNonThreadSafeUnitOfWork;
-
-        return Local.get(IUnitOfWork.CURRENT_UNIT_OF_WORK_KEY, IUnitOfWork.class);
+    /** 현재 시작된 {@link IUnitOfWork} 를 반환합니다. 시작되지 않았으면 null 을 반환합니다. */
+    private static IUnitOfWork getCurrentOrNull() {
+        // volatile 필드는 한번만 읽어, 다른 Thread 에서 전역 UnitOfWork 를 해제하더라도 null 을 반환하지 않도록 합니다.
+        IUnitOfWork global = globalNonThreadSafeUnitOfWork;
+        if (global != null)
+            return global;
+        return Local.get(CURRENT_UNIT_OF_WORK);
     }
 
     /**
@@ -72,7 +84,7 @@ public final class UnitOfWorks {
      *
      * @return the current session factory
      */
-    public static synchronized SessionFactory getCurrentSessionFactory() {
+    public static SessionFactory getCurrentSessionFactory() {
         return getUnitOfWorkFactory().getSessionFactory();
     }
 
@@ -81,7 +93,7 @@ public final class UnitOfWorks {
      *
      * @return the current session
      */
-    public static synchronized Session getCurrentSession() {
+    public static Session getCurrentSession() {
         return getUnitOfWorkFactory().getCurrentSession();
     }
 
@@ -90,11 +102,12 @@ public final class UnitOfWorks {
      *
      * @return {@link IUnitOfWorkFactory} instance.
      */
-    public static synchronized IUnitOfWorkFactory getUnitOfWorkFactory() {
-        if (unitOfWorkFactory == null)
+    public static IUnitOfWorkFactory getUnitOfWorkFactory() {
+        IUnitOfWorkFactory factory = unitOfWorkFactory;
+        if (factory == null)
             throw new RuntimeException("Spring 환경설정에서 UnitOfWorks를 ComponentScan에 추가해주세요.");
 
-        return unitOfWorkFactory;
+        return factory;
     }
 
     /**
@@ -115,7 +128,7 @@ public final class UnitOfWorks {
      *
      * @param factory the factory
      */
-    public static synchronized void setUnitOfWorkFactory(IUnitOfWorkFactory factory) {
+    public static void setUnitOfWorkFactory(IUnitOfWorkFactory factory) {
         log.info("UnitOfWorkFactory를 설정합니다. unitOfWorkFactory=[{}]", factory);
 
         unitOfWorkFactory = factory;
@@ -130,7 +143,7 @@ public final class UnitOfWorks {
         if (log.isDebugEnabled())
             log.debug("현 Thread Context의 UnitOfWork 인스턴스를 설정합니다. unitOfWork=[{}]", unitOfWork);
 
-        Local.put(IUnitOfWork.CURRENT_UNIT_OF_WORK_KEY, unitOfWork);
+        Local.put(CURRENT_UNIT_OF_WORK, unitOfWork);
     }
 
     /**
@@ -139,7 +152,7 @@ public final class UnitOfWorks {
      * @param globalUnitOfWork the global unit of work
      * @return the auto closeable action
      */
-    public static synchronized AutoCloseableAction registerGlobalUnitOfWork(IUnitOfWork globalUnitOfWork) {
+    public static AutoCloseableAction registerGlobalUnitOfWork(IUnitOfWork globalUnitOfWork) {
         if (log.isDebugEnabled())
             log.debug("전역 IUnitOfWork를 설정합니다. globalUnitOfWork=[{}]", globalUnitOfWork);
 
@@ -158,7 +171,7 @@ public final class UnitOfWorks {
      *
      * @return {@link IUnitOfWork} instance.
      */
-    public static synchronized IUnitOfWork start() {
+    public static IUnitOfWork start() {
         return start(null, UnitOfWorkNestingOptions.ReturnExistingOrCreateUnitOfWork);
     }
 
@@ -168,7 +181,7 @@ public final class UnitOfWorks {
      * @param nestingOptions 생성 옵션 {@link UnitOfWorkNestingOptions}
      * @return {@link IUnitOfWork} instance.
      */
-    public static synchronized IUnitOfWork start(UnitOfWorkNestingOptions nestingOptions) {
+    public static IUnitOfWork start(UnitOfWorkNestingOptions nestingOptions) {
         return start(null, nestingOptions);
     }
 
@@ -178,7 +191,7 @@ public final class UnitOfWorks {
      * @param sessionFactory {@link SessionFactory} instance.
      * @return {@link IUnitOfWork} instance.
      */
-    public static synchronized IUnitOfWork start(SessionFactory sessionFactory) {
+    public static IUnitOfWork start(SessionFactory sessionFactory) {
         return start(sessionFactory, UnitOfWorkNestingOptions.ReturnExistingOrCreateUnitOfWork);
     }
 
@@ -189,14 +202,15 @@ public final class UnitOfWorks {
      * @param nestingOptions 생성 옵션 {@link UnitOfWorkNestingOptions}
      * @return {@link IUnitOfWork} instance.
      */
-    public static synchronized IUnitOfWork start(SessionFactory sessionFactory, UnitOfWorkNestingOptions nestingOptions) {
+    public static IUnitOfWork start(SessionFactory sessionFactory, UnitOfWorkNestingOptions nestingOptions) {
         if (log.isDebugEnabled())
             log.debug("새로운 UnitOfWork를 시작합니다... sessionFactory=[{}], nestingOptions=[{}]", sessionFactory, nestingOptions);
 
-        if (globalNonThreadSafeUnitOfWork != null)
-            return globalNonThreadSafeUnitOfWork;
+        IUnitOfWork global = globalNonThreadSafeUnitOfWork;
+        if (global != null)
+            return global;
 
-        IUnitOfWorkImplementor existing = Local.get(IUnitOfWork.CURRENT_UNIT_OF_WORK_KEY, IUnitOfWorkImplementor.class);
+        IUnitOfWorkImplementor existing = (IUnitOfWorkImplementor) Local.get(CURRENT_UNIT_OF_WORK);
         boolean useExisting =
                 existing != null &&
                         nestingOptions == UnitOfWorkNestingOptions.ReturnExistingOrCreateUnitOfWork;
@@ -227,7 +241,7 @@ public final class UnitOfWorks {
     }
 
     /** 현재 실행중인 UnitOfWork를 종료합니다. */
-    public static synchronized void stop() {
+    public static void stop() {
         stop(false);
     }
 
@@ -236,15 +250,17 @@ public final class UnitOfWorks {
      *
      * @param needFlushing Session에 반영된 내용을 flushing 할 것인지 여부
      */
-    public static synchronized void stop(boolean needFlushing) {
+    public static void stop(boolean needFlushing) {
         log.trace("현재 실행중인 UnitOfWork를 중지합니다... needFlushing=[{}]", needFlushing);
 
-        if (isStarted() && getCurrent() != null) {
+        // 확인과 조회 사이에 다른 Thread 가 전역 UnitOfWork 를 해제할 수 있으므로, 한번만 조회합니다.
+        IUnitOfWork current = getCurrentOrNull();
+        if (current != null) {
             if (needFlushing) {
                 try {
                     log.trace("현 UnitOfWork의 Session에 대해 flushing 작업을 시작합니다...");
 
-                    getCurrent().flushSession();
+                    current.flushSession();
 
                     log.trace("현 UnitOfWork의 Session에 대해 flushing 작업을 완료합니다...");
                 } catch (Exception ignored) {
@@ -252,7 +268,7 @@ public final class UnitOfWorks {
                 }
             }
 
-            getCurrent().close();
+            current.close();
         }
         setCurrent(null);
         log.debug("현재 실행중인 UnitOfWork를 종료했습니다.");
@@ -315,7 +331,7 @@ public final class UnitOfWorks {
      *
      * @param unitOfWork 닫을 unit of work
      */
-    public static synchronized void closeUnitOfWork(IUnitOfWork unitOfWork) {
+    public static void closeUnitOfWork(IUnitOfWork unitOfWork) {
         if (log.isDebugEnabled())
             log.debug("UnitOfWork를 종료합니다. 종료되는 IUnitOfWork 의 Previous 를 Current UnitOfWork로 교체합니다.");
 
@@ -323,7 +339,7 @@ public final class UnitOfWorks {
     }
 
     /** Close unit of work factory. */
-    public static synchronized void closeUnitOfWorkFactory() {
+    public static void closeUnitOfWorkFactory() {
         log.info("UnitOfWorkFactory를 종료합니다.");
         unitOfWorkFactory = null;
     }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.data.hibernate.usertype.compress;
+
+import kr.debop4j.core.compress.ICompressor;
+import kr.debop4j.core.compress.SnappyCompressor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snappy 알고리즘 ({@link SnappyCompressor} 으로 문자열 속성 값을 압축하여 Binary로 저장합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class SnappyStringUserType extends AbstractCompressedStringUserType {
+
+    private static final ICompressor compressor = new SnappyCompressor();
+
+    @Override
+    public ICompressor getCompressor() {
+        return compressor;
+    }
+
+    private static final long serialVersionUID = -6044397133767403861L;
+}
@@ -16,8 +16,12 @@
 
 package kr.debop4j.data.hibernate.repository;
 
+import com.google.common.collect.Lists;
+import kr.debop4j.core.collection.LongScrolledList;
 import kr.debop4j.core.spring.Springs;
+import kr.debop4j.data.hibernate.HibernateParameter;
 import kr.debop4j.data.hibernate.HibernateTestBase;
+import kr.debop4j.data.hibernate.tools.HibernateTool;
 import kr.debop4j.data.hibernate.unitofwork.UnitOfWorks;
 import kr.debop4j.data.mapping.model.annotated.JpaUser;
 import kr.debop4j.data.mapping.model.hbm.Category;
@@ -26,6 +30,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.fest.assertions.Assertions;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -34,6 +41,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.orm.hibernate4.HibernateTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -107,4 +115,144 @@ public class HibernateDaoTest extends HibernateTestBase {
         Assertions.assertThat(categories).isNotNull();
         Assertions.assertThat(categories.size()).isEqualTo(0);
     }
+
+    @Test
+    public void batchSaveAndDeleteTest() throws Exception {
+        List<Category> categories = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            categories.add(new Category("batch-" + i));
+        }
+        hibernateDao.saveAll(categories, 30);
+        Assertions.assertThat(hibernateDao.count(Category.class)).isEqualTo(100);
+
+        for (Category category : categories) {
+            category.setName(category.getName() + "-updated");
+        }
+        hibernateDao.updateAll(categories);
+        Assertions.assertThat(hibernateDao.count(Category.class,
+                                                 DetachedCriteria.forClass(Category.class)
+                                                         .add(Restrictions.like("name", "%-updated"))))
+                .isEqualTo(100);
+
+        List<Long> ids = Lists.newArrayList();
+        for (int i = 0; i < 50; i++) {
+            ids.add(categories.get(i).getId());
+        }
+        Assertions.assertThat(hibernateDao.deleteAllByIds(Category.class, ids)).isEqualTo(50);
+
+        int deleted = hibernateDao.deleteAllWithoutCascade(Category.class,
+                                                           DetachedCriteria.forClass(Category.class)
+                                                                   .add(Restrictions.like("name", "batch-5%")));
+        Assertions.assertThat(deleted).isEqualTo(10);
+
+        hibernateDao.deleteAll(Category.class, DetachedCriteria.forClass(Category.class));
+        Assertions.assertThat(hibernateDao.count(Category.class)).isEqualTo(0);
+    }
+
+    @Test
+    public void streamTest() throws Exception {
+        List<Category> categories = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            categories.add(new Category("stream-" + i));
+        }
+        hibernateDao.saveAll(categories);
+
+        int count = 0;
+        try (IEntityCursor<Category> cursor = hibernateDao.stream(Category.class, DetachedCriteria.forClass(Category.class), 10)) {
+            Category previous = null;
+            for (Category category : cursor) {
+                // 이전 엔티티는 다음 행을 읽을 때 Session 에서 제거됩니다.
+                if (previous != null)
+                    Assert.assertFalse(hibernateDao.getSession().contains(previous));
+                Assert.assertTrue(category.getName().startsWith("stream-"));
+                previous = category;
+                count++;
+            }
+            Assert.assertEquals(100, cursor.getReadCount());
+        }
+        Assert.assertEquals(100, count);
+
+        try (IEntityCursor<Category> cursor = hibernateDao.streamStateless("from Category c where c.name like :name", 10,
+                                                                          new HibernateParameter("name", "stream-1%"))) {
+            count = 0;
+            while (cursor.hasNext()) {
+                cursor.next();
+                count++;
+            }
+        }
+        Assert.assertEquals(11, count);
+
+        hibernateDao.deleteAllWithoutCascade(Category.class);
+    }
+
+    @Test
+    public void keysetPagingTest() throws Exception {
+        List<Category> categories = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            categories.add(new Category("keyset-" + i));
+        }
+        hibernateDao.saveAll(categories);
+
+        DetachedCriteria dc = DetachedCriteria.forClass(Category.class).add(Restrictions.like("name", "keyset-%"));
+        Assert.assertEquals(100, hibernateDao.countCached(Category.class, dc, "keyset"));
+
+        List<Category> scrolled = Lists.newArrayList();
+        LongScrolledList<Category> page = hibernateDao.getScrolledList(Category.class, dc, "id", null, 30);
+        while (!page.getList().isEmpty()) {
+            Assert.assertTrue(page.getLowerBound() <= page.getUpperBound());
+            scrolled.addAll(page.getList());
+            page = hibernateDao.getScrolledList(Category.class, dc, "id", page.getUpperBound(), 30);
+        }
+        Assert.assertEquals(100, scrolled.size());
+        for (int i = 1; i < scrolled.size(); i++) {
+            Assert.assertTrue(scrolled.get(i - 1).getId() < scrolled.get(i).getId());
+        }
+
+        // 질의 조건에 지정된 정렬은 무시하고 key 순서로 조회합니다.
+        DetachedCriteria orderedDc = HibernateTool.copyDetachedCriteria(dc).addOrder(Order.desc("name"));
+        List<Category> orderedScrolled = Lists.newArrayList();
+        page = hibernateDao.getScrolledList(Category.class, orderedDc, "id", null, 30);
+        while (!page.getList().isEmpty()) {
+            orderedScrolled.addAll(page.getList());
+            page = hibernateDao.getScrolledList(Category.class, orderedDc, "id", page.getUpperBound(), 30);
+        }
+        Assert.assertEquals(scrolled.size(), orderedScrolled.size());
+        for (int i = 0; i < scrolled.size(); i++) {
+            Assert.assertEquals(scrolled.get(i).getId(), orderedScrolled.get(i).getId());
+        }
+
+        // 캐시된 갯수는 삭제 후에도 유지되고, 캐시를 비우면 다시 계산합니다.
+        hibernateDao.deleteAllWithoutCascade(Category.class);
+        Assert.assertEquals(100, hibernateDao.countCached(Category.class, dc, "keyset"));
+        hibernateDao.clearCountCache();
+        Assert.assertEquals(0, hibernateDao.countCached(Category.class, dc, "keyset"));
+    }
+
+    @Test
+    public void getInTest() throws Exception {
+        List<Category> categories = Lists.newArrayList();
+        for (int i = 0; i < 200; i++) {
+            categories.add(new Category("getIn-" + i));
+        }
+        hibernateDao.saveAll(categories);
+
+        List<Long> ids = Lists.newArrayList();
+        for (Category category : categories) {
+            ids.add(category.getId());
+        }
+        Collections.reverse(ids);
+        ids.add(-1L);
+
+        // session 에 일부만 남겨두어 session 과 DB 조회가 섞이도록 합니다.
+        hibernateDao.getSession().clear();
+        hibernateDao.get(Category.class, ids.get(10));
+
+        List<Category> loaded = hibernateDao.getIn(Category.class, ids);
+        Assert.assertEquals(200, loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            Assert.assertEquals(ids.get(i), loaded.get(i).getId());
+        }
+
+        hibernateDao.deleteAllWithoutCascade(Category.class);
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kr.debop4j.data.hibernate.unitofwork;
+
+import kr.debop4j.core.Local;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * DAO 호출마다 거치는 {@link UnitOfWorks} 의 현재 UnitOfWork / Session 조회 처리량을 Thread 수 별로 측정합니다.
+ * 이전 구현과 같이 전역 monitor 로 동기화한 조회와 비교합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+@Slf4j
+public class UnitOfWorksBenchmark {
+
+    private static final int CALLS_PER_THREAD = 200000;
+    private static final int[] THREAD_COUNTS = { 1, 8, 32, 128 };
+
+    @BeforeClass
+    public static void beforeClass() {
+        UnitOfWorks.setUnitOfWorkFactory(new UnitOfWorkFactory());
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        UnitOfWorks.closeUnitOfWorkFactory();
+    }
+
+    @Test
+    public void benchmarkCurrentSessionLookup() throws Exception {
+        // warm up
+        measure(8, false);
+        measure(8, true);
+
+        for (int threadCount : THREAD_COUNTS) {
+            double synchronizedThroughput = measure(threadCount, true);
+            double lockFreeThroughput = measure(threadCount, false);
+
+            log.info("threads=[{}], synchronized=[{}] calls/ms, lock-free=[{}] calls/ms",
+                     threadCount, (long) synchronizedThroughput, (long) lockFreeThroughput);
+        }
+    }
+
+    /** 지정한 Thread 수로 조회를 수행하고, 처리량 (calls/ms) 을 반환합니다. */
+    private static double measure(int threadCount, final boolean useGlobalLock) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch ready = new CountDownLatch(threadCount);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threadCount);
+
+        try {
+            for (int t = 0; t < threadCount; t++) {
+                executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        UnitOfWorks.setCurrent(mock(IUnitOfWork.class));
+                        UnitOfWorks.getUnitOfWorkFactory().setCurrentSession(mock(Session.class));
+                        ready.countDown();
+                        startSignal.await();
+                        try {
+                            Object dontCompileMeAway = null;
+                            for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                                dontCompileMeAway = useGlobalLock ? lookupSynchronized() : lookup();
+                            }
+                            return dontCompileMeAway;
+                        } finally {
+                            Local.clear();
+                            done.countDown();
+                        }
+                    }
+                });
+            }
+            ready.await();
+            long start = System.nanoTime();
+            startSignal.countDown();
+            done.await();
+            long elapsed = System.nanoTime() - start;
+
+            return (double) threadCount * CALLS_PER_THREAD / (elapsed / 1000000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** DAO 호출 시의 조회 경로 */
+    private static Object lookup() {
+        UnitOfWorks.getCurrent();
+        return UnitOfWorks.getCurrentSession();
+    }
+
+    /** 이전 구현과 같이 모든 조회를 하나의 전역 monitor 로 동기화합니다. */
+    private static synchronized Object lookupSynchronized() {
+        return lookup();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2011-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package kr.debop4j.data.hibernate.unitofwork;
+
+import kr.debop4j.core.Local;
+import kr.debop4j.core.parallelism.AsyncTool;
+import org.hibernate.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link Local} 저장소를 다른 Thread 의 작업에 전달해도, 호출한 Thread 의 UnitOfWork 와 Session 은 전달되지 않는지 확인합니다.
+ *
+ * @author 배성혁 ( sunghyouk.bae@gmail.com )
+ * @since 13. 7. 15
+ */
+public class UnitOfWorksLocalTest {
+
+    @Before
+    public void before() {
+        UnitOfWorks.setUnitOfWorkFactory(new UnitOfWorkFactory());
+    }
+
+    @After
+    public void after() {
+        Local.clear();
+        UnitOfWorks.closeUnitOfWorkFactory();
+    }
+
+    @Test
+    public void wrappedTaskDoesNotSeeCallerSession() throws Exception {
+        final Session session = mock(Session.class);
+        UnitOfWorks.setCurrent(mock(IUnitOfWork.class));
+        UnitOfWorks.getUnitOfWorkFactory().setCurrentSession(session);
+        assertTrue(UnitOfWorks.isStarted());
+
+        boolean startedInTask = AsyncTool.startNewWithLocal(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return UnitOfWorks.isStarted();
+            }
+        }).get();
+        assertFalse(startedInTask);
+
+        Session sessionInTask = AsyncTool.startNewWithLocal(new Callable<Session>() {
+            @Override
+            public Session call() throws Exception {
+                try {
+                    return UnitOfWorks.getUnitOfWorkFactory().getCurrentSession();
+                } catch (Exception expected) {
+                    return null;
+                }
+            }
+        }).get();
+        assertNull(sessionInTask);
+
+        // 호출한 Thread 의 Session 은 그대로 유지됩니다.
+        assertSame(session, UnitOfWorks.getUnitOfWorkFactory().getCurrentSession());
+    }
+}